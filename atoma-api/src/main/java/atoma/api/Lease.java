@@ -17,9 +17,11 @@
 package atoma.api;
 
 import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
 import atoma.api.lock.ReadWriteLock;
 import atoma.api.synchronizer.CyclicBarrier;
 import atoma.api.synchronizer.Semaphore;
+import atoma.api.synchronizer.SemaphoreOptions;
 
 import java.time.Duration;
 
@@ -47,6 +49,18 @@ public abstract class Lease extends Resourceful {
    */
   public abstract Lock getLock(String resourceId);
 
+  /**
+   * Retrieves or creates a distributed mutex lock instance associated with this lease, using the
+   * given client-side options.
+   *
+   * @param resourceId The unique identifier for the lock resource.
+   * @param options The client-side options of the lock, see {@link LockOptions}.
+   * @return A distributed mutex {@link Lock} instance.
+   * @throws IllegalArgumentException if a lock with the same ID already exists with different
+   *     options.
+   */
+  public abstract Lock getLock(String resourceId, LockOptions options);
+
   /**
    * Retrieves or creates a distributed read-write lock instance associated with this lease. The
    * read-write lock is identified by a unique {@code resourceId}.
@@ -67,6 +81,21 @@ public abstract class Lease extends Resourceful {
    */
   public abstract Semaphore getSemaphore(String resourceId, int initialPermits);
 
+  /**
+   * Retrieves or creates a distributed semaphore instance associated with this lease, using the
+   * given client-side options.
+   *
+   * @param resourceId The unique identifier for the semaphore resource.
+   * @param initialPermits The initial number of permits available for the semaphore.
+   * @param options The client-side options of the semaphore, such as the permit pool size and the
+   *     return policy, see {@link SemaphoreOptions}.
+   * @return A distributed {@link Semaphore} instance.
+   * @throws IllegalArgumentException if a semaphore with the same ID already exists with different
+   *     options.
+   */
+  public abstract Semaphore getSemaphore(
+      String resourceId, int initialPermits, SemaphoreOptions options);
+
   public abstract CyclicBarrier getCyclicBarrier(String resourceId, int parties);
 
   /**
@@ -86,6 +115,17 @@ public abstract class Lease extends Resourceful {
    */
   public abstract void revoke();
 
+  /**
+   * Returns the number of releases of the primitives of this lease queued in write-behind mode and
+   * not yet acknowledged by the coordination service, see {@link LockOptions#writeBehindUnlock()}.
+   * {@link #revoke()} waits for them to be sent before terminating the lease.
+   *
+   * @return the number of pending releases.
+   */
+  public int pendingReleases() {
+    return 0;
+  }
+
   /**
    * Executes time-to-live (TTL) operations for this lease. This method is typically called
    * internally by the lease management mechanism to periodically update or refresh the lease's
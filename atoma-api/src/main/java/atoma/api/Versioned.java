@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A value read from the coordination service, together with the version of the resource it was
+ * read from.
+ *
+ * <p>Reads bounded by a maximum staleness may be served by a replica lagging behind the latest
+ * changes. Comparing the versions of two reads tells which one is the more recent; the value of a
+ * read is at most as stale as the bound it was made with.
+ *
+ * @param value the value read.
+ * @param version the version of the resource, or {@code -1} if the resource did not exist.
+ * @param <T> the type of the value.
+ */
+public record Versioned<T>(T value, long version) {
+
+  /**
+   * The smallest staleness bound accepted by every store: MongoDB requires a {@code
+   * maxStalenessSeconds} of at least 90 seconds.
+   */
+  public static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+  /**
+   * Checks a staleness bound of a read.
+   *
+   * @return the staleness bound.
+   * @throws IllegalArgumentException if the bound is below {@link #MIN_MAX_STALENESS}.
+   */
+  public static Duration requireMaxStaleness(Duration maxStaleness) {
+    Objects.requireNonNull(maxStaleness, "maxStaleness");
+    if (maxStaleness.compareTo(MIN_MAX_STALENESS) < 0) {
+      throw new IllegalArgumentException(
+          "maxStaleness must be at least " + MIN_MAX_STALENESS + ", was " + maxStaleness);
+    }
+    return maxStaleness;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.coordination;
+
+import atoma.api.coordination.command.Command;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link CoordinationStore} whose commands can be executed without blocking the calling thread.
+ *
+ * <p>Implementations are expected to run the whole command, including retries and timeouts, on
+ * non-blocking I/O, so that thousands of concurrent commands can be in flight on a small number of
+ * event-loop threads. The blocking {@link #execute(String, Command)} is still available for callers
+ * that don't need asynchrony.
+ */
+public interface AsyncCoordinationStore extends CoordinationStore {
+
+  /**
+   * Executes a specific {@link Command} against a particular distributed resource without blocking
+   * the calling thread.
+   *
+   * @param resourceId The unique key of the target resource on which the command will be executed.
+   * @param command The {@link Command} to execute, encapsulating the operation details.
+   * @param <R> The type of the result expected from this command's execution.
+   * @return A stage completed with the command-specific result, or completed exceptionally with
+   *     the same exceptions {@link #execute(String, Command)} would throw.
+   */
+  <R> CompletionStage<R> executeAsync(String resourceId, Command<R> command);
+
+  /**
+   * Executes a {@link Command} with the given durability without blocking the calling thread.
+   *
+   * <p>Stores without durability profiles execute the command as {@link #executeAsync(String,
+   * Command)} does.
+   *
+   * @param resourceId The unique key of the target resource on which the command will be executed.
+   * @param command The {@link Command} to execute, encapsulating the operation details.
+   * @param durability How durably the command is acknowledged, or {@code null} for the durability
+   *     of the store.
+   * @param <R> The type of the result expected from this command's execution.
+   * @return A stage completed with the command-specific result.
+   */
+  default <R> CompletionStage<R> executeAsync(
+      String resourceId, Command<R> command, Durability durability) {
+    return executeAsync(resourceId, command);
+  }
+}
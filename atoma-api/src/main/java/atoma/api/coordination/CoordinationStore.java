@@ -60,6 +60,23 @@ public interface CoordinationStore extends AutoCloseable {
   Subscription subscribe(
       Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener);
 
+  /**
+   * Subscribes to change events of every resource of the given type.
+   *
+   * <p>This is meant for cluster-wide housekeeping, e.g. reacting to the deletion of any lease, and
+   * is not required by the primitives themselves. Stores that cannot watch a whole resource type
+   * throw {@link UnsupportedOperationException}.
+   *
+   * @param resourceType The type of resources to subscribe to.
+   * @param listener The {@link ResourceListener} to be invoked upon resource changes.
+   * @return A {@link Subscription} object that can be used to cancel this subscription.
+   */
+  default Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support subscribing to a whole resource type");
+  }
+
   /**
    * Executes a specific {@link Command} against a particular distributed resource.
    *
@@ -74,4 +91,21 @@ public interface CoordinationStore extends AutoCloseable {
    *     updated state information.
    */
   <R> R execute(String resourceId, Command<R> command);
+
+  /**
+   * Executes a {@link Command} with the given durability, rather than the one of the store.
+   *
+   * <p>Stores without durability profiles execute the command as {@link #execute(String,
+   * Command)} does.
+   *
+   * @param resourceId The unique key of the target resource on which the command will be executed.
+   * @param command The {@link Command} to execute, encapsulating the operation details.
+   * @param durability How durably the command is acknowledged, or {@code null} for the durability
+   *     of the store.
+   * @param <R> The type of the result expected from this command's execution.
+   * @return A command-specific result object.
+   */
+  default <R> R execute(String resourceId, Command<R> command, Durability durability) {
+    return execute(resourceId, command);
+  }
 }
\ No newline at end of file
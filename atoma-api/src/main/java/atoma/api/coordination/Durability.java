@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.coordination;
+
+/**
+ * How durably a {@link CoordinationStore} acknowledges the commands of a primitive, trading safety
+ * across failures of the store for latency.
+ *
+ * <p>The profiles are named after what a replicated store gives. A store without replicas, such as
+ * an in-memory store, may treat every profile alike.
+ */
+public enum Durability {
+
+  /**
+   * A command is acknowledged once a majority of the replicas have written it to their journal,
+   * and reads only return such changes. An acknowledged acquisition survives the failure of any
+   * minority of the replicas, so a primitive never has more holders than it allows.
+   */
+  STRICT,
+
+  /**
+   * A command is acknowledged once the primary has written it to its journal, and reads return the
+   * changes of the primary. An acknowledged change survives a restart of the primary, but is rolled
+   * back if the primary fails over before replicating it: a lock may then be granted twice, or a
+   * released permit be taken back. Suited to primitives used as soft limits.
+   */
+  FAST,
+
+  /**
+   * A command is acknowledged once the primary has applied it in memory, and reads return the
+   * changes of the primary. On top of what {@link #FAST} gives up, an acknowledged change is lost
+   * if the primary crashes before its journal is written. Suited to primitives whose state may be
+   * lost, such as the barriers of a batch job that can be rerun.
+   */
+  RELAXED
+}
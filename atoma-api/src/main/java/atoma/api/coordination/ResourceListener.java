@@ -34,4 +34,16 @@ public interface ResourceListener {
    *     event, including the type of change and the new/old resource state.
    */
   void onEvent(ResourceChangeEvent event);
+
+  /**
+   * Returns whether this listener reads {@link ResourceChangeEvent#getOldNode()}.
+   *
+   * <p>Stores may skip fetching the state of a resource before each change while no listener
+   * requires it, in which case the old node of the events is empty.
+   *
+   * @return {@code true} if the events must carry the old node when the store can provide it.
+   */
+  default boolean requiresOldNode() {
+    return false;
+  }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Duration;
+
 /**
  * A container for commands related to cleaning up dead or expired resources
  * within the coordination service.
@@ -31,4 +33,25 @@ public final class CleanDeadResourceCommand {
    * @param leaseId The lease ID of the client.
    */
   public record Clean(String leaseId) implements Command<Void> {}
-}
\ No newline at end of file
+
+  /**
+   * Command to elect the single client of the fleet running the dead-resource cleanup, or to renew
+   * the term of the current cleaner.
+   *
+   * <p>The candidate is elected if there is no cleaner, if the term of the current cleaner has
+   * expired, or if it already is the cleaner. Terms are measured with the clock of the coordination
+   * store, so clients with skewed clocks cannot steal a running term.
+   *
+   * @param candidateId The unique identifier of the client running for cleaner.
+   * @param term The duration of the term; a term of zero resigns from an ongoing term.
+   */
+  public record ElectCleaner(String candidateId, Duration term)
+      implements Command<ElectCleanerResult> {}
+
+  /**
+   * Represents the result of an {@link ElectCleaner} command.
+   *
+   * @param elected {@code true} if the candidate is the cleaner until the end of the term.
+   */
+  public record ElectCleanerResult(boolean elected) {}
+}
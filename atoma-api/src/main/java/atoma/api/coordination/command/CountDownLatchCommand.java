@@ -16,6 +16,8 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Duration;
+
 /**
  * A container for all commands and result types related to distributed {@link
  * atoma.api.synchronizer.CountDownLatch} operations. This class encapsulates the different actions
@@ -51,8 +53,17 @@ public final class CountDownLatchCommand {
    */
   public record CountDown(int count) implements Command<Void> {}
 
-  /** Command to retrieve the current count of the latch. */
-  public record GetCount(int count) implements Command<GetCountResult> {}
+  /**
+   * Command to retrieve the current count of the latch.
+   *
+   * @param maxStaleness The maximum staleness of the count, which may then be read from a replica,
+   *     or {@code null} to read the latest count.
+   */
+  public record GetCount(int count, Duration maxStaleness) implements Command<GetCountResult> {
+    public GetCount(int count) {
+      this(count, null);
+    }
+  }
 
   /**
    * Command to permanently delete the latch resource from the backend storage. This is used for
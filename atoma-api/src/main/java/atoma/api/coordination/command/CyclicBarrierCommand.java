@@ -16,6 +16,7 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -51,8 +52,14 @@ public final class CyclicBarrierCommand {
    * @param isBroken {@code true} if the barrier is in a broken state.
    * @param generation The current generation of the barrier. A generation changes when the barrier
    *     is tripped or reset.
+   * @param version The version of the barrier read, or {@code -1} if it does not exist.
    */
-  public record GetStateResult(int parties, int numberWaiting, boolean isBroken, long generation) {}
+  public record GetStateResult(
+      int parties, int numberWaiting, boolean isBroken, long generation, long version) {
+    public GetStateResult(int parties, int numberWaiting, boolean isBroken, long generation) {
+      this(parties, numberWaiting, isBroken, generation, -1L);
+    }
+  }
 
   // --- Commands ---
 
@@ -95,7 +102,16 @@ public final class CyclicBarrierCommand {
    * Command to retrieve the current state of the barrier. This is primarily used for monitoring and
    * debugging.
    *
+   * <p>The latest state creates the barrier if it does not exist. A state bounded by a maximum
+   * staleness may be read from a replica and never creates the barrier.
+   *
    * @param parties The number of parties required to trip this barrier.
+   * @param maxStaleness The maximum staleness of the state, or {@code null} to read the latest
+   *     state.
    */
-  public record GetState(int parties) implements Command<GetStateResult> {}
+  public record GetState(int parties, Duration maxStaleness) implements Command<GetStateResult> {
+    public GetState(int parties) {
+      this(parties, null);
+    }
+  }
 }
\ No newline at end of file
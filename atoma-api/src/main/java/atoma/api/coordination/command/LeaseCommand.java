@@ -18,6 +18,8 @@ package atoma.api.coordination.command;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A container for all commands and result types related to distributed
@@ -50,6 +52,32 @@ public class LeaseCommand {
    */
   public record TimeToLive(String id, Instant nextExpireTime) implements Command<TimeToLiveResult> {}
 
+  /**
+   * Command to renew many leases at once, so that all renewals due in the same tick are sent to
+   * the coordination store as a single write. The renewals are independent: the failure of one
+   * does not affect the others.
+   *
+   * @param renewals The renewals to perform; lease ids must be unique.
+   */
+  public record BatchTimeToLive(List<TimeToLive> renewals)
+      implements Command<BatchTimeToLiveResult> {
+    public BatchTimeToLive {
+      renewals = List.copyOf(renewals);
+    }
+  }
+
+  /**
+   * Command to delete leases whose expiration time has passed by more than a grace period, so that
+   * the resources they hold are released within a bounded delay of their expiration instead of
+   * waiting for the background expiry of the coordination store. Deletions are published as
+   * regular lease deletion events.
+   *
+   * @param grace The delay after the expiration time before a lease is deleted; it absorbs the
+   *     clock skew between the lease holder and the client running this command.
+   * @param limit The maximum number of leases deleted by this command.
+   */
+  public record ReapExpired(Duration grace, int limit) implements Command<ReapExpiredResult> {}
+
   /**
    * Represents the result of a {@link Grant} command.
    *
@@ -73,4 +101,18 @@ public class LeaseCommand {
    * @param nextExpireTime The new expiration time of the lease after renewal.
    */
   public record TimeToLiveResult(Boolean success, Instant nextExpireTime) {}
-}
\ No newline at end of file
+
+  /**
+   * Represents the result of a {@link BatchTimeToLive} command.
+   *
+   * @param results The renewal result of every lease of the batch, keyed by lease id.
+   */
+  public record BatchTimeToLiveResult(Map<String, TimeToLiveResult> results) {}
+
+  /**
+   * Represents the result of a {@link ReapExpired} command.
+   *
+   * @param reaped The number of expired leases deleted.
+   */
+  public record ReapExpiredResult(long reaped) {}
+}
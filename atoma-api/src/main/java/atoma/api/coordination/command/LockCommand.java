@@ -16,6 +16,7 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,8 +36,16 @@ public final class LockCommand {
    * @param serverLogicalLatestVersion The latest-version represent value that is advancing state-data version.
    *     If the state already exists, a value greater than 0 will be returned; otherwise, a negative
    *     value will be returned
+   * @param takeoverTime The instant from which an acquire may take the lock over from its current
+   *     holder if the holder's lease is not renewed by then, or {@code null} if unknown. Only set
+   *     when the acquisition failed.
    */
-  public record AcquireResult(boolean acquired, long serverLogicalLatestVersion) {}
+  public record AcquireResult(
+      boolean acquired, long serverLogicalLatestVersion, Instant takeoverTime) {
+    public AcquireResult(boolean acquired, long serverLogicalLatestVersion) {
+      this(acquired, serverLogicalLatestVersion, null);
+    }
+  }
 
   /**
    * Represents the result of a {@link Release} command.
@@ -58,15 +67,57 @@ public final class LockCommand {
    * @param leaseId The lease ID of the client, ensuring the lock is released if the client fails.
    * @param timeout The maximum time to wait for the lock.
    * @param timeUnit The time unit for the timeout argument.
+   * @param leaseRenewal The piggybacked renewal of the lease, or {@code null}.
+   * @param leaseExpireTime The expiration time of the lease, or {@code null} if unknown.
    */
-  public record Acquire(String holderId, String leaseId, long timeout, TimeUnit timeUnit)
-      implements Command<AcquireResult> {}
+  public record Acquire(
+      String holderId,
+      String leaseId,
+      long timeout,
+      TimeUnit timeUnit,
+      LeaseCommand.TimeToLive leaseRenewal,
+      Instant leaseExpireTime)
+      implements Command<AcquireResult>, RenewsLease<Acquire>, StampsLeaseExpiry<Acquire> {
+    public Acquire(String holderId, String leaseId, long timeout, TimeUnit timeUnit) {
+      this(holderId, leaseId, timeout, timeUnit, null, null);
+    }
+
+    public Acquire(
+        String holderId,
+        String leaseId,
+        long timeout,
+        TimeUnit timeUnit,
+        LeaseCommand.TimeToLive leaseRenewal) {
+      this(holderId, leaseId, timeout, timeUnit, leaseRenewal, null);
+    }
+
+    @Override
+    public Acquire withLeaseRenewal(LeaseCommand.TimeToLive leaseRenewal) {
+      return new Acquire(holderId, leaseId, timeout, timeUnit, leaseRenewal, leaseExpireTime);
+    }
+
+    @Override
+    public Acquire withLeaseExpireTime(Instant leaseExpireTime) {
+      return new Acquire(holderId, leaseId, timeout, timeUnit, leaseRenewal, leaseExpireTime);
+    }
+  }
 
   /**
    * Command to release a previously acquired distributed lock.
    *
    * @param holderId A unique identifier for the party releasing the lock, which must match the
    *     identifier that acquired it.
+   * @param leaseRenewal The piggybacked renewal of the lease, or {@code null}.
    */
-  public record Release(String holderId) implements Command<Void> {}
+  public record Release(String holderId, LeaseCommand.TimeToLive leaseRenewal)
+      implements Command<Void>, RenewsLease<Release> {
+    public Release(String holderId) {
+      this(holderId, null);
+    }
+
+    @Override
+    public Release withLeaseRenewal(LeaseCommand.TimeToLive leaseRenewal) {
+      return new Release(holderId, leaseRenewal);
+    }
+  }
 }
\ No newline at end of file
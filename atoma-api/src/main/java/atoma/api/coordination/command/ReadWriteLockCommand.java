@@ -16,6 +16,7 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,9 +40,20 @@ public final class ReadWriteLockCommand {
    * @param leaseId The lease ID of the client, ensuring the lock is released if the client fails.
    * @param timeout The maximum time to wait for the lock.
    * @param timeUnit The time unit for the timeout argument.
+   * @param leaseExpireTime The expiration time of the lease, or {@code null} if unknown.
    */
-  public record AcquireRead(String holderId, String leaseId, long timeout, TimeUnit timeUnit)
-      implements Command<LockCommand.AcquireResult> {}
+  public record AcquireRead(
+      String holderId, String leaseId, long timeout, TimeUnit timeUnit, Instant leaseExpireTime)
+      implements Command<LockCommand.AcquireResult>, StampsLeaseExpiry<AcquireRead> {
+    public AcquireRead(String holderId, String leaseId, long timeout, TimeUnit timeUnit) {
+      this(holderId, leaseId, timeout, timeUnit, null);
+    }
+
+    @Override
+    public AcquireRead withLeaseExpireTime(Instant leaseExpireTime) {
+      return new AcquireRead(holderId, leaseId, timeout, timeUnit, leaseExpireTime);
+    }
+  }
 
   /**
    * Command to release a previously acquired shared read lock.
@@ -61,9 +73,20 @@ public final class ReadWriteLockCommand {
    * @param leaseId The lease ID of the client, ensuring the lock is released if the client fails.
    * @param timeout The maximum time to wait for the lock.
    * @param timeUnit The time unit for the timeout argument.
+   * @param leaseExpireTime The expiration time of the lease, or {@code null} if unknown.
    */
-  public record AcquireWrite(String holderId, String leaseId, long timeout, TimeUnit timeUnit)
-      implements Command<LockCommand.AcquireResult> {}
+  public record AcquireWrite(
+      String holderId, String leaseId, long timeout, TimeUnit timeUnit, Instant leaseExpireTime)
+      implements Command<LockCommand.AcquireResult>, StampsLeaseExpiry<AcquireWrite> {
+    public AcquireWrite(String holderId, String leaseId, long timeout, TimeUnit timeUnit) {
+      this(holderId, leaseId, timeout, timeUnit, null);
+    }
+
+    @Override
+    public AcquireWrite withLeaseExpireTime(Instant leaseExpireTime) {
+      return new AcquireWrite(holderId, leaseId, timeout, timeUnit, leaseExpireTime);
+    }
+  }
 
   /**
    * Command to release a previously acquired exclusive write lock.
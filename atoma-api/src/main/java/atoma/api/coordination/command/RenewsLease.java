@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.coordination.command;
+
+/**
+ * A command that can carry a renewal of the lease of its issuer.
+ *
+ * <p>Clients that talk to the coordination store constantly through acquire and release commands
+ * can piggyback the renewal of their lease on those commands instead of sending a dedicated
+ * heartbeat. The store performs the renewal as part of the execution of the command, before the
+ * command itself; the renewal never shortens the lease.
+ *
+ * @param <C> The type of the command.
+ */
+public interface RenewsLease<C extends Command<?>> {
+
+  /** Returns the piggybacked lease renewal, or {@code null} if there is none. */
+  LeaseCommand.TimeToLive leaseRenewal();
+
+  /** Returns a copy of this command carrying the given lease renewal. */
+  C withLeaseRenewal(LeaseCommand.TimeToLive leaseRenewal);
+}
@@ -16,6 +16,7 @@
 
 package atoma.api.coordination.command;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,7 +40,19 @@ public final class SemaphoreCommand {
    */
   public record AcquireResult(boolean acquired, long serverLogicalLatestVersion) {}
 
-  public record GetStateResult(int availablePermits, int drainPermits) implements Command<Void> {}
+  /**
+   * Represents the result of a {@link GetState} command.
+   *
+   * @param availablePermits The number of permits available in the semaphore.
+   * @param drainPermits The number of permits held by the lease of the command.
+   * @param version The version of the semaphore read, or {@code -1} if it does not exist.
+   */
+  public record GetStateResult(int availablePermits, int drainPermits, long version)
+      implements Command<Void> {
+    public GetStateResult(int availablePermits, int drainPermits) {
+      this(availablePermits, drainPermits, -1L);
+    }
+  }
 
   // --- Commands ---
 
@@ -52,14 +65,25 @@ public final class SemaphoreCommand {
    * @param timeUnit The time unit for the timeout argument.
    * @param initialPermits The total number of permits the semaphore should have. This is used to
    *     conditionally initialize the semaphore on its first use.
+   * @param leaseRenewal The piggybacked renewal of the lease, or {@code null}.
    */
   public record Acquire(
       int permits,
       String leaseId,
       long timeout,
       TimeUnit timeUnit,
-      int initialPermits)
-      implements Command<AcquireResult> {}
+      int initialPermits,
+      LeaseCommand.TimeToLive leaseRenewal)
+      implements Command<AcquireResult>, RenewsLease<Acquire> {
+    public Acquire(int permits, String leaseId, long timeout, TimeUnit timeUnit, int initialPermits) {
+      this(permits, leaseId, timeout, timeUnit, initialPermits, null);
+    }
+
+    @Override
+    public Acquire withLeaseRenewal(LeaseCommand.TimeToLive leaseRenewal) {
+      return new Acquire(permits, leaseId, timeout, timeUnit, initialPermits, leaseRenewal);
+    }
+  }
 
   /**
    * Command to release a specified number of permits back to the semaphore.
@@ -67,13 +91,32 @@ public final class SemaphoreCommand {
    * @param permits The number of permits to release.
    * @param holderId A unique identifier for the party releasing the permits.
    * @param leaseId The lease ID of the client.
+   * @param leaseRenewal The piggybacked renewal of the lease, or {@code null}.
    */
-  public record Release(int permits, String holderId, String leaseId) implements Command<Void> {}
+  public record Release(
+      int permits, String holderId, String leaseId, LeaseCommand.TimeToLive leaseRenewal)
+      implements Command<Void>, RenewsLease<Release> {
+    public Release(int permits, String holderId, String leaseId) {
+      this(permits, holderId, leaseId, null);
+    }
+
+    @Override
+    public Release withLeaseRenewal(LeaseCommand.TimeToLive leaseRenewal) {
+      return new Release(permits, holderId, leaseId, leaseRenewal);
+    }
+  }
 
   /**
    * @param leaseId The lease ID of the client, ensuring permits are released if the client fails.
    * @param initialPermits The total number of permits the semaphore should have. This is used to
    *     conditionally initialize the semaphore on its first use.
+   * @param maxStaleness The maximum staleness of the state, which may then be read from a replica,
+   *     or {@code null} to read the latest state.
    */
-  public record GetState(String leaseId, int initialPermits) implements Command<GetStateResult> {}
+  public record GetState(String leaseId, int initialPermits, Duration maxStaleness)
+      implements Command<GetStateResult> {
+    public GetState(String leaseId, int initialPermits) {
+      this(leaseId, initialPermits, null);
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.coordination.command;
+
+import java.time.Instant;
+
+/**
+ * A command that stamps what it acquires with the expiration time of the lease of its issuer.
+ *
+ * <p>The coordination store keeps the stamp up to date with every renewal of the lease. Once the
+ * stamp has passed, the next acquire of a contender can take the resource over in the same write,
+ * without waiting for the dead lease to be reaped and its resources to be cleaned.
+ *
+ * @param <C> The type of the command.
+ */
+public interface StampsLeaseExpiry<C extends Command<?>> {
+
+  /** Returns the expiration time of the lease of the issuer, or {@code null} if unknown. */
+  Instant leaseExpireTime();
+
+  /** Returns a copy of this command carrying the given lease expiration time. */
+  C withLeaseExpireTime(Instant leaseExpireTime);
+}
@@ -19,6 +19,7 @@ package atoma.api.lock;
 import atoma.api.Leasable;
 import atoma.api.IllegalOwnershipException;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -106,4 +107,41 @@ public abstract class Lock extends Leasable {
    * restriction is violated.
    */
   public abstract void unlock();
+
+  /**
+   * Acquires the lock asynchronously, without blocking the calling thread.
+   *
+   * <p>The lock is owned by a new owner token instead of the calling thread, so it can be released
+   * from any thread by passing the token to {@link #unlockAsync(String)}. Async acquisitions are
+   * not reentrant.
+   *
+   * @return a future completed with the owner token once the lock is acquired.
+   */
+  public CompletableFuture<String> lockAsync() {
+    return lockAsync(-1L, null);
+  }
+
+  /**
+   * Acquires the lock asynchronously if it is free within the given waiting time, without blocking
+   * the calling thread.
+   *
+   * <p>Cancelling the returned future abandons the acquisition. If the lock was acquired
+   * concurrently with the cancellation, it's released again.
+   *
+   * @param time the maximum time to wait for the lock, a negative value means wait indefinitely
+   * @param unit the time unit of the {@code time} argument
+   * @return a future completed with the owner token once the lock is acquired, or completed
+   *     exceptionally with a {@link TimeoutException} if the waiting time elapses.
+   */
+  public abstract CompletableFuture<String> lockAsync(long time, TimeUnit unit);
+
+  /**
+   * Releases a lock acquired by {@link #lockAsync(long, TimeUnit)}, without blocking the calling
+   * thread.
+   *
+   * @param ownerToken the owner token the lock acquisition was completed with
+   * @return a future completed once the lock is released, or completed exceptionally with an
+   *     {@link IllegalOwnershipException} if the lock is not held by the owner token.
+   */
+  public abstract CompletableFuture<Void> unlockAsync(String ownerToken);
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.lock;
+
+import atoma.api.coordination.Durability;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Client-side tuning options for a distributed {@link Lock}.
+ *
+ * <p>When local handoff is enabled, the remote lock is held on behalf of the whole lease rather
+ * than a single thread. An unlocking thread passes the lock directly to the next local waiter
+ * without touching the coordination store, and the remote lock is only released when no local
+ * waiter remains or the fairness budget is exhausted. The budget bounds how long other clients may
+ * be starved by a busy process:
+ *
+ * <ul>
+ *   <li>{@code maxLocalHandoffs}: the maximum number of consecutive local handoffs before the lock
+ *       is released remotely.
+ *   <li>{@code maxHoldTime}: the maximum time the remote lock is kept by this client across local
+ *       handoffs before it is released remotely.
+ * </ul>
+ *
+ * <p>When write-behind unlock is enabled, {@link Lock#unlock()} queues the remote release and
+ * returns without waiting for the coordination store. The releases of a lease are sent in order,
+ * and an acquisition of the lock by the same lease waits for its queued releases; revoking the
+ * lease sends them first. A release failing in the background is retried until it succeeds or the
+ * lease is revoked. A release rejected by the store, or still failing then, is dropped and its
+ * failure is thrown by the next acquisition or release of the lock.
+ *
+ * <p>The {@link Durability} of the commands of the lock defaults to the one of the coordination
+ * store. A weaker one lowers the latency of the lock, at the cost of the guarantees it gives up.
+ *
+ * @param maxLocalHandoffs the maximum number of consecutive local handoffs, {@code 0} disables
+ *     local handoff.
+ * @param maxHoldTime the maximum time the remote lock is kept across local handoffs.
+ * @param writeBehindUnlock whether unlocking returns before the remote release completes.
+ * @param durability the durability of the commands of the lock, or {@code null} for the one of the
+ *     coordination store.
+ */
+public record LockOptions(
+    int maxLocalHandoffs, Duration maxHoldTime, boolean writeBehindUnlock, Durability durability) {
+
+  /** Local handoff disabled. Every acquisition and release goes through the coordination store. */
+  public static final LockOptions DEFAULT = new LockOptions(0, Duration.ZERO);
+
+  public LockOptions(int maxLocalHandoffs, Duration maxHoldTime) {
+    this(maxLocalHandoffs, maxHoldTime, false, null);
+  }
+
+  public LockOptions {
+    Objects.requireNonNull(maxHoldTime, "maxHoldTime cannot be null");
+    if (maxLocalHandoffs < 0) {
+      throw new IllegalArgumentException("maxLocalHandoffs must not be negative");
+    }
+    if (maxHoldTime.isNegative()) {
+      throw new IllegalArgumentException("maxHoldTime must not be negative");
+    }
+  }
+
+  /**
+   * Creates options with local handoff enabled.
+   *
+   * @param maxLocalHandoffs the maximum number of consecutive local handoffs, must be positive.
+   * @param maxHoldTime the maximum time the remote lock is kept across local handoffs.
+   * @return the lock options.
+   */
+  public static LockOptions localHandoff(int maxLocalHandoffs, Duration maxHoldTime) {
+    if (maxLocalHandoffs <= 0) {
+      throw new IllegalArgumentException("maxLocalHandoffs must be positive");
+    }
+    return new LockOptions(maxLocalHandoffs, maxHoldTime);
+  }
+
+  /**
+   * Returns these options with write-behind unlock enabled.
+   *
+   * @return the lock options.
+   */
+  public LockOptions withWriteBehindUnlock() {
+    return new LockOptions(maxLocalHandoffs, maxHoldTime, true, durability);
+  }
+
+  /**
+   * Returns these options with the given durability of the commands of the lock.
+   *
+   * @param durability the durability, or {@code null} for the one of the coordination store.
+   * @return the lock options.
+   */
+  public LockOptions withDurability(Durability durability) {
+    return new LockOptions(maxLocalHandoffs, maxHoldTime, writeBehindUnlock, durability);
+  }
+
+  /**
+   * @return {@code true} if the remote lock may be passed between local threads.
+   */
+  public boolean isLocalHandoffEnabled() {
+    return maxLocalHandoffs > 0 && !maxHoldTime.isZero();
+  }
+}
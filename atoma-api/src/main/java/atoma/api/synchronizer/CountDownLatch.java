@@ -17,7 +17,10 @@
 package atoma.api.synchronizer;
 
 import atoma.api.Resourceful;
+import atoma.api.Versioned;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -60,6 +63,27 @@ public abstract class CountDownLatch extends Resourceful {
    */
   public abstract boolean await(long timeout, TimeUnit unit) throws InterruptedException;
 
+  /**
+   * Waits asynchronously until the latch has counted down to zero, without blocking the calling
+   * thread.
+   *
+   * @return a future completed once the count reaches zero.
+   */
+  public CompletableFuture<Void> awaitAsync() {
+    return awaitAsync(-1L, null);
+  }
+
+  /**
+   * Waits asynchronously until the latch has counted down to zero, or the specified waiting time
+   * elapses, without blocking the calling thread.
+   *
+   * @param timeout the maximum time to wait, a negative value means wait indefinitely
+   * @param unit the time unit of the {@code timeout} argument
+   * @return a future completed once the count reaches zero, or completed exceptionally with a
+   *     {@link java.util.concurrent.TimeoutException} if the waiting time elapses.
+   */
+  public abstract CompletableFuture<Void> awaitAsync(long timeout, TimeUnit unit);
+
   /**
    * Returns the current count.
    *
@@ -69,6 +93,20 @@ public abstract class CountDownLatch extends Resourceful {
    */
   public abstract int getCount();
 
+  /**
+   * Returns the current count, as seen by a possibly stale read.
+   *
+   * <p>The state may be read from a replica of the coordination service lagging at most {@code
+   * maxStaleness} behind the latest changes, which spares the primary of the service. The version
+   * returned alongside the value tells which of two reads is the more recent.
+   *
+   * @param maxStaleness the maximum staleness of the value, at least {@link
+   *     Versioned#MIN_MAX_STALENESS}.
+   * @return the count, with the version of the latch read
+   * @throws IllegalArgumentException if {@code maxStaleness} is below the minimum
+   */
+  public abstract Versioned<Integer> getCount(Duration maxStaleness);
+
   /**
    * Deletes the latch resource from the backend coordination service. This is useful for explicit
    * resource cleanup when the latch is no longer needed and its underlying storage should be
@@ -18,7 +18,10 @@ package atoma.api.synchronizer;
 
 import atoma.api.BrokenBarrierException;
 import atoma.api.Leasable;
+import atoma.api.Versioned;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -76,6 +79,32 @@ public abstract class CyclicBarrier extends Leasable {
    */
   public abstract void await() throws InterruptedException, BrokenBarrierException;
 
+  /**
+   * Waits asynchronously until all parties have invoked {@code await} on this barrier, without
+   * blocking the calling thread.
+   *
+   * @return a future completed once the barrier is tripped, or completed exceptionally with a
+   *     {@link BrokenBarrierException} if the barrier is broken.
+   */
+  public CompletableFuture<Void> awaitAsync() {
+    return awaitAsync(-1L, null);
+  }
+
+  /**
+   * Waits asynchronously until all parties have invoked {@code await} on this barrier, or the
+   * specified waiting time elapses, without blocking the calling thread.
+   *
+   * <p>Each call takes part as a distinct participant. If the waiting time elapses, the barrier is
+   * broken for all other participants.
+   *
+   * @param timeout the maximum time to wait, a negative value means wait indefinitely
+   * @param unit the time unit of the {@code timeout} argument
+   * @return a future completed once the barrier is tripped, or completed exceptionally with a
+   *     {@link BrokenBarrierException} if the barrier is broken or a {@link TimeoutException} if
+   *     the waiting time elapses.
+   */
+  public abstract CompletableFuture<Void> awaitAsync(long timeout, TimeUnit unit);
+
   /**
    * Resets the barrier to its initial state. If any parties are currently waiting at the barrier,
    * they will be released with a {@link BrokenBarrierException}. Note that resets after a breakage
@@ -93,6 +122,21 @@ public abstract class CyclicBarrier extends Leasable {
    */
   public abstract boolean isBroken();
 
+  /**
+   * Queries if this barrier is in a broken state, as seen by a possibly stale read. A barrier no
+   * party has used yet may not exist in the coordination service and reads as not broken.
+   *
+   * <p>The state may be read from a replica of the coordination service lagging at most {@code
+   * maxStaleness} behind the latest changes, which spares the primary of the service. The version
+   * returned alongside the value tells which of two reads is the more recent.
+   *
+   * @param maxStaleness the maximum staleness of the value, at least {@link
+   *     Versioned#MIN_MAX_STALENESS}.
+   * @return whether the barrier is broken, with the version of the barrier read
+   * @throws IllegalArgumentException if {@code maxStaleness} is below the minimum
+   */
+  public abstract Versioned<Boolean> isBroken(Duration maxStaleness);
+
   /**
    * Returns the number of parties required to trip this barrier.
    *
@@ -107,4 +151,18 @@ public abstract class CyclicBarrier extends Leasable {
    * @return the number of parties currently waiting at the barrier
    */
   public abstract int getNumberWaiting();
+
+  /**
+   * Returns the number of parties waiting at the barrier, as seen by a possibly stale read.
+   *
+   * <p>The state may be read from a replica of the coordination service lagging at most {@code
+   * maxStaleness} behind the latest changes, which spares the primary of the service. The version
+   * returned alongside the value tells which of two reads is the more recent.
+   *
+   * @param maxStaleness the maximum staleness of the value, at least {@link
+   *     Versioned#MIN_MAX_STALENESS}.
+   * @return the number of parties waiting, with the version of the barrier read
+   * @throws IllegalArgumentException if {@code maxStaleness} is below the minimum
+   */
+  public abstract Versioned<Integer> getNumberWaiting(Duration maxStaleness);
 }
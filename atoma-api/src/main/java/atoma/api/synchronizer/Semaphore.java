@@ -18,7 +18,10 @@ package atoma.api.synchronizer;
 
 import atoma.api.Leasable;
 import atoma.api.OperationTimeoutException;
+import atoma.api.Versioned;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -60,6 +63,35 @@ public abstract class Semaphore extends Leasable {
   public abstract void acquire(int permits, Long waitTime, TimeUnit timeUnit)
       throws InterruptedException, TimeoutException;
 
+  /**
+   * Acquires the given number of permits asynchronously, without blocking the calling thread.
+   *
+   * @param permits the number of permits to acquire (must be positive)
+   * @return a future completed once the permits are acquired.
+   * @throws IllegalArgumentException if {@code permits} is not a positive number
+   */
+  public CompletableFuture<Void> acquireAsync(int permits) {
+    return acquireAsync(permits, -1L, null);
+  }
+
+  /**
+   * Acquires the given number of permits asynchronously, without blocking the calling thread.
+   *
+   * <p>Permits are held by the lease, so they can be released from any thread. Cancelling the
+   * returned future abandons the acquisition. If the permits were acquired concurrently with the
+   * cancellation, they are released again.
+   *
+   * @param permits the number of permits to acquire (must be positive)
+   * @param waitTime the maximum time to wait for the permits, a negative value means wait
+   *     indefinitely
+   * @param timeUnit the time unit of the {@code waitTime} argument
+   * @return a future completed once the permits are acquired, or completed exceptionally with a
+   *     {@link TimeoutException} if the waiting time elapses.
+   * @throws IllegalArgumentException if {@code permits} is not a positive number
+   */
+  public abstract CompletableFuture<Void> acquireAsync(
+      int permits, long waitTime, TimeUnit timeUnit);
+
   /**
    * Releases the given number of permits, returning them to the semaphore.
    *
@@ -93,4 +125,33 @@ public abstract class Semaphore extends Leasable {
    * @return the number of permits available
    */
   public abstract int availablePermits();
+
+  /**
+   * Returns the number of permits available in this semaphore, as seen by a possibly stale read.
+   *
+   * <p>The state may be read from a replica of the coordination service lagging at most {@code
+   * maxStaleness} behind the latest changes, which spares the primary of the service. The version
+   * returned alongside the value tells which of two reads is the more recent.
+   *
+   * @param maxStaleness the maximum staleness of the value, at least {@link
+   *     Versioned#MIN_MAX_STALENESS}.
+   * @return the number of permits available, with the version of the semaphore read
+   * @throws IllegalArgumentException if {@code maxStaleness} is below the minimum
+   */
+  public abstract Versioned<Integer> availablePermits(Duration maxStaleness);
+
+  /**
+   * Returns the number of permits held by the lease of this semaphore, as seen by a possibly stale
+   * read.
+   *
+   * <p>The state may be read from a replica of the coordination service lagging at most {@code
+   * maxStaleness} behind the latest changes, which spares the primary of the service. The version
+   * returned alongside the value tells which of two reads is the more recent.
+   *
+   * @param maxStaleness the maximum staleness of the value, at least {@link
+   *     Versioned#MIN_MAX_STALENESS}.
+   * @return the number of permits held, with the version of the semaphore read
+   * @throws IllegalArgumentException if {@code maxStaleness} is below the minimum
+   */
+  public abstract Versioned<Integer> drainPermits(Duration maxStaleness);
 }
\ No newline at end of file
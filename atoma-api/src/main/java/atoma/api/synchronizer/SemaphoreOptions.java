@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.api.synchronizer;
+
+import atoma.api.coordination.Durability;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Client-side tuning options for a distributed {@link Semaphore}.
+ *
+ * <p>With a positive {@code poolSize} the client reserves permits from the coordination store in
+ * chunks of up to {@code poolSize} permits under its lease, and serves local {@code acquire} calls
+ * from a client-side pool. Pooled permits are still recorded against the lease in the store, so they
+ * are reclaimed if the client dies. How surplus permits go back to the store is controlled by the
+ * {@link ReturnPolicy}. Whatever the policy, pooled permits left unused for {@code maxIdleTime} go
+ * back to the store, so that the clients waiting for them are starved for a bounded time only.
+ *
+ * <p>The {@link Durability} of the commands of the semaphore defaults to the one of the
+ * coordination store. A semaphore used as a soft rate limiter may give up some durability, see
+ * {@link Durability#FAST}, for a lower latency.
+ *
+ * @param poolSize the number of permits reserved per remote acquisition, {@code 0} disables the
+ *     permit pool.
+ * @param returnPolicy how pooled permits are returned to the store.
+ * @param durability the durability of the commands of the semaphore, or {@code null} for the one
+ *     of the coordination store.
+ * @param maxIdleTime the time after which pooled permits no local thread took or released are
+ *     returned to the store.
+ */
+public record SemaphoreOptions(
+    int poolSize, ReturnPolicy returnPolicy, Durability durability, Duration maxIdleTime) {
+
+  /** The time after which unused pooled permits are returned, unless configured otherwise. */
+  public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(1);
+
+  /** Permit pool disabled. Every acquisition and release goes through the coordination store. */
+  public static final SemaphoreOptions DEFAULT = new SemaphoreOptions(0, ReturnPolicy.IMMEDIATE);
+
+  /** Defines when pooled permits are returned to the coordination store. */
+  public enum ReturnPolicy {
+    /** Pooled permits are returned as soon as no local thread is waiting for them. */
+    IMMEDIATE,
+
+    /**
+     * Up to {@code poolSize} pooled permits are kept locally while local threads use them, and
+     * returned once unused for {@code maxIdleTime} or when the semaphore is closed. Other clients
+     * may wait for them meanwhile.
+     */
+    LAZY
+  }
+
+  public SemaphoreOptions(int poolSize, ReturnPolicy returnPolicy) {
+    this(poolSize, returnPolicy, null);
+  }
+
+  public SemaphoreOptions(int poolSize, ReturnPolicy returnPolicy, Durability durability) {
+    this(poolSize, returnPolicy, durability, DEFAULT_MAX_IDLE_TIME);
+  }
+
+  public SemaphoreOptions {
+    Objects.requireNonNull(returnPolicy, "returnPolicy cannot be null");
+    Objects.requireNonNull(maxIdleTime, "maxIdleTime cannot be null");
+    if (poolSize < 0) {
+      throw new IllegalArgumentException("poolSize must not be negative");
+    }
+    if (maxIdleTime.isNegative() || maxIdleTime.isZero()) {
+      throw new IllegalArgumentException("maxIdleTime must be positive");
+    }
+  }
+
+  /**
+   * Creates options with the permit pool enabled.
+   *
+   * @param poolSize the number of permits reserved per remote acquisition, must be positive.
+   * @param returnPolicy how pooled permits are returned to the store.
+   * @return the semaphore options.
+   */
+  public static SemaphoreOptions permitPool(int poolSize, ReturnPolicy returnPolicy) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("poolSize must be positive");
+    }
+    return new SemaphoreOptions(poolSize, returnPolicy);
+  }
+
+  /**
+   * Returns these options with the given durability of the commands of the semaphore.
+   *
+   * @param durability the durability, or {@code null} for the one of the coordination store.
+   * @return the semaphore options.
+   */
+  public SemaphoreOptions withDurability(Durability durability) {
+    return new SemaphoreOptions(poolSize, returnPolicy, durability, maxIdleTime);
+  }
+
+  /**
+   * Returns these options with the given time after which unused pooled permits are returned.
+   *
+   * @param maxIdleTime the idle time, must be positive.
+   * @return the semaphore options.
+   */
+  public SemaphoreOptions withMaxIdleTime(Duration maxIdleTime) {
+    return new SemaphoreOptions(poolSize, returnPolicy, durability, maxIdleTime);
+  }
+
+  /**
+   * @return {@code true} if permits are reserved in chunks and served from a client-side pool.
+   */
+  public boolean isPermitPoolEnabled() {
+    return poolSize > 0;
+  }
+}
@@ -7,6 +7,7 @@ plugins {
 dependencies {
     api(project(":atoma-core"))
     api(project(":atoma-storage-mongo"))
+    api(project(":atoma-storage-memory"))
     implementation(lib.mongodriver)
     implementation("org.openjdk.jmh:jmh-core:1.37")
     annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
@@ -17,6 +18,7 @@ dependencies {
     // Add all necessary dependencies for the JMH source set
     jmhImplementation(project(":atoma-core"))
     jmhImplementation(project(":atoma-storage-mongo"))
+    jmhImplementation(project(":atoma-storage-memory"))
     jmhImplementation(lib.mongodriver)
     jmhImplementation(lib.testcontainers.mongodb)
 }
@@ -26,6 +28,8 @@ jmh {
     resultsFile = project.file("${buildDir}/reports/jmh/jmh-result.json")
     includes = listOf(
         "atoma.benchmark.*",
+        // Benchmarks of the command handlers, in the package of the handler they measure.
+        "atoma.storage.mongo.command.*Benchmark",
     )
     excludes = listOf("atoma.benchmark.CountDownLatchBenchmark", "atoma.benchmark.CyclicBarrierBenchmark")
 }
@@ -0,0 +1,134 @@
+package atoma.benchmark;
+
+import atoma.storage.mongo.WatchedResources;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Updates.inc;
+
+/**
+ * Measures the notification latency of a change of a read-write lock held by many readers, and
+ * the size of the change events received by the client.
+ *
+ * <p>The {@code full} payload watches the collections as the store did before the projection: the
+ * whole documents before and after each change. The {@code projected} payload watches through the
+ * pipeline of the store. The {@code bytes} and {@code events} counters give the average event size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ChangeStreamPayloadBenchmark {
+
+  private static final String RESOURCE_ID = "benchmark-rwlock";
+
+  private static final int READERS = 64;
+
+  @Param({"full", "projected"})
+  public String payload;
+
+  private MongoClient mongoClient;
+  private MongoCollection<Document> collection;
+  private MongoCursor<RawBsonDocument> cursor;
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class EventCounters {
+    public long bytes;
+    public long events;
+  }
+
+  @Setup
+  public void setup() {
+    mongoClient =
+        MongoClients.create("mongodb://127.0.0.1:32768/atoma_benchmark?replicaSet=docker-rs");
+    MongoDatabase database = mongoClient.getDatabase("atoma_benchmark");
+    collection = database.getCollection(RW_LOCK);
+    // Pre-images are only written for collections enabling them.
+    database.runCommand(
+        new Document("collMod", RW_LOCK)
+            .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+
+    List<Document> readLocks = new ArrayList<>(READERS);
+    for (int i = 0; i < READERS; i++) {
+      readLocks.add(
+          new Document("lease", "lease-" + i)
+              .append("holder", "lease-" + i + "-thread-" + i)
+              .append("count", 1)
+              .append("acquired_at", new Date()));
+    }
+    collection.deleteOne(eq("_id", RESOURCE_ID));
+    collection.insertOne(
+        new Document("_id", RESOURCE_ID).append("version", 0L).append("read_locks", readLocks));
+
+    boolean full = "full".equals(payload);
+    List<Bson> pipeline =
+        full
+            ? List.of(match(in("ns.coll", WatchedResources.COLLECTIONS)))
+            : new WatchedResources(() -> Set.of(RESOURCE_ID), Set::of).pipeline();
+    cursor =
+        database
+            .watch(pipeline)
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .fullDocumentBeforeChange(
+                full ? FullDocumentBeforeChange.WHEN_AVAILABLE : FullDocumentBeforeChange.OFF)
+            .maxAwaitTime(10, TimeUnit.MILLISECONDS)
+            .withDocumentClass(RawBsonDocument.class)
+            .cursor();
+  }
+
+  @TearDown
+  public void tearDown() {
+    cursor.close();
+    collection.deleteOne(eq("_id", RESOURCE_ID));
+    mongoClient.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void updateAndNotify(EventCounters counters) {
+    collection.updateOne(eq("_id", RESOURCE_ID), inc("version", 1L));
+    RawBsonDocument event;
+    while ((event = cursor.tryNext()) == null) {
+      // Wait for the event of the update.
+    }
+    counters.events++;
+    counters.bytes += event.getByteBuffer().remaining();
+  }
+}
@@ -0,0 +1,113 @@
+package atoma.benchmark;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.api.lock.ReadWriteLock;
+import atoma.api.synchronizer.Semaphore;
+import atoma.core.AtomaClient;
+import atoma.storage.memory.MemoryCoordinationStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the primitives of the client over the in-memory store, which answers without any round
+ * trip: the time measured is the overhead of the client alone, to subtract from the results of the
+ * MongoDB benchmarks to get the cost of the database.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ClientOverheadBenchmark {
+  private MemoryCoordinationStore coordinationStore;
+  private AtomaClient atomaClient;
+  private Lease lease;
+
+  private Lock mutexLock;
+  private ReadWriteLock readWriteLock;
+  private Semaphore semaphore;
+
+  @Setup
+  public void setup() {
+    coordinationStore = new MemoryCoordinationStore();
+    atomaClient = new AtomaClient(coordinationStore);
+    lease = atomaClient.grantLease(Duration.ofMinutes(1));
+
+    mutexLock = lease.getLock("overhead-lock");
+    readWriteLock = lease.getReadWriteLock("overhead-rwlock");
+    semaphore = lease.getSemaphore("overhead-semaphore", 64);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    mutexLock.close();
+    readWriteLock.close();
+    semaphore.close();
+    lease.close();
+    atomaClient.close();
+    coordinationStore.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void mutexLockAndUnlock_NoContention(Blackhole blackhole) throws InterruptedException {
+    mutexLock.lock();
+    try {
+      blackhole.consume(0);
+    } finally {
+      mutexLock.unlock();
+    }
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void mutexLockAndUnlock_WithContention(Blackhole blackhole)
+      throws InterruptedException {
+    mutexLock.lock();
+    try {
+      blackhole.consume(0);
+    } finally {
+      mutexLock.unlock();
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void readLockAndUnlock(Blackhole blackhole) throws InterruptedException {
+    readWriteLock.readLock().lock();
+    try {
+      blackhole.consume(0);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void semaphoreAcquireAndRelease(Blackhole blackhole) throws InterruptedException {
+    semaphore.acquire(1);
+    try {
+      blackhole.consume(0);
+    } finally {
+      semaphore.release(1);
+    }
+  }
+}
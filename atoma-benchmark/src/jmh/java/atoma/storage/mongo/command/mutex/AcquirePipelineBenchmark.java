@@ -0,0 +1,152 @@
+package atoma.storage.mongo.command.mutex;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static atoma.storage.mongo.command.LeaseExpiry.LEASE_EXPIRE_TIME;
+import static com.mongodb.client.model.Aggregates.replaceRoot;
+
+/**
+ * Measures the client-side cost of the update pipeline of a mutex acquisition: building the stages
+ * and encoding them the way the driver does before sending them. No MongoDB instance is needed.
+ *
+ * <p>{@code perCall} builds the tree of stages with the parameters of the command embedded on every
+ * call, as the handler did before its pipeline was precompiled; the builder is kept here as it was,
+ * up to the takeover condition of the current pipeline, so that both send the same update. {@code
+ * precompiled} only builds and encodes the {@code let} variables next to the encoded stages of
+ * {@link AcquireCommandHandler#PIPELINE}. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AcquirePipelineBenchmark {
+
+  private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+  private static final String HOLDER = "benchmark-holder";
+
+  private static final String LEASE = "benchmark-lease";
+
+  private final Date stamp = new Date();
+
+  @Benchmark
+  public int perCall() {
+    return encode(perCallPipeline(HOLDER, LEASE, stamp, List.of()), null);
+  }
+
+  @Benchmark
+  public int precompiled() {
+    return encode(
+        AcquireCommandHandler.PIPELINE.stages(),
+        AcquireCommandHandler.buildVariables(HOLDER, LEASE, stamp, List.of()));
+  }
+
+  /** The acquisition pipeline as built on every call, with the parameters embedded. */
+  private static List<Bson> perCallPipeline(
+      String holder, String lease, Date stamp, List<String> expired) {
+    return List.of(
+        replaceRoot(
+            new Document(
+                "$cond",
+                Arrays.asList(
+                    // ========= if =========
+                    new Document(
+                        "$or",
+                        Arrays.asList(
+                            new Document(
+                                "$and",
+                                Arrays.asList(
+                                    new Document(
+                                        "$eq",
+                                        Arrays.asList(new Document("$type", "$holder"), "missing")),
+                                    new Document(
+                                        "$eq",
+                                        Arrays.asList(
+                                            new Document("$type", "$lease"), "missing")))),
+                            new Document(
+                                "$and",
+                                Arrays.asList(
+                                    new Document("$eq", Arrays.asList("$holder", holder)),
+                                    new Document("$eq", Arrays.asList("$lease", lease)))),
+                            // The lease of the holder has expired.
+                            new Document("$in", Arrays.asList("$lease", expired)))),
+
+                    // ========= then =========
+                    new Document()
+                        .append("lease", lease)
+                        .append("holder", holder)
+                        .append(LEASE_EXPIRE_TIME, stamp == null ? "$$REMOVE" : stamp)
+                        .append(
+                            "version",
+                            new Document(
+                                "$cond",
+                                Arrays.asList(
+                                    new Document(
+                                        "$or",
+                                        Arrays.asList(
+                                            new Document(
+                                                "$eq",
+                                                Arrays.asList(
+                                                    new Document("$type", "$version"), "missing")),
+                                            new Document(
+                                                "$eq", Arrays.asList("$version", BsonNull.VALUE)))),
+                                    1L,
+                                    new Document("$add", Arrays.asList("$version", 1L))))),
+
+                    // ========= else =========
+                    "$$ROOT"))));
+  }
+
+  /** Encodes the stages and the variables as the driver does, returning the encoded size. */
+  private static int encode(List<Bson> stages, Bson variables) {
+    BasicOutputBuffer buffer = new BasicOutputBuffer();
+    try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+      writer.writeStartDocument();
+      writer.writeStartArray("u");
+      for (Bson stage : stages) {
+        encode(writer, stage);
+      }
+      writer.writeEndArray();
+      if (variables != null) {
+        writer.writeName("let");
+        encode(writer, variables);
+      }
+      writer.writeEndDocument();
+    }
+    return buffer.getPosition();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void encode(BsonBinaryWriter writer, Bson bson) {
+    BsonDocument document = bson.toBsonDocument(BsonDocument.class, CODEC_REGISTRY);
+    ((Codec<BsonDocument>) CODEC_REGISTRY.get(document.getClass()))
+        .encode(writer, document, EncoderContext.builder().build());
+  }
+}
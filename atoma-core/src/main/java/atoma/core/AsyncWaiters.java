@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.OperationTimeoutException;
+import atoma.api.coordination.AsyncCoordinationStore;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.command.Command;
+import com.google.errorprone.annotations.ThreadSafe;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A queue of pending asynchronous acquisitions of a single primitive.
+ *
+ * <p>An async waiter does not park a thread. It's an attempt (a {@link Runnable} that executes one
+ * command against the coordination store through {@link #execute(CoordinationStore, String,
+ * Command)}) together with the {@link CompletableFuture} handed to the caller. If the attempt
+ * cannot complete the future, it's parked here and re-submitted to the executor once the resource
+ * listener of the primitive signals a state change.
+ *
+ * <p>Lost wake-ups are prevented by an epoch counter: each attempt reads the epoch before issuing
+ * its command, and a waiter that parks after the epoch has advanced is re-submitted immediately.
+ */
+@ThreadSafe
+final class AsyncWaiters {
+
+  private final Executor executor;
+
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+  private final AtomicLong epoch = new AtomicLong(0L);
+
+  private record Waiter(CompletableFuture<?> future, Runnable attempt) {}
+
+  AsyncWaiters(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Creates the future of an async operation, handed to the caller. Its waiter is dropped from the
+   * queue once it's done, whatever the number of times it was parked.
+   *
+   * @param time the maximum time to wait. A negative value means wait indefinitely.
+   * @param unit the time unit of the {@code time} argument.
+   * @return the new future.
+   */
+  <T> CompletableFuture<T> newFuture(long time, TimeUnit unit) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.whenComplete((r, e) -> waiters.removeIf(waiter -> waiter.future() == future));
+    return withTimeout(future, time, unit);
+  }
+
+  /** Applies the timeout of an async operation to the given future. */
+  private static <T> CompletableFuture<T> withTimeout(
+      CompletableFuture<T> future, long time, TimeUnit unit) {
+    if (time == 0L) {
+      future.completeExceptionally(new TimeoutException("Wait time elapsed."));
+    } else if (unit != null && time > 0L) {
+      future.orTimeout(time, unit);
+    }
+    return future;
+  }
+
+  /**
+   * Translates a failure of the coordination store into the exception reported by the future.
+   *
+   * @param e the failure.
+   * @return a {@link TimeoutException} for server-side timeouts, the failure itself otherwise.
+   */
+  static Throwable translate(Throwable e) {
+    if (e instanceof CompletionException && e.getCause() != null) e = e.getCause();
+    Throwable cause = e;
+    while (cause != null) {
+      if (cause instanceof OperationTimeoutException) {
+        return new TimeoutException("Command timed out during server-side execution.");
+      }
+      cause = cause.getCause();
+    }
+    return e;
+  }
+
+  /**
+   * @return the remaining nanos until the deadline of an async operation, {@code -1} if untimed.
+   */
+  static long remainingNanos(long deadlineNanos) {
+    if (deadlineNanos < 0L) return -1L;
+    return Math.max(1L, deadlineNanos - System.nanoTime());
+  }
+
+  /**
+   * @return the deadline of an async operation in nanos, {@code -1} if untimed.
+   */
+  static long deadlineNanos(long time, TimeUnit unit) {
+    return (unit != null && time > 0L) ? System.nanoTime() + unit.toNanos(time) : -1L;
+  }
+
+  /**
+   * Executes a command without blocking the calling thread: through the store itself if it's an
+   * {@link AsyncCoordinationStore}, on the executor otherwise. Either way the returned future is
+   * completed on the executor, never on a thread of the store.
+   *
+   * @param store the coordination store.
+   * @param resourceId the resource the command is executed on.
+   * @param command the command.
+   * @return a future completed with the result of the command.
+   */
+  <R> CompletableFuture<R> execute(CoordinationStore store, String resourceId, Command<R> command) {
+    if (!(store instanceof AsyncCoordinationStore asyncStore)) {
+      return CompletableFuture.supplyAsync(() -> store.execute(resourceId, command), executor);
+    }
+    CompletableFuture<R> future = new CompletableFuture<>();
+    try {
+      asyncStore
+          .executeAsync(resourceId, command)
+          .whenCompleteAsync(
+              (result, e) -> {
+                if (e != null) {
+                  future.completeExceptionally(e);
+                } else {
+                  future.complete(result);
+                }
+              },
+              executor);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /** Runs the attempt on the executor. */
+  void submit(Runnable attempt) {
+    executor.execute(attempt);
+  }
+
+  /**
+   * @return the current epoch, to be read by an attempt before it issues its command.
+   */
+  long epoch() {
+    return epoch.get();
+  }
+
+  /**
+   * Parks an attempt until the next signal.
+   *
+   * @param future the future completed by the attempt, created by {@link #newFuture}.
+   * @param observedEpoch the epoch read by the attempt before it issued its command.
+   * @param attempt the attempt to re-submit on signal.
+   */
+  void park(CompletableFuture<?> future, long observedEpoch, Runnable attempt) {
+    if (future.isDone()) return;
+    Waiter waiter = new Waiter(future, attempt);
+    waiters.add(waiter);
+    // Done before being added, the waiter was missed by the cleanup of the future.
+    if (future.isDone()) {
+      waiters.remove(waiter);
+    } else if (epoch.get() != observedEpoch && waiters.remove(waiter)) {
+      submit(attempt);
+    }
+  }
+
+  /** Re-submits the longest-waiting attempt. */
+  void signal() {
+    epoch.incrementAndGet();
+    Waiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (!waiter.future().isDone()) {
+        submit(waiter.attempt());
+        return;
+      }
+    }
+  }
+
+  /** Re-submits all parked attempts. */
+  void signalAll() {
+    epoch.incrementAndGet();
+    Waiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (!waiter.future().isDone()) {
+        submit(waiter.attempt());
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if there is any parked attempt.
+   */
+  boolean hasWaiters() {
+    return !waiters.isEmpty();
+  }
+}
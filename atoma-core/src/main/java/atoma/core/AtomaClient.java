@@ -29,6 +29,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.errorprone.annotations.MustBeClosed;
 
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -42,35 +43,78 @@ public class AtomaClient implements AutoCloseable {
 
   private final ScheduledExecutorService scheduleExecutor;
 
+  // Runs the commands of async acquisitions and write-behind releases, which block on the store,
+  // away from the lease renewals.
+  private final ExecutorService commandExecutor = newCommandExecutor();
+
+  private final LeaseRenewer leaseRenewer;
+
+  private final FleetCleaner cleaner;
+
   public AtomaClient(CoordinationStore coordinationStore) {
     this.coordinationStore = coordinationStore;
     this.scheduleExecutor =
         Executors.newScheduledThreadPool(
             8, new ThreadFactoryBuilder().setNameFormat("atoma-ttl-worker-%d").build());
     this.ownExecutor = true;
-    startTTLTask();
+    this.leaseRenewer =
+        new LeaseRenewer(scheduleExecutor, coordinationStore, LeaseRenewer.DEFAULT_TICK);
+    this.cleaner = new FleetCleaner(scheduleExecutor, coordinationStore, null, null);
   }
 
   public AtomaClient(ScheduledExecutorService ttlExecutor, CoordinationStore coordinationStore) {
+    this(ttlExecutor, coordinationStore, null);
+  }
+
+  /**
+   * @param ttlExecutor The executor running lease renewals and dead-resource cleanup.
+   * @param coordinationStore The store of the coordination state.
+   * @param sweepInterval The interval of the full dead-resource sweep run by the client elected as
+   *     cleaner of the fleet, or {@code null} for the default one.
+   */
+  public AtomaClient(
+      ScheduledExecutorService ttlExecutor,
+      CoordinationStore coordinationStore,
+      Duration sweepInterval) {
+    this(ttlExecutor, coordinationStore, sweepInterval, null);
+  }
+
+  /**
+   * @param ttlExecutor The executor running lease renewals and dead-resource cleanup.
+   * @param coordinationStore The store of the coordination state.
+   * @param sweepInterval The interval of the full dead-resource sweep run by the client elected as
+   *     cleaner of the fleet, or {@code null} for the default one.
+   * @param expiryGrace The delay after the expiration of a lease before the cleaner of the fleet
+   *     deletes it and releases its resources, or {@code null} for the default one. It must cover
+   *     the clock skew between clients.
+   */
+  public AtomaClient(
+      ScheduledExecutorService ttlExecutor,
+      CoordinationStore coordinationStore,
+      Duration sweepInterval,
+      Duration expiryGrace) {
     this.coordinationStore = coordinationStore;
     this.scheduleExecutor = ttlExecutor;
     this.ownExecutor = false;
-    startTTLTask();
+    this.leaseRenewer =
+        new LeaseRenewer(scheduleExecutor, coordinationStore, LeaseRenewer.DEFAULT_TICK);
+    this.cleaner = new FleetCleaner(scheduleExecutor, coordinationStore, sweepInterval, expiryGrace);
+  }
+
+  private static ExecutorService newCommandExecutor() {
+    return Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder()
+            .setNameFormat("atoma-command-worker-%d")
+            .setDaemon(true)
+            .build());
   }
 
-  private void startTTLTask() {
-    CleanDeadResourceCommand.Clean cleanCommand = new CleanDeadResourceCommand.Clean(null);
-    coordinationStore.execute("", cleanCommand);
-    scheduleExecutor.scheduleAtFixedRate(
-        () -> {
-          try {
-            coordinationStore.execute("", cleanCommand);
-          } catch (Throwable ignore) {
-          }
-        },
-        0,
-        2,
-        TimeUnit.SECONDS);
+  /**
+   * Returns whether this client is currently the one client of the fleet cleaning the resources
+   * held by dead leases.
+   */
+  public boolean isCleaner() {
+    return cleaner.isElected();
   }
 
   public Lease grantLease() {
@@ -80,9 +124,10 @@ public class AtomaClient implements AutoCloseable {
   public Lease grantLease(Duration ttl) {
     Lease lease =
         new DefaultLease(
-            scheduleExecutor,
+            commandExecutor,
             coordinationStore,
             ttl,
+            leaseRenewer,
             (t) -> {
               DefaultLease removedLease =
                   (DefaultLease) atomaResources.remove(Lease.class, t.getResourceId());
@@ -102,7 +147,8 @@ public class AtomaClient implements AutoCloseable {
     CountDownLatch countDownLatch =
         (CountDownLatch) atomaResources.get(CountDownLatch.class, resourceId);
     if (countDownLatch == null) {
-      countDownLatch = new DefaultCountDownLatch(resourceId, count, this.coordinationStore);
+      countDownLatch =
+          new DefaultCountDownLatch(resourceId, count, this.coordinationStore, commandExecutor);
       atomaResources.put(CountDownLatch.class, resourceId, countDownLatch);
     }
     return countDownLatch;
@@ -110,6 +156,8 @@ public class AtomaClient implements AutoCloseable {
 
   @Override
   public synchronized void close() throws Exception {
+    leaseRenewer.close();
+    cleaner.close();
     if (ownExecutor) {
       scheduleExecutor.shutdown();
     }
@@ -128,5 +176,6 @@ public class AtomaClient implements AutoCloseable {
                 throw new AtomaStateException(e);
               }
             });
+    commandExecutor.shutdown();
   }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 
 package atoma.core;
 
+import atoma.api.Versioned;
 import atoma.api.coordination.CoordinationStore;
 import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.Subscription;
@@ -25,6 +26,10 @@ import com.google.common.annotations.Beta;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.annotations.ThreadSafe;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -47,7 +52,8 @@ import java.util.concurrent.locks.ReentrantLock;
  * the count, and only enters a wait state if the count is greater than zero. A background {@link
  * Subscription} listens for changes to the latch on the server. The listener is "smart": it only
  * wakes up waiting threads (via {@code signalAll}) when the latch's count actually reaches zero,
- * preventing unnecessary wake-ups and network traffic.
+ * preventing unnecessary wake-ups and network traffic. Async waiters registered by {@link
+ * #awaitAsync(long, TimeUnit)} are completed from the same listener without parking a thread.
  *
  * @see atoma.api.synchronizer.CountDownLatch
  */
@@ -62,6 +68,9 @@ final class DefaultCountDownLatch extends CountDownLatch {
   private final ReentrantLock localLock = new ReentrantLock();
   private final Condition latchZero = localLock.newCondition();
 
+  // Pending async waiters, re-submitted when the count reaches zero.
+  private final AsyncWaiters asyncWaiters;
+
   private final int count;
 
   /**
@@ -77,7 +86,22 @@ final class DefaultCountDownLatch extends CountDownLatch {
    * @param coordination The coordination store used to execute commands and listen for events.
    */
   public DefaultCountDownLatch(String resourceId, int count, CoordinationStore coordination) {
+    this(resourceId, count, coordination, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new DefaultCountDownLatch client.
+   *
+   * @param resourceId The unique ID of the latch resource.
+   * @param count The number of times {@link #countDown} must be invoked before threads can pass
+   *     through {@link #await()}.
+   * @param coordination The coordination store used to execute commands and listen for events.
+   * @param asyncExecutor The executor running the commands of async waiters.
+   */
+  public DefaultCountDownLatch(
+      String resourceId, int count, CoordinationStore coordination, Executor asyncExecutor) {
     if (count < 0) throw new IllegalArgumentException("count < 0");
+    this.asyncWaiters = new AsyncWaiters(asyncExecutor);
 
     this.resourceId = resourceId;
     this.coordination = coordination;
@@ -114,6 +138,7 @@ final class DefaultCountDownLatch extends CountDownLatch {
     } finally {
       localLock.unlock();
     }
+    asyncWaiters.signalAll();
   }
 
   /**
@@ -171,6 +196,34 @@ final class DefaultCountDownLatch extends CountDownLatch {
     if (!elapsed) throw new InterruptedException();
   }
 
+  @Override
+  public CompletableFuture<Void> awaitAsync(long timeout, TimeUnit unit) {
+    CompletableFuture<Void> future = asyncWaiters.newFuture(timeout, unit);
+    asyncWaiters.submit(() -> tryAwaitAsync(future));
+    return future;
+  }
+
+  /**
+   * Checks the count once. If the latch is still closed, the waiter is parked until the listener
+   * observes the count reaching zero.
+   */
+  private void tryAwaitAsync(CompletableFuture<Void> future) {
+    if (future.isDone()) return;
+    long epoch = asyncWaiters.epoch();
+    asyncWaiters
+        .execute(coordination, resourceId, new CountDownLatchCommand.GetCount(count))
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                future.completeExceptionally(AsyncWaiters.translate(e));
+              } else if (result.count() <= 0) {
+                future.complete(null);
+              } else {
+                asyncWaiters.park(future, epoch, () -> tryAwaitAsync(future));
+              }
+            });
+  }
+
   /**
    * Returns the current count of the latch.
    *
@@ -185,6 +238,14 @@ final class DefaultCountDownLatch extends CountDownLatch {
     return result.count();
   }
 
+  @Override
+  public Versioned<Integer> getCount(Duration maxStaleness) {
+    Versioned.requireMaxStaleness(maxStaleness);
+    CountDownLatchCommand.GetCountResult result =
+        coordination.execute(resourceId, new CountDownLatchCommand.GetCount(count, maxStaleness));
+    return new Versioned<>(result.count(), result.version());
+  }
+
   @Override
   public String getResourceId() {
     return resourceId;
@@ -19,6 +19,7 @@ package atoma.core;
 import atoma.api.AtomaException;
 import atoma.api.BrokenBarrierException;
 import atoma.api.OperationTimeoutException;
+import atoma.api.Versioned;
 import atoma.api.coordination.CoordinationStore;
 import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.Subscription;
@@ -31,11 +32,17 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -77,6 +84,10 @@ import static java.util.Collections.emptyList;
  * <p>If a thread's wait times out, it assumes responsibility for breaking the barrier for all other
  * participants by issuing a {@link #reset()} command.
  *
+ * <p>{@link #awaitAsync(long, TimeUnit)} runs the same two phases without parking a thread. Each
+ * call takes part as a distinct participant identified by an owner token, and its local waiting
+ * phase is a waiter in {@link AsyncWaiters} that is re-submitted by the subscription listener.
+ *
  * <p><b>Resource Management:</b> This class implements {@link AutoCloseable}. It is crucial to
  * close the barrier instance (e.g., using a try-with-resources block) to release the underlying
  * network subscription and prevent resource leaks.
@@ -94,6 +105,9 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
   private final ReentrantLock localLock = new ReentrantLock();
   private final Condition generationUpgraded = localLock.newCondition();
 
+  // Pending async participants, re-submitted when the generation changes.
+  private final AsyncWaiters asyncWaiters;
+
   @GuardedBy("localLock")
   private volatile long remoteGeneration;
 
@@ -120,6 +134,27 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
    */
   public DefaultCyclicBarrier(
       String resourceId, String leaseId, int parties, CoordinationStore coordination) {
+    this(resourceId, leaseId, parties, coordination, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new DefaultCyclicBarrier.
+   *
+   * @param resourceId The unique identifier for the distributed barrier resource.
+   * @param parties The number of parties that must invoke {@link #await()} before the barrier is
+   *     tripped.
+   * @param coordination The coordination store used for state management and eventing.
+   * @param asyncExecutor The executor running the commands of async participants.
+   * @throws IllegalArgumentException if a barrier with the same {@code resourceId} already exists
+   *     but was initialized with a different number of parties.
+   */
+  public DefaultCyclicBarrier(
+      String resourceId,
+      String leaseId,
+      int parties,
+      CoordinationStore coordination,
+      Executor asyncExecutor) {
+    this.asyncWaiters = new AsyncWaiters(asyncExecutor);
     if (parties <= 0) {
       throw new IllegalArgumentException("Parties must be a positive number.");
     }
@@ -181,6 +216,7 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
                             } finally {
                               localLock.unlock();
                             }
+                            asyncWaiters.signalAll();
                           }
                         });
               }
@@ -351,6 +387,96 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> awaitAsync(long timeout, TimeUnit unit) {
+    CompletableFuture<Void> future = asyncWaiters.newFuture(timeout, unit);
+    String participantId = String.format("%s/%s", leaseId, UUID.randomUUID());
+    long deadlineNanos = AsyncWaiters.deadlineNanos(timeout, unit);
+
+    // The generation this participant is waiting in, used to break the barrier on timeout.
+    AtomicLong generation = new AtomicLong(remoteGeneration);
+    future.whenComplete(
+        (r, e) -> {
+          if (e instanceof TimeoutException) {
+            asyncWaiters.execute(
+                coordination,
+                resourceId,
+                new CyclicBarrierCommand.Break(generation.get()));
+          }
+        });
+    asyncWaiters.submit(() -> tryAwaitAsync(participantId, deadlineNanos, generation, future));
+    return future;
+  }
+
+  /** Command phase of an async participant. */
+  private void tryAwaitAsync(
+      String participantId,
+      long deadlineNanos,
+      AtomicLong generation,
+      CompletableFuture<Void> future) {
+    if (future.isDone()) return;
+    var awaitCommand =
+        new CyclicBarrierCommand.Await(
+            participantId,
+            leaseId,
+            parties,
+            remoteGeneration,
+            AsyncWaiters.remainingNanos(deadlineNanos),
+            TimeUnit.NANOSECONDS);
+    asyncWaiters
+        .execute(coordination, resourceId, awaitCommand)
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                future.completeExceptionally(AsyncWaiters.translate(e));
+                return;
+              }
+              generation.set(result.generation());
+              if (result.broken()) {
+                future.completeExceptionally(
+                    new BrokenBarrierException("The barrier is in a broken state."));
+              } else if (result.passed()) {
+                future.complete(null);
+              } else {
+                awaitGenerationAsync(
+                    participantId, deadlineNanos, generation, result.waited(), future);
+              }
+            });
+  }
+
+  /** Local waiting phase of an async participant. */
+  private void awaitGenerationAsync(
+      String participantId,
+      long deadlineNanos,
+      AtomicLong generation,
+      boolean waited,
+      CompletableFuture<Void> future) {
+    if (future.isDone()) return;
+    long epoch = asyncWaiters.epoch();
+    if (generation.get() == remoteGeneration) {
+      asyncWaiters.park(
+          future,
+          epoch,
+          () -> awaitGenerationAsync(participantId, deadlineNanos, generation, waited, future));
+      return;
+    }
+    asyncWaiters
+        .execute(coordination, resourceId, new CyclicBarrierCommand.GetState(parties))
+        .whenComplete(
+            (state, e) -> {
+              if (e != null) {
+                future.completeExceptionally(AsyncWaiters.translate(e));
+              } else if (state.isBroken()) {
+                future.completeExceptionally(
+                    new BrokenBarrierException("The barrier was broken while waiting."));
+              } else if (waited) {
+                future.complete(null);
+              } else {
+                tryAwaitAsync(participantId, deadlineNanos, generation, future);
+              }
+            });
+  }
+
   /**
    * Resets the barrier to its initial state. If any parties are waiting at the barrier when this
    * method is called, they will return with a {@link BrokenBarrierException}.
@@ -378,6 +504,12 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
     return coordination.execute(resourceId, new CyclicBarrierCommand.GetState(parties)).isBroken();
   }
 
+  @Override
+  public Versioned<Boolean> isBroken(Duration maxStaleness) {
+    CyclicBarrierCommand.GetStateResult result = getState(maxStaleness);
+    return new Versioned<>(result.isBroken(), result.version());
+  }
+
   @Override
   public int getParties() {
     return parties;
@@ -390,6 +522,18 @@ final class DefaultCyclicBarrier extends CyclicBarrier {
         .numberWaiting();
   }
 
+  @Override
+  public Versioned<Integer> getNumberWaiting(Duration maxStaleness) {
+    CyclicBarrierCommand.GetStateResult result = getState(maxStaleness);
+    return new Versioned<>(result.numberWaiting(), result.version());
+  }
+
+  private CyclicBarrierCommand.GetStateResult getState(Duration maxStaleness) {
+    Versioned.requireMaxStaleness(maxStaleness);
+    return coordination.execute(
+        resourceId, new CyclicBarrierCommand.GetState(parties, maxStaleness));
+  }
+
   @Override
   public String getResourceId() {
     return resourceId;
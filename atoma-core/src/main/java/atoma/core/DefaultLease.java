@@ -23,21 +23,21 @@ import atoma.api.coordination.CoordinationStore;
 import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.command.LeaseCommand;
 import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
 import atoma.api.lock.ReadWriteLock;
 import atoma.api.synchronizer.CyclicBarrier;
 import atoma.api.synchronizer.Semaphore;
-import com.google.common.annotations.VisibleForTesting;
+import atoma.api.synchronizer.SemaphoreOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /** The default implementation for lease. */
@@ -50,23 +50,41 @@ final class DefaultLease extends Lease {
 
   private final Duration ttlDuration;
 
-  private Instant nextExpireTime;
+  private volatile Instant nextExpireTime;
 
-  private final ScheduledFuture<?> future;
+  // The System.nanoTime() at which the next renewal is due.
+  private volatile long nextRenewalNanos;
+
+  private final LeaseRenewer renewer;
+
+  private final Object renewalLock = new Object();
+
+  // The store given to the primitives, piggybacking renewals on their commands.
+  private final CoordinationStore primitiveStore;
+
+  // Runs the commands of async acquisitions and write-behind releases.
+  private final Executor executor;
+
+  // Sends the releases of the locks unlocked in write-behind mode, in order.
+  private final ReleaseQueue releaseQueue;
 
   private final Map<String, Leasable> atomaLeasableResources = new ConcurrentHashMap<>();
 
   private final Consumer<Lease> onRevokeListener;
 
   DefaultLease(
-      ScheduledExecutorService executor,
+      Executor executor,
       CoordinationStore coordinationStore,
       Duration ttlDuration,
+      LeaseRenewer renewer,
       Consumer<Lease> onRevokeListener) {
     this.coordinationStore = coordinationStore;
+    this.executor = executor;
     this.id = UUID.randomUUID().toString();
     this.ttlDuration = ttlDuration;
     this.onRevokeListener = onRevokeListener;
+    this.primitiveStore = LeaseRenewingCoordinationStore.of(coordinationStore, this);
+    this.releaseQueue = new ReleaseQueue(primitiveStore, executor);
     LeaseCommand.Grant grantCmd = new LeaseCommand.Grant(id, ttlDuration);
 
     LeaseCommand.GrantResult grantResult = coordinationStore.execute(id, grantCmd);
@@ -75,35 +93,10 @@ final class DefaultLease extends Lease {
       throw new AtomaStateException("Failure to grant lease resource because of unknown reason");
 
     this.nextExpireTime = grantResult.nextExpireTime();
-    this.future =
-        executor.scheduleAtFixedRate(
-            () -> {
-              try {
-
-                Instant preExpireTime = nextExpireTime;
-
-                LeaseCommand.TimeToLive ttlCmd =
-                    new LeaseCommand.TimeToLive(
-                        id, preExpireTime.plusMillis(ttlDuration.toMillis()));
-                LeaseCommand.TimeToLiveResult ttlResult = coordinationStore.execute(id, ttlCmd);
-
-                if (log.isDebugEnabled()) {
-                  log.debug(
-                      "Lease [{}] renew completed. Previous expire time: {} Next expire time: {} ",
-                      id,
-                      preExpireTime,
-                      ttlResult.nextExpireTime());
-                }
-
-                nextExpireTime = ttlResult.nextExpireTime();
-
-              } catch (Exception e) {
-                e.printStackTrace();
-              }
-            },
-            0,
-            ttlDuration.toMillis(),
-            TimeUnit.MILLISECONDS);
+    // Renew right away, then once per ttl.
+    this.nextRenewalNanos = System.nanoTime();
+    this.renewer = renewer;
+    renewer.register(this);
 
     coordinationStore.subscribe(
         Lease.class,
@@ -116,6 +109,50 @@ final class DefaultLease extends Lease {
         });
   }
 
+  boolean isRenewalDue(long horizonNanos) {
+    return !isClosed() && nextRenewalNanos - horizonNanos <= 0;
+  }
+
+  LeaseCommand.TimeToLive nextRenewal() {
+    // Truncated like the stored date, so all renewals of a period target the very same instant.
+    return new LeaseCommand.TimeToLive(
+        id, nextExpireTime.plusMillis(ttlDuration.toMillis()).truncatedTo(ChronoUnit.MILLIS));
+  }
+
+  /**
+   * Returns a renewal to piggyback on a command of one of the primitives of this lease, or {@code
+   * null} if the next renewal is not due within half a ttl.
+   */
+  LeaseCommand.TimeToLive piggybackRenewal() {
+    if (isClosed() || nextRenewalNanos - System.nanoTime() > ttlDuration.toNanos() / 2) {
+      return null;
+    }
+    return nextRenewal();
+  }
+
+  Instant expireTime() {
+    return nextExpireTime;
+  }
+
+  /**
+   * Records a renewal, whether sent by the {@link LeaseRenewer} or piggybacked on a command. Only
+   * the first renewal of a period advances the schedule; concurrent ones target the same instant.
+   */
+  void onRenewed(Instant renewedExpireTime) {
+    synchronized (renewalLock) {
+      if (!renewedExpireTime.isAfter(nextExpireTime)) return;
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Lease [{}] renew completed. Previous expire time: {} Next expire time: {} ",
+            id,
+            nextExpireTime,
+            renewedExpireTime);
+      }
+      this.nextExpireTime = renewedExpireTime;
+      this.nextRenewalNanos += ttlDuration.toNanos();
+    }
+  }
+
   @Deprecated
   private void closeManagementResource() {
     for (Leasable leasable : atomaLeasableResources.values()) {
@@ -131,14 +168,43 @@ final class DefaultLease extends Lease {
   public synchronized Lock getLock(String resourceId) {
     return (Lock)
         atomaLeasableResources.computeIfAbsent(
-            resourceId, _key -> new DefaultMutexLock(resourceId, id, coordinationStore));
+            resourceId,
+            _key ->
+                new DefaultMutexLock(
+                    resourceId, id, LockOptions.DEFAULT, primitiveStore, executor, releaseQueue));
+  }
+
+  @Override
+  public synchronized Lock getLock(String resourceId, LockOptions options) {
+    DefaultMutexLock lock =
+        (DefaultMutexLock)
+            atomaLeasableResources.computeIfAbsent(
+                resourceId,
+                _key ->
+                    new DefaultMutexLock(
+                        resourceId,
+                        id,
+                        options,
+                        DurableCoordinationStore.of(primitiveStore, options.durability()),
+                        executor,
+                        releaseQueue));
+    if (!lock.getOptions().equals(options)) {
+      throw new IllegalArgumentException(
+          "A lock with the same ID already exists but with different options. "
+              + "Expected: "
+              + lock.getOptions()
+              + ", Found: "
+              + options);
+    }
+    return lock;
   }
 
   @Override
   public synchronized ReadWriteLock getReadWriteLock(String resourceId) {
     return (ReadWriteLock)
         atomaLeasableResources.computeIfAbsent(
-            resourceId, _key -> new DefaultReadWriteLock(resourceId, id, coordinationStore));
+            resourceId,
+            _key -> new DefaultReadWriteLock(resourceId, id, primitiveStore, executor));
   }
 
   public CyclicBarrier getCyclicBarrier(String resourceId, int parties) {
@@ -146,7 +212,9 @@ final class DefaultLease extends Lease {
         (CyclicBarrier)
             atomaLeasableResources.computeIfAbsent(
                 resourceId,
-                _key -> new DefaultCyclicBarrier(resourceId, id, parties, this.coordinationStore));
+                _key ->
+                    new DefaultCyclicBarrier(
+                        resourceId, id, parties, primitiveStore, executor));
     if (barrier.getParties() != parties) {
       throw new IllegalArgumentException(
           "A barrier with the same ID already exists but with a different number of parties. "
@@ -163,7 +231,40 @@ final class DefaultLease extends Lease {
     return (Semaphore)
         atomaLeasableResources.computeIfAbsent(
             resourceId,
-            _key -> new DefaultSemaphore(resourceId, id, initialPermits, coordinationStore));
+            _key ->
+                new DefaultSemaphore(
+                    resourceId,
+                    id,
+                    initialPermits,
+                    SemaphoreOptions.DEFAULT,
+                    primitiveStore,
+                    executor));
+  }
+
+  @Override
+  public synchronized Semaphore getSemaphore(
+      String resourceId, int initialPermits, SemaphoreOptions options) {
+    DefaultSemaphore semaphore =
+        (DefaultSemaphore)
+            atomaLeasableResources.computeIfAbsent(
+                resourceId,
+                _key ->
+                    new DefaultSemaphore(
+                        resourceId,
+                        id,
+                        initialPermits,
+                        options,
+                        DurableCoordinationStore.of(primitiveStore, options.durability()),
+                        executor));
+    if (!semaphore.getOptions().equals(options)) {
+      throw new IllegalArgumentException(
+          "A semaphore with the same ID already exists but with different options. "
+              + "Expected: "
+              + semaphore.getOptions()
+              + ", Found: "
+              + options);
+    }
+    return semaphore;
   }
 
   @Override
@@ -174,23 +275,22 @@ final class DefaultLease extends Lease {
   @Override
   public synchronized void revoke() {
     if (closed.compareAndSet(false, true)) {
+      // The queued releases are sent while the lease still exists, those failing are reclaimed
+      // with it.
+      releaseQueue.close();
+      releaseQueue.flush();
       LeaseCommand.Revoke command = new LeaseCommand.Revoke(id);
       coordinationStore.execute(id, command);
-      cancelTimeToLive();
+      renewer.unregister(this);
       onRevokeListener.accept(this);
 
       closeManagementResource();
     }
   }
 
-  @VisibleForTesting
-  private void cancelTimeToLive() {
-    while (!future.isCancelled() && !future.isDone()) {
-      try {
-        future.cancel(true);
-      } catch (Exception ignored) {
-      }
-    }
+  @Override
+  public int pendingReleases() {
+    return releaseQueue.pending();
   }
 
   @Override
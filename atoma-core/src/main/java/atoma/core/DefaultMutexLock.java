@@ -24,13 +24,20 @@ import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.Subscription;
 import atoma.api.coordination.command.LockCommand;
 import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
 import com.google.common.annotations.Beta;
 import com.google.errorprone.annotations.ThreadSafe;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Condition;
@@ -42,17 +49,42 @@ import java.util.concurrent.locks.ReentrantLock;
  *
  * <p>Note: Mutex lock and thread are related. In other words, The mutex-lock acquired by 'A'
  * thread. Only thread A can invoked {@link DefaultMutexLock#unlock()} method successful.
+ *
+ * <p>If {@link LockOptions#isLocalHandoffEnabled()} is set, the remote lock is held on behalf of the
+ * lease instead of the acquiring thread, and it's passed between local threads through the fair
+ * {@code localLock} until no local waiter remains or the fairness budget is exhausted.
+ *
+ * <p>If {@link LockOptions#writeBehindUnlock()} is set, remote releases are queued to the {@link
+ * ReleaseQueue} of the lease and {@link #unlock()} returns at once. An acquisition waits for the
+ * queued releases of the lock first.
+ *
+ * <p>Async acquisitions via {@link #lockAsync(long, TimeUnit)} are owned by an owner token and
+ * always go to the coordination store. They don't park a thread while waiting: pending attempts are
+ * kept in {@link AsyncWaiters} and re-submitted from the resource listener.
  */
 @Beta
 @ThreadSafe
 final class DefaultMutexLock extends Lock {
 
+  /** The minimum delay before retrying to take over the lock of an expired lease. */
+  static final Duration MIN_TAKEOVER_DELAY = Duration.ofMillis(50);
+
   private final Logger log = LoggerFactory.getLogger(DefaultMutexLock.class);
 
   private final String resourceId;
   private final String leaseId;
   private final CoordinationStore coordination;
   private final Subscription subscription;
+  private final LockOptions options;
+
+  // Pending async acquisitions, re-submitted when the remote lock is released.
+  private final AsyncWaiters asyncWaiters;
+
+  // The releases sent in the background, if write-behind unlock is enabled.
+  private final ReleaseQueue releaseQueue;
+
+  // The remote holder-id used when the lock is held on behalf of the lease (local handoff mode).
+  private final String clientHolderId;
 
   // A reentrant count-times for the thread.
   private final ThreadLocal<Integer> reentrancyCounter = ThreadLocal.withInitial(() -> 0);
@@ -69,14 +101,90 @@ final class DefaultMutexLock extends Lock {
   @GuardedBy("localLock")
   private volatile long clientLogicalLockVersion = 0L;
 
+  // --- Local handoff tier state. Only used if local handoff is enabled. ---
+
+  // Signalled when the local owner gives up the lock, either by handoff or by remote release.
+  private final Condition localOwnerAvailable = localLock.newCondition();
+
+  // The local thread currently owning the lock.
+  @GuardedBy("localLock")
+  private Thread localOwner;
+
+  // Whether the remote lock is currently held by this client on behalf of the lease.
+  @GuardedBy("localLock")
+  private boolean remoteHeldByClient = false;
+
+  // Number of local handoffs since the remote lock was acquired.
+  @GuardedBy("localLock")
+  private int localHandoffs = 0;
+
+  // The time at which the remote lock was acquired, in nanos.
+  @GuardedBy("localLock")
+  private long remoteAcquiredNanos = 0L;
+
   /**
    * @param resourceId Mutex-lock resource-id
    * @param leaseId The lease associated with current thread.
    * @param coordination The instance for storing and coordinating state data
    */
   public DefaultMutexLock(String resourceId, String leaseId, CoordinationStore coordination) {
+    this(resourceId, leaseId, LockOptions.DEFAULT, coordination);
+  }
+
+  /**
+   * @param resourceId Mutex-lock resource-id
+   * @param leaseId The lease associated with current thread.
+   * @param options The client-side options of the lock.
+   * @param coordination The instance for storing and coordinating state data
+   */
+  public DefaultMutexLock(
+      String resourceId, String leaseId, LockOptions options, CoordinationStore coordination) {
+    this(resourceId, leaseId, options, coordination, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param resourceId Mutex-lock resource-id
+   * @param leaseId The lease associated with current thread.
+   * @param options The client-side options of the lock.
+   * @param coordination The instance for storing and coordinating state data
+   * @param asyncExecutor The executor running the commands of async acquisitions.
+   */
+  public DefaultMutexLock(
+      String resourceId,
+      String leaseId,
+      LockOptions options,
+      CoordinationStore coordination,
+      Executor asyncExecutor) {
+    this(
+        resourceId,
+        leaseId,
+        options,
+        coordination,
+        asyncExecutor,
+        new ReleaseQueue(coordination, asyncExecutor));
+  }
+
+  /**
+   * @param resourceId Mutex-lock resource-id
+   * @param leaseId The lease associated with current thread.
+   * @param options The client-side options of the lock.
+   * @param coordination The instance for storing and coordinating state data
+   * @param asyncExecutor The executor running the commands of async acquisitions.
+   * @param releaseQueue The queue of the write-behind releases of the lease.
+   */
+  public DefaultMutexLock(
+      String resourceId,
+      String leaseId,
+      LockOptions options,
+      CoordinationStore coordination,
+      Executor asyncExecutor,
+      ReleaseQueue releaseQueue) {
     this.resourceId = resourceId;
+    this.asyncWaiters = new AsyncWaiters(asyncExecutor);
+    this.releaseQueue = releaseQueue;
     this.leaseId = leaseId;
+    this.options = Objects.requireNonNull(options, "options cannot be null");
+    this.clientHolderId = "lease-" + leaseId;
     this.coordination = coordination;
     this.subscription =
         coordination.subscribe(
@@ -98,6 +206,7 @@ final class DefaultMutexLock extends Lock {
                 try {
                   // The remote lock is now free. Update our local state view.
                   isRemoteLockHeld = false;
+                  remoteHeldByClient = false;
 
                   // Reset the latest value because of delete operation.
                   advancingLatestVersion(0L);
@@ -113,6 +222,7 @@ final class DefaultMutexLock extends Lock {
                 } finally {
                   localLock.unlock();
                 }
+                asyncWaiters.signal();
               } else {
                 event
                     .getNewNode()
@@ -135,6 +245,10 @@ final class DefaultMutexLock extends Lock {
     return resourceId;
   }
 
+  LockOptions getOptions() {
+    return options;
+  }
+
   @Override
   public void lock() {
     // This method implements non-interruptible lock acquisition, matching
@@ -206,6 +320,10 @@ final class DefaultMutexLock extends Lock {
    *       release event.
    * </ol>
    *
+   * <p>If local handoff is enabled, the thread first becomes the local owner, see {@link
+   * #acquireLocalOwnership(boolean, long, long)}, and only goes to the coordination store if the
+   * remote lock is not already held by this client.
+   *
    * @param time the maximum time to wait for the lock
    * @param unit the time unit of the {@code time} argument. If null, wait indefinitely.
    * @throws InterruptedException if the current thread is interrupted
@@ -224,8 +342,95 @@ final class DefaultMutexLock extends Lock {
     final boolean timed = (unit != null && time > 0L);
     long start = System.nanoTime(), clockTimeout = timed ? unit.toNanos(time) : -1L;
 
-    String holderId = ThreadUtils.getCurrentThreadId();
+    if (!options.isLocalHandoffEnabled()) {
+      acquireRemote(ThreadUtils.getCurrentThreadId(), timed, start, clockTimeout);
+      reentrancyCounter.set(1);
+      return;
+    }
+
+    // The remote lock is already held by this client. It's handed off to current thread.
+    if (acquireLocalOwnership(timed, start, clockTimeout)) {
+      reentrancyCounter.set(1);
+      return;
+    }
+
+    boolean acquired = false;
+    try {
+      acquireRemote(clientHolderId, timed, start, clockTimeout);
+      acquired = true;
+    } finally {
+      localLock.lock();
+      try {
+        if (acquired) {
+          remoteHeldByClient = true;
+          localHandoffs = 0;
+          remoteAcquiredNanos = System.nanoTime();
+        } else {
+          localOwner = null;
+          localOwnerAvailable.signal();
+        }
+      } finally {
+        localLock.unlock();
+      }
+    }
+    reentrancyCounter.set(1);
+  }
 
+  /**
+   * Waits until current thread becomes the local owner of the lock.
+   *
+   * @return {@code true} if the remote lock is already held by this client and handed off to
+   *     current thread, {@code false} if the caller has to acquire the remote lock.
+   */
+  private boolean acquireLocalOwnership(boolean timed, long start, long clockTimeout)
+      throws InterruptedException, TimeoutException {
+    localLock.lockInterruptibly();
+    try {
+      boolean owned = false;
+      try {
+        while (localOwner != null) {
+          if (timed) {
+            long remainingNanos = clockTimeout - (System.nanoTime() - start);
+            if (remainingNanos <= 0) {
+              throw new TimeoutException("Unable to acquire lock within the specified time.");
+            }
+            localOwnerAvailable.awaitNanos(remainingNanos);
+          } else {
+            localOwnerAvailable.await();
+          }
+        }
+        localOwner = Thread.currentThread();
+        owned = true;
+      } finally {
+        // A signal consumed by a thread that gives up must be passed on to the next waiter.
+        if (!owned && localOwner == null) {
+          localOwnerAvailable.signal();
+        }
+      }
+      if (remoteHeldByClient) {
+        localHandoffs++;
+        return true;
+      }
+      return false;
+    } finally {
+      localLock.unlock();
+    }
+  }
+
+  /**
+   * Acquires the remote lock in the coordination store on behalf of {@code holderId}.
+   *
+   * @throws InterruptedException if the current thread is interrupted
+   * @throws TimeoutException if the lock could not be acquired within the specified time
+   */
+  private void acquireRemote(String holderId, boolean timed, long start, long clockTimeout)
+      throws InterruptedException, TimeoutException {
+    if (options.writeBehindUnlock()) {
+      // An earlier release of the same holder must not delete the lock acquired now.
+      releaseQueue.awaitReleased(
+          resourceId, timed ? clockTimeout - (System.nanoTime() - start) : -1L);
+      releaseQueue.checkReleased(resourceId);
+    }
     LockCommand.AcquireResult result;
     Retry:
     for (; ; ) {
@@ -237,7 +442,6 @@ final class DefaultMutexLock extends Lock {
 
         // Acquisition success.
         if (result.acquired()) {
-          reentrancyCounter.set(1);
           return;
         }
 
@@ -271,15 +475,22 @@ final class DefaultMutexLock extends Lock {
         }
 
         isRemoteLockHeld = true;
+        // Wake up in time to take the lock over if the lease of its holder is not renewed.
+        long takeoverNanos = takeoverDelayNanos(result);
         while (isRemoteLockHeld) {
           if (timed) {
             if (remainingNanos <= 0) {
               throw new TimeoutException("Unable to acquire lock within the specified time.");
             }
-            if (!remoteLockAvailable.await(remainingNanos, TimeUnit.NANOSECONDS)) {
+            boolean takeoverFirst = takeoverNanos >= 0 && takeoverNanos < remainingNanos;
+            if (!remoteLockAvailable.await(
+                takeoverFirst ? takeoverNanos : remainingNanos, TimeUnit.NANOSECONDS)) {
+              if (takeoverFirst) continue Retry;
               throw new TimeoutException("Unable to acquire lock within the specified time.");
             }
             remainingNanos -= (System.nanoTime() - start);
+          } else if (takeoverNanos >= 0) {
+            if (remoteLockAvailable.awaitNanos(takeoverNanos) <= 0) continue Retry;
           } else {
             remoteLockAvailable.await();
           }
@@ -290,6 +501,18 @@ final class DefaultMutexLock extends Lock {
     }
   }
 
+  /**
+   * Returns the delay before a failed acquisition can take the lock over from a holder whose lease
+   * is not renewed, or {@code -1} if the store does not know it. The delay is at least {@link
+   * #MIN_TAKEOVER_DELAY}, so that clocks disagreeing on the takeover time do not cause a busy
+   * retry loop.
+   */
+  static long takeoverDelayNanos(LockCommand.AcquireResult result) {
+    if (result.takeoverTime() == null) return -1L;
+    long delayNanos = Duration.between(Instant.now(), result.takeoverTime()).toNanos();
+    return Math.max(delayNanos, MIN_TAKEOVER_DELAY.toNanos());
+  }
+
   @Override
   public void unlock() {
     Integer count = reentrancyCounter.get();
@@ -306,9 +529,98 @@ final class DefaultMutexLock extends Lock {
     }
 
     reentrancyCounter.remove();
-    String holderId = ThreadUtils.getCurrentThreadId();
-    var releaseCommand = new LockCommand.Release(holderId);
-    coordination.execute(resourceId, releaseCommand);
+
+    if (!options.isLocalHandoffEnabled()) {
+      String holderId = ThreadUtils.getCurrentThreadId();
+      releaseRemote(new LockCommand.Release(holderId));
+      return;
+    }
+
+    localLock.lock();
+    try {
+      // Hand the remote lock off to the next local waiter while the fairness budget allows it.
+      if (remoteHeldByClient
+          && localLock.hasWaiters(localOwnerAvailable)
+          && localHandoffs < options.maxLocalHandoffs()
+          && System.nanoTime() - remoteAcquiredNanos < options.maxHoldTime().toNanos()) {
+        localOwner = null;
+        localOwnerAvailable.signal();
+        return;
+      }
+    } finally {
+      localLock.unlock();
+    }
+
+    // Keep local ownership until the remote release completes, so that no local thread can
+    // re-enter the remote lock that is about to be deleted.
+    try {
+      releaseRemote(new LockCommand.Release(clientHolderId));
+    } finally {
+      localLock.lock();
+      try {
+        remoteHeldByClient = false;
+        localOwner = null;
+        localOwnerAvailable.signal();
+      } finally {
+        localLock.unlock();
+      }
+    }
+  }
+
+  private void releaseRemote(LockCommand.Release releaseCommand) {
+    if (options.writeBehindUnlock()) {
+      releaseQueue.enqueue(resourceId, releaseCommand, options.durability());
+      releaseQueue.checkReleased(resourceId);
+    } else {
+      coordination.execute(resourceId, releaseCommand);
+    }
+  }
+
+  @Override
+  public CompletableFuture<String> lockAsync(long time, TimeUnit unit) {
+    CompletableFuture<String> future = asyncWaiters.newFuture(time, unit);
+    String ownerToken = String.format("%s/%s", leaseId, UUID.randomUUID());
+    long deadlineNanos = AsyncWaiters.deadlineNanos(time, unit);
+    asyncWaiters.submit(() -> tryLockAsync(ownerToken, deadlineNanos, future));
+    return future;
+  }
+
+  /**
+   * Makes one attempt to acquire the remote lock on behalf of {@code ownerToken}. If the lock is
+   * held by someone else, the attempt is parked until the listener observes a release.
+   */
+  private void tryLockAsync(String ownerToken, long deadlineNanos, CompletableFuture<String> future) {
+    if (future.isDone()) {
+      // Pass the signal on, it was meant for a live waiter.
+      asyncWaiters.signal();
+      return;
+    }
+    long epoch = asyncWaiters.epoch();
+    var acquireCommand =
+        new LockCommand.Acquire(
+            ownerToken, leaseId, AsyncWaiters.remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS);
+    asyncWaiters
+        .execute(coordination, resourceId, acquireCommand)
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                future.completeExceptionally(AsyncWaiters.translate(e));
+              } else if (!result.acquired()) {
+                asyncWaiters.park(
+                    future, epoch, () -> tryLockAsync(ownerToken, deadlineNanos, future));
+              } else if (!future.complete(ownerToken)) {
+                // Cancelled or timed out concurrently, give the lock back.
+                asyncWaiters.execute(coordination, resourceId, new LockCommand.Release(ownerToken));
+              }
+            });
+  }
+
+  @Override
+  public CompletableFuture<Void> unlockAsync(String ownerToken) {
+    Objects.requireNonNull(ownerToken, "ownerToken cannot be null");
+    return asyncWaiters
+        .execute(coordination, resourceId, new LockCommand.Release(ownerToken))
+        .thenAccept(result -> {});
   }
 
   @Override
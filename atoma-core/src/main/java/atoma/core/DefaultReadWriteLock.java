@@ -31,8 +31,11 @@ import com.google.errorprone.annotations.ThreadSafe;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Condition;
@@ -67,6 +70,12 @@ import java.util.concurrent.locks.ReentrantLock;
  * maximizing code reuse. The concrete implementations only need to provide the specific {@link
  * atoma.api.coordination.command.Command} to be executed for their respective operations.
  *
+ * <h4>Async Acquisitions</h4>
+ *
+ * Async acquisitions are owned by an owner token and don't park a thread. Pending read and write
+ * attempts are kept in separate {@link AsyncWaiters} queues and re-submitted by the subscription
+ * listener following the same writer-preference policy as the conditions.
+ *
  * @see DefaultReadWriteLock.AbstractLock
  * @see atoma.api.lock.ReadWriteLock
  */
@@ -85,6 +94,10 @@ final class DefaultReadWriteLock extends ReadWriteLock {
   private final Condition readerCondition = localLock.newCondition();
   private final Condition writerCondition = localLock.newCondition();
 
+  // Pending async acquisitions for readers and writers.
+  private final AsyncWaiters asyncReaders;
+  private final AsyncWaiters asyncWriters;
+
   private final ReadLockImpl readLock;
   private final WriteLockImpl writeLock;
 
@@ -146,7 +159,22 @@ final class DefaultReadWriteLock extends ReadWriteLock {
    * @param coordination The coordination store used to execute commands and listen for events.
    */
   public DefaultReadWriteLock(String resourceId, String leaseId, CoordinationStore coordination) {
+    this(resourceId, leaseId, coordination, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new DefaultReadWriteLock for a given resource.
+   *
+   * @param resourceId The unique ID of the resource to lock.
+   * @param leaseId The lease ID of the client session.
+   * @param coordination The coordination store used to execute commands and listen for events.
+   * @param asyncExecutor The executor running the commands of async acquisitions.
+   */
+  public DefaultReadWriteLock(
+      String resourceId, String leaseId, CoordinationStore coordination, Executor asyncExecutor) {
     this.resourceId = resourceId;
+    this.asyncReaders = new AsyncWaiters(asyncExecutor);
+    this.asyncWriters = new AsyncWaiters(asyncExecutor);
     this.leaseId = leaseId;
     this.coordination = coordination;
 
@@ -174,9 +202,8 @@ final class DefaultReadWriteLock extends ReadWriteLock {
                         .getNewNode()
                         .map(
                             node -> {
-                              Map<String, Object> data = node.getData();
-                              boolean writeLockExists = data.get("write_lock") != null;
-                              Object readLocksObj = data.get("read_locks");
+                              boolean writeLockExists = node.get("write_lock") != null;
+                              Object readLocksObj = node.get("read_locks");
                               boolean readLocksExist =
                                   readLocksObj instanceof List
                                       && !((List<?>) readLocksObj).isEmpty();
@@ -196,11 +223,16 @@ final class DefaultReadWriteLock extends ReadWriteLock {
                   } finally {
                     localLock.unlock();
                   }
+                  if (asyncWriters.hasWaiters()) {
+                    asyncWriters.signal();
+                  } else {
+                    asyncReaders.signalAll();
+                  }
                 } else {
                   boolean isWriteLocked =
                       event
                           .getNewNode()
-                          .map(n -> n.getData().get("write_lock") != null)
+                          .map(n -> n.get("write_lock") != null)
                           .orElse(false);
 
                   localLock.lock();
@@ -214,6 +246,7 @@ final class DefaultReadWriteLock extends ReadWriteLock {
                   } finally {
                     localLock.unlock();
                   }
+                  if (!isWriteLocked) asyncReaders.signalAll();
                 }
               }
             });
@@ -269,6 +302,8 @@ final class DefaultReadWriteLock extends ReadWriteLock {
 
     protected abstract boolean lockAvailable();
 
+    protected abstract AsyncWaiters getAsyncWaiters();
+
     @Override
     public String getLeaseId() {
       return parent.leaseId;
@@ -341,6 +376,56 @@ final class DefaultReadWriteLock extends ReadWriteLock {
       parent.close();
     }
 
+    @Override
+    public CompletableFuture<String> lockAsync(long time, TimeUnit unit) {
+      CompletableFuture<String> future = getAsyncWaiters().newFuture(time, unit);
+      String ownerToken = String.format("%s/%s", parent.leaseId, UUID.randomUUID());
+      long deadlineNanos = AsyncWaiters.deadlineNanos(time, unit);
+      getAsyncWaiters().submit(() -> tryLockAsync(ownerToken, deadlineNanos, future));
+      return future;
+    }
+
+    /**
+     * Makes one attempt to acquire the remote lock on behalf of {@code ownerToken}. If the lock is
+     * not available, the attempt is parked until the listener observes a state change.
+     */
+    private void tryLockAsync(
+        String ownerToken, long deadlineNanos, CompletableFuture<String> future) {
+      final AsyncWaiters asyncWaiters = getAsyncWaiters();
+      if (future.isDone()) {
+        // Pass the signal on, it was meant for a live waiter.
+        asyncWaiters.signal();
+        return;
+      }
+      long epoch = asyncWaiters.epoch();
+      var acquireCommand =
+          buildAcquireCommand(
+              ownerToken, AsyncWaiters.remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS);
+      asyncWaiters
+          .execute(parent.coordination, parent.resourceId, acquireCommand)
+          .whenComplete(
+              (result, e) -> {
+                if (e != null) {
+                  future.completeExceptionally(AsyncWaiters.translate(e));
+                } else if (!result.acquired()) {
+                  asyncWaiters.park(
+                      future, epoch, () -> tryLockAsync(ownerToken, deadlineNanos, future));
+                } else if (!future.complete(ownerToken)) {
+                  // Cancelled or timed out concurrently, give the lock back.
+                  asyncWaiters.execute(
+                      parent.coordination, parent.resourceId, buildReleaseCommand(ownerToken));
+                }
+              });
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String ownerToken) {
+      Objects.requireNonNull(ownerToken, "ownerToken cannot be null");
+      return getAsyncWaiters()
+          .execute(parent.coordination, parent.resourceId, buildReleaseCommand(ownerToken))
+          .thenAccept(result -> {});
+    }
+
     /**
      * Private helper method containing the core logic for acquiring the distributed lock. This
      * method orchestrates re-entrancy checks, optimistic acquisition attempts, and the coordinated
@@ -424,15 +509,23 @@ final class DefaultReadWriteLock extends ReadWriteLock {
             continue Retry;
           }
 
+          // Wake up in time to take the lock over if the lease of its holders is not renewed.
+          long takeoverNanos = DefaultMutexLock.takeoverDelayNanos(result);
           while (!this.lockAvailable()) {
             // No need for a local state flag; we just wait for a signal and then re-try.
             if (timed) {
               if (remainingNanos <= 0) throw new TimeoutException("Wait time elapsed.");
 
-              if (!condition.await(remainingNanos, TimeUnit.NANOSECONDS))
+              boolean takeoverFirst = takeoverNanos >= 0 && takeoverNanos < remainingNanos;
+              if (!condition.await(
+                  takeoverFirst ? takeoverNanos : remainingNanos, TimeUnit.NANOSECONDS)) {
+                if (takeoverFirst) continue Retry;
                 throw new TimeoutException("Wait time elapsed before signal.");
+              }
 
               remainingNanos -= (System.nanoTime() - start);
+            } else if (takeoverNanos >= 0) {
+              if (condition.awaitNanos(takeoverNanos) <= 0) continue Retry;
             } else {
               condition.await();
             }
@@ -472,6 +565,11 @@ final class DefaultReadWriteLock extends ReadWriteLock {
       return parent.readerCondition;
     }
 
+    @Override
+    protected AsyncWaiters getAsyncWaiters() {
+      return parent.asyncReaders;
+    }
+
     @Override
     public boolean isClosed() {
       return parent.isClosed();
@@ -504,6 +602,11 @@ final class DefaultReadWriteLock extends ReadWriteLock {
       return parent.writerCondition;
     }
 
+    @Override
+    protected AsyncWaiters getAsyncWaiters() {
+      return parent.asyncWriters;
+    }
+
     @Override
     public boolean isClosed() {
       return parent.isClosed();
@@ -18,12 +18,14 @@ package atoma.core;
 
 import atoma.api.AtomaException;
 import atoma.api.OperationTimeoutException;
+import atoma.api.Versioned;
 import atoma.api.coordination.CoordinationStore;
 import atoma.api.coordination.Resource;
 import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.Subscription;
 import atoma.api.coordination.command.SemaphoreCommand;
 import atoma.api.synchronizer.Semaphore;
+import atoma.api.synchronizer.SemaphoreOptions;
 import com.google.common.annotations.Beta;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.annotations.ThreadSafe;
@@ -31,8 +33,15 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -96,6 +105,25 @@ import static atoma.core.ThreadUtils.getCurrentThreadId;
  * this creates a "thundering herd" where all threads re-attempt acquisition, it is the correct
  * approach for a semaphore. It guarantees that all newly available permits are contended for,
  * maximizing resource utilization and ensuring liveness for all waiting threads.
+ *
+ * <h4>Permit Pool</h4>
+ *
+ * <p>If {@link SemaphoreOptions#isPermitPoolEnabled()} is set, the "stateless wait" is relaxed for
+ * permits this client already owns: permits are reserved from the store in chunks of {@code
+ * poolSize} under the lease, and local threads take them from a lock-free counter. The store stays
+ * the source of truth for everything that is not pooled, since pooled permits are recorded in the
+ * {@code leases} map and are reclaimed with the lease. Surplus permits go back to the store according
+ * to the {@link SemaphoreOptions.ReturnPolicy}, and all of them once no local thread has taken or
+ * released any for {@link SemaphoreOptions#maxIdleTime()}: the check runs on the async executor,
+ * never on the thread delivering the events of the store, and bounds how long other clients are
+ * starved by an idle pool. The client counts the permits its threads hold, so that releasing more
+ * than they hold fails as it does without the pool.
+ *
+ * <h4>Async Acquisitions</h4>
+ *
+ * <p>{@link #acquireAsync(int, long, TimeUnit)} follows the same "stateless wait" pattern without
+ * parking a thread: a failed attempt is kept in {@link AsyncWaiters} and re-submitted whenever the
+ * listener observes available permits.
  */
 @Beta
 @ThreadSafe
@@ -118,11 +146,50 @@ final class DefaultSemaphore extends Semaphore {
   @GuardedBy("localLock")
   private volatile int availablePermits;
 
+  private final SemaphoreOptions options;
+
+  // Permits reserved under the lease but not handed to any local thread yet.
+  private final AtomicInteger pooledPermits = new AtomicInteger(0);
+
+  // Permits handed to local threads under the lease, counted only with the permit pool.
+  private final AtomicInteger heldPermits = new AtomicInteger(0);
+
+  // When a local thread last took permits from the pool or released permits to it.
+  private volatile long lastPoolUseNanos;
+
+  // Whether a return of the pooled permits is scheduled for when they are idle.
+  private final AtomicBoolean idleReturnScheduled = new AtomicBoolean(false);
+
+  // Pending async acquisitions, re-submitted when permits become available.
+  private final AsyncWaiters asyncWaiters;
+
+  // Runs the async acquisitions and the return of idle pooled permits.
+  private final Executor asyncExecutor;
+
   public DefaultSemaphore(
       String resourceId, String leaseId, int initialPermits, CoordinationStore coordination) {
+    this(
+        resourceId,
+        leaseId,
+        initialPermits,
+        SemaphoreOptions.DEFAULT,
+        coordination,
+        ForkJoinPool.commonPool());
+  }
+
+  public DefaultSemaphore(
+      String resourceId,
+      String leaseId,
+      int initialPermits,
+      SemaphoreOptions options,
+      CoordinationStore coordination,
+      Executor asyncExecutor) {
     this.resourceId = resourceId;
+    this.asyncWaiters = new AsyncWaiters(asyncExecutor);
+    this.asyncExecutor = asyncExecutor;
     this.leaseId = leaseId;
     this.initialPermits = initialPermits;
+    this.options = Objects.requireNonNull(options, "options cannot be null");
     this.availablePermits = initialPermits;
     this.coordination = coordination;
 
@@ -176,6 +243,7 @@ final class DefaultSemaphore extends Semaphore {
               } finally {
                 localLock.unlock();
               }
+              if (shouldSignal) asyncWaiters.signalAll();
             });
   }
 
@@ -215,20 +283,99 @@ final class DefaultSemaphore extends Semaphore {
     doAcquire(permits, waitTime, timeUnit);
   }
 
+  @Override
+  public CompletableFuture<Void> acquireAsync(int permits, long waitTime, TimeUnit timeUnit) {
+    if (permits < 0) throw new IllegalArgumentException("permits must be non-negative");
+    if (permits == 0) return CompletableFuture.completedFuture(null);
+
+    CompletableFuture<Void> future = asyncWaiters.newFuture(waitTime, timeUnit);
+    long deadlineNanos = AsyncWaiters.deadlineNanos(waitTime, timeUnit);
+    asyncWaiters.submit(() -> tryAcquireAsync(permits, deadlineNanos, future));
+    return future;
+  }
+
+  /**
+   * Makes one attempt to acquire {@code permits}, first from the client-side pool and then from the
+   * store. If the permits are not available, the attempt is parked until the listener observes
+   * available permits.
+   */
+  private void tryAcquireAsync(int permits, long deadlineNanos, CompletableFuture<Void> future) {
+    if (future.isDone()) return;
+    long epoch = asyncWaiters.epoch();
+    if (options.isPermitPoolEnabled() && tryTakePooledPermits(permits)) {
+      heldPermits.addAndGet(permits);
+      onAcquiredAsync(permits, future);
+      return;
+    }
+    var acquireCommand =
+        new SemaphoreCommand.Acquire(
+            permits,
+            leaseId,
+            AsyncWaiters.remainingNanos(deadlineNanos),
+            TimeUnit.NANOSECONDS,
+            initialPermits);
+    asyncWaiters
+        .execute(coordination, resourceId, acquireCommand)
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                future.completeExceptionally(AsyncWaiters.translate(e));
+              } else if (!result.acquired()) {
+                asyncWaiters.park(
+                    future, epoch, () -> tryAcquireAsync(permits, deadlineNanos, future));
+              } else {
+                if (options.isPermitPoolEnabled()) heldPermits.addAndGet(permits);
+                onAcquiredAsync(permits, future);
+              }
+            });
+  }
+
+  private void onAcquiredAsync(int permits, CompletableFuture<Void> future) {
+    if (!future.complete(null)) {
+      // Cancelled or timed out concurrently, give the permits back.
+      asyncWaiters.submit(() -> release(permits));
+    }
+  }
+
   /**
    * Releases the given number of permits, returning them to the semaphore. This is a non-blocking
    * operation.
    *
    * @param permits the number of permits to release (must be non-negative)
    * @throws IllegalArgumentException if {@code permits} is negative
+   * @throws IllegalStateException if the lease does not hold {@code permits} permits.
    * @throws RuntimeException if the release command fails due to a server-side error, wrapping an
-   *     {@link AtomaException} or {@link IllegalStateException}.
+   *     {@link AtomaException}.
    */
   @Override
   public void release(int permits) {
     if (permits < 0) throw new IllegalArgumentException("permits must be non-negative");
     if (permits == 0) return;
 
+    if (options.isPermitPoolEnabled()) {
+      releaseHeldPermits(permits);
+      pooledPermits.addAndGet(permits);
+      touchPool();
+      boolean hasLocalWaiters;
+      localLock.lock();
+      try {
+        hasLocalWaiters = localLock.hasWaiters(permitsAvailable);
+        if (hasLocalWaiters) permitsAvailable.signalAll();
+      } finally {
+        localLock.unlock();
+      }
+      if (asyncWaiters.hasWaiters()) {
+        hasLocalWaiters = true;
+        asyncWaiters.signalAll();
+      }
+      if (options.returnPolicy() == SemaphoreOptions.ReturnPolicy.IMMEDIATE && !hasLocalWaiters) {
+        returnPooledPermits(0);
+      } else {
+        returnPooledPermits(options.poolSize());
+      }
+      return;
+    }
+
     var releaseCommand = new SemaphoreCommand.Release(permits, getCurrentThreadId(), leaseId);
     try {
       coordination.execute(resourceId, releaseCommand);
@@ -260,6 +407,115 @@ final class DefaultSemaphore extends Semaphore {
     return leaseId;
   }
 
+  SemaphoreOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * Takes {@code permits} from the client-side pool without touching the coordination store.
+   *
+   * @return {@code true} if the pool held enough permits.
+   */
+  private boolean tryTakePooledPermits(int permits) {
+    for (; ; ) {
+      int pooled = pooledPermits.get();
+      if (pooled < permits) return false;
+      if (pooledPermits.compareAndSet(pooled, pooled - permits)) {
+        touchPool();
+        return true;
+      }
+    }
+  }
+
+  /** Records a use of the pool, and schedules the return of its permits once they are idle. */
+  private void touchPool() {
+    lastPoolUseNanos = System.nanoTime();
+    if (pooledPermits.get() > 0 && idleReturnScheduled.compareAndSet(false, true)) {
+      scheduleIdleReturn(options.maxIdleTime().toNanos());
+    }
+  }
+
+  private void scheduleIdleReturn(long delayNanos) {
+    CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, asyncExecutor)
+        .execute(this::returnIdlePermits);
+  }
+
+  /**
+   * Returns all pooled permits to the store if no local thread used the pool for {@link
+   * SemaphoreOptions#maxIdleTime()}, or checks again once they may be idle.
+   */
+  private void returnIdlePermits() {
+    if (closed.get()) return;
+    long maxIdleNanos = options.maxIdleTime().toNanos();
+    long idleNanos = System.nanoTime() - lastPoolUseNanos;
+    if (idleNanos < maxIdleNanos) {
+      scheduleIdleReturn(maxIdleNanos - idleNanos);
+      return;
+    }
+    try {
+      returnPooledPermits(0);
+    } catch (RuntimeException e) {
+      log.warn("Failed to return idle pooled permits of semaphore {}", resourceId, e);
+    }
+    idleReturnScheduled.set(false);
+    // Permits pooled meanwhile, or kept after a failed return, are checked again later.
+    if (pooledPermits.get() > 0 && idleReturnScheduled.compareAndSet(false, true)) {
+      scheduleIdleReturn(maxIdleNanos);
+    }
+  }
+
+  /**
+   * Gives back {@code permits} held by local threads, the way the store rejects a release of more
+   * permits than the lease holds.
+   *
+   * @throws IllegalStateException if local threads hold fewer than {@code permits} permits.
+   */
+  private void releaseHeldPermits(int permits) {
+    for (; ; ) {
+      int held = heldPermits.get();
+      if (held < permits) {
+        throw new IllegalStateException(
+            "Failed to release "
+                + permits
+                + " permits for lease "
+                + leaseId
+                + ". The lease holds only "
+                + held
+                + " permits of semaphore "
+                + resourceId
+                + ".");
+      }
+      if (heldPermits.compareAndSet(held, held - permits)) return;
+    }
+  }
+
+  /**
+   * Returns the pooled permits above {@code keep} to the coordination store.
+   *
+   * @param keep the number of permits to keep in the client-side pool.
+   */
+  private void returnPooledPermits(int keep) {
+    int surplus;
+    for (; ; ) {
+      int pooled = pooledPermits.get();
+      surplus = pooled - keep;
+      if (surplus <= 0) return;
+      if (pooledPermits.compareAndSet(pooled, keep)) break;
+    }
+
+    var releaseCommand = new SemaphoreCommand.Release(surplus, getCurrentThreadId(), leaseId);
+    try {
+      coordination.execute(resourceId, releaseCommand);
+    } catch (RuntimeException e) {
+      // The permits are still held under the lease, they stay in the pool.
+      pooledPermits.addAndGet(surplus);
+      if (e instanceof AtomaException) {
+        throw new RuntimeException("Failed to release permits due to a coordination error", e);
+      }
+      throw e;
+    }
+  }
+
   /**
    * Closes this semaphore and releases the underlying subscription resource. This should be called
    * when the semaphore is no longer needed to prevent resource leaks.
@@ -270,6 +526,14 @@ final class DefaultSemaphore extends Semaphore {
       if (this.subscription != null) {
         this.subscription.close();
       }
+      if (options.isPermitPoolEnabled()) {
+        try {
+          returnPooledPermits(0);
+        } catch (RuntimeException e) {
+          // The permits are still recorded under the lease, they will be reclaimed with it.
+          log.warn("Failed to return pooled permits of semaphore {}", resourceId, e);
+        }
+      }
     }
   }
 
@@ -284,16 +548,43 @@ final class DefaultSemaphore extends Semaphore {
     final boolean timed = (unit != null && time > 0L);
     long start = System.nanoTime(), clockTimeout = timed ? unit.toNanos(time) : -1L;
 
+    final boolean pooled = options.isPermitPoolEnabled();
+    boolean chunkRejected = false;
+
     Retry:
     for (; ; ) {
+      if (pooled && tryTakePooledPermits(permits)) {
+        heldPermits.addAndGet(permits);
+        return;
+      }
+
+      // Reserve a whole chunk for the pool if the store seems to have enough permits.
+      int requestPermits = permits;
+      if (pooled
+          && !chunkRejected
+          && options.poolSize() > permits
+          && availablePermits >= options.poolSize()) {
+        requestPermits = options.poolSize();
+      }
+
       long remainingNanos = timed ? (clockTimeout - (System.nanoTime() - start)) : -1L;
       var acquireCommand =
           new SemaphoreCommand.Acquire(
-              permits, leaseId, remainingNanos, TimeUnit.NANOSECONDS, initialPermits);
+              requestPermits, leaseId, remainingNanos, TimeUnit.NANOSECONDS, initialPermits);
       SemaphoreCommand.AcquireResult result;
       try {
         result = coordination.execute(resourceId, acquireCommand);
+        if (!result.acquired() && requestPermits > permits) {
+          // The chunk is not available, retry with the exact number of permits.
+          chunkRejected = true;
+          continue Retry;
+        }
         if (result.acquired()) {
+          if (pooled) heldPermits.addAndGet(permits);
+          if (requestPermits > permits) {
+            pooledPermits.addAndGet(requestPermits - permits);
+            touchPool();
+          }
           localLock.lock();
           try {
             if (availablePermits > 0) permitsAvailable.signal();
@@ -330,7 +621,7 @@ final class DefaultSemaphore extends Semaphore {
           continue Retry;
         }
 
-        while (availablePermits < permits) {
+        while (availablePermits < permits && (!pooled || pooledPermits.get() < permits)) {
           if (timed) {
             if (remainingNanos <= 0L) throw new TimeoutException("Wait time elapsed.");
             if (!permitsAvailable.await(remainingNanos, TimeUnit.NANOSECONDS)) {
@@ -349,7 +640,12 @@ final class DefaultSemaphore extends Semaphore {
 
   @CheckReturnValue
   private SemaphoreCommand.GetStateResult getState() {
-    var command = new SemaphoreCommand.GetState(leaseId, initialPermits);
+    return getState(null);
+  }
+
+  @CheckReturnValue
+  private SemaphoreCommand.GetStateResult getState(Duration maxStaleness) {
+    var command = new SemaphoreCommand.GetState(leaseId, initialPermits, maxStaleness);
     return coordination.execute(resourceId, command);
   }
 
@@ -360,10 +656,34 @@ final class DefaultSemaphore extends Semaphore {
     return result.drainPermits();
   }
 
+  /**
+   * Returns the number of permits available in the coordination store. Permits in the client-side
+   * pool of this semaphore are reserved under its lease and are not counted.
+   */
   @Override
   public int availablePermits() {
     if (closed.get()) return -1;
     SemaphoreCommand.GetStateResult result = getState();
     return result.availablePermits();
   }
+
+  @Override
+  public Versioned<Integer> drainPermits(Duration maxStaleness) {
+    Versioned.requireMaxStaleness(maxStaleness);
+    if (closed.get()) return new Versioned<>(-1, -1L);
+    SemaphoreCommand.GetStateResult result = getState(maxStaleness);
+    return new Versioned<>(result.drainPermits(), result.version());
+  }
+
+  /**
+   * Returns the number of permits available in the coordination store, as {@link
+   * #availablePermits()} does, read from a possibly stale replica.
+   */
+  @Override
+  public Versioned<Integer> availablePermits(Duration maxStaleness) {
+    Versioned.requireMaxStaleness(maxStaleness);
+    if (closed.get()) return new Versioned<>(-1, -1L);
+    SemaphoreCommand.GetStateResult result = getState(maxStaleness);
+    return new Versioned<>(result.availablePermits(), result.version());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.Resourceful;
+import atoma.api.coordination.AsyncCoordinationStore;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Durability;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The view of the {@link CoordinationStore} given to a primitive whose options select a {@link
+ * Durability}: its commands are executed with that durability rather than the one of the store.
+ * The view does not own the store: closing it is a no-op.
+ */
+class DurableCoordinationStore implements CoordinationStore {
+
+  private final CoordinationStore delegate;
+
+  private final Durability durability;
+
+  private DurableCoordinationStore(CoordinationStore delegate, Durability durability) {
+    this.delegate = delegate;
+    this.durability = Objects.requireNonNull(durability, "durability");
+  }
+
+  /** Returns the view of the store with the given durability, or the store itself if null. */
+  static CoordinationStore of(CoordinationStore store, Durability durability) {
+    if (durability == null) return store;
+    return store instanceof AsyncCoordinationStore asyncStore
+        ? new Async(asyncStore, durability)
+        : new DurableCoordinationStore(store, durability);
+  }
+
+  @Override
+  public Optional<Resource> get(String resourceId) {
+    return delegate.get(resourceId);
+  }
+
+  @Override
+  public Subscription subscribe(
+      Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+    return delegate.subscribe(resourceType, resourceId, listener);
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    return delegate.subscribeAll(resourceType, listener);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command) {
+    return delegate.execute(resourceId, command, durability);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command, Durability durability) {
+    return delegate.execute(resourceId, command, durability);
+  }
+
+  @Override
+  public void close() {}
+
+  /** The view of an {@link AsyncCoordinationStore}, asynchronous as well. */
+  private static final class Async extends DurableCoordinationStore
+      implements AsyncCoordinationStore {
+
+    private final AsyncCoordinationStore delegate;
+
+    private final Durability durability;
+
+    private Async(AsyncCoordinationStore delegate, Durability durability) {
+      super(delegate, durability);
+      this.delegate = delegate;
+      this.durability = durability;
+    }
+
+    @Override
+    public <R> CompletionStage<R> executeAsync(String resourceId, Command<R> command) {
+      return delegate.executeAsync(resourceId, command, durability);
+    }
+
+    @Override
+    public <R> CompletionStage<R> executeAsync(
+        String resourceId, Command<R> command, Durability durability) {
+      return delegate.executeAsync(resourceId, command, durability);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.Lease;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import com.google.errorprone.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the dead-resource cleanup of an {@link AtomaClient}, on at most one client of the fleet.
+ *
+ * <p>Every client runs for cleaner with {@link CleanDeadResourceCommand.ElectCleaner}, every third
+ * of a {@link #TERM}. Only the elected client cleans: it reacts to lease deletions with a cleanup
+ * targeted at the dead lease and runs the full sweep as a safety net. It also deletes expired leases
+ * every {@link #EXPIRY_CHECK_INTERVAL} once a grace period has passed, so that the resources of a
+ * crashed client are released within its lease TTL plus the grace, rather than whenever the
+ * background expiry of the store comes around. When the cleaner stops
+ * renewing its term, another client takes over at its next election attempt and starts with a
+ * full sweep to catch up on the deletions missed during the handover. The cleanup load therefore
+ * does not grow with the size of the fleet.
+ */
+@ThreadSafe
+final class FleetCleaner implements AutoCloseable {
+
+  /** The interval of the full sweep, a safety net behind event-driven cleanup. */
+  static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+  /** The interval of the full sweep for stores unable to publish lease deletions. */
+  static final Duration FALLBACK_SWEEP_INTERVAL = Duration.ofSeconds(2);
+
+  /** The default delay after the expiration of a lease before it is deleted. */
+  static final Duration DEFAULT_EXPIRY_GRACE = Duration.ofSeconds(1);
+
+  /** The interval between two searches for expired leases. */
+  static final Duration EXPIRY_CHECK_INTERVAL = Duration.ofMillis(500);
+
+  /** The maximum number of expired leases deleted per search. */
+  static final int REAP_LIMIT = 1000;
+
+  /** The term of the elected cleaner. */
+  static final Duration TERM = Duration.ofSeconds(10);
+
+  private final Logger log = LoggerFactory.getLogger(FleetCleaner.class);
+
+  private final CoordinationStore coordinationStore;
+
+  private final ScheduledExecutorService executor;
+
+  private final String candidateId = UUID.randomUUID().toString();
+
+  private volatile boolean elected;
+
+  private final Subscription leaseDeletionSubscription;
+
+  private final ScheduledFuture<?> electionFuture;
+
+  private final ScheduledFuture<?> sweepFuture;
+
+  private final ScheduledFuture<?> expiryFuture;
+
+  /**
+   * @param executor The executor running the election and the cleanups.
+   * @param coordinationStore The store to clean.
+   * @param sweepInterval The interval of the full sweep, or {@code null} for the default one.
+   * @param expiryGrace The delay after the expiration of a lease before it is deleted, or {@code
+   *     null} for the default one.
+   */
+  FleetCleaner(
+      ScheduledExecutorService executor,
+      CoordinationStore coordinationStore,
+      Duration sweepInterval,
+      Duration expiryGrace) {
+    this.executor = executor;
+    this.coordinationStore = coordinationStore;
+
+    Subscription subscription;
+    try {
+      subscription =
+          coordinationStore.subscribeAll(
+              Lease.class,
+              event -> {
+                if (elected && ResourceChangeEvent.EventType.DELETED.equals(event.getType())) {
+                  executor.execute(() -> cleanDeadLease(event.getResourceKey()));
+                }
+              });
+    } catch (UnsupportedOperationException e) {
+      subscription = null;
+    }
+    this.leaseDeletionSubscription = subscription;
+
+    if (sweepInterval == null) {
+      // Without lease deletion events, the full sweep is the only way to clean.
+      sweepInterval = subscription == null ? FALLBACK_SWEEP_INTERVAL : DEFAULT_SWEEP_INTERVAL;
+    }
+
+    this.electionFuture =
+        executor.scheduleAtFixedRate(
+            this::elect, 0, TERM.toMillis() / 3, TimeUnit.MILLISECONDS);
+    this.sweepFuture =
+        executor.scheduleAtFixedRate(
+            () -> {
+              if (elected) sweep();
+            },
+            sweepInterval.toMillis(),
+            sweepInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+
+    LeaseCommand.ReapExpired reapCommand =
+        new LeaseCommand.ReapExpired(
+            expiryGrace == null ? DEFAULT_EXPIRY_GRACE : expiryGrace, REAP_LIMIT);
+    this.expiryFuture =
+        executor.scheduleWithFixedDelay(
+            () -> {
+              if (elected) reapExpiredLeases(reapCommand);
+            },
+            EXPIRY_CHECK_INTERVAL.toMillis(),
+            EXPIRY_CHECK_INTERVAL.toMillis(),
+            TimeUnit.MILLISECONDS);
+  }
+
+  boolean isElected() {
+    return elected;
+  }
+
+  private void elect() {
+    try {
+      boolean wasElected = elected;
+      elected =
+          coordinationStore
+              .execute("", new CleanDeadResourceCommand.ElectCleaner(candidateId, TERM))
+              .elected();
+      if (elected && !wasElected) {
+        log.info("Client [{}] elected as the dead-resource cleaner.", candidateId);
+        sweep();
+      }
+    } catch (Throwable e) {
+      // Stop cleaning rather than risk running beside the next cleaner for long.
+      elected = false;
+      log.warn("Dead-resource cleaner election failed.", e);
+    }
+  }
+
+  private void sweep() {
+    try {
+      coordinationStore.execute("", new CleanDeadResourceCommand.Clean(null));
+    } catch (Throwable e) {
+      log.warn("Full dead-resource sweep failed.", e);
+    }
+  }
+
+  private void reapExpiredLeases(LeaseCommand.ReapExpired command) {
+    try {
+      // The deletions are published as lease deletion events, which drive the targeted cleanup.
+      long reaped = coordinationStore.execute("", command).reaped();
+      if (reaped > 0) log.debug("Deleted {} expired leases.", reaped);
+    } catch (Throwable e) {
+      log.warn("Failed to delete expired leases.", e);
+    }
+  }
+
+  private void cleanDeadLease(String leaseId) {
+    try {
+      coordinationStore.execute("", new CleanDeadResourceCommand.Clean(leaseId));
+    } catch (Throwable e) {
+      log.warn("Failed to clean the resources of dead lease {}", leaseId, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    electionFuture.cancel(false);
+    sweepFuture.cancel(false);
+    expiryFuture.cancel(false);
+    if (leaseDeletionSubscription != null) {
+      leaseDeletionSubscription.unsubscribe();
+    }
+    if (elected) {
+      elected = false;
+      try {
+        // Resign, so that the next cleaner does not wait for the end of the term.
+        coordinationStore.execute(
+            "", new CleanDeadResourceCommand.ElectCleaner(candidateId, Duration.ZERO));
+      } catch (Throwable e) {
+        log.warn("Failed to resign from the dead-resource cleaner term.", e);
+      }
+    }
+  }
+}
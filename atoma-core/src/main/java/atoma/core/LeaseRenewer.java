@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.command.LeaseCommand;
+import com.google.errorprone.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renews all the leases of an {@link AtomaClient} in batches.
+ *
+ * <p>Rather than every lease scheduling its own renewal, the renewer wakes up every tick and sends
+ * the renewals of all leases that are due before the next tick as a single {@link
+ * LeaseCommand.BatchTimeToLive}. Renewing slightly early is harmless, and it lets a client holding
+ * hundreds of leases pay for one write per tick instead of one write per lease.
+ *
+ * <p>The result of every lease is mapped back individually. A lease whose renewal failed stays due
+ * and is retried on the next tick; the other leases of the batch are not affected.
+ */
+@ThreadSafe
+final class LeaseRenewer implements AutoCloseable {
+
+  static final Duration DEFAULT_TICK = Duration.ofMillis(200);
+
+  private final Logger log = LoggerFactory.getLogger(LeaseRenewer.class);
+
+  private final CoordinationStore coordinationStore;
+
+  private final long tickNanos;
+
+  private final Map<String, DefaultLease> leases = new ConcurrentHashMap<>();
+
+  private final ScheduledFuture<?> future;
+
+  LeaseRenewer(
+      ScheduledExecutorService executor, CoordinationStore coordinationStore, Duration tick) {
+    this.coordinationStore = coordinationStore;
+    this.tickNanos = tick.toNanos();
+    this.future =
+        executor.scheduleAtFixedRate(
+            this::renewDueLeases, 0, tick.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  void register(DefaultLease lease) {
+    leases.put(lease.getResourceId(), lease);
+  }
+
+  void unregister(DefaultLease lease) {
+    leases.remove(lease.getResourceId());
+  }
+
+  /** Sends one batch with the renewals of all leases due before the next tick. */
+  void renewDueLeases() {
+    try {
+      long horizonNanos = System.nanoTime() + tickNanos;
+      List<DefaultLease> dueLeases = new ArrayList<>();
+      List<LeaseCommand.TimeToLive> renewals = new ArrayList<>();
+      for (DefaultLease lease : leases.values()) {
+        if (lease.isRenewalDue(horizonNanos)) {
+          dueLeases.add(lease);
+          renewals.add(lease.nextRenewal());
+        }
+      }
+      if (renewals.isEmpty()) return;
+
+      LeaseCommand.BatchTimeToLiveResult batchResult =
+          coordinationStore.execute("", new LeaseCommand.BatchTimeToLive(renewals));
+
+      for (int i = 0; i < dueLeases.size(); i++) {
+        DefaultLease lease = dueLeases.get(i);
+        LeaseCommand.TimeToLiveResult result =
+            batchResult.results().get(renewals.get(i).id());
+        if (result != null && Boolean.TRUE.equals(result.success())) {
+          lease.onRenewed(result.nextExpireTime());
+        } else {
+          log.warn("Lease [{}] renewal failed, retrying on the next tick.", lease.getResourceId());
+        }
+      }
+    } catch (Throwable e) {
+      // Never let an exception cancel the periodic task.
+      log.warn("Lease batch renewal failed, retrying on the next tick.", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    future.cancel(false);
+    leases.clear();
+  }
+}
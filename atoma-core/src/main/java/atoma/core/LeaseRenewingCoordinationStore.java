@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.Resourceful;
+import atoma.api.coordination.AsyncCoordinationStore;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Durability;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.coordination.command.RenewsLease;
+import atoma.api.coordination.command.StampsLeaseExpiry;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The view of the {@link CoordinationStore} given to the primitives of a {@link DefaultLease}.
+ *
+ * <p>Commands able to carry a lease renewal ({@link RenewsLease}) get one attached when the lease
+ * is close to its next renewal, so busy primitives keep their lease alive without any dedicated
+ * heartbeat. Commands stamping what they acquire with the expiration time of the lease ({@link
+ * StampsLeaseExpiry}) get the current one. The view does not own the store: closing it is a no-op.
+ */
+class LeaseRenewingCoordinationStore implements CoordinationStore {
+
+  private final CoordinationStore delegate;
+
+  private final DefaultLease lease;
+
+  // A command ready to be sent, with what it carries on behalf of the lease.
+  private record Prepared<R>(Command<R> command, LeaseCommand.TimeToLive renewal) {}
+
+  private LeaseRenewingCoordinationStore(CoordinationStore delegate, DefaultLease lease) {
+    this.delegate = delegate;
+    this.lease = lease;
+  }
+
+  /** Returns the view of the store for the given lease, asynchronous if the store is. */
+  static CoordinationStore of(CoordinationStore store, DefaultLease lease) {
+    return store instanceof AsyncCoordinationStore asyncStore
+        ? new Async(asyncStore, lease)
+        : new LeaseRenewingCoordinationStore(store, lease);
+  }
+
+  @Override
+  public Optional<Resource> get(String resourceId) {
+    return delegate.get(resourceId);
+  }
+
+  @Override
+  public Subscription subscribe(
+      Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+    return delegate.subscribe(resourceType, resourceId, listener);
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    return delegate.subscribeAll(resourceType, listener);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command) {
+    return execute(resourceId, command, null);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command, Durability durability) {
+    Prepared<R> prepared = prepare(command);
+    R result =
+        durability == null
+            ? delegate.execute(resourceId, prepared.command())
+            : delegate.execute(resourceId, prepared.command(), durability);
+    completed(prepared);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  final <R> Prepared<R> prepare(Command<R> command) {
+    LeaseCommand.TimeToLive renewal = null;
+    if (command instanceof RenewsLease<?> renewsLease && renewsLease.leaseRenewal() == null) {
+      renewal = lease.piggybackRenewal();
+      if (renewal != null) {
+        command = ((RenewsLease<? extends Command<R>>) command).withLeaseRenewal(renewal);
+      }
+    }
+    if (command instanceof StampsLeaseExpiry<?> stamps && stamps.leaseExpireTime() == null) {
+      command =
+          ((StampsLeaseExpiry<? extends Command<R>>) command)
+              .withLeaseExpireTime(lease.expireTime());
+    }
+
+    return new Prepared<>(command, renewal);
+  }
+
+  final void completed(Prepared<?> prepared) {
+    // The renewal runs before the command, a normal completion means it was acknowledged.
+    if (prepared.renewal() != null) lease.onRenewed(prepared.renewal().nextExpireTime());
+  }
+
+  @Override
+  public void close() {}
+
+  /** The view of an {@link AsyncCoordinationStore}, asynchronous as well. */
+  private static final class Async extends LeaseRenewingCoordinationStore
+      implements AsyncCoordinationStore {
+
+    private final AsyncCoordinationStore delegate;
+
+    private Async(AsyncCoordinationStore delegate, DefaultLease lease) {
+      super(delegate, lease);
+      this.delegate = delegate;
+    }
+
+    @Override
+    public <R> CompletionStage<R> executeAsync(String resourceId, Command<R> command) {
+      return executeAsync(resourceId, command, null);
+    }
+
+    @Override
+    public <R> CompletionStage<R> executeAsync(
+        String resourceId, Command<R> command, Durability durability) {
+      Prepared<R> prepared = prepare(command);
+      CompletionStage<R> stage =
+          durability == null
+              ? delegate.executeAsync(resourceId, prepared.command())
+              : delegate.executeAsync(resourceId, prepared.command(), durability);
+      return stage.thenApply(
+          result -> {
+            completed(prepared);
+            return result;
+          });
+    }
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.core;
+
+import atoma.api.AtomaStateException;
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Durability;
+import atoma.api.coordination.command.Command;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The releases of the primitives of a lease unlocked in write-behind mode, sent to the coordination
+ * store in the order they were issued, one at a time, by a task of the executor of the lease.
+ *
+ * <p>An unlocking thread returns as soon as its release is queued. An acquisition of a resource by
+ * the lease first waits for the queued releases of the resource ({@link #awaitReleased}), so that
+ * it is never undone by an earlier release of the same holder.
+ *
+ * <p>A failed release stays at the head of the queue and is retried after a jittered, exponentially
+ * growing delay until it succeeds or the queue is closed with the lease. A release rejected by the store, or
+ * still failing when the queue is closed, is dropped and its failure is thrown by the next call
+ * to {@link #checkReleased} for the resource.
+ */
+@ThreadSafe
+final class ReleaseQueue {
+
+  private final Logger log = LoggerFactory.getLogger(ReleaseQueue.class);
+
+  // The bounds of the delay between the retries of a failed release.
+  private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final CoordinationStore coordination;
+
+  private final Executor executor;
+
+  private final Object lock = new Object();
+
+  // The releases not sent yet, the head being sent.
+  @GuardedBy("lock")
+  private final Queue<PendingRelease> queue = new ArrayDeque<>();
+
+  // Whether a task of the executor is sending the queued releases.
+  @GuardedBy("lock")
+  private boolean sending = false;
+
+  // Whether the lease is revoked: failed releases are no longer retried.
+  @GuardedBy("lock")
+  private boolean closed = false;
+
+  // The last queued release of each resource, removed once sent.
+  private final Map<String, CompletableFuture<Void>> lastReleases = new ConcurrentHashMap<>();
+
+  // The failure of the last dropped release of each resource, removed once thrown.
+  private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+
+  private record PendingRelease(
+      String resourceId,
+      Command<?> command,
+      Durability durability,
+      CompletableFuture<Void> sent) {}
+
+  ReleaseQueue(CoordinationStore coordination, Executor executor) {
+    this.coordination = coordination;
+    this.executor = executor;
+  }
+
+  /**
+   * Queues the release of a resource, sent after the releases queued before it.
+   *
+   * @param durability the durability of the release, or {@code null} for the one of the store.
+   */
+  void enqueue(String resourceId, Command<?> command, Durability durability) {
+    PendingRelease release =
+        new PendingRelease(resourceId, command, durability, new CompletableFuture<>());
+    boolean startSending;
+    synchronized (lock) {
+      queue.add(release);
+      lastReleases.put(resourceId, release.sent());
+      startSending = !sending;
+      sending = true;
+    }
+    if (!startSending) return;
+    try {
+      executor.execute(this::sendQueued);
+    } catch (RejectedExecutionException e) {
+      // The executor is shut down, the releases are sent by the caller.
+      sendQueued();
+    }
+  }
+
+  private void sendQueued() {
+    for (; ; ) {
+      PendingRelease release;
+      synchronized (lock) {
+        release = queue.peek();
+        if (release == null) {
+          sending = false;
+          return;
+        }
+      }
+      try {
+        send(release);
+      } finally {
+        synchronized (lock) {
+          queue.remove();
+        }
+        lastReleases.remove(release.resourceId(), release.sent());
+        release.sent().complete(null);
+      }
+    }
+  }
+
+  /** Sends a release, retrying until it succeeds, is rejected or the queue is closed. */
+  private void send(PendingRelease release) {
+    Duration delay = null;
+    for (; ; ) {
+      try {
+        coordination.execute(release.resourceId(), release.command(), release.durability());
+        return;
+      } catch (IllegalOwnershipException e) {
+        drop(release, e);
+        return;
+      } catch (RuntimeException e) {
+        delay = nextRetryDelay(delay);
+        log.warn(
+            "Write-behind release of resource [{}] failed, retrying in {}",
+            release.resourceId(),
+            delay,
+            e);
+        if (!awaitRetry(delay)) {
+          drop(release, e);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the delay before the next retry of a release, drawn between the minimum delay and
+   * three times the previous one, and capped.
+   *
+   * @param previous the delay before the previous retry, or {@code null} before the first retry.
+   */
+  private static Duration nextRetryDelay(Duration previous) {
+    if (previous == null) return Duration.ofNanos(MIN_RETRY_NANOS);
+    long upper = Math.min(MAX_RETRY_NANOS, previous.toNanos() * 3L);
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(MIN_RETRY_NANOS, upper + 1L));
+  }
+
+  /** Waits for the delay before a retry. Returns {@code false} if the queue is closed meanwhile. */
+  private boolean awaitRetry(Duration delay) {
+    long deadlineNanos = System.nanoTime() + delay.toNanos();
+    synchronized (lock) {
+      try {
+        long remainingNanos;
+        while (!closed && (remainingNanos = deadlineNanos - System.nanoTime()) > 0L) {
+          TimeUnit.NANOSECONDS.timedWait(lock, remainingNanos);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      return !closed;
+    }
+  }
+
+  private void drop(PendingRelease release, RuntimeException failure) {
+    log.warn("Write-behind release of resource [{}] dropped", release.resourceId(), failure);
+    failures.put(release.resourceId(), failure);
+  }
+
+  /**
+   * Throws the failure of the last dropped release of a resource, if any, once.
+   *
+   * @throws AtomaStateException if a release of the resource was dropped.
+   */
+  void checkReleased(String resourceId) {
+    RuntimeException failure = failures.remove(resourceId);
+    if (failure != null) throw new AtomaStateException(failure);
+  }
+
+  /**
+   * Stops retrying failed releases. The releases queued so far are still sent, each at most once
+   * more.
+   */
+  void close() {
+    synchronized (lock) {
+      closed = true;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Waits until the releases of a resource queued so far are sent.
+   *
+   * @param timeoutNanos the maximum time to wait, or a negative value to wait indefinitely.
+   * @throws InterruptedException if the current thread is interrupted.
+   * @throws TimeoutException if the releases are not sent within the timeout.
+   */
+  void awaitReleased(String resourceId, long timeoutNanos)
+      throws InterruptedException, TimeoutException {
+    CompletableFuture<Void> last = lastReleases.get(resourceId);
+    if (last == null) return;
+    try {
+      if (timeoutNanos < 0) {
+        last.get();
+      } else {
+        last.get(timeoutNanos, TimeUnit.NANOSECONDS);
+      }
+    } catch (ExecutionException e) {
+      // Never completed exceptionally.
+      throw new AssertionError(e);
+    }
+  }
+
+  /** Waits until every release queued so far is sent. The wait is not interruptible. */
+  void flush() {
+    CompletableFuture<?>[] pending;
+    synchronized (lock) {
+      pending = queue.stream().map(PendingRelease::sent).toArray(CompletableFuture[]::new);
+    }
+    CompletableFuture.allOf(pending).join();
+  }
+
+  /** Returns the number of queued releases not sent yet. */
+  int pending() {
+    synchronized (lock) {
+      return queue.size();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    id("java")
+    id("java-library")
+    id("net.ltgt.errorprone") version "4.1.0"
+}
+
+dependencies {
+    api(project(":atoma-api"))
+    implementation(lib.slf4j)
+    errorprone("com.google.errorprone:error_prone_core:2.28.0")
+
+    testImplementation(project(":atoma-core"))
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core:3.24.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.errorprone.disableWarningsInGeneratedCode.set(true)
+    options.errorprone.disableAllChecks = true
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+/** Records the changes of a {@link ResourceTable}, before they are applied. */
+@FunctionalInterface
+interface ChangeJournal {
+
+  /** The journal of a table living only in memory, which records nothing. */
+  ChangeJournal NONE = (namespace, id, next) -> {};
+
+  /**
+   * Records the next state of a resource. Throwing aborts the change.
+   *
+   * @param next the state of the resource after the change, or {@code null} if it is deleted.
+   */
+  void record(MemoryNamespace namespace, String id, MemoryResource next);
+}
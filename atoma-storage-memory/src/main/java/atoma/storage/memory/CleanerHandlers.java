@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.CommandHandlerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Handles the {@link CleanDeadResourceCommand}s: the release of the resources held by dead leases,
+ * and the election of the client running it.
+ */
+final class CleanerHandlers {
+
+  private static final Logger log = LoggerFactory.getLogger(CleanerHandlers.class);
+
+  /** The id of the record holding the term of the cleaner. */
+  static final String CLEANER_ID = "atoma-cleaner";
+
+  private final ResourceTable table;
+
+  private final LeaseHandlers leases;
+
+  CleanerHandlers(ResourceTable table, LeaseHandlers leases) {
+    this.table = table;
+    this.leases = leases;
+  }
+
+  /**
+   * Releases the resources held by the given lease, or by every lease that no longer exists when
+   * none is given; the latter also deletes the empty read-write locks and the opened latches.
+   */
+  Void clean(CleanDeadResourceCommand.Clean command, CommandHandlerContext context) {
+    Predicate<String> isDead =
+        command.leaseId() != null
+            ? command.leaseId()::equals
+            : lease -> lease != null && !leases.exists(lease);
+
+    int mutexes =
+        cleanAll(
+            MemoryNamespace.MUTEX_LOCK,
+            mutex -> isDead.test(mutex.get("lease")) ? null : mutex);
+    int rwLocks =
+        cleanAll(MemoryNamespace.RW_LOCK, lock -> ReadWriteLockHandlers.released(lock, isDead));
+    int semaphores =
+        cleanAll(
+            MemoryNamespace.SEMAPHORE,
+            semaphore -> SemaphoreHandlers.released(semaphore, isDead));
+    int barriers =
+        cleanAll(
+            MemoryNamespace.BARRIER, barrier -> CyclicBarrierHandlers.released(barrier, isDead));
+    int latches = 0;
+    if (command.leaseId() == null) {
+      latches =
+          cleanAll(
+              MemoryNamespace.COUNTDOWN_LATCH,
+              latch -> latch.<Integer>get("count") == 0 ? null : latch);
+    }
+
+    if (mutexes + rwLocks + semaphores + barriers + latches > 0) {
+      log.info(
+          "Cleaned dead leases {}: {} mutex locks, {} read-write locks, {} semaphores, {} barriers,"
+              + " {} count-down-latches",
+          command.leaseId() == null ? "(sweep)" : command.leaseId(),
+          mutexes,
+          rwLocks,
+          semaphores,
+          barriers,
+          latches);
+    }
+    return null;
+  }
+
+  /** Applies a cleanup to every resource of a type, and returns the number changed. */
+  private int cleanAll(MemoryNamespace namespace, UnaryOperator<MemoryResource> cleanup) {
+    int cleaned = 0;
+    for (MemoryResource resource : table.values(namespace)) {
+      // Checked on the scanned state first, so the stripes of clean resources are not locked.
+      if (cleanup.apply(resource) == resource) continue;
+      boolean[] changed = new boolean[1];
+      table.update(
+          namespace,
+          resource.getId(),
+          current -> {
+            if (current == null) return null;
+            MemoryResource next = cleanup.apply(current);
+            changed[0] = next != current;
+            return next;
+          });
+      if (changed[0]) cleaned++;
+    }
+    return cleaned;
+  }
+
+  /**
+   * Elects the candidate if there is no cleaner, if the term of the current cleaner has expired,
+   * or if it already is the cleaner. A term of zero resigns from an ongoing term.
+   *
+   * <p>The term is kept as the MongoDB store does, in the {@value #CLEANER_ID} record of a table of
+   * its own, so that it is shared by all the clients of the table without being taken for a lease
+   * by the listeners, the reaper or the cleanup of dead resources.
+   */
+  CleanDeadResourceCommand.ElectCleanerResult electCleaner(
+      CleanDeadResourceCommand.ElectCleaner command, CommandHandlerContext context) {
+    boolean[] elected = new boolean[1];
+    table.update(
+        MemoryNamespace.CLEANER,
+        CLEANER_ID,
+        current -> {
+          Instant now = leases.now();
+          boolean held = current != null && command.candidateId().equals(current.get("holder"));
+          if (command.term().isZero() ? !held : !held && isOngoing(current, now)) return current;
+          Map<String, Object> fields = current == null ? new LinkedHashMap<>() : current.fields();
+          fields.put("holder", command.candidateId());
+          fields.put("expire_time", Date.from(now.plus(command.term())));
+          fields.put("version", current == null ? 1L : current.getVersion() + 1);
+          elected[0] = !command.term().isZero();
+          return MemoryResource.of(CLEANER_ID, fields);
+        });
+    return new CleanDeadResourceCommand.ElectCleanerResult(elected[0]);
+  }
+
+  private static boolean isOngoing(MemoryResource term, Instant now) {
+    return term != null && !term.<Date>get("expire_time").toInstant().isBefore(now);
+  }
+}
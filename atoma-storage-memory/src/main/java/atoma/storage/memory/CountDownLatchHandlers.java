@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.CountDownLatchCommand;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Handles the {@link CountDownLatchCommand}s.
+ *
+ * <p>A latch is stored as {@code {count, version}}. It is created by its initialization or by its
+ * first count-down, and kept at a count of zero until it is destroyed or cleaned up.
+ */
+final class CountDownLatchHandlers {
+
+  private final ResourceTable table;
+
+  CountDownLatchHandlers(ResourceTable table) {
+    this.table = table;
+  }
+
+  /** Creates the latch with the given count, unless it already exists. */
+  Void initialize(CountDownLatchCommand.Initialize command, CommandHandlerContext context) {
+    table.update(
+        MemoryNamespace.COUNTDOWN_LATCH,
+        context.getResourceId(),
+        current -> {
+          if (current != null) return current;
+          Map<String, Object> fields = new LinkedHashMap<>();
+          fields.put("count", command.count());
+          fields.put("version", 1L);
+          return MemoryResource.of(context.getResourceId(), fields);
+        });
+    return null;
+  }
+
+  /**
+   * Decrements the count if it is positive, creating the latch with the given count on first use.
+   * Every count-down advances the version.
+   */
+  Void countDown(CountDownLatchCommand.CountDown command, CommandHandlerContext context) {
+    table.update(
+        MemoryNamespace.COUNTDOWN_LATCH,
+        context.getResourceId(),
+        current -> {
+          Map<String, Object> fields;
+          if (current == null) {
+            fields = new LinkedHashMap<>();
+            fields.put("version", 1L);
+            fields.put("count", command.count() - 1);
+          } else {
+            fields = current.fields();
+            int count = current.get("count");
+            if (count > 0) fields.put("count", count - 1);
+            fields.put("version", current.getVersion() + 1);
+          }
+          return MemoryResource.of(context.getResourceId(), fields);
+        });
+    return null;
+  }
+
+  /** Returns the count of the latch, zero if it does not exist. */
+  CountDownLatchCommand.GetCountResult getCount(
+      CountDownLatchCommand.GetCount command, CommandHandlerContext context) {
+    MemoryResource latch = table.get(MemoryNamespace.COUNTDOWN_LATCH, context.getResourceId());
+    if (latch == null) return new CountDownLatchCommand.GetCountResult(0, -1L);
+    return new CountDownLatchCommand.GetCountResult(latch.get("count"), latch.getVersion());
+  }
+
+  Void destroy(CountDownLatchCommand.Destroy command, CommandHandlerContext context) {
+    table.update(MemoryNamespace.COUNTDOWN_LATCH, context.getResourceId(), current -> null);
+    return null;
+  }
+}
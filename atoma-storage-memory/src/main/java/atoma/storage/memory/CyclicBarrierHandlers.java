@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.CyclicBarrierCommand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Handles the {@link CyclicBarrierCommand}s.
+ *
+ * <p>A barrier is stored as {@code {parties, generation, is_broken, participants, version}}, where
+ * every participant is {@code {participant, lease}}. It is created by {@link
+ * CyclicBarrierCommand.GetState} or {@link CyclicBarrierCommand.Reset}, and a generation ends when
+ * its last party arrives.
+ */
+final class CyclicBarrierHandlers {
+
+  private final ResourceTable table;
+
+  CyclicBarrierHandlers(ResourceTable table) {
+    this.table = table;
+  }
+
+  /**
+   * Adds the caller to the participants of the current generation, or trips the barrier if it is
+   * the last party. Awaiting a broken barrier or another generation changes nothing.
+   *
+   * @throws AtomaStateException if the barrier does not exist or has another number of parties.
+   */
+  CyclicBarrierCommand.AwaitResult await(
+      CyclicBarrierCommand.Await command, CommandHandlerContext context) {
+    Map<String, Object> participant = new LinkedHashMap<>();
+    participant.put("participant", command.participantId());
+    participant.put("lease", command.leaseId());
+    Map<String, Object> self = Collections.unmodifiableMap(participant);
+
+    boolean[] passed = new boolean[1];
+    MemoryResource barrier =
+        table.update(
+            MemoryNamespace.BARRIER,
+            context.getResourceId(),
+            current -> {
+              if (current == null || current.<Integer>get("parties") != command.parties()) {
+                return current;
+              }
+              if (current.get("is_broken", false)
+                  || current.<Long>get("generation") != command.generation()) {
+                return current;
+              }
+              List<Map<String, Object>> participants = participantsOf(current);
+              Map<String, Object> fields = current.fields();
+              if (participants.size() + 1 == command.parties()) {
+                passed[0] = true;
+                fields.put("participants", List.of());
+                fields.put("generation", command.generation() + 1);
+              } else if (!participants.contains(self)) {
+                List<Map<String, Object>> joined = new ArrayList<>(participants);
+                joined.add(self);
+                fields.put("participants", Collections.unmodifiableList(joined));
+              }
+              fields.put("version", current.getVersion() + 1);
+              return MemoryResource.of(current.getId(), fields);
+            });
+
+    if (barrier == null || barrier.<Integer>get("parties") != command.parties()) {
+      throw new AtomaStateException(
+          String.format(
+              "Failed to await the barrier. Parties was %s, expected %d",
+              barrier == null ? null : barrier.get("parties"), command.parties()));
+    }
+    long generation = barrier.get("generation");
+    boolean waited =
+        !passed[0]
+            && generation == command.generation()
+            && participantsOf(barrier).contains(self);
+    return new CyclicBarrierCommand.AwaitResult(
+        passed[0], barrier.get("is_broken", false), waited, generation);
+  }
+
+  /** Breaks the barrier if it is still at the given generation. */
+  Void breakBarrier(CyclicBarrierCommand.Break command, CommandHandlerContext context) {
+    table.update(
+        MemoryNamespace.BARRIER,
+        context.getResourceId(),
+        current -> {
+          if (current == null || current.<Long>get("generation") != command.generation()) {
+            return current;
+          }
+          Map<String, Object> fields = current.fields();
+          fields.put("is_broken", true);
+          fields.put("participants", List.of());
+          fields.put("version", current.getVersion() + 1);
+          return MemoryResource.of(current.getId(), fields);
+        });
+    return null;
+  }
+
+  /** Starts a new generation of the barrier with the given number of parties. */
+  CyclicBarrierCommand.GetStateResult reset(
+      CyclicBarrierCommand.Reset command, CommandHandlerContext context) {
+    MemoryResource barrier =
+        table.update(
+            MemoryNamespace.BARRIER,
+            context.getResourceId(),
+            current -> {
+              Map<String, Object> fields =
+                  current == null ? new LinkedHashMap<>() : current.fields();
+              fields.put("parties", command.parties());
+              fields.put(
+                  "generation", current == null ? 1L : current.<Long>get("generation") + 1);
+              fields.put("is_broken", false);
+              fields.put("participants", List.of());
+              fields.put("version", current == null ? 1L : current.getVersion() + 1);
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+    return new CyclicBarrierCommand.GetStateResult(
+        command.parties(), 0, false, barrier.get("generation"));
+  }
+
+  /**
+   * Returns the state of the barrier, creating it with the given number of parties. A command
+   * bounded by a maximum staleness reads the barrier without creating it, as a replica would.
+   */
+  CyclicBarrierCommand.GetStateResult getState(
+      CyclicBarrierCommand.GetState command, CommandHandlerContext context) {
+    if (command.maxStaleness() != null) {
+      MemoryResource barrier = table.get(MemoryNamespace.BARRIER, context.getResourceId());
+      if (barrier == null) {
+        return new CyclicBarrierCommand.GetStateResult(command.parties(), 0, false, 1L, -1L);
+      }
+      return stateOf(barrier);
+    }
+    MemoryResource barrier =
+        table.update(
+            MemoryNamespace.BARRIER,
+            context.getResourceId(),
+            current -> {
+              if (current != null) return current;
+              Map<String, Object> fields = new LinkedHashMap<>();
+              fields.put("parties", command.parties());
+              fields.put("generation", 1L);
+              fields.put("is_broken", false);
+              fields.put("participants", List.of());
+              fields.put("version", 1L);
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+    return stateOf(barrier);
+  }
+
+  private static CyclicBarrierCommand.GetStateResult stateOf(MemoryResource barrier) {
+    return new CyclicBarrierCommand.GetStateResult(
+        barrier.get("parties"),
+        participantsOf(barrier).size(),
+        barrier.get("is_broken", false),
+        barrier.get("generation"),
+        barrier.getVersion());
+  }
+
+  /**
+   * Returns the barrier broken and without the participants of the dead leases, or the barrier
+   * itself if no dead lease participates.
+   */
+  static MemoryResource released(MemoryResource barrier, Predicate<String> isDead) {
+    List<Map<String, Object>> participants = new ArrayList<>(participantsOf(barrier));
+    if (!participants.removeIf(t -> isDead.test((String) t.get("lease")))) return barrier;
+
+    Map<String, Object> fields = barrier.fields();
+    fields.put("participants", Collections.unmodifiableList(participants));
+    fields.put("is_broken", true);
+    fields.put("version", barrier.getVersion() + 1);
+    return MemoryResource.of(barrier.getId(), fields);
+  }
+
+  private static List<Map<String, Object>> participantsOf(MemoryResource barrier) {
+    return barrier.get("participants", List.of());
+  }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.AtomaStateException;
+import atoma.api.Resourceful;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LeaseCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link CoordinationStore} shared by the processes of a host through the files of a directory,
+ * for the deployments without a database.
+ *
+ * <p>Each process keeps the resources in memory, as a {@link MemoryCoordinationStore} does, and
+ * appends every change to a memory-mapped write-ahead log. A command runs under a lock of the
+ * directory, shared by the threads and the processes of the host: it first applies the changes
+ * appended by the other processes, then its own changes are appended and committed. Commands thus
+ * complete in microseconds, without any system call but the file lock. The changes of the other
+ * processes are also polled every millisecond, so that their events reach the listeners of this
+ * process without a command.
+ *
+ * <p>A store opened on an existing directory recovers the resources from its log. The log is
+ * compacted into a snapshot of the resources when it is full. By default the log is written
+ * through to the disk by the operating system, which survives the crash of a process but not of
+ * the host; {@code forceOnCommit} writes it through on every command instead, at the cost of a
+ * disk flush.
+ *
+ * <p>The leases granted by a process are tagged with its pid. Besides the deletion of the expired
+ * leases, every second, the leases of the processes which have died are revoked and their
+ * resources released, without waiting for their expiration.
+ */
+public class FileCoordinationStore implements CoordinationStore {
+
+  private static final Logger log = LoggerFactory.getLogger(FileCoordinationStore.class);
+
+  /** The default capacity of the write-ahead log, in bytes. */
+  public static final int DEFAULT_CAPACITY = 64 << 20;
+
+  static final String LOG_FILE = "atoma.wal";
+
+  static final String LOCK_FILE = "atoma.lock";
+
+  /** The fields identifying the process which granted a lease. */
+  static final String PID = "pid";
+
+  static final String PROCESS_START_TIME = "process_start_time";
+
+  /** The interval between two polls of the changes of the other processes. */
+  private static final Duration TAIL_INTERVAL = Duration.ofMillis(1);
+
+  /** The interval between two deletions of the expired leases and of the dead processes. */
+  private static final Duration EXPIRY_SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+  private static final LeaseCommand.ReapExpired EXPIRY_SWEEP =
+      new LeaseCommand.ReapExpired(Duration.ZERO, Integer.MAX_VALUE);
+
+  private final Path directory;
+  private final int capacity;
+  private final boolean forceOnCommit;
+  private final InterProcessLock lock;
+
+  private final MemoryListeners listeners = new MemoryListeners();
+  private final ResourceTable table = new ResourceTable(this::enqueue, this::record);
+  private final MemoryCommandHandlers handlers;
+
+  // The changes not yet delivered, queued under the lock, hence in the order of the log.
+  private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean delivering = new AtomicBoolean();
+
+  // Written under the lock, read without it to poll the changes of the other processes.
+  private volatile WriteAheadLog wal;
+  private volatile int position;
+
+  // Set under the lock while the changes of the other processes are applied.
+  private boolean replaying;
+
+  private final ScheduledExecutorService tailer;
+
+  public FileCoordinationStore(Path directory) {
+    this(directory, DEFAULT_CAPACITY, false);
+  }
+
+  /**
+   * Opens the store of the given directory, creating it if it does not exist.
+   *
+   * @param directory the directory shared by the processes.
+   * @param capacity the size of the write-ahead log, in bytes, if it is created.
+   * @param forceOnCommit whether every command writes the log through to the disk.
+   */
+  public FileCoordinationStore(Path directory, int capacity, boolean forceOnCommit) {
+    if (capacity <= WriteAheadLog.HEADER_SIZE) {
+      throw new IllegalArgumentException("capacity must exceed " + WriteAheadLog.HEADER_SIZE);
+    }
+    this.directory = directory;
+    this.capacity = capacity;
+    this.forceOnCommit = forceOnCommit;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new AtomaStateException(e);
+    }
+    this.lock = new InterProcessLock(directory.resolve(LOCK_FILE));
+    this.handlers = new MemoryCommandHandlers(table, Clock.systemUTC(), processOwner());
+
+    lock.lock();
+    try {
+      reopen();
+    } finally {
+      lock.unlock();
+    }
+    pending.clear();
+
+    this.tailer =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "atoma-file-store-tailer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.tailer.scheduleWithFixedDelay(
+        this::poll, TAIL_INTERVAL.toNanos(), TAIL_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+    this.tailer.scheduleWithFixedDelay(
+        this::sweep,
+        EXPIRY_SWEEP_INTERVAL.toMillis(),
+        EXPIRY_SWEEP_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private static Map<String, Object> processOwner() {
+    ProcessHandle process = ProcessHandle.current();
+    Map<String, Object> owner = new LinkedHashMap<>();
+    owner.put(PID, process.pid());
+    process
+        .info()
+        .startInstant()
+        .ifPresent(start -> owner.put(PROCESS_START_TIME, Date.from(start)));
+    return Map.copyOf(owner);
+  }
+
+  @Override
+  public Optional<Resource> get(String resourceId) {
+    for (MemoryNamespace namespace : MemoryNamespace.values()) {
+      MemoryResource resource = table.get(namespace, resourceId);
+      if (resource != null) return Optional.of(resource);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Subscription subscribe(
+      Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+    return listeners.subscribe(resourceId, listener);
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    return listeners.subscribeAll(MemoryNamespace.of(resourceType), listener);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command) {
+    R result;
+    lock.lock();
+    try {
+      catchUp();
+      try {
+        result = handlers.execute(resourceId, command);
+      } finally {
+        // The changes made before a failure are in the table, so they are committed as well.
+        commit();
+      }
+    } finally {
+      lock.unlock();
+    }
+    deliver();
+    return result;
+  }
+
+  /** Applies the changes of the other processes, if any, without waiting for a command. */
+  private void poll() {
+    try {
+      if (wal.end() == position && lock.epoch() == wal.epoch()) return;
+      lock.lock();
+      try {
+        catchUp();
+      } finally {
+        lock.unlock();
+      }
+      deliver();
+    } catch (RuntimeException e) {
+      log.warn("Failed to read the changes of the other processes.", e);
+    }
+  }
+
+  private void sweep() {
+    try {
+      execute("", EXPIRY_SWEEP);
+      for (MemoryResource lease : new ArrayList<>(table.values(MemoryNamespace.LEASE))) {
+        if (isGrantedByDeadProcess(lease)) {
+          log.info("Revoking lease {} of dead process {}.", lease.getId(), lease.get(PID));
+          execute(lease.getId(), new LeaseCommand.Revoke(lease.getId()));
+          execute("", new CleanDeadResourceCommand.Clean(lease.getId()));
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to delete expired leases.", e);
+    }
+  }
+
+  private static boolean isGrantedByDeadProcess(MemoryResource lease) {
+    Long pid = lease.get(PID);
+    if (pid == null || pid == ProcessHandle.current().pid()) return false;
+    Date startTime = lease.get(PROCESS_START_TIME);
+    Optional<ProcessHandle> process = ProcessHandle.of(pid).filter(ProcessHandle::isAlive);
+    // A pid reused by another process does not keep the lease alive.
+    return process.isEmpty()
+        || startTime != null
+            && process
+                .flatMap(p -> p.info().startInstant())
+                .map(start -> start.toEpochMilli() != startTime.getTime())
+                .orElse(false);
+  }
+
+  /** Brings the table up to the log, under the lock. */
+  private void catchUp() {
+    WriteAheadLog current = wal;
+    if (lock.epoch() != current.epoch()) {
+      // Another process compacted the log.
+      reopen();
+    } else if (current.end() > position) {
+      replaying = true;
+      try {
+        position = current.replay(position, this::apply);
+      } finally {
+        replaying = false;
+      }
+    } else if (current.end() < position) {
+      // Another process cut the log at a corrupted record this process has not read.
+      reopen();
+    }
+  }
+
+  /**
+   * Maps the current log of the directory and brings the table to its state, publishing the
+   * differences. Repairs the epoch of the lock file if a compaction died before replacing the log.
+   */
+  private void reopen() {
+    WriteAheadLog current =
+        WriteAheadLog.open(directory.resolve(LOG_FILE), capacity, lock.epoch() + 1);
+    if (lock.epoch() != current.epoch()) lock.setEpoch(current.epoch());
+
+    Map<MemoryNamespace, Map<String, MemoryResource>> state = new EnumMap<>(MemoryNamespace.class);
+    for (MemoryNamespace namespace : MemoryNamespace.values()) {
+      state.put(namespace, new HashMap<>());
+    }
+    int end =
+        current.replay(
+            WriteAheadLog.HEADER_SIZE,
+            (namespace, id, next) -> {
+              if (next == null) {
+                state.get(namespace).remove(id);
+              } else {
+                state.get(namespace).put(id, next);
+              }
+            });
+
+    replaying = true;
+    try {
+      for (MemoryNamespace namespace : MemoryNamespace.values()) {
+        Map<String, MemoryResource> resources = state.get(namespace);
+        for (MemoryResource resource : table.values(namespace)) {
+          if (!resources.containsKey(resource.getId())) apply(namespace, resource.getId(), null);
+        }
+        for (MemoryResource resource : resources.values()) {
+          MemoryResource known = table.get(namespace, resource.getId());
+          if (known == null || !known.getData().equals(resource.getData())) {
+            apply(namespace, resource.getId(), resource);
+          }
+        }
+      }
+    } finally {
+      replaying = false;
+    }
+    this.wal = current;
+    this.position = end;
+  }
+
+  private void apply(MemoryNamespace namespace, String id, MemoryResource next) {
+    table.update(namespace, id, current -> next);
+  }
+
+  /** Appends a change of the table to the log, compacting the log first if it is full. */
+  private void record(MemoryNamespace namespace, String id, MemoryResource next) {
+    if (replaying) return;
+    if (wal.append(namespace, id, next)) return;
+    compact();
+    if (!wal.append(namespace, id, next)) {
+      throw new AtomaStateException("The write-ahead log is full: " + wal.file());
+    }
+  }
+
+  /**
+   * Replaces the log with a snapshot of the table. The snapshot is written through to the disk,
+   * then the epoch is bumped, then the snapshot replaces the log: the other processes map the new
+   * log when they see the new epoch.
+   */
+  private void compact() {
+    Path file = directory.resolve(LOG_FILE);
+    Path snapshot = directory.resolve(LOG_FILE + ".compact");
+    try {
+      Files.deleteIfExists(snapshot);
+      WriteAheadLog compacted = WriteAheadLog.open(snapshot, wal.capacity(), wal.epoch() + 1);
+      for (MemoryNamespace namespace : MemoryNamespace.values()) {
+        for (MemoryResource resource : table.values(namespace)) {
+          if (!compacted.append(namespace, resource.getId(), resource)) {
+            Files.delete(snapshot);
+            throw new AtomaStateException("The write-ahead log is full: " + file);
+          }
+        }
+      }
+      compacted.commit();
+      compacted.force();
+      lock.setEpoch(compacted.epoch());
+      Files.move(snapshot, file, StandardCopyOption.ATOMIC_MOVE);
+      this.wal = compacted;
+      this.position = compacted.tail();
+      log.info("Compacted the write-ahead log {} to {} bytes.", file, compacted.tail());
+    } catch (IOException e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
+  private void commit() {
+    WriteAheadLog current = wal;
+    if (current.tail() == position) return;
+    current.commit();
+    if (forceOnCommit) current.force();
+    position = current.tail();
+  }
+
+  private void enqueue(MemoryNamespace namespace, ResourceChangeEvent event) {
+    pending.add(new Change(namespace, event));
+  }
+
+  /**
+   * Delivers the pending changes in order, once the lock is released so that the listeners do not
+   * hold up the other processes. As for the stripes of a {@link ResourceTable}, if another thread
+   * is delivering, it delivers the changes queued by this thread as well.
+   */
+  private void deliver() {
+    while (!pending.isEmpty() && delivering.compareAndSet(false, true)) {
+      try {
+        Change change;
+        while ((change = pending.poll()) != null) {
+          listeners.publish(change.namespace(), change.event());
+        }
+      } finally {
+        delivering.set(false);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    this.tailer.shutdownNow();
+    this.lock.close();
+  }
+
+  private record Change(MemoryNamespace namespace, ResourceChangeEvent event) {}
+}
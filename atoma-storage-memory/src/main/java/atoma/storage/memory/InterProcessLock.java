@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.AtomaStateException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A reentrant lock excluding the threads of this process and the other processes locking the same
+ * file, the latter through a {@link FileLock} released by the operating system if the process
+ * dies.
+ *
+ * <p>The stores of a process opened on the same directory share the lock of their threads, as a
+ * process cannot lock a file twice.
+ *
+ * <p>The lock file also holds the epoch of the current write-ahead log of the directory, read and
+ * written under the lock.
+ */
+final class InterProcessLock implements AutoCloseable {
+
+  private static final int EPOCH_OFFSET = 0;
+
+  private static final int SIZE = 8;
+
+  // By absolute path of the lock file.
+  private static final Map<Path, ReentrantLock> THREAD_LOCKS = new ConcurrentHashMap<>();
+
+  private final Path file;
+
+  private final ReentrantLock threads;
+
+  private final MappedByteBuffer control;
+
+  // Guarded by threads.
+  private FileChannel channel;
+  private FileLock fileLock;
+
+  InterProcessLock(Path file) {
+    this.file = file;
+    this.threads =
+        THREAD_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), p -> new ReentrantLock());
+    try {
+      this.channel = openChannel();
+      this.control = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+    } catch (IOException e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
+  private FileChannel openChannel() throws IOException {
+    return FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Acquires the lock, waiting for the other threads and processes holding it. The wait is not
+   * interruptible: an interrupt is kept for the caller.
+   */
+  void lock() {
+    threads.lock();
+    if (threads.getHoldCount() > 1) return;
+    // An interrupt closes a file channel blocked on a lock, so it is only restored once locked.
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        try {
+          if (channel == null) channel = openChannel();
+          fileLock = channel.lock();
+          return;
+        } catch (ClosedByInterruptException e) {
+          interrupted |= Thread.interrupted();
+          channel = null;
+        }
+      }
+    } catch (IOException e) {
+      threads.unlock();
+      throw new AtomaStateException(e);
+    } finally {
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+  }
+
+  void unlock() {
+    try {
+      if (threads.getHoldCount() == 1) fileLock.release();
+    } catch (IOException e) {
+      // The lock is gone with its channel.
+    } finally {
+      if (threads.getHoldCount() == 1) fileLock = null;
+      threads.unlock();
+    }
+  }
+
+  boolean isHeldByCurrentThread() {
+    return threads.isHeldByCurrentThread();
+  }
+
+  /** Returns the epoch of the current write-ahead log, which may change unless locked. */
+  long epoch() {
+    return control.getLong(EPOCH_OFFSET);
+  }
+
+  void setEpoch(long epoch) {
+    control.putLong(EPOCH_OFFSET, epoch);
+  }
+
+  @Override
+  public void close() {
+    threads.lock();
+    try {
+      if (channel != null) channel.close();
+    } catch (IOException e) {
+      // Closing releases the file lock, if any.
+    } finally {
+      threads.unlock();
+    }
+  }
+}
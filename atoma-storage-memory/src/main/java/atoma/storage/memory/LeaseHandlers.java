@@ -0,0 +1,251 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.LeaseCommand;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles the {@link LeaseCommand}s, and pushes the renewed expiration time of a lease to the
+ * stamps of the locks it holds.
+ *
+ * <p>A lease is stored as {@code {expire_time, create_time, version}}. An expired lease is kept
+ * until it is reaped, either by {@link LeaseCommand.ReapExpired} or by the expiry sweep of the
+ * store; its deletion is published as for the MongoDB store.
+ */
+final class LeaseHandlers {
+
+  /** The field of the stamp, in a mutex and in the entries of a read-write lock. */
+  static final String LEASE_EXPIRE_TIME = "lease_expire_time";
+
+  /** The delay after the expiration of a stamp before its lock can be taken over. */
+  static final Duration TAKEOVER_GRACE = Duration.ofSeconds(1);
+
+  private final ResourceTable table;
+
+  private final Clock clock;
+
+  // Added to the leases granted by this store.
+  private final Map<String, Object> owner;
+
+  /**
+   * @param owner the fields added to a lease when it is granted, identifying the granting process.
+   */
+  LeaseHandlers(ResourceTable table, Clock clock, Map<String, Object> owner) {
+    this.table = table;
+    this.clock = clock;
+    this.owner = owner;
+  }
+
+  /** Returns whether a lock carrying the given stamp can be taken over at the given instant. */
+  static boolean isExpired(Date stamp, Instant now) {
+    return stamp != null && stamp.toInstant().plus(TAKEOVER_GRACE).isBefore(now);
+  }
+
+  /** Returns the instant from which a lock carrying the given stamp can be taken over. */
+  static Instant takeoverTime(Date stamp) {
+    return stamp == null ? null : stamp.toInstant().plus(TAKEOVER_GRACE);
+  }
+
+  /**
+   * Returns the stamp of an acquisition: the later of the lease expiration time known by the
+   * requester and of the renewal piggybacked on its command, or {@code null} if neither is known.
+   */
+  static Date stampOf(Instant leaseExpireTime, LeaseCommand.TimeToLive renewal) {
+    Instant stamp = leaseExpireTime;
+    if (renewal != null && (stamp == null || renewal.nextExpireTime().isAfter(stamp))) {
+      stamp = renewal.nextExpireTime();
+    }
+    return stamp == null ? null : Date.from(stamp);
+  }
+
+  /**
+   * Returns the expiration time of the lease holding a lock: its stamp, or the expiration time of
+   * the lease if it was renewed after the stamp was written. A lock without stamp has none and is
+   * never taken over.
+   */
+  Date expireTimeOf(Date stamp, String leaseId) {
+    if (stamp == null) return null;
+    MemoryResource lease = table.get(MemoryNamespace.LEASE, leaseId);
+    if (lease == null) return stamp;
+    Date expireTime = lease.get("expire_time");
+    return expireTime.after(stamp) ? expireTime : stamp;
+  }
+
+  Instant now() {
+    return clock.instant();
+  }
+
+  boolean exists(String leaseId) {
+    return table.get(MemoryNamespace.LEASE, leaseId) != null;
+  }
+
+  LeaseCommand.GrantResult grant(LeaseCommand.Grant command, CommandHandlerContext context) {
+    Date expireTime = Date.from(now().plus(command.ttl()));
+    MemoryResource lease =
+        table.update(
+            MemoryNamespace.LEASE,
+            command.id(),
+            current -> {
+              Map<String, Object> fields;
+              if (current == null) {
+                fields = new LinkedHashMap<>();
+                fields.put("create_time", Date.from(now()));
+                fields.putAll(owner);
+                fields.put("version", 1L);
+              } else {
+                fields = current.fields();
+                fields.put("version", current.getVersion() + 1);
+              }
+              fields.put("expire_time", expireTime);
+              return MemoryResource.of(command.id(), fields);
+            });
+    return new LeaseCommand.GrantResult(
+        true, command.id(), lease.<Date>get("expire_time").toInstant());
+  }
+
+  LeaseCommand.RevokeResult revoke(LeaseCommand.Revoke command, CommandHandlerContext context) {
+    table.update(MemoryNamespace.LEASE, command.id(), current -> null);
+    return new LeaseCommand.RevokeResult(true);
+  }
+
+  LeaseCommand.TimeToLiveResult timeToLive(
+      LeaseCommand.TimeToLive command, CommandHandlerContext context) {
+    Date expireTime = Date.from(command.nextExpireTime());
+    MemoryResource lease =
+        table.update(
+            MemoryNamespace.LEASE,
+            command.id(),
+            current -> {
+              if (current == null) return null;
+              Map<String, Object> fields = current.fields();
+              fields.put("expire_time", expireTime);
+              fields.put("version", current.getVersion() + 1);
+              return MemoryResource.of(command.id(), fields);
+            });
+    if (lease == null) return new LeaseCommand.TimeToLiveResult(false, null);
+    propagateLeaseExpiry(List.of(command));
+    return new LeaseCommand.TimeToLiveResult(true, expireTime.toInstant());
+  }
+
+  LeaseCommand.BatchTimeToLiveResult batchTimeToLive(
+      LeaseCommand.BatchTimeToLive command, CommandHandlerContext context) {
+    Map<String, LeaseCommand.TimeToLiveResult> results = new LinkedHashMap<>();
+    for (LeaseCommand.TimeToLive renewal : command.renewals()) {
+      results.put(renewal.id(), timeToLive(renewal, context));
+    }
+    return new LeaseCommand.BatchTimeToLiveResult(results);
+  }
+
+  LeaseCommand.ReapExpiredResult reapExpired(
+      LeaseCommand.ReapExpired command, CommandHandlerContext context) {
+    Date cutoff = Date.from(now().minus(command.grace()));
+    List<MemoryResource> expired = new ArrayList<>();
+    for (MemoryResource lease : table.values(MemoryNamespace.LEASE)) {
+      if (lease.<Date>get("expire_time").before(cutoff)) expired.add(lease);
+    }
+    expired.sort(Comparator.comparing(lease -> lease.<Date>get("expire_time")));
+
+    long reaped = 0;
+    for (MemoryResource lease : expired.subList(0, Math.min(command.limit(), expired.size()))) {
+      // The cutoff is checked again, so a lease renewed meanwhile survives.
+      MemoryResource[] deleted = new MemoryResource[1];
+      table.update(
+          MemoryNamespace.LEASE,
+          lease.getId(),
+          current -> {
+            if (current == null || !current.<Date>get("expire_time").before(cutoff)) {
+              return current;
+            }
+            deleted[0] = current;
+            return null;
+          });
+      if (deleted[0] != null) reaped++;
+    }
+    return new LeaseCommand.ReapExpiredResult(reaped);
+  }
+
+  /**
+   * Performs the lease renewal piggybacked on a command, if any. A lease that no longer exists is
+   * left alone and reaped as usual.
+   */
+  void renewLease(LeaseCommand.TimeToLive renewal) {
+    if (renewal == null) return;
+    Date expireTime = Date.from(renewal.nextExpireTime());
+    MemoryResource lease =
+        table.update(
+            MemoryNamespace.LEASE,
+            renewal.id(),
+            current -> {
+              if (current == null) return null;
+              Map<String, Object> fields = current.fields();
+              // A late or retried renewal never moves the expire time backwards.
+              if (expireTime.after(current.get("expire_time"))) {
+                fields.put("expire_time", expireTime);
+              }
+              fields.put("version", current.getVersion() + 1);
+              return MemoryResource.of(renewal.id(), fields);
+            });
+    if (lease != null) propagateLeaseExpiry(List.of(renewal));
+  }
+
+  /** Pushes the renewed expiration time of leases to the stamps of the locks they hold. */
+  private void propagateLeaseExpiry(Collection<LeaseCommand.TimeToLive> renewals) {
+    for (LeaseCommand.TimeToLive renewal : renewals) {
+      Date stamp = Date.from(renewal.nextExpireTime());
+      for (MemoryResource mutex : table.values(MemoryNamespace.MUTEX_LOCK)) {
+        if (!renewal.id().equals(mutex.get("lease"))) continue;
+        table.update(
+            MemoryNamespace.MUTEX_LOCK,
+            mutex.getId(),
+            current -> {
+              if (current == null || !renewal.id().equals(current.get("lease"))) return current;
+              if (!isLater(stamp, current.get(LEASE_EXPIRE_TIME))) return current;
+              Map<String, Object> fields = current.fields();
+              fields.put(LEASE_EXPIRE_TIME, stamp);
+              return MemoryResource.of(current.getId(), fields);
+            });
+      }
+      for (MemoryResource rwLock : table.values(MemoryNamespace.RW_LOCK)) {
+        if (!ReadWriteLockHandlers.isHeldBy(rwLock, renewal.id())) continue;
+        table.update(
+            MemoryNamespace.RW_LOCK,
+            rwLock.getId(),
+            current ->
+                current == null
+                    ? null
+                    : ReadWriteLockHandlers.stamped(current, renewal.id(), stamp));
+      }
+    }
+  }
+
+  /** Returns whether a stamp moves the given one forwards, a missing stamp being the earliest. */
+  static boolean isLater(Date stamp, Date current) {
+    return current == null || stamp.after(current);
+  }
+}
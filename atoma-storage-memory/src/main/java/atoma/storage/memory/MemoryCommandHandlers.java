@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.CommandHandler;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.CountDownLatchCommand;
+import atoma.api.coordination.command.CyclicBarrierCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/** The handlers of every command, over the resources of a {@link ResourceTable}. */
+final class MemoryCommandHandlers {
+
+  // Filled by the constructor, read-only afterwards.
+  private final Map<Class<? extends Command>, CommandHandler> commandHandlerRegistry =
+      new HashMap<>();
+
+  /**
+   * @param clock the clock deciding the expiration of the leases and of the stamps of the locks.
+   * @param leaseOwner the fields added to the leases when they are granted.
+   */
+  MemoryCommandHandlers(ResourceTable table, Clock clock, Map<String, Object> leaseOwner) {
+    LeaseHandlers leases = new LeaseHandlers(table, clock, leaseOwner);
+    register(LeaseCommand.Grant.class, leases::grant);
+    register(LeaseCommand.Revoke.class, leases::revoke);
+    register(LeaseCommand.TimeToLive.class, leases::timeToLive);
+    register(LeaseCommand.BatchTimeToLive.class, leases::batchTimeToLive);
+    register(LeaseCommand.ReapExpired.class, leases::reapExpired);
+
+    MutexLockHandlers mutexLocks = new MutexLockHandlers(table, leases);
+    register(LockCommand.Acquire.class, mutexLocks::acquire);
+    register(LockCommand.Release.class, mutexLocks::release);
+
+    ReadWriteLockHandlers rwLocks = new ReadWriteLockHandlers(table, leases);
+    register(ReadWriteLockCommand.AcquireRead.class, rwLocks::acquireRead);
+    register(ReadWriteLockCommand.ReleaseRead.class, rwLocks::releaseRead);
+    register(ReadWriteLockCommand.AcquireWrite.class, rwLocks::acquireWrite);
+    register(ReadWriteLockCommand.ReleaseWrite.class, rwLocks::releaseWrite);
+
+    SemaphoreHandlers semaphores = new SemaphoreHandlers(table, leases);
+    register(SemaphoreCommand.Acquire.class, semaphores::acquire);
+    register(SemaphoreCommand.Release.class, semaphores::release);
+    register(SemaphoreCommand.GetState.class, semaphores::getState);
+
+    CountDownLatchHandlers latches = new CountDownLatchHandlers(table);
+    register(CountDownLatchCommand.Initialize.class, latches::initialize);
+    register(CountDownLatchCommand.CountDown.class, latches::countDown);
+    register(CountDownLatchCommand.GetCount.class, latches::getCount);
+    register(CountDownLatchCommand.Destroy.class, latches::destroy);
+
+    CyclicBarrierHandlers barriers = new CyclicBarrierHandlers(table);
+    register(CyclicBarrierCommand.Await.class, barriers::await);
+    register(CyclicBarrierCommand.Break.class, barriers::breakBarrier);
+    register(CyclicBarrierCommand.Reset.class, barriers::reset);
+    register(CyclicBarrierCommand.GetState.class, barriers::getState);
+
+    CleanerHandlers cleaner = new CleanerHandlers(table, leases);
+    register(CleanDeadResourceCommand.Clean.class, cleaner::clean);
+    register(CleanDeadResourceCommand.ElectCleaner.class, cleaner::electCleaner);
+  }
+
+  private <C extends Command<R>, R> void register(Class<C> type, CommandHandler<C, R> handler) {
+    commandHandlerRegistry.put(type, handler);
+  }
+
+  @SuppressWarnings("unchecked")
+  <R> R execute(String resourceId, Command<R> command) {
+    CommandHandler<Command<R>, R> handler = commandHandlerRegistry.get(command.getClass());
+    if (handler == null) {
+      throw new AtomaStateException(
+          "No command handler found for command: " + command.getClass().getName());
+    }
+    return handler.execute(command, new MemoryCommandHandlerContext(resourceId));
+  }
+
+  private static final class MemoryCommandHandlerContext implements CommandHandlerContext {
+
+    private final String resourceId;
+
+    private MemoryCommandHandlerContext(String resourceId) {
+      this.resourceId = resourceId;
+    }
+
+    @Override
+    public String getResourceId() {
+      return resourceId;
+    }
+
+    @Override
+    public Optional<Resource> getCurrentResource() {
+      // The handlers read the current state under the lock of the resource instead.
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.Resourceful;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LeaseCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CoordinationStore} keeping the resources in the memory of the process, with the
+ * semantics of the MongoDB store for every command.
+ *
+ * <p>It serves the tests of the primitives without a database, and as a zero-latency baseline in
+ * the benchmarks: the difference with a database-backed store is the cost of the round trips, the
+ * rest being the overhead of the client.
+ *
+ * <p>The resources are changed under striped locks and read without locking. Change events are
+ * delivered synchronously: by the time a command returns, the listeners have been invoked, unless
+ * another thread was already delivering the changes of the same stripe, in which case that thread
+ * delivers them right after. Listeners always see the old node. Expired leases are deleted within
+ * a second, as by the TTL index of the MongoDB store, and their deletion is published.
+ */
+public class MemoryCoordinationStore implements CoordinationStore {
+
+  private static final Logger log = LoggerFactory.getLogger(MemoryCoordinationStore.class);
+
+  /** The interval between two deletions of the expired leases. */
+  private static final Duration EXPIRY_SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+  private static final LeaseCommand.ReapExpired EXPIRY_SWEEP =
+      new LeaseCommand.ReapExpired(Duration.ZERO, Integer.MAX_VALUE);
+
+  private final MemoryListeners listeners = new MemoryListeners();
+  private final ResourceTable table = new ResourceTable(listeners::publish);
+  private final MemoryCommandHandlers handlers;
+  private final ScheduledExecutorService expirySweeper;
+
+  public MemoryCoordinationStore() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Creates a store reading the time from the given clock, which decides the expiration of the
+   * leases and of the stamps of the locks.
+   *
+   * @param clock the clock of the store, in place of the clock of a database server.
+   */
+  public MemoryCoordinationStore(Clock clock) {
+    this.handlers = new MemoryCommandHandlers(table, clock, Map.of());
+    this.expirySweeper =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "atoma-memory-expiry-sweeper");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.expirySweeper.scheduleWithFixedDelay(
+        () -> {
+          try {
+            execute("", EXPIRY_SWEEP);
+          } catch (RuntimeException e) {
+            log.warn("Failed to delete expired leases.", e);
+          }
+        },
+        EXPIRY_SWEEP_INTERVAL.toMillis(),
+        EXPIRY_SWEEP_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the state of a resource. Resources of different types may share an id, in which case
+   * the first type in the order of {@link MemoryNamespace} wins.
+   */
+  @Override
+  public Optional<Resource> get(String resourceId) {
+    for (MemoryNamespace namespace : MemoryNamespace.values()) {
+      MemoryResource resource = table.get(namespace, resourceId);
+      if (resource != null) return Optional.of(resource);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Subscription subscribe(
+      Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+    return listeners.subscribe(resourceId, listener);
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    return listeners.subscribeAll(MemoryNamespace.of(resourceType), listener);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command) {
+    return handlers.execute(resourceId, command);
+  }
+
+  @Override
+  public void close() {
+    this.expirySweeper.shutdownNow();
+  }
+}
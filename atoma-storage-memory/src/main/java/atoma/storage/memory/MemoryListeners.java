@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** The listeners of the resources of a store, by resource and by resource type. */
+final class MemoryListeners {
+
+  private static final Logger log = LoggerFactory.getLogger(MemoryListeners.class);
+
+  private final Map<String, List<ResourceListener>> listenerRegistry = new ConcurrentHashMap<>();
+  // Listeners of a whole resource type.
+  private final Map<MemoryNamespace, List<ResourceListener>> typeListenerRegistry =
+      new ConcurrentHashMap<>();
+
+  /** Delivers a change to the listeners of its resource, then to those of its resource type. */
+  void publish(MemoryNamespace namespace, ResourceChangeEvent event) {
+    List<ResourceListener> listeners = listenerRegistry.get(event.getResourceKey());
+    if (listeners != null) listeners.forEach(listener -> deliver(listener, event));
+    List<ResourceListener> typeListeners = typeListenerRegistry.get(namespace);
+    if (typeListeners != null) typeListeners.forEach(listener -> deliver(listener, event));
+  }
+
+  private static void deliver(ResourceListener listener, ResourceChangeEvent event) {
+    try {
+      listener.onEvent(event);
+    } catch (RuntimeException e) {
+      // The command that made the change has succeeded, whatever its listeners do.
+      log.warn("Listener of resource {} failed.", event.getResourceKey(), e);
+    }
+  }
+
+  Subscription subscribe(String resourceId, ResourceListener listener) {
+    listenerRegistry.computeIfAbsent(resourceId, k -> new CopyOnWriteArrayList<>()).add(listener);
+    return new MemorySubscription(
+        resourceId,
+        () ->
+            listenerRegistry.computeIfPresent(
+                resourceId,
+                (k, v) -> {
+                  v.remove(listener);
+                  return v.isEmpty() ? null : v;
+                }));
+  }
+
+  Subscription subscribeAll(MemoryNamespace namespace, ResourceListener listener) {
+    typeListenerRegistry
+        .computeIfAbsent(namespace, k -> new CopyOnWriteArrayList<>())
+        .add(listener);
+    return new MemorySubscription(
+        namespace.name(),
+        () ->
+            typeListenerRegistry.computeIfPresent(
+                namespace,
+                (k, v) -> {
+                  v.remove(listener);
+                  return v.isEmpty() ? null : v;
+                }));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.Lease;
+import atoma.api.Resourceful;
+import atoma.api.lock.Lock;
+import atoma.api.lock.ReadWriteLock;
+import atoma.api.synchronizer.CountDownLatch;
+import atoma.api.synchronizer.CyclicBarrier;
+import atoma.api.synchronizer.Semaphore;
+
+/**
+ * The tables of a {@link MemoryCoordinationStore}, one per resource type, as the collections of the
+ * MongoDB store. New tables are appended, as the write-ahead log records the ordinals.
+ */
+enum MemoryNamespace {
+  LEASE,
+  MUTEX_LOCK,
+  RW_LOCK,
+  SEMAPHORE,
+  BARRIER,
+  COUNTDOWN_LATCH,
+  /** The term of the cleaner of dead resources, kept apart from the leases. */
+  CLEANER;
+
+  /**
+   * Returns the table storing the resources of the given type.
+   *
+   * @throws IllegalArgumentException if the type is not stored by Atoma.
+   */
+  static MemoryNamespace of(Class<? extends Resourceful> resourceType) {
+    if (Lease.class.isAssignableFrom(resourceType)) return LEASE;
+    if (Lock.class.isAssignableFrom(resourceType)) return MUTEX_LOCK;
+    if (ReadWriteLock.class.isAssignableFrom(resourceType)) return RW_LOCK;
+    if (Semaphore.class.isAssignableFrom(resourceType)) return SEMAPHORE;
+    if (CyclicBarrier.class.isAssignableFrom(resourceType)) return BARRIER;
+    if (CountDownLatch.class.isAssignableFrom(resourceType)) return COUNTDOWN_LATCH;
+    throw new IllegalArgumentException("Unsupported resource type: " + resourceType.getName());
+  }
+}
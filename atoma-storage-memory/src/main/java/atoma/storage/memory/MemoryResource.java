@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.Resource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable state of a resource of a {@link MemoryCoordinationStore}.
+ *
+ * <p>The fields are named and typed as in the documents of the MongoDB store, e.g. {@code version}
+ * is a {@link Long}, {@code count} an {@link Integer} and a lease expiration time a {@link
+ * java.util.Date}, so that listeners read both stores alike. A change replaces the state rather
+ * than mutating it, hence the events hand the states out without copying them.
+ */
+public final class MemoryResource implements Resource {
+
+  private final String id;
+
+  private final Map<String, Object> data;
+
+  private MemoryResource(String id, Map<String, Object> data) {
+    this.id = id;
+    this.data = data;
+  }
+
+  /**
+   * Creates the state of a resource from its fields, which are not copied and must not be changed
+   * afterwards.
+   */
+  static MemoryResource of(String id, Map<String, Object> fields) {
+    Map<String, Object> data = new LinkedHashMap<>(fields.size() + 1);
+    data.put("_id", id);
+    data.putAll(fields);
+    return new MemoryResource(id, Collections.unmodifiableMap(data));
+  }
+
+  /** Returns a modifiable copy of the fields, to build the next state from. */
+  Map<String, Object> fields() {
+    Map<String, Object> fields = new LinkedHashMap<>(data);
+    fields.remove("_id");
+    return fields;
+  }
+
+  @Override
+  public long getVersion() {
+    Number version = (Number) data.get("version");
+    return version == null ? -1L : version.longValue();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public Map<String, Object> getData() {
+    return data;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T get(String key) {
+    return (T) data.get(key);
+  }
+
+  @Override
+  public <T> T get(String key, T defaultValue) {
+    T r;
+    if ((r = get(key)) != null) return r;
+    return defaultValue;
+  }
+
+  @Override
+  public String toString() {
+    return data.toString();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.LockCommand;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static atoma.storage.memory.LeaseHandlers.LEASE_EXPIRE_TIME;
+
+/**
+ * Handles the {@link LockCommand}s.
+ *
+ * <p>A mutex is stored as {@code {holder, lease, lease_expire_time, version}} while it is held,
+ * and deleted when it is released.
+ */
+final class MutexLockHandlers {
+
+  private final ResourceTable table;
+
+  private final LeaseHandlers leases;
+
+  MutexLockHandlers(ResourceTable table, LeaseHandlers leases) {
+    this.table = table;
+    this.leases = leases;
+  }
+
+  /**
+   * Acquires the mutex if it is free, already held by the caller, or held by a lease whose stamp
+   * has expired and which was not renewed since. Every acquisition, re-entrant ones included,
+   * advances the version.
+   */
+  LockCommand.AcquireResult acquire(LockCommand.Acquire command, CommandHandlerContext context) {
+    leases.renewLease(command.leaseRenewal());
+    Date stamp = LeaseHandlers.stampOf(command.leaseExpireTime(), command.leaseRenewal());
+    Instant now = leases.now();
+    MemoryResource lock =
+        table.update(
+            MemoryNamespace.MUTEX_LOCK,
+            context.getResourceId(),
+            current -> {
+              if (current != null
+                  && !isHeldBy(current, command.holderId(), command.leaseId())
+                  && !LeaseHandlers.isExpired(expireTimeOf(current), now)) {
+                return current;
+              }
+              Map<String, Object> fields = new LinkedHashMap<>();
+              fields.put("lease", command.leaseId());
+              fields.put("holder", command.holderId());
+              if (stamp != null) fields.put(LEASE_EXPIRE_TIME, stamp);
+              fields.put("version", current == null ? 1L : current.getVersion() + 1);
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+
+    if (isHeldBy(lock, command.holderId(), command.leaseId())) {
+      return new LockCommand.AcquireResult(true, lock.getVersion());
+    }
+    return new LockCommand.AcquireResult(
+        false, lock.getVersion(), LeaseHandlers.takeoverTime(expireTimeOf(lock)));
+  }
+
+  private Date expireTimeOf(MemoryResource lock) {
+    return leases.expireTimeOf(lock.get(LEASE_EXPIRE_TIME), lock.get("lease"));
+  }
+
+  /** Deletes the mutex if it is held by the caller. */
+  Void release(LockCommand.Release command, CommandHandlerContext context) {
+    leases.renewLease(command.leaseRenewal());
+    boolean[] released = new boolean[1];
+    table.update(
+        MemoryNamespace.MUTEX_LOCK,
+        context.getResourceId(),
+        current -> {
+          if (current == null || !command.holderId().equals(current.get("holder"))) return current;
+          released[0] = true;
+          return null;
+        });
+    if (released[0]) return null;
+
+    throw new IllegalOwnershipException(
+        "Cannot release lock for resource '"
+            + context.getResourceId()
+            + "' because it is not held by holder '"
+            + command.holderId()
+            + "'");
+  }
+
+  private static boolean isHeldBy(MemoryResource lock, String holderId, String leaseId) {
+    return holderId.equals(lock.get("holder")) && leaseId.equals(lock.get("lease"));
+  }
+}
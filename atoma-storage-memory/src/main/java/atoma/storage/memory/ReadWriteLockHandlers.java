@@ -0,0 +1,301 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static atoma.storage.memory.LeaseHandlers.LEASE_EXPIRE_TIME;
+
+/**
+ * Handles the {@link ReadWriteLockCommand}s.
+ *
+ * <p>A read-write lock is stored as {@code {write_lock, read_locks, version}}, where the write
+ * lock and every read lock is an owner {@code {holder, lease, lease_expire_time}}. Releasing the
+ * write lock deletes the resource; releasing the last read lock leaves it empty until the next
+ * cleanup.
+ */
+final class ReadWriteLockHandlers {
+
+  private final ResourceTable table;
+
+  private final LeaseHandlers leases;
+
+  ReadWriteLockHandlers(ResourceTable table, LeaseHandlers leases) {
+    this.table = table;
+    this.leases = leases;
+  }
+
+  /**
+   * Acquires a read lock if the write lock is free or its stamp has expired. The read locks of
+   * expired leases are dropped on the way, and acquiring a held read lock again refreshes it.
+   */
+  LockCommand.AcquireResult acquireRead(
+      ReadWriteLockCommand.AcquireRead command, CommandHandlerContext context) {
+    Map<String, Object> owner =
+        ownerOf(command.holderId(), command.leaseId(), command.leaseExpireTime());
+    Instant now = leases.now();
+    MemoryResource lock =
+        table.update(
+            MemoryNamespace.RW_LOCK,
+            context.getResourceId(),
+            current -> {
+              Map<String, Object> writeLock = current == null ? null : current.get("write_lock");
+              if (writeLock != null
+                  && writeLock.get("holder") != null
+                  && !LeaseHandlers.isExpired(expireTimeOf(writeLock), now)) {
+                return current;
+              }
+              List<Map<String, Object>> readLocks = new ArrayList<>();
+              for (Map<String, Object> readLock : readLocksOf(current)) {
+                if (!isOwnedBy(readLock, command.holderId(), command.leaseId())
+                    && !LeaseHandlers.isExpired(expireTimeOf(readLock), now)) {
+                  readLocks.add(readLock);
+                }
+              }
+              readLocks.add(owner);
+              Map<String, Object> fields = new LinkedHashMap<>();
+              fields.put("read_locks", Collections.unmodifiableList(readLocks));
+              fields.put("version", current == null ? 1L : current.getVersion() + 1);
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+
+    for (Map<String, Object> readLock : readLocksOf(lock)) {
+      if (isOwnedBy(readLock, command.holderId(), command.leaseId())) {
+        return new LockCommand.AcquireResult(true, lock.getVersion());
+      }
+    }
+    // Blocked by the write lock only.
+    Map<String, Object> writeLock = lock.get("write_lock");
+    return new LockCommand.AcquireResult(
+        false,
+        lock.getVersion(),
+        writeLock == null ? null : LeaseHandlers.takeoverTime(expireTimeOf(writeLock)));
+  }
+
+  /**
+   * Acquires the write lock if no read lock of a live lease is held and the write lock is free or
+   * its stamp has expired. Acquiring a held write lock again succeeds without changing it.
+   */
+  LockCommand.AcquireResult acquireWrite(
+      ReadWriteLockCommand.AcquireWrite command, CommandHandlerContext context) {
+    Map<String, Object> owner =
+        ownerOf(command.holderId(), command.leaseId(), command.leaseExpireTime());
+    Instant now = leases.now();
+    MemoryResource lock =
+        table.update(
+            MemoryNamespace.RW_LOCK,
+            context.getResourceId(),
+            current -> {
+              for (Map<String, Object> readLock : readLocksOf(current)) {
+                if (!LeaseHandlers.isExpired(expireTimeOf(readLock), now)) {
+                  return current;
+                }
+              }
+              Map<String, Object> writeLock = current == null ? null : current.get("write_lock");
+              if (writeLock != null
+                  && writeLock.get("holder") != null
+                  && !LeaseHandlers.isExpired(expireTimeOf(writeLock), now)) {
+                return current;
+              }
+              Map<String, Object> fields = new LinkedHashMap<>();
+              fields.put("write_lock", owner);
+              fields.put("version", current == null ? 1L : current.getVersion() + 1);
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+
+    Map<String, Object> writeLock = lock.get("write_lock");
+    if (writeLock != null && isOwnedBy(writeLock, command.holderId(), command.leaseId())) {
+      return new LockCommand.AcquireResult(true, lock.getVersion());
+    }
+    return new LockCommand.AcquireResult(false, lock.getVersion(), takeoverTime(lock));
+  }
+
+  /** Removes the read lock of the caller. */
+  Void releaseRead(ReadWriteLockCommand.ReleaseRead command, CommandHandlerContext context) {
+    boolean[] released = new boolean[1];
+    table.update(
+        MemoryNamespace.RW_LOCK,
+        context.getResourceId(),
+        current -> {
+          List<Map<String, Object>> readLocks = new ArrayList<>(readLocksOf(current));
+          if (!readLocks.removeIf(t -> isOwnedBy(t, command.holderId(), command.leaseId()))) {
+            return current;
+          }
+          released[0] = true;
+          Map<String, Object> fields = current.fields();
+          fields.put("read_locks", Collections.unmodifiableList(readLocks));
+          fields.put("version", current.getVersion() + 1);
+          return MemoryResource.of(current.getId(), fields);
+        });
+    if (released[0]) return null;
+
+    throw new IllegalOwnershipException(
+        "Cannot release read lock for resource '"
+            + context.getResourceId()
+            + "' because it is not held by holder '"
+            + command.holderId()
+            + "'");
+  }
+
+  /** Deletes the lock if its write lock is held by the caller. */
+  Void releaseWrite(ReadWriteLockCommand.ReleaseWrite command, CommandHandlerContext context) {
+    boolean[] released = new boolean[1];
+    table.update(
+        MemoryNamespace.RW_LOCK,
+        context.getResourceId(),
+        current -> {
+          Map<String, Object> writeLock = current == null ? null : current.get("write_lock");
+          if (writeLock == null || !isOwnedBy(writeLock, command.holderId(), command.leaseId())) {
+            return current;
+          }
+          released[0] = true;
+          return null;
+        });
+    if (released[0]) return null;
+
+    throw new IllegalOwnershipException(
+        "Cannot release write lock for resource '"
+            + context.getResourceId()
+            + "' because it is not held by holder '"
+            + command.holderId()
+            + "'");
+  }
+
+  /** Returns whether the write lock or a read lock of the lock is held by the given lease. */
+  static boolean isHeldBy(MemoryResource lock, String leaseId) {
+    Map<String, Object> writeLock = lock.get("write_lock");
+    if (writeLock != null && leaseId.equals(writeLock.get("lease"))) return true;
+    for (Map<String, Object> readLock : readLocksOf(lock)) {
+      if (leaseId.equals(readLock.get("lease"))) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the lock with the stamps of the given lease moved forwards to the given one, or the
+   * lock itself if none moved.
+   */
+  static MemoryResource stamped(MemoryResource lock, String leaseId, Date stamp) {
+    boolean changed = false;
+    Map<String, Object> fields = lock.fields();
+    Map<String, Object> writeLock = lock.get("write_lock");
+    if (writeLock != null
+        && leaseId.equals(writeLock.get("lease"))
+        && LeaseHandlers.isLater(stamp, (Date) writeLock.get(LEASE_EXPIRE_TIME))) {
+      fields.put("write_lock", withStamp(writeLock, stamp));
+      changed = true;
+    }
+    List<Map<String, Object>> readLocks = new ArrayList<>(readLocksOf(lock));
+    for (int i = 0; i < readLocks.size(); i++) {
+      Map<String, Object> readLock = readLocks.get(i);
+      if (leaseId.equals(readLock.get("lease"))
+          && LeaseHandlers.isLater(stamp, (Date) readLock.get(LEASE_EXPIRE_TIME))) {
+        readLocks.set(i, withStamp(readLock, stamp));
+        changed = true;
+      }
+    }
+    if (!changed) return lock;
+    if (lock.get("read_locks") != null) {
+      fields.put("read_locks", Collections.unmodifiableList(readLocks));
+    }
+    return MemoryResource.of(lock.getId(), fields);
+  }
+
+  /**
+   * Returns the lock without the read and write locks of the dead leases, {@code null} if it is
+   * left empty, or the lock itself if no lock of a dead lease is held.
+   */
+  static MemoryResource released(MemoryResource lock, Predicate<String> isDead) {
+    Map<String, Object> writeLock = lock.get("write_lock");
+    boolean writeLockDead = writeLock != null && isDead.test((String) writeLock.get("lease"));
+    List<Map<String, Object>> readLocks = new ArrayList<>(readLocksOf(lock));
+    boolean readLocksDead = readLocks.removeIf(t -> isDead.test((String) t.get("lease")));
+    if (!writeLockDead && !readLocksDead) return isEmpty(lock) ? null : lock;
+    if ((writeLock == null || writeLockDead) && readLocks.isEmpty()) return null;
+
+    Map<String, Object> fields = lock.fields();
+    if (writeLockDead) fields.remove("write_lock");
+    if (readLocksDead) fields.put("read_locks", Collections.unmodifiableList(readLocks));
+    fields.put("version", lock.getVersion() + 1);
+    return MemoryResource.of(lock.getId(), fields);
+  }
+
+  private static boolean isEmpty(MemoryResource lock) {
+    return lock.get("write_lock") == null && readLocksOf(lock).isEmpty();
+  }
+
+  /**
+   * Returns the instant from which a write lock can take over every lock blocking it, or {@code
+   * null} if one of them carries no lease expiration time.
+   */
+  private Instant takeoverTime(MemoryResource lock) {
+    List<Map<String, Object>> blockers = new ArrayList<>(readLocksOf(lock));
+    Map<String, Object> writeLock = lock.get("write_lock");
+    if (writeLock != null) blockers.add(writeLock);
+
+    Instant takeoverTime = null;
+    for (Map<String, Object> blocker : blockers) {
+      Instant blockerTakeoverTime = LeaseHandlers.takeoverTime(expireTimeOf(blocker));
+      if (blockerTakeoverTime == null) return null;
+      if (takeoverTime == null || blockerTakeoverTime.isAfter(takeoverTime)) {
+        takeoverTime = blockerTakeoverTime;
+      }
+    }
+    return takeoverTime;
+  }
+
+  private Date expireTimeOf(Map<String, Object> entry) {
+    return leases.expireTimeOf((Date) entry.get(LEASE_EXPIRE_TIME), (String) entry.get("lease"));
+  }
+
+  private static Map<String, Object> ownerOf(
+      String holderId, String leaseId, Instant leaseExpireTime) {
+    Map<String, Object> owner = new LinkedHashMap<>();
+    owner.put("holder", holderId);
+    owner.put("lease", leaseId);
+    Date stamp = LeaseHandlers.stampOf(leaseExpireTime, null);
+    if (stamp != null) owner.put(LEASE_EXPIRE_TIME, stamp);
+    return Collections.unmodifiableMap(owner);
+  }
+
+  private static Map<String, Object> withStamp(Map<String, Object> owner, Date stamp) {
+    Map<String, Object> stamped = new LinkedHashMap<>(owner);
+    stamped.put(LEASE_EXPIRE_TIME, stamp);
+    return Collections.unmodifiableMap(stamped);
+  }
+
+  private static boolean isOwnedBy(Map<String, Object> owner, String holderId, String leaseId) {
+    return holderId.equals(owner.get("holder")) && leaseId.equals(owner.get("lease"));
+  }
+
+  private static List<Map<String, Object>> readLocksOf(MemoryResource lock) {
+    if (lock == null) return List.of();
+    return lock.get("read_locks", List.of());
+  }
+}
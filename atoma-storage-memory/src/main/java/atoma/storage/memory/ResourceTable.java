@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.ResourceChangeEvent;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * The resources of a {@link MemoryCoordinationStore}, read without locking and changed under the
+ * lock of their stripe.
+ *
+ * <p>A change is published to the listeners by the thread that made it, once the stripe is
+ * unlocked, so that a listener may execute commands itself. The changes of a stripe are published
+ * one at a time and in the order they were made: if another thread is publishing the changes of
+ * the stripe, it publishes the new change as well and {@link #update} returns without waiting.
+ *
+ * <p>A change is handed to the {@link ChangeJournal} of the table before it is applied, so that a
+ * change failing to be recorded is not applied either.
+ */
+final class ResourceTable {
+
+  /** The number of stripes, a power of two. */
+  private static final int STRIPES = 64;
+
+  private final Map<MemoryNamespace, Map<String, MemoryResource>> tables =
+      new EnumMap<>(MemoryNamespace.class);
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  private final BiConsumer<MemoryNamespace, ResourceChangeEvent> publisher;
+
+  private final ChangeJournal journal;
+
+  /**
+   * @param publisher the delivery of a change to the listeners of the resource and of its type.
+   */
+  ResourceTable(BiConsumer<MemoryNamespace, ResourceChangeEvent> publisher) {
+    this(publisher, ChangeJournal.NONE);
+  }
+
+  /**
+   * @param publisher the delivery of a change to the listeners of the resource and of its type.
+   * @param journal the record of the changes, made under the lock of their stripe.
+   */
+  ResourceTable(
+      BiConsumer<MemoryNamespace, ResourceChangeEvent> publisher, ChangeJournal journal) {
+    this.publisher = publisher;
+    this.journal = journal;
+    for (MemoryNamespace namespace : MemoryNamespace.values()) {
+      tables.put(namespace, new ConcurrentHashMap<>());
+    }
+    for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+  }
+
+  /** Returns the current state of a resource, or {@code null} if it does not exist. */
+  MemoryResource get(MemoryNamespace namespace, String id) {
+    return tables.get(namespace).get(id);
+  }
+
+  /**
+   * Returns a weakly consistent view of the resources of a type, for the commands scanning them.
+   * The resources must still be changed through {@link #update}.
+   */
+  Collection<MemoryResource> values(MemoryNamespace namespace) {
+    return tables.get(namespace).values();
+  }
+
+  /**
+   * Changes a resource atomically and publishes the change.
+   *
+   * @param update computes the next state of the resource from its current one, either being
+   *     {@code null} for a resource that does not exist. Returning the current state unchanged
+   *     leaves the resource alone and publishes nothing.
+   * @return the state of the resource after the update, or {@code null} if it does not exist.
+   */
+  MemoryResource update(
+      MemoryNamespace namespace, String id, UnaryOperator<MemoryResource> update) {
+    Map<String, MemoryResource> table = tables.get(namespace);
+    Stripe stripe = stripes[stripeOf(id)];
+    MemoryResource next;
+    stripe.lock.lock();
+    try {
+      MemoryResource current = table.get(id);
+      next = update.apply(current);
+      if (next == current) return current;
+      journal.record(namespace, id, next);
+      if (next == null) {
+        table.remove(id);
+      } else {
+        table.put(id, next);
+      }
+      stripe.changes.add(new Change(namespace, eventOf(id, current, next)));
+    } finally {
+      stripe.lock.unlock();
+    }
+    publish(stripe);
+    return next;
+  }
+
+  private static ResourceChangeEvent eventOf(
+      String id, MemoryResource current, MemoryResource next) {
+    ResourceChangeEvent.EventType type;
+    if (current == null) {
+      type = ResourceChangeEvent.EventType.CREATED;
+    } else if (next == null) {
+      type = ResourceChangeEvent.EventType.DELETED;
+    } else {
+      type = ResourceChangeEvent.EventType.UPDATED;
+    }
+    return new ResourceChangeEvent(type, id, next, current);
+  }
+
+  private void publish(Stripe stripe) {
+    // A listener changing a resource of the stripe lands here while the stripe is published: the
+    // outer loop publishes its change once the listener returns.
+    while (!stripe.changes.isEmpty() && stripe.publishing.compareAndSet(false, true)) {
+      try {
+        Change change;
+        while ((change = stripe.changes.poll()) != null) {
+          publisher.accept(change.namespace(), change.event());
+        }
+      } finally {
+        stripe.publishing.set(false);
+      }
+    }
+  }
+
+  private static int stripeOf(String id) {
+    int h = id.hashCode();
+    return (h ^ (h >>> 16)) & (STRIPES - 1);
+  }
+
+  private record Change(MemoryNamespace namespace, ResourceChangeEvent event) {}
+
+  private static final class Stripe {
+    private final ReentrantLock lock = new ReentrantLock();
+    // Filled under the lock, hence in the order of the changes.
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.SemaphoreCommand;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Handles the {@link SemaphoreCommand}s.
+ *
+ * <p>A semaphore is stored as {@code {initial_permits, available_permits, leases, version}}, where
+ * {@code leases} maps the id of every lease to the permits it holds. It is created by its first
+ * acquisition.
+ */
+final class SemaphoreHandlers {
+
+  private final ResourceTable table;
+
+  private final LeaseHandlers leases;
+
+  SemaphoreHandlers(ResourceTable table, LeaseHandlers leases) {
+    this.table = table;
+    this.leases = leases;
+  }
+
+  /**
+   * Acquires the permits if enough are available, creating the semaphore with its initial permits
+   * on first use, even when the acquisition fails.
+   */
+  SemaphoreCommand.AcquireResult acquire(
+      SemaphoreCommand.Acquire command, CommandHandlerContext context) {
+    leases.renewLease(command.leaseRenewal());
+    boolean[] acquired = new boolean[1];
+    MemoryResource semaphore =
+        table.update(
+            MemoryNamespace.SEMAPHORE,
+            context.getResourceId(),
+            current -> {
+              Map<String, Object> fields;
+              int available;
+              Map<String, Integer> held;
+              if (current == null) {
+                fields = new LinkedHashMap<>();
+                fields.put("version", 1L);
+                fields.put("initial_permits", command.initialPermits());
+                available = command.initialPermits();
+                held = new LinkedHashMap<>();
+              } else {
+                if (command.permits() > current.<Integer>get("available_permits")) return current;
+                fields = current.fields();
+                fields.put("version", current.getVersion() + 1);
+                available = current.get("available_permits");
+                held = heldPermits(current);
+              }
+              if (command.permits() <= available) {
+                available -= command.permits();
+                held.merge(command.leaseId(), command.permits(), Integer::sum);
+                acquired[0] = true;
+              }
+              fields.put("available_permits", available);
+              fields.put("leases", Collections.unmodifiableMap(held));
+              return MemoryResource.of(context.getResourceId(), fields);
+            });
+    return new SemaphoreCommand.AcquireResult(acquired[0], semaphore.getVersion());
+  }
+
+  /**
+   * Returns permits held by the lease of the caller.
+   *
+   * @throws IllegalStateException if the semaphore does not exist or the lease does not hold
+   *     enough permits.
+   */
+  Void release(SemaphoreCommand.Release command, CommandHandlerContext context) {
+    leases.renewLease(command.leaseRenewal());
+    boolean[] released = new boolean[1];
+    table.update(
+        MemoryNamespace.SEMAPHORE,
+        context.getResourceId(),
+        current -> {
+          if (current == null) return null;
+          Map<String, Integer> held = heldPermits(current);
+          if (held.getOrDefault(command.leaseId(), 0) < command.permits()) return current;
+          held.merge(command.leaseId(), -command.permits(), Integer::sum);
+          released[0] = true;
+          Map<String, Object> fields = current.fields();
+          fields.put(
+              "available_permits", current.<Integer>get("available_permits") + command.permits());
+          fields.put("leases", Collections.unmodifiableMap(held));
+          return MemoryResource.of(current.getId(), fields);
+        });
+    if (released[0]) return null;
+
+    throw new IllegalStateException(
+        "Failed to release "
+            + command.permits()
+            + " permits for lease "
+            + command.leaseId()
+            + ". Either the semaphore does not exist or the lease does not hold enough permits.");
+  }
+
+  /**
+   * Returns the available permits and the permits held by the lease of the caller. The table is
+   * never stale, so the maximum staleness of the command is ignored.
+   */
+  SemaphoreCommand.GetStateResult getState(
+      SemaphoreCommand.GetState command, CommandHandlerContext context) {
+    MemoryResource semaphore = table.get(MemoryNamespace.SEMAPHORE, context.getResourceId());
+    if (semaphore == null) {
+      return new SemaphoreCommand.GetStateResult(command.initialPermits(), 0, -1L);
+    }
+    return new SemaphoreCommand.GetStateResult(
+        semaphore.get("available_permits"),
+        heldPermits(semaphore).getOrDefault(command.leaseId(), 0),
+        semaphore.getVersion());
+  }
+
+  /**
+   * Returns the semaphore with the permits of the dead leases returned, or the semaphore itself if
+   * no dead lease holds any.
+   */
+  static MemoryResource released(MemoryResource semaphore, Predicate<String> isDead) {
+    Map<String, Integer> held = heldPermits(semaphore);
+    int returned = 0;
+    boolean changed = false;
+    for (var it = held.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<String, Integer> entry = it.next();
+      if (isDead.test(entry.getKey())) {
+        returned += entry.getValue();
+        it.remove();
+        changed = true;
+      }
+    }
+    if (!changed) return semaphore;
+
+    Map<String, Object> fields = semaphore.fields();
+    fields.put("available_permits", semaphore.<Integer>get("available_permits") + returned);
+    fields.put("leases", Collections.unmodifiableMap(held));
+    fields.put("version", semaphore.getVersion() + 1);
+    return MemoryResource.of(semaphore.getId(), fields);
+  }
+
+  /** Returns a modifiable copy of the permits held by every lease. */
+  private static Map<String, Integer> heldPermits(MemoryResource semaphore) {
+    return new LinkedHashMap<>(semaphore.<Map<String, Integer>>get("leases", Map.of()));
+  }
+}
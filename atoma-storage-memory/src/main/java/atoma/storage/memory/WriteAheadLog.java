@@ -0,0 +1,317 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.memory;
+
+import atoma.api.AtomaStateException;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped file of fixed capacity, to which the changes of the resources are appended.
+ *
+ * <p>The file starts with a header holding the epoch of the log, bumped by each compaction, and
+ * the committed end of the records. A record is {@code [length, crc32, payload]}, its payload
+ * being the next state of a resource: {@code [namespace, id, state]}, without state for a deleted
+ * resource. Records appended past the committed end are ignored, so a process dying while writing
+ * leaves no partial change behind.
+ *
+ * <p>The log is not thread-safe: it is only used under the {@link InterProcessLock} of its
+ * directory.
+ */
+final class WriteAheadLog {
+
+  static final int HEADER_SIZE = 64;
+
+  private static final int MAGIC = 0x41544D57;
+  private static final int FORMAT = 1;
+
+  private static final int MAGIC_OFFSET = 0;
+  private static final int FORMAT_OFFSET = 4;
+  private static final int EPOCH_OFFSET = 8;
+  private static final int END_OFFSET = 16;
+
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  private static final byte DELETED = 0;
+  private static final byte PRESENT = 1;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INT = 2;
+  private static final byte LONG = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte BOOLEAN = 5;
+  private static final byte DATE = 6;
+  private static final byte MAP = 7;
+  private static final byte LIST = 8;
+
+  private static final MemoryNamespace[] NAMESPACES = MemoryNamespace.values();
+
+  private final Path file;
+
+  private final MappedByteBuffer buffer;
+
+  private final CRC32 crc = new CRC32();
+
+  // The end of the appended records, committed or not.
+  private int tail;
+
+  private WriteAheadLog(Path file, MappedByteBuffer buffer) {
+    this.file = file;
+    this.buffer = buffer;
+    this.tail = end();
+  }
+
+  /**
+   * Maps the log of the given file, creating it if it does not exist.
+   *
+   * @param capacity the size of a created log; an existing log keeps its own.
+   * @param epoch the epoch of a created log.
+   * @throws AtomaStateException if the file is not a log, or cannot be mapped.
+   */
+  static WriteAheadLog open(Path file, int capacity, long epoch) {
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      long size = channel.size();
+      // Mapping past the end of a new file extends it, sparsely on most file systems.
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, size == 0 ? capacity : size);
+      if (buffer.capacity() < HEADER_SIZE) {
+        throw new AtomaStateException("Truncated write-ahead log: " + file);
+      }
+      if (buffer.getInt(MAGIC_OFFSET) == 0) {
+        buffer.putInt(FORMAT_OFFSET, FORMAT);
+        buffer.putLong(EPOCH_OFFSET, epoch);
+        buffer.putInt(END_OFFSET, HEADER_SIZE);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+      } else if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(FORMAT_OFFSET) != FORMAT) {
+        throw new AtomaStateException("Not an Atoma write-ahead log: " + file);
+      }
+      return new WriteAheadLog(file, buffer);
+    } catch (IOException e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
+  Path file() {
+    return file;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  long epoch() {
+    return buffer.getLong(EPOCH_OFFSET);
+  }
+
+  /** Returns the committed end of the records, which other processes may move at any time. */
+  int end() {
+    return buffer.getInt(END_OFFSET);
+  }
+
+  /** Returns the end of the records appended by this process, committed or not. */
+  int tail() {
+    return tail;
+  }
+
+  /**
+   * Appends the next state of a resource, uncommitted until {@link #commit()}.
+   *
+   * @param next the state of the resource, or {@code null} if it is deleted.
+   * @return {@code false} if the log is full, in which case nothing is appended.
+   * @throws IllegalArgumentException if a field has a type the log cannot store.
+   */
+  boolean append(MemoryNamespace namespace, String id, MemoryResource next) {
+    if (buffer.capacity() - tail <= RECORD_HEADER_SIZE) return false;
+    ByteBuffer out = buffer.duplicate().position(tail + RECORD_HEADER_SIZE);
+    try {
+      out.put((byte) namespace.ordinal());
+      putString(out, id);
+      if (next == null) {
+        out.put(DELETED);
+      } else {
+        out.put(PRESENT);
+        putMap(out, next.fields());
+      }
+    } catch (BufferOverflowException e) {
+      return false;
+    }
+    int length = out.position() - tail - RECORD_HEADER_SIZE;
+    buffer.putInt(tail, length);
+    buffer.putInt(tail + 4, checksum(tail + RECORD_HEADER_SIZE, length));
+    tail += RECORD_HEADER_SIZE + length;
+    return true;
+  }
+
+  /** Makes the appended records visible to the other processes. */
+  void commit() {
+    buffer.putInt(END_OFFSET, tail);
+  }
+
+  /** Writes the committed records through to the disk. */
+  void force() {
+    buffer.force();
+  }
+
+  /**
+   * Hands the committed records from the given offset to the given journal, in order, and appends
+   * further records after them. A corrupted record, left by a crash of the host before the records
+   * were written through, ends the log.
+   *
+   * @return the offset after the last record read.
+   */
+  int replay(int from, ChangeJournal journal) {
+    int end = end();
+    int offset = from;
+    while (offset < end) {
+      int next = read(offset, end, journal);
+      if (next < 0) {
+        // Later records may be intact, but their changes would apply over a lost one.
+        buffer.putInt(END_OFFSET, offset);
+        break;
+      }
+      offset = next;
+    }
+    tail = offset;
+    return offset;
+  }
+
+  /** Reads the record at the given offset, and returns the offset after it or -1 if corrupted. */
+  private int read(int offset, int end, ChangeJournal journal) {
+    if (end - offset < RECORD_HEADER_SIZE) return -1;
+    int length = buffer.getInt(offset);
+    int payload = offset + RECORD_HEADER_SIZE;
+    if (length <= 0 || length > end - payload) return -1;
+    if (buffer.getInt(offset + 4) != checksum(payload, length)) return -1;
+    ByteBuffer in = buffer.duplicate().limit(payload + length).position(payload);
+    MemoryNamespace namespace;
+    String id;
+    MemoryResource next;
+    try {
+      namespace = NAMESPACES[in.get()];
+      id = getString(in);
+      next = in.get() == PRESENT ? MemoryResource.of(id, getMap(in)) : null;
+    } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+      return -1;
+    }
+    journal.record(namespace, id, next);
+    return payload + length;
+  }
+
+  private int checksum(int offset, int length) {
+    crc.reset();
+    crc.update(buffer.duplicate().limit(offset + length).position(offset));
+    return (int) crc.getValue();
+  }
+
+  private static void putString(ByteBuffer out, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.putInt(bytes.length);
+    out.put(bytes);
+  }
+
+  private static String getString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0 || length > in.remaining()) throw new BufferUnderflowException();
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putMap(ByteBuffer out, Map<?, ?> map) {
+    out.putInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      putString(out, (String) entry.getKey());
+      putValue(out, entry.getValue());
+    }
+  }
+
+  private static Map<String, Object> getMap(ByteBuffer in) {
+    int size = in.getInt();
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) map.put(getString(in), getValue(in));
+    return map;
+  }
+
+  private static void putValue(ByteBuffer out, Object value) {
+    if (value == null) {
+      out.put(NULL);
+    } else if (value instanceof String s) {
+      out.put(STRING);
+      putString(out, s);
+    } else if (value instanceof Integer i) {
+      out.put(INT).putInt(i);
+    } else if (value instanceof Long l) {
+      out.put(LONG).putLong(l);
+    } else if (value instanceof Double d) {
+      out.put(DOUBLE).putDouble(d);
+    } else if (value instanceof Boolean b) {
+      out.put(BOOLEAN).put(b ? (byte) 1 : (byte) 0);
+    } else if (value instanceof Date date) {
+      out.put(DATE).putLong(date.getTime());
+    } else if (value instanceof Map<?, ?> map) {
+      out.put(MAP);
+      putMap(out, map);
+    } else if (value instanceof List<?> list) {
+      out.put(LIST).putInt(list.size());
+      for (Object element : list) putValue(out, element);
+    } else {
+      throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+    }
+  }
+
+  private static Object getValue(ByteBuffer in) {
+    byte type = in.get();
+    return switch (type) {
+      case NULL -> null;
+      case STRING -> getString(in);
+      case INT -> in.getInt();
+      case LONG -> in.getLong();
+      case DOUBLE -> in.getDouble();
+      case BOOLEAN -> in.get() != 0;
+      case DATE -> new Date(in.getLong());
+      case MAP -> Collections.unmodifiableMap(getMap(in));
+      case LIST -> {
+        int size = in.getInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(getValue(in));
+        yield Collections.unmodifiableList(list);
+      }
+      default -> throw new IllegalArgumentException("Unknown value type: " + type);
+    };
+  }
+}
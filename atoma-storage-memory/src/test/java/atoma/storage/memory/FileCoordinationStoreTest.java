@@ -0,0 +1,89 @@
+package atoma.storage.memory;
+
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.api.lock.Lock;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/** The resources are kept in the files of a temporary directory, so no MongoDB is needed. */
+public class FileCoordinationStoreTest {
+
+  @TempDir Path directory;
+
+  @Test
+  @DisplayName("TC-61: 共享目录的两个文件存储看到彼此的变更")
+  void testStoresOfOneDirectoryShareResources() throws InterruptedException {
+    try (FileCoordinationStore first = new FileCoordinationStore(directory);
+        FileCoordinationStore second = new FileCoordinationStore(directory)) {
+      List<ResourceChangeEvent.EventType> events = new CopyOnWriteArrayList<>();
+      second.subscribe(Lock.class, "lock-a", event -> events.add(event.getType()));
+
+      Assertions.assertThat(
+              first
+                  .execute("lock-a", new LockCommand.Acquire("holder-1", "lease-1", 1, SECONDS))
+                  .acquired())
+          .isTrue();
+      Assertions.assertThat(
+              second
+                  .execute("lock-a", new LockCommand.Acquire("holder-2", "lease-2", 1, SECONDS))
+                  .acquired())
+          .isFalse();
+      Assertions.assertThat(events).containsExactly(ResourceChangeEvent.EventType.CREATED);
+
+      // Delivered by the poll of the second store, without any command of its own.
+      first.execute("lock-a", new LockCommand.Release("holder-1"));
+      for (int i = 0; i < 100 && events.size() < 2; i++) Thread.sleep(10);
+      Assertions.assertThat(events)
+          .containsExactly(
+              ResourceChangeEvent.EventType.CREATED, ResourceChangeEvent.EventType.DELETED);
+      Assertions.assertThat(
+              second
+                  .execute(
+                      "", new CleanDeadResourceCommand.ElectCleaner("c-2", Duration.ofSeconds(10)))
+                  .elected())
+          .isTrue();
+      Assertions.assertThat(
+              first
+                  .execute(
+                      "", new CleanDeadResourceCommand.ElectCleaner("c-1", Duration.ofSeconds(10)))
+                  .elected())
+          .isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-62: 文件存储重启后从预写日志恢复, 日志写满时压缩")
+  void testStoreRecoversFromCompactedLog() {
+    try (FileCoordinationStore store = new FileCoordinationStore(directory, 4096, false)) {
+      store.execute("lock-a", new LockCommand.Acquire("holder-1", "lease-1", 1, SECONDS));
+      // Far more changes than the log holds.
+      for (int i = 0; i < 1000; i++) {
+        store.execute("sem-a", new SemaphoreCommand.Acquire(1, "lease-1", 1, SECONDS, 3));
+        store.execute("sem-a", new SemaphoreCommand.Release(1, "holder-1", "lease-1"));
+      }
+      store.execute("sem-a", new SemaphoreCommand.Acquire(2, "lease-1", 1, SECONDS, 3));
+    }
+
+    try (FileCoordinationStore store = new FileCoordinationStore(directory)) {
+      Assertions.assertThat(store.get("lock-a"))
+          .hasValueSatisfying(
+              lock -> Assertions.assertThat(lock.<String>get("holder")).isEqualTo("holder-1"));
+      SemaphoreCommand.GetStateResult semaphore =
+          store.execute("sem-a", new SemaphoreCommand.GetState("lease-1", 3));
+      Assertions.assertThat(semaphore.availablePermits()).isEqualTo(1);
+      Assertions.assertThat(semaphore.drainPermits()).isEqualTo(2);
+    }
+  }
+}
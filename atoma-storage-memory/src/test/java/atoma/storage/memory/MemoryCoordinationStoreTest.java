@@ -0,0 +1,174 @@
+package atoma.storage.memory;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.Lease;
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.CyclicBarrierCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/** The resources are kept in memory, so no MongoDB instance is needed. */
+public class MemoryCoordinationStoreTest {
+
+  @Test
+  @DisplayName("TC-57: 内存存储在命令返回前同步投递变更事件")
+  void testEventsAreDeliveredBeforeCommandReturns() {
+    try (MemoryCoordinationStore store = new MemoryCoordinationStore()) {
+      List<ResourceChangeEvent.EventType> events = new CopyOnWriteArrayList<>();
+      store.subscribe(Lock.class, "lock-a", event -> events.add(event.getType()));
+
+      LockCommand.AcquireResult first =
+          store.execute("lock-a", new LockCommand.Acquire("holder-1", "lease-1", 1, SECONDS));
+      Assertions.assertThat(first.acquired()).isTrue();
+      Assertions.assertThat(events).containsExactly(ResourceChangeEvent.EventType.CREATED);
+
+      LockCommand.AcquireResult second =
+          store.execute("lock-a", new LockCommand.Acquire("holder-2", "lease-2", 1, SECONDS));
+      Assertions.assertThat(second.acquired()).isFalse();
+      Assertions.assertThat(second.serverLogicalLatestVersion()).isEqualTo(1L);
+      Assertions.assertThatThrownBy(
+              () -> store.execute("lock-a", new LockCommand.Release("holder-2")))
+          .isInstanceOf(IllegalOwnershipException.class);
+
+      store.execute("lock-a", new LockCommand.Release("holder-1"));
+      Assertions.assertThat(events)
+          .containsExactly(
+              ResourceChangeEvent.EventType.CREATED, ResourceChangeEvent.EventType.DELETED);
+      Assertions.assertThat(store.get("lock-a")).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-58: 内存存储中租约过期的锁可被接管")
+  void testExpiredLockIsTakenOver() {
+    MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    try (MemoryCoordinationStore store = new MemoryCoordinationStore(clock)) {
+      Instant leaseExpireTime = clock.instant().plusSeconds(5);
+      store.execute(
+          "lock-a",
+          new LockCommand.Acquire("holder-1", "lease-1", 1, SECONDS)
+              .withLeaseExpireTime(leaseExpireTime));
+
+      LockCommand.AcquireResult blocked =
+          store.execute("lock-a", new LockCommand.Acquire("holder-2", "lease-2", 1, SECONDS));
+      Assertions.assertThat(blocked.acquired()).isFalse();
+      Assertions.assertThat(blocked.takeoverTime()).isEqualTo(leaseExpireTime.plusSeconds(1));
+
+      clock.advance(Duration.ofSeconds(7));
+      LockCommand.AcquireResult takenOver =
+          store.execute("lock-a", new LockCommand.Acquire("holder-2", "lease-2", 1, SECONDS));
+      Assertions.assertThat(takenOver.acquired()).isTrue();
+      Assertions.assertThat(takenOver.serverLogicalLatestVersion()).isEqualTo(2L);
+    }
+  }
+
+  @Test
+  @DisplayName("TC-59: 清理死租约时归还许可并打破屏障")
+  void testCleanDeadLeaseReleasesItsResources() {
+    try (MemoryCoordinationStore store = new MemoryCoordinationStore()) {
+      store.execute("lease-1", new LeaseCommand.Grant("lease-1", Duration.ofSeconds(30)));
+      store.execute("sem-a", new SemaphoreCommand.Acquire(2, "lease-1", 1, SECONDS, 3));
+      store.execute("barrier-a", new CyclicBarrierCommand.GetState(2));
+      store.execute(
+          "barrier-a", new CyclicBarrierCommand.Await("party-1", "lease-1", 2, 1L, 1, SECONDS));
+
+      store.execute("lease-1", new LeaseCommand.Revoke("lease-1"));
+      store.execute("", new CleanDeadResourceCommand.Clean(null));
+
+      SemaphoreCommand.GetStateResult semaphore =
+          store.execute("sem-a", new SemaphoreCommand.GetState("lease-1", 3));
+      Assertions.assertThat(semaphore.availablePermits()).isEqualTo(3);
+      Assertions.assertThat(semaphore.drainPermits()).isZero();
+      CyclicBarrierCommand.GetStateResult barrier =
+          store.execute("barrier-a", new CyclicBarrierCommand.GetState(2));
+      Assertions.assertThat(barrier.isBroken()).isTrue();
+      Assertions.assertThat(barrier.numberWaiting()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-60: 客户端在内存存储上的互斥锁保证互斥")
+  void testClientLocksAreMutuallyExclusive() throws Exception {
+    try (MemoryCoordinationStore store = new MemoryCoordinationStore()) {
+      AtomaClient client = new AtomaClient(store);
+      Lease lease1 = client.grantLease(Duration.ofSeconds(30));
+      Lease lease2 = client.grantLease(Duration.ofSeconds(30));
+      int[] counter = new int[1];
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      for (int i = 0; i < 4; i++) {
+        Lock lock = (i % 2 == 0 ? lease1 : lease2).getLock("lock-a");
+        executor.execute(
+            () -> {
+              for (int j = 0; j < 200; j++) {
+                try {
+                  lock.lock();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+                try {
+                  counter[0]++;
+                } finally {
+                  lock.unlock();
+                }
+              }
+            });
+      }
+      executor.shutdown();
+      Assertions.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+      Assertions.assertThat(counter[0]).isEqualTo(800);
+
+      lease1.revoke();
+      lease2.revoke();
+      client.close();
+    }
+  }
+
+  /** A clock moved forwards by the test. */
+  private static final class MutableClock extends Clock {
+    private volatile Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,613 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive;
+
+import atoma.api.AtomaStateException;
+import atoma.api.Resourceful;
+import atoma.api.coordination.AsyncCoordinationStore;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.ChangeStreamMetrics;
+import atoma.storage.mongo.ChangeStreamProjection;
+import atoma.storage.mongo.EventDispatcher;
+import atoma.storage.mongo.MongoSubscription;
+import atoma.storage.mongo.RawBsonResource;
+import atoma.storage.mongo.WatchedResources;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Backoff;
+import atoma.storage.mongo.command.CommandExecutor;
+import atoma.storage.mongo.command.CommandMetrics;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import dev.failsafe.CircuitBreaker;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.reactivestreams.Subscriber;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static atoma.storage.mongo.command.CommandExecutor.READ_CONCERN;
+import static atoma.storage.mongo.command.CommandExecutor.WRITE_CONCERN;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A {@link AsyncCoordinationStore} backed by the MongoDB reactive-streams driver.
+ *
+ * <p>Commands are executed without holding a thread while the server round-trip is in flight, and
+ * the change stream is consumed as a {@link org.reactivestreams.Publisher} instead of a blocking
+ * cursor. Events are dispatched to listeners by an {@link EventDispatcher}, preserving the ordering
+ * guarantee of {@code MongoCoordinationStore}: in order for one resource, in parallel for different
+ * resources. No more events are requested while too many wait for their listeners.
+ *
+ * <p>The document schema is shared with {@code atoma-storage-mongo}. Handlers are discovered with
+ * {@link ServiceLoader} under {@link ReactiveMongoCommandHandler}; commands without a reactive
+ * handler complete exceptionally with an {@link AtomaStateException}.
+ */
+public class ReactiveMongoCoordinationStore implements AsyncCoordinationStore {
+
+  /** The number of change events requested from the change stream at once. */
+  private static final int EVENT_BATCH_SIZE = 64;
+
+  /**
+   * The number of received events not yet delivered beyond which no more events are requested, so
+   * that dispatching never waits for room on a stripe of the dispatcher.
+   */
+  private static final int MAX_PENDING_EVENTS =
+      EventDispatcher.DEFAULT_QUEUE_CAPACITY - EVENT_BATCH_SIZE;
+
+  /** The delays between the attempts to reopen a failed change stream. */
+  private static final Backoff RECONNECT_BACKOFF =
+      Backoff.decorrelatedJitter(Duration.ofMillis(100), Duration.ofSeconds(5));
+
+  private final MongoClient mongoClient;
+
+  private final MongoDatabase mongoDatabase;
+
+  // Shared by every command of the store, so failures of the server accumulate and open it.
+  private final CircuitBreaker<Object> circuitBreaker = CommandExecutor.newCircuitBreaker();
+
+  private final Backoff backoff;
+
+  private final CommandMetrics commandMetrics = new CommandMetrics();
+
+  private final Map<Class<? extends Command>, ReactiveMongoCommandHandler>
+      commandHandlerRegistry = new ConcurrentHashMap<>();
+  private final Map<String, List<ResourceListener>> listenerRegistry = new ConcurrentHashMap<>();
+  // Listeners of a whole resource type, keyed by collection name.
+  private final Map<String, List<ResourceListener>> typeListenerRegistry =
+      new ConcurrentHashMap<>();
+
+  // Runs the listeners, in parallel for different resources and in order for one resource.
+  private final EventDispatcher eventDispatcher = new EventDispatcher("atoma-event-dispatcher");
+  private final AtomicInteger pendingEvents = new AtomicInteger();
+  private final AtomicReference<ChangeStreamSubscriber> changeStreamSubscriber =
+      new AtomicReference<>();
+  private volatile BsonDocument resumeToken;
+  // Listeners reading the old nodes, the change stream only requests them while there are some.
+  private final AtomicInteger oldNodeListeners = new AtomicInteger();
+  private volatile boolean closed;
+
+  private final ChangeStreamMetrics changeStreamMetrics = new ChangeStreamMetrics();
+  // The state of a stall of the change stream, only updated by its serialized signals.
+  private volatile long stalledSince;
+  private volatile boolean resyncPending;
+  private volatile Duration retryDelay;
+
+  @MustBeClosed
+  public ReactiveMongoCoordinationStore(MongoClient mongoClient, String db) {
+    this(mongoClient, db, Backoff.DEFAULT);
+  }
+
+  /**
+   * Creates a store spacing the retries of contended commands by the given backoff.
+   *
+   * @param mongoClient the client of the MongoDB deployment.
+   * @param db the database of the coordination collections.
+   * @param backoff the delays between the retries of a command losing a race on a contended
+   *     document, see {@link Backoff}.
+   */
+  @MustBeClosed
+  public ReactiveMongoCoordinationStore(MongoClient mongoClient, String db, Backoff backoff) {
+    this.mongoClient = mongoClient;
+    this.backoff = backoff;
+    this.mongoDatabase = mongoClient.getDatabase(db);
+    this.checkLeaseIndex();
+    this.ensureLeaseReferenceIndexes();
+
+    // Discover and register all command handlers
+    ServiceLoader.load(ReactiveMongoCommandHandler.class).forEach(this::registerHandler);
+
+    this.watch();
+  }
+
+  private void checkLeaseIndex() {
+    MongoCollection<Document> collection =
+        mongoDatabase
+            .getCollection(LEASE)
+            .withReadConcern(READ_CONCERN)
+            .withWriteConcern(WRITE_CONCERN);
+
+    boolean indexed;
+    try {
+      indexed =
+          hasLeaseIndex(collection)
+              .thenCompose(
+                  found ->
+                      found
+                          ? CompletableFuture.completedFuture(true)
+                          : Publishers.first(
+                                  collection.createIndex(
+                                      Indexes.ascending("expire_time"),
+                                      new IndexOptions()
+                                          .expireAfter(8L, SECONDS)
+                                          .name("expire_time")))
+                              .thenCompose(name -> hasLeaseIndex(collection)))
+              .join();
+    } catch (CompletionException e) {
+      throw new AtomaStateException(e.getCause());
+    }
+    if (!indexed) {
+      throw new IllegalStateException(
+          "Failed to check and create a TTL-index in MongoDB. This may be due to a or more"
+              + " data-bearing voting member has been down.");
+    }
+  }
+
+  /**
+   * Creates the indexes on the fields referencing a lease, the same as {@code
+   * MongoCoordinationStore} does.
+   */
+  private void ensureLeaseReferenceIndexes() {
+    try {
+      CompletableFuture.allOf(
+              Publishers.first(
+                  mongoDatabase.getCollection(MUTEX_LOCK).createIndex(Indexes.ascending("lease"))),
+              Publishers.first(
+                  mongoDatabase
+                      .getCollection(RW_LOCK)
+                      .createIndex(Indexes.ascending("read_locks.lease"))),
+              Publishers.first(
+                  mongoDatabase
+                      .getCollection(RW_LOCK)
+                      .createIndex(Indexes.ascending("write_lock.lease"))),
+              Publishers.first(
+                  mongoDatabase
+                      .getCollection(SEMAPHORE)
+                      .createIndex(Indexes.ascending("leases.$**"))),
+              Publishers.first(
+                  mongoDatabase
+                      .getCollection(BARRIER)
+                      .createIndex(Indexes.ascending("participants.lease"))))
+          .join();
+    } catch (CompletionException e) {
+      throw new AtomaStateException(e.getCause());
+    }
+  }
+
+  private static CompletableFuture<Boolean> hasLeaseIndex(MongoCollection<Document> collection) {
+    return Publishers.toList(collection.listIndexes())
+        .thenApply(
+            indexes ->
+                indexes.stream()
+                    .anyMatch(
+                        t -> {
+                          Document key = t.get("key", Document.class);
+                          return key.containsKey("expire_time")
+                              && t.containsKey("expireAfterSeconds");
+                        }));
+  }
+
+  private void registerHandler(ReactiveMongoCommandHandler handler) {
+    HandlesCommand annotation = handler.getClass().getAnnotation(HandlesCommand.class);
+    if (annotation != null) {
+      commandHandlerRegistry.put(annotation.value(), handler);
+    }
+  }
+
+  /**
+   * Subscribes to the change stream, resuming after the last observed event if there is one. The
+   * documents before the changes are only requested while a listener requires them.
+   */
+  private void watch() {
+    boolean oldNodes = oldNodeListeners.get() > 0;
+    ChangeStreamPublisher<RawBsonDocument> publisher =
+        mongoDatabase
+            .watch(
+                List.of(
+                    match(in("ns.coll", WatchedResources.COLLECTIONS)),
+                    ChangeStreamProjection.stage(WatchedResources.COLLECTIONS, oldNodes)),
+                RawBsonDocument.class)
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .fullDocumentBeforeChange(
+                oldNodes ? FullDocumentBeforeChange.WHEN_AVAILABLE : FullDocumentBeforeChange.OFF);
+    BsonDocument token = this.resumeToken;
+    if (token != null) publisher = publisher.resumeAfter(token);
+    publisher.subscribe(new ChangeStreamSubscriber());
+  }
+
+  /** Replaces the change stream by a new one, resuming after the last observed event. */
+  private void rewatch() {
+    ChangeStreamSubscriber s = changeStreamSubscriber.getAndSet(null);
+    if (s != null) s.cancel();
+    if (!closed) watch();
+  }
+
+  private final class ChangeStreamSubscriber
+      implements Subscriber<ChangeStreamDocument<RawBsonDocument>> {
+    private volatile org.reactivestreams.Subscription subscription;
+    // Written by the thread requesting the events, which the publisher then signals.
+    private volatile int outstanding;
+    // Set while no events are requested because too many are pending.
+    private final AtomicBoolean awaitingDelivery = new AtomicBoolean();
+
+    @Override
+    public void onSubscribe(org.reactivestreams.Subscription s) {
+      subscription = s;
+      changeStreamSubscriber.set(this);
+      if (closed) {
+        s.cancel();
+        return;
+      }
+      outstanding = EVENT_BATCH_SIZE;
+      s.request(EVENT_BATCH_SIZE);
+    }
+
+    @Override
+    public void onNext(ChangeStreamDocument<RawBsonDocument> change) {
+      // Signals of a replaced stream may still arrive, the new stream resumes after them.
+      if (changeStreamSubscriber.get() != this) return;
+      if (change.getResumeToken() != null) resumeToken = change.getResumeToken();
+      if (stalledSince != 0L && !resyncPending) {
+        changeStreamMetrics.recordResume(System.nanoTime() - stalledSince);
+        stalledSince = 0L;
+        retryDelay = null;
+      }
+
+      BsonDocument documentKey = change.getDocumentKey();
+      if (documentKey != null) {
+        String resourceId = documentKey.getString("_id").getValue();
+        pendingEvents.incrementAndGet();
+        eventDispatcher.dispatch(
+            resourceId,
+            () -> {
+              try {
+                dispatch(change, resourceId);
+              } finally {
+                onDelivered();
+              }
+            });
+      }
+
+      if (--outstanding == 0) {
+        awaitingDelivery.set(true);
+        requestIfDrained();
+      }
+    }
+
+    /** Requests the next batch once all received events are requested and few are pending. */
+    void requestIfDrained() {
+      if (pendingEvents.get() < MAX_PENDING_EVENTS && awaitingDelivery.compareAndSet(true, false)) {
+        outstanding = EVENT_BATCH_SIZE;
+        subscription.request(EVENT_BATCH_SIZE);
+      }
+    }
+
+    void cancel() {
+      org.reactivestreams.Subscription s = subscription;
+      if (s != null) s.cancel();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      // In a real application, add proper logging. The stream is resumed after the last event.
+      if (closed || changeStreamSubscriber.get() != this) return;
+      if (ChangeStreamMetrics.isHistoryLost(t)) {
+        resumeToken = null;
+        resyncPending = true;
+      }
+      reopenLater();
+    }
+
+    @Override
+    public void onComplete() {
+      // An invalidated stream completes, it is reopened the same way as a failed one.
+      if (closed || changeStreamSubscriber.get() != this) return;
+      reopenLater();
+    }
+
+    /** Reopens the stalled change stream after the next delay of {@link #RECONNECT_BACKOFF}. */
+    private void reopenLater() {
+      if (stalledSince == 0L) {
+        stalledSince = System.nanoTime();
+        changeStreamMetrics.recordStall();
+      }
+      retryDelay = RECONNECT_BACKOFF.next(retryDelay);
+      CompletableFuture.delayedExecutor(retryDelay.toMillis(), MILLISECONDS)
+          .execute(
+              () -> {
+                if (closed) return;
+                watch();
+                if (resyncPending) resync();
+              });
+    }
+  }
+
+  /**
+   * Reads the current state of every subscribed resource, and delivers it as an event so that the
+   * waiting primitives re-evaluate it: an update of the resources found, a deletion of the others.
+   * Only the listeners of a single resource are notified.
+   */
+  private void resync() {
+    List<String> ids = List.copyOf(listenerRegistry.keySet());
+    List<CompletableFuture<List<RawBsonDocument>>> reads =
+        WatchedResources.COLLECTIONS.stream()
+            .map(
+                collection ->
+                    Publishers.toList(
+                        mongoDatabase
+                            .getCollection(collection, RawBsonDocument.class)
+                            .withReadConcern(READ_CONCERN)
+                            .find(in("_id", ids))
+                            .projection(include(ChangeStreamProjection.FIELDS.get(collection)))))
+            .toList();
+    CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (ignored, error) -> {
+              if (error != null) {
+                // In a real application, add proper logging. The read is retried.
+                CompletableFuture.delayedExecutor(
+                        RECONNECT_BACKOFF.next(null).toMillis(), MILLISECONDS)
+                    .execute(
+                        () -> {
+                          if (!closed) resync();
+                        });
+                return;
+              }
+              Set<String> found = new HashSet<>();
+              for (CompletableFuture<List<RawBsonDocument>> read : reads) {
+                for (RawBsonDocument document : read.join()) {
+                  found.add(document.getString("_id").getValue());
+                  resyncEvent(
+                      new ResourceChangeEvent(
+                          ResourceChangeEvent.EventType.UPDATED,
+                          document.getString("_id").getValue(),
+                          new RawBsonResource(document),
+                          null));
+                }
+              }
+              for (String resourceId : ids) {
+                if (found.contains(resourceId)) continue;
+                resyncEvent(
+                    new ResourceChangeEvent(
+                        ResourceChangeEvent.EventType.DELETED, resourceId, null, null));
+              }
+              resyncPending = false;
+              changeStreamMetrics.recordResync(System.nanoTime() - stalledSince);
+              stalledSince = 0L;
+              retryDelay = null;
+            });
+  }
+
+  private void resyncEvent(ResourceChangeEvent event) {
+    pendingEvents.incrementAndGet();
+    eventDispatcher.dispatch(
+        event.getResourceKey(),
+        () -> {
+          try {
+            List<ResourceListener> listeners = listenerRegistry.get(event.getResourceKey());
+            if (listeners != null) listeners.forEach(listener -> listener.onEvent(event));
+          } finally {
+            onDelivered();
+          }
+        });
+  }
+
+  private void onDelivered() {
+    pendingEvents.decrementAndGet();
+    ChangeStreamSubscriber subscriber = changeStreamSubscriber.get();
+    if (subscriber != null) subscriber.requestIfDrained();
+  }
+
+  private void dispatch(ChangeStreamDocument<RawBsonDocument> change, String resourceId) {
+    try {
+      List<ResourceListener> interestedListeners = listenerRegistry.get(resourceId);
+      List<ResourceListener> typeListeners =
+          change.getNamespace() == null
+              ? null
+              : typeListenerRegistry.get(change.getNamespace().getCollectionName());
+
+      if ((interestedListeners == null || interestedListeners.isEmpty())
+          && (typeListeners == null || typeListeners.isEmpty())) return;
+
+      ResourceChangeEvent event = buildChangeEventFrom(change, resourceId);
+      if (event == null) return;
+
+      if (interestedListeners != null) {
+        interestedListeners.forEach(listener -> listener.onEvent(event));
+      }
+      if (typeListeners != null) {
+        typeListeners.forEach(listener -> listener.onEvent(event));
+      }
+    } catch (Exception e) {
+      // In a real application, add proper logging and error handling/recovery.
+    }
+  }
+
+  private ResourceChangeEvent buildChangeEventFrom(
+      ChangeStreamDocument<RawBsonDocument> change, String resourceId) {
+    var eventType =
+        switch (Objects.requireNonNull(change.getOperationType())) {
+          case DELETE -> ResourceChangeEvent.EventType.DELETED;
+          case INSERT -> ResourceChangeEvent.EventType.CREATED;
+          case UPDATE, REPLACE -> ResourceChangeEvent.EventType.UPDATED;
+          default -> null;
+        };
+
+    if (eventType == null) return null;
+
+    Resource oldNode =
+        Optional.ofNullable(change.getFullDocumentBeforeChange())
+            .map(RawBsonResource::new)
+            .orElse(null);
+    Resource newNode =
+        Optional.ofNullable(change.getFullDocument()).map(RawBsonResource::new).orElse(null);
+
+    return new ResourceChangeEvent(eventType, resourceId, newNode, oldNode);
+  }
+
+  @Override
+  public Optional<Resource> get(String resourceId) {
+    // This would need a proper implementation to fetch from the correct collection.
+    return Optional.empty();
+  }
+
+  @Override
+  public Subscription subscribe(
+      Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+    listenerRegistry.computeIfAbsent(resourceId, k -> new CopyOnWriteArrayList<>()).add(listener);
+    if (listener.requiresOldNode()) oldNodesRequired();
+    return new MongoSubscription(
+        resourceId,
+        () -> {
+          if (listener.requiresOldNode()) oldNodeListeners.decrementAndGet();
+          listenerRegistry.computeIfPresent(
+              resourceId,
+              (k, v) -> {
+                v.remove(listener);
+                return v.isEmpty() ? null : v;
+              });
+        });
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    String collection = AtomaCollectionNamespace.of(resourceType);
+    typeListenerRegistry
+        .computeIfAbsent(collection, k -> new CopyOnWriteArrayList<>())
+        .add(listener);
+    if (listener.requiresOldNode()) oldNodesRequired();
+    return new MongoSubscription(
+        collection,
+        () -> {
+          if (listener.requiresOldNode()) oldNodeListeners.decrementAndGet();
+          typeListenerRegistry.computeIfPresent(
+              collection,
+              (k, v) -> {
+                v.remove(listener);
+                return v.isEmpty() ? null : v;
+              });
+        });
+  }
+
+  /**
+   * Records a listener requiring the old nodes. The first one replaces the change stream by one
+   * requesting the documents before the changes; the stream keeps them until it is next replaced.
+   */
+  private void oldNodesRequired() {
+    if (oldNodeListeners.incrementAndGet() == 1) rewatch();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <R> CompletionStage<R> executeAsync(String resourceId, Command<R> command) {
+    ReactiveMongoCommandHandler<Command<R>, R> handler =
+        commandHandlerRegistry.get(command.getClass());
+    if (handler == null) {
+      return CompletableFuture.failedFuture(
+          new AtomaStateException(
+              "No command handler found for command: " + command.getClass().getName()));
+    }
+    ReactiveMongoCommandHandlerContext context =
+        new ReactiveMongoCommandHandlerContext(
+            mongoClient, mongoDatabase, resourceId, circuitBreaker, backoff, commandMetrics);
+    return handler.executeAsync(command, context);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command) {
+    try {
+      return executeAsync(resourceId, command).toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new AtomaStateException(e.getCause());
+    }
+  }
+
+  /** Returns the retry and conflict counters of the commands of this store. */
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  /** Returns the stall, resume and resync counters of the change stream of this store. */
+  public ChangeStreamMetrics getChangeStreamMetrics() {
+    return changeStreamMetrics;
+  }
+
+  /** Returns the dispatcher of the change events, for its queue depth metrics. */
+  public EventDispatcher getEventDispatcher() {
+    return eventDispatcher;
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    ChangeStreamSubscriber s = changeStreamSubscriber.getAndSet(null);
+    if (s != null) s.cancel();
+    this.eventDispatcher.close();
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static com.mongodb.client.model.Accumulators.first;
+import static com.mongodb.client.model.Accumulators.push;
+import static com.mongodb.client.model.Accumulators.sum;
+import static com.mongodb.client.model.Aggregates.group;
+import static com.mongodb.client.model.Aggregates.limit;
+import static com.mongodb.client.model.Aggregates.lookup;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Aggregates.project;
+import static com.mongodb.client.model.Aggregates.unwind;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Projections.computed;
+import static com.mongodb.client.model.Projections.fields;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.unset;
+import static java.util.Arrays.asList;
+
+/**
+ * Handles the {@link CleanDeadResourceCommand.Clean} command on the reactive-streams driver.
+ *
+ * <p>Only the primitives served by this backend are cleaned: mutex locks and semaphores that
+ * reference a {@link atoma.api.Lease} that no longer exists, and count-down-latches whose count
+ * reached zero. When the command names a lease, only the resources of that lease are cleaned. Each
+ * step is chained on the completion of the previous one.
+ *
+ * @see atoma.storage.mongo.command.CleanDeadResourceCommandHandler
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CleanDeadResourceCommand.Clean.class)
+public final class CleanDeadResourceCommandHandler
+    extends ReactiveMongoCommandHandler<CleanDeadResourceCommand.Clean, Void> {
+
+  final Logger log = LoggerFactory.getLogger(CleanDeadResourceCommandHandler.class);
+
+  private static final List<Bson> DEAD_LEASE_MATCH =
+      List.of(
+          match(
+              new Document(
+                  "$expr", new Document("$eq", List.of(new Document("$size", "$lease_doc"), 0)))));
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      CleanDeadResourceCommand.Clean command, ReactiveMongoCommandHandlerContext context) {
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                command.leaseId() != null
+                    ? cleanLease(context, command.leaseId())
+                    : cleanMutexLocks(context)
+                        .thenCompose(v -> cleanSemaphores(context))
+                        .thenCompose(v -> cleanCountDownLatches(context)))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+
+  /**
+   * Cleans the mutex locks and semaphores referencing one dead lease through indexed queries.
+   *
+   * @see atoma.storage.mongo.command.CleanDeadResourceCommandHandler
+   */
+  private CompletableFuture<Void> cleanLease(
+      ReactiveMongoCommandHandlerContext context, String leaseId) {
+    final MongoCollection<Document> semaphores = getCollection(context, SEMAPHORE);
+    final String leaseField = "leases." + leaseId;
+
+    return Publishers.first(getCollection(context, MUTEX_LOCK).deleteMany(eq("lease", leaseId)))
+        .thenCompose(
+            mutexResult ->
+                Publishers.toList(
+                    semaphores.find(exists(leaseField)).projection(include(leaseField))))
+        .thenCompose(
+            docs -> {
+              if (docs.isEmpty()) return CompletableFuture.completedFuture(null);
+              List<UpdateOneModel<Document>> semaphoreUpdates =
+                  docs.stream()
+                      .map(
+                          sem -> {
+                            final Number permits =
+                                (Number) sem.get("leases", Document.class).get(leaseId);
+                            return new UpdateOneModel<Document>(
+                                and(eq("_id", sem.get("_id")), eq(leaseField, permits)),
+                                combine(
+                                    inc("available_permits", permits.intValue()),
+                                    inc("version", 1L),
+                                    unset(leaseField)));
+                          })
+                      .toList();
+              return Publishers.first(semaphores.bulkWrite(semaphoreUpdates))
+                  .thenAccept(
+                      bulkWriteResult ->
+                          log.info(
+                              "Cleaned dead lease {} from semaphores, modified count: {}",
+                              leaseId,
+                              bulkWriteResult.getModifiedCount()));
+            });
+  }
+
+  /** Finds and deletes all mutex locks that reference a non-existent lease. */
+  private CompletableFuture<Void> cleanMutexLocks(ReactiveMongoCommandHandlerContext context) {
+    final MongoCollection<Document> collection = getCollection(context, MUTEX_LOCK);
+
+    final List<Bson> pipeline = new ArrayList<>();
+    pipeline.add(lookup(LEASE, "lease", "_id", "lease_doc"));
+    pipeline.addAll(DEAD_LEASE_MATCH);
+    pipeline.add(project(fields(include("_id", "lease"))));
+
+    return Publishers.toList(collection.aggregate(pipeline))
+        .thenCompose(
+            docs -> {
+              if (docs.isEmpty()) return CompletableFuture.completedFuture(null);
+              List<DeleteOneModel<Document>> deleteOneModelList =
+                  docs.stream()
+                      .map(
+                          doc ->
+                              new DeleteOneModel<Document>(
+                                  and(
+                                      eq("_id", doc.getString("_id")),
+                                      eq("lease", doc.getString("lease")))))
+                      .toList();
+              return Publishers.first(collection.bulkWrite(deleteOneModelList))
+                  .thenAccept(
+                      bulkWriteResult ->
+                          log.info(
+                              "Detected the presence of inactive mutex locks. delete count: {}",
+                              bulkWriteResult.getDeletedCount()));
+            });
+  }
+
+  /**
+   * Finds and cleans all semaphores that have acquired permits with non-existent leases, 500 at a
+   * time, until none is left.
+   */
+  private CompletableFuture<Void> cleanSemaphores(ReactiveMongoCommandHandlerContext context) {
+    final MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
+
+    final List<Bson> pipeline = new ArrayList<>();
+    pipeline.add(
+        project(
+            fields(
+                include("_id", "available_permits", "version"),
+                computed("leases_as_array", new Document("$objectToArray", "$leases")))));
+    pipeline.add(unwind("$leases_as_array"));
+    pipeline.add(lookup(LEASE, "leases_as_array.k", "_id", "lease_doc"));
+    pipeline.addAll(DEAD_LEASE_MATCH);
+    pipeline.add(limit(500));
+    pipeline.add(
+        group(
+            "$_id",
+            first("version", "$version"),
+            sum("permits_to_return", "$leases_as_array.v"),
+            push("dead_leases_keys", "$leases_as_array.k")));
+
+    return Publishers.toList(collection.aggregate(pipeline))
+        .thenCompose(
+            semaphoresToClean -> {
+              if (semaphoresToClean.isEmpty()) return CompletableFuture.completedFuture(null);
+              List<UpdateOneModel<Document>> bulkUpdates =
+                  semaphoresToClean.stream()
+                      .map(
+                          sem -> {
+                            final int permitsToReturn =
+                                ((Number) sem.get("permits_to_return")).intValue();
+                            final List<String> deadLeasesKeys =
+                                (List<String>) sem.get("dead_leases_keys");
+
+                            final List<Bson> updates = new ArrayList<>();
+                            updates.add(inc("available_permits", permitsToReturn));
+                            updates.add(inc("version", 1L));
+                            for (String deadLease : deadLeasesKeys) {
+                              updates.add(unset("leases." + deadLease));
+                            }
+                            return new UpdateOneModel<Document>(
+                                and(eq("_id", sem.get("_id")), eq("version", sem.getLong("version"))),
+                                combine(updates));
+                          })
+                      .toList();
+              return Publishers.first(collection.bulkWrite(bulkUpdates))
+                  .thenCompose(
+                      bulkWriteResult -> {
+                        log.info(
+                            "Cleaned dead leases from semaphores, modified count: {}",
+                            bulkWriteResult.getModifiedCount());
+                        return cleanSemaphores(context);
+                      });
+            });
+  }
+
+  /** Finds and deletes all count-down-latches whose count equals 0, 500 at a time. */
+  private CompletableFuture<Void> cleanCountDownLatches(
+      ReactiveMongoCommandHandlerContext context) {
+    final MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
+
+    return Publishers.toList(
+            collection
+                .find(eq("count", 0))
+                .projection(fields(include("_id"), include("version")))
+                .limit(500))
+        .thenCompose(
+            staleCountDownLatches -> {
+              if (staleCountDownLatches.isEmpty()) return CompletableFuture.completedFuture(null);
+              List<DeleteOneModel<Document>> deleteOneModels =
+                  staleCountDownLatches.stream()
+                      .map(
+                          cdl ->
+                              new DeleteOneModel<Document>(
+                                  and(
+                                      eq("_id", cdl.getString("_id")),
+                                      eq("version", cdl.getLong("version")))))
+                      .toList();
+              return Publishers.first(collection.bulkWrite(deleteOneModels))
+                  .thenCompose(
+                      bulkWriteResult -> {
+                        if (log.isDebugEnabled()) {
+                          log.debug("Clean stale count-down-latches result {} ", bulkWriteResult);
+                        }
+                        return cleanCountDownLatches(context);
+                      });
+            });
+  }
+}
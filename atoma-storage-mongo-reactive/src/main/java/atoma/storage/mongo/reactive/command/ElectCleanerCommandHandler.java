@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.CLEANER;
+import static atoma.storage.mongo.command.ElectCleanerCommandHandler.PIPELINE;
+import static atoma.storage.mongo.command.ElectCleanerCommandHandler.buildFilter;
+import static atoma.storage.mongo.command.ElectCleanerCommandHandler.buildVariables;
+import static atoma.storage.mongo.command.ElectCleanerCommandHandler.isDuplicateKey;
+
+/**
+ * Handles the {@link CleanDeadResourceCommand.ElectCleaner} command on the reactive-streams
+ * driver.
+ *
+ * @see atoma.storage.mongo.command.ElectCleanerCommandHandler
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CleanDeadResourceCommand.ElectCleaner.class)
+public final class ElectCleanerCommandHandler
+    extends ReactiveMongoCommandHandler<
+        CleanDeadResourceCommand.ElectCleaner, CleanDeadResourceCommand.ElectCleanerResult> {
+
+  @Override
+  public CompletionStage<CleanDeadResourceCommand.ElectCleanerResult> executeAsync(
+      CleanDeadResourceCommand.ElectCleaner command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, CLEANER);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.findOneAndUpdate(
+                            buildFilter(command),
+                            PIPELINE.stages(),
+                            new FindOneAndUpdateOptions()
+                                .upsert(!command.term().isZero())
+                                .returnDocument(ReturnDocument.AFTER)
+                                .let(buildVariables(command))))
+                    .handle(
+                        (cleanerDoc, e) -> {
+                          if (e == null) {
+                            return new CleanDeadResourceCommand.ElectCleanerResult(
+                                cleanerDoc != null
+                                    && !command.term().isZero()
+                                    && command
+                                        .candidateId()
+                                        .equals(cleanerDoc.getString("holder")));
+                          }
+                          Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                          // Another client holds an ongoing term.
+                          if (isDuplicateKey(cause)) {
+                            return new CleanDeadResourceCommand.ElectCleanerResult(false);
+                          }
+                          throw e instanceof CompletionException ce
+                              ? ce
+                              : new CompletionException(e);
+                        }))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** Bridges reactive-streams {@link Publisher}s of the MongoDB driver to {@link CompletableFuture}s. */
+public final class Publishers {
+  private Publishers() {}
+
+  /**
+   * Subscribes to the publisher and completes with its first element.
+   *
+   * @param publisher the publisher, usually a single-result publisher of the driver.
+   * @return a future completed with the first element, or {@code null} if the publisher completes
+   *     empty.
+   */
+  public static <T> CompletableFuture<T> first(Publisher<T> publisher) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    publisher.subscribe(
+        new Subscriber<T>() {
+          private Subscription subscription;
+
+          @Override
+          public void onSubscribe(Subscription s) {
+            this.subscription = s;
+            s.request(1L);
+          }
+
+          @Override
+          public void onNext(T t) {
+            if (future.complete(t)) subscription.cancel();
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            future.completeExceptionally(t);
+          }
+
+          @Override
+          public void onComplete() {
+            future.complete(null);
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Subscribes to the publisher and completes with all of its elements.
+   *
+   * @param publisher the publisher.
+   * @return a future completed with the elements in publishing order.
+   */
+  public static <T> CompletableFuture<List<T>> toList(Publisher<T> publisher) {
+    CompletableFuture<List<T>> future = new CompletableFuture<>();
+    publisher.subscribe(
+        new Subscriber<T>() {
+          private final List<T> elements = new ArrayList<>();
+
+          @Override
+          public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+          }
+
+          @Override
+          public void onNext(T t) {
+            elements.add(t);
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            future.completeExceptionally(t);
+          }
+
+          @Override
+          public void onComplete() {
+            future.complete(elements);
+          }
+        });
+    return future;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import atoma.api.AtomaStateException;
+import atoma.api.OperationTimeoutException;
+import atoma.storage.mongo.command.Backoff;
+import atoma.storage.mongo.command.CommandExecutor;
+import atoma.storage.mongo.command.CommandMetrics;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.MongoErrorCode;
+import com.mongodb.MongoExecutionTimeoutException;
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.CircuitBreakerOpenException;
+import dev.failsafe.Failsafe;
+import dev.failsafe.Policy;
+import dev.failsafe.Timeout;
+import dev.failsafe.TimeoutExceededException;
+import dev.failsafe.function.CheckedPredicate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The non-blocking counterpart of {@link atoma.storage.mongo.command.CommandExecutor}.
+ *
+ * <p>The command block returns a {@link CompletionStage} instead of a value, and the Failsafe
+ * policies are applied with {@code getStageAsync}, so no thread is blocked while the command is in
+ * flight, retried or timed out. Failures are translated the same way as the blocking executor does:
+ * {@link TimeoutExceededException} to {@link OperationTimeoutException} and {@link
+ * CircuitBreakerOpenException} to {@link AtomaStateException}.
+ *
+ * <p>The policies are the ones of the blocking executor: the shared retry policy of transient
+ * transaction errors, the retries of contended commands and of transient conflicts spaced by the
+ * backoff of the store, and the circuit breaker of the store as the innermost policy.
+ *
+ * @param <R> the result type of the command.
+ */
+public class ReactiveCommandExecutor<R> {
+
+  private final CircuitBreaker<Object> circuitBreaker;
+  private final List<CheckedPredicate<Throwable>> contentionConditions = new ArrayList<>(2);
+
+  private Duration timeoutDuration;
+  private Timeout<Object> timeout;
+
+  private Backoff backoff = Backoff.NONE;
+  private CommandMetrics metrics;
+  private String resourceId;
+
+  public ReactiveCommandExecutor(CircuitBreaker<Object> circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  public ReactiveCommandExecutor<R> withTimeout(Duration timeout) {
+    if (timeout.isNegative()) return this;
+    return withDeadline(Deadline.after(timeout.toNanos(), TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Times the command out at the given deadline, which the command block passes to the server as
+   * the {@code maxTimeMS} of its operations.
+   */
+  public ReactiveCommandExecutor<R> withDeadline(Deadline deadline) {
+    if (!deadline.isBounded()) return this;
+    // Failsafe rejects a zero timeout, a deadline already passed times out at once.
+    Duration remaining = deadline.remaining();
+    this.timeoutDuration = remaining.isZero() ? Duration.ofNanos(1L) : remaining;
+    this.timeout = Timeout.of(timeoutDuration);
+    return this;
+  }
+
+  /** Spaces the retries of the contended command by the given backoff. */
+  public ReactiveCommandExecutor<R> withBackoff(Backoff backoff) {
+    this.backoff = backoff;
+    return this;
+  }
+
+  /** Records the retries of the command on the given resource in the given metrics. */
+  public ReactiveCommandExecutor<R> recordingTo(CommandMetrics metrics, String resourceId) {
+    this.metrics = metrics;
+    this.resourceId = resourceId;
+    return this;
+  }
+
+  public ReactiveCommandExecutor<R> retryOnCode(MongoErrorCode code) {
+    this.contentionConditions.add(CommandExecutor.conditionOnCode(code));
+    return this;
+  }
+
+  public final ReactiveCommandExecutor<R> retryOnException(
+      Class<? extends Throwable> interestedException) {
+    this.contentionConditions.add(CommandExecutor.conditionOnException(interestedException));
+    return this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<R> execute(Supplier<CompletionStage<R>> command) {
+    List<Policy<Object>> policies = new ArrayList<>(5);
+    policies.add(CommandExecutor.TRANSACTION_RETRY_POLICY);
+    if (timeout != null) policies.add(timeout);
+    policies.add(
+        CommandExecutor.newContentionRetryPolicy(
+            contentionConditions, backoff, timeoutDuration, metrics, resourceId));
+    if (circuitBreaker != null) policies.add(circuitBreaker);
+
+    CompletableFuture<Object> stage =
+        Failsafe.with(policies).getStageAsync(() -> (CompletionStage<Object>) command.get());
+    return stage.handle(
+        (r, e) -> {
+          if (e == null) return (R) r;
+          Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+          if (cause instanceof TimeoutExceededException timeout) {
+            throw new OperationTimeoutException(timeout);
+          } else if (cause instanceof MongoExecutionTimeoutException timeout) {
+            throw new OperationTimeoutException(timeout);
+          } else if (cause instanceof CircuitBreakerOpenException circuitBreak) {
+            throw CommandExecutor.circuitBreakerOpen(circuitBreak);
+          }
+          throw cause instanceof RuntimeException re ? re : new CompletionException(cause);
+        });
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import atoma.api.AtomaException;
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.CommandHandler;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static atoma.storage.mongo.command.CommandExecutor.READ_CONCERN;
+import static atoma.storage.mongo.command.CommandExecutor.WRITE_CONCERN;
+import static atoma.storage.mongo.command.MongoCommandHandler.buildLeaseRenewalUpdate;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Base class of the command handlers running on the MongoDB reactive-streams driver.
+ *
+ * <p>Handlers are discovered with {@link java.util.ServiceLoader} under this class and must be
+ * annotated with {@link atoma.api.coordination.command.HandlesCommand}. The document schema is the
+ * same as the one of {@code atoma-storage-mongo}, so both backends can share a database.
+ *
+ * @param <C> The type of Command this handler can process.
+ * @param <R> The type of Result this command produces.
+ */
+public abstract class ReactiveMongoCommandHandler<C extends Command<R>, R>
+    implements CommandHandler<C, R> {
+  private static final ConcurrentHashMap<String, MongoCollection<Document>>
+      COLLECTION_CONCURRENT_HASH_MAP = new ConcurrentHashMap<>();
+
+  protected MongoCollection<Document> getCollection(
+      ReactiveMongoCommandHandlerContext context, String name) {
+    return COLLECTION_CONCURRENT_HASH_MAP.computeIfAbsent(
+        name,
+        _k ->
+            context
+                .getMongoDatabase()
+                .getCollection(name)
+                .withReadConcern(READ_CONCERN)
+                .withWriteConcern(WRITE_CONCERN));
+  }
+
+  /**
+   * Performs the lease renewal piggybacked on a command, if any.
+   *
+   * @see atoma.storage.mongo.command.MongoCommandHandler#renewLease
+   */
+  protected CompletableFuture<Void> renewLease(
+      ReactiveMongoCommandHandlerContext context, LeaseCommand.TimeToLive renewal) {
+    if (renewal == null) return CompletableFuture.completedFuture(null);
+    return Publishers.first(
+            getCollection(context, LEASE)
+                .updateOne(eq("_id", renewal.id()), buildLeaseRenewalUpdate(renewal)))
+        .thenApply(updateResult -> null);
+  }
+
+  /**
+   * Looks the given leases up without blocking.
+   *
+   * @see atoma.storage.mongo.command.MongoCommandHandler#liveLeases
+   */
+  protected CompletableFuture<Map<String, Instant>> liveLeases(
+      ReactiveMongoCommandHandlerContext context, Collection<String> leaseIds, Deadline deadline) {
+    return Publishers.toList(
+            getCollection(context, LEASE)
+                .find(and(in("_id", leaseIds), expr(LeaseExpiry.isLive())))
+                .projection(include("expire_time"))
+                .maxTime(deadline.maxTimeMillis(), MILLISECONDS))
+        .thenApply(
+            leases -> {
+              Map<String, Instant> live = new HashMap<>();
+              for (Document lease : leases) {
+                live.put(
+                    lease.getString("_id"),
+                    LeaseExpiry.takeoverTime(lease.getDate("expire_time")));
+              }
+              return live;
+            });
+  }
+
+  /**
+   * Pushes the renewed expiration time of leases to the stamps of the locks they hold.
+   *
+   * @see atoma.storage.mongo.command.MongoCommandHandler#propagateLeaseExpiry
+   */
+  protected CompletableFuture<Void> propagateLeaseExpiry(
+      ReactiveMongoCommandHandlerContext context, Collection<LeaseCommand.TimeToLive> renewals) {
+    if (renewals.isEmpty()) return CompletableFuture.completedFuture(null);
+    BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+    return CompletableFuture.allOf(
+        Publishers.first(
+            getCollection(context, MUTEX_LOCK)
+                .bulkWrite(LeaseExpiry.buildMutexRenewalModels(renewals), unordered)),
+        Publishers.first(
+            getCollection(context, RW_LOCK)
+                .bulkWrite(LeaseExpiry.buildRwLockRenewalModels(renewals), unordered)));
+  }
+
+  /** Blocks until the non-blocking execution completes. */
+  @Override
+  public R execute(C command, CommandHandlerContext context) {
+    try {
+      return executeAsync(command, (ReactiveMongoCommandHandlerContext) context)
+          .toCompletableFuture()
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new AtomaStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Executes the command without blocking the calling thread.
+   *
+   * @param command The command to handle.
+   * @param context The context providing resources for execution.
+   * @return A stage completed with the command-specific result.
+   */
+  public abstract CompletionStage<R> executeAsync(
+      C command, ReactiveMongoCommandHandlerContext context);
+
+  public ReactiveCommandExecutor<R> newCommandExecutor(ReactiveMongoCommandHandlerContext context) {
+    return new ReactiveCommandExecutor<R>(context.getCircuitBreaker())
+        .withBackoff(context.getBackoff())
+        .recordingTo(context.getCommandMetrics(), context.getResourceId());
+  }
+
+  /**
+   * Translates a failure of the command the same way the blocking handlers do: {@link
+   * AtomaException}s and {@link IllegalStateException}s are kept as-is, anything else is
+   * wrapped into an {@link AtomaStateException}.
+   */
+  protected static RuntimeException translate(Throwable e) {
+    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    if (cause instanceof AtomaException ae) return ae;
+    if (cause instanceof IllegalStateException ise) return ise;
+    return new AtomaStateException(cause);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command;
+
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.storage.mongo.command.Backoff;
+import atoma.storage.mongo.command.CommandMetrics;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import dev.failsafe.CircuitBreaker;
+
+import java.util.Optional;
+
+public class ReactiveMongoCommandHandlerContext implements CommandHandlerContext {
+
+  private final MongoClient client;
+  private final MongoDatabase mongoDatabase;
+  private final String resourceId;
+  private final CircuitBreaker<Object> circuitBreaker;
+  private final Backoff backoff;
+  private final CommandMetrics commandMetrics;
+
+  public ReactiveMongoCommandHandlerContext(
+      MongoClient client,
+      MongoDatabase mongoDatabase,
+      String resourceId,
+      CircuitBreaker<Object> circuitBreaker,
+      Backoff backoff,
+      CommandMetrics commandMetrics) {
+    this.client = client;
+    this.mongoDatabase = mongoDatabase;
+    this.resourceId = resourceId;
+    this.circuitBreaker = circuitBreaker;
+    this.backoff = backoff;
+    this.commandMetrics = commandMetrics;
+  }
+
+  @Override
+  public String getResourceId() {
+    return resourceId;
+  }
+
+  @Override
+  public Optional<Resource> getCurrentResource() {
+    return Optional.empty();
+  }
+
+  public MongoClient getClient() {
+    return client;
+  }
+
+  public MongoDatabase getMongoDatabase() {
+    return mongoDatabase;
+  }
+
+  /** Returns the circuit breaker shared by the commands of the store. */
+  public CircuitBreaker<Object> getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /** Returns the backoff between the retries of contended commands. */
+  public Backoff getBackoff() {
+    return backoff;
+  }
+
+  /** Returns the metrics of the commands of the store. */
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.barrier;
+
+import atoma.api.coordination.command.CyclicBarrierCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.barrier.BreakCommandHandler.buildFilter;
+import static atoma.storage.mongo.command.barrier.BreakCommandHandler.buildUpdate;
+
+/** Handles the {@link CyclicBarrierCommand.Break} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CyclicBarrierCommand.Break.class)
+public final class BreakCommandHandler
+    extends ReactiveMongoCommandHandler<CyclicBarrierCommand.Break, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      CyclicBarrierCommand.Break command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, BARRIER);
+
+    return this.newCommandExecutor(context)
+        .retryOnCode(WRITE_CONFLICT)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.updateOne(
+                            buildFilter(context.getResourceId(), command), buildUpdate()))
+                    .thenApply(updateResult -> (Void) null))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.barrier;
+
+import atoma.api.coordination.command.CyclicBarrierCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
+import static atoma.storage.mongo.command.barrier.ResetCommandHandler.PIPELINE;
+import static atoma.storage.mongo.command.barrier.ResetCommandHandler.buildResult;
+import static atoma.storage.mongo.command.barrier.ResetCommandHandler.buildVariables;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Handles the {@link CyclicBarrierCommand.Reset} command on the reactive-streams driver.
+ *
+ * <p>The reset runs the same {@code findOneAndUpdate} pipeline as {@link
+ * atoma.storage.mongo.command.barrier.ResetCommandHandler}.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CyclicBarrierCommand.Reset.class)
+public final class ResetCommandHandler
+    extends ReactiveMongoCommandHandler<
+        CyclicBarrierCommand.Reset, CyclicBarrierCommand.GetStateResult> {
+
+  @Override
+  public CompletionStage<CyclicBarrierCommand.GetStateResult> executeAsync(
+      CyclicBarrierCommand.Reset command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, BARRIER);
+
+    Bson variables = buildVariables(command);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.findOneAndUpdate(
+                            eq("_id", context.getResourceId()),
+                            PIPELINE.stages(),
+                            new FindOneAndUpdateOptions()
+                                .upsert(true)
+                                .returnDocument(ReturnDocument.AFTER)
+                                .let(variables)))
+                    .thenApply(barrierDoc -> buildResult(command, barrierDoc)))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.cdl;
+
+import atoma.api.coordination.command.CountDownLatchCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
+import static atoma.storage.mongo.command.cdl.CountDownCommandHandler.PIPELINE;
+import static atoma.storage.mongo.command.cdl.CountDownCommandHandler.buildVariables;
+import static com.mongodb.client.model.Filters.eq;
+
+/** Handles the {@link CountDownLatchCommand.CountDown} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CountDownLatchCommand.CountDown.class)
+public final class CountDownCommandHandler
+    extends ReactiveMongoCommandHandler<CountDownLatchCommand.CountDown, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      CountDownLatchCommand.CountDown command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
+
+    Bson variables = buildVariables(command);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.findOneAndUpdate(
+                            eq("_id", context.getResourceId()),
+                            PIPELINE.stages(),
+                            new FindOneAndUpdateOptions()
+                                .upsert(true)
+                                .returnDocument(ReturnDocument.AFTER)
+                                .let(variables)))
+                    .thenApply(
+                        countDownLatchDoc -> {
+                          if (countDownLatchDoc == null) {
+                            throw new IllegalStateException(
+                                "Failed to count-down. the count-down-latch does not exist");
+                          }
+                          return (Void) null;
+                        }))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
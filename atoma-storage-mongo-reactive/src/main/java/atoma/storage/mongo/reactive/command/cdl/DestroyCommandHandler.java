@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.cdl;
+
+import atoma.api.coordination.command.CountDownLatchCommand;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
+import static com.mongodb.client.model.Filters.eq;
+
+/** Handles the {@link CountDownLatchCommand.Destroy} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(CountDownLatchCommand.Destroy.class)
+public final class DestroyCommandHandler
+    extends ReactiveMongoCommandHandler<CountDownLatchCommand.Destroy, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      CountDownLatchCommand.Destroy command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(collection.deleteOne(eq("_id", context.getResourceId())))
+                    .thenApply(deleteResult -> (Void) null))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
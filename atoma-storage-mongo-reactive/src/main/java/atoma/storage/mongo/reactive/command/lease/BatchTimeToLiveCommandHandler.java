@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.lease;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.lease.BatchTimeToLiveCommandHandler.buildResult;
+import static atoma.storage.mongo.command.lease.BatchTimeToLiveCommandHandler.buildUpdateModels;
+import static atoma.storage.mongo.command.lease.BatchTimeToLiveCommandHandler.successfulRenewals;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+
+/**
+ * Handles the {@link LeaseCommand.BatchTimeToLive} command on the reactive-streams driver.
+ *
+ * @see atoma.storage.mongo.command.lease.BatchTimeToLiveCommandHandler
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LeaseCommand.BatchTimeToLive.class)
+public final class BatchTimeToLiveCommandHandler
+    extends ReactiveMongoCommandHandler<
+        LeaseCommand.BatchTimeToLive, LeaseCommand.BatchTimeToLiveResult> {
+
+  @Override
+  public CompletionStage<LeaseCommand.BatchTimeToLiveResult> executeAsync(
+      LeaseCommand.BatchTimeToLive command, ReactiveMongoCommandHandlerContext context) {
+    if (command.renewals().isEmpty()) {
+      return CompletableFuture.completedFuture(new LeaseCommand.BatchTimeToLiveResult(Map.of()));
+    }
+
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+    List<UpdateOneModel<Document>> updates = buildUpdateModels(command);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () -> {
+              Set<Integer> failedIndexes = new HashSet<>();
+              return Publishers.first(
+                      collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)))
+                  .handle(
+                      (bulkWriteResult, e) -> {
+                        if (e == null) return bulkWriteResult.getMatchedCount();
+                        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                        if (cause instanceof MongoBulkWriteException bulkEx) {
+                          bulkEx.getWriteErrors().stream()
+                              .map(BulkWriteError::getIndex)
+                              .forEach(failedIndexes::add);
+                          return bulkEx.getWriteResult().getMatchedCount();
+                        }
+                        throw e instanceof CompletionException ce
+                            ? ce
+                            : new CompletionException(e);
+                      })
+                  .thenCompose(
+                      matchedCount -> {
+                        if (matchedCount == updates.size() - failedIndexes.size()) {
+                          return CompletableFuture.completedFuture(
+                              buildResult(command, failedIndexes, null));
+                        }
+
+                        // Some leases are gone, find out which ones.
+                        List<String> ids =
+                            command.renewals().stream().map(LeaseCommand.TimeToLive::id).toList();
+                        return Publishers.toList(
+                                collection.find(in("_id", ids)).projection(include("expire_time")))
+                            .thenApply(
+                                docs -> {
+                                  Map<String, Date> expireTimes = new HashMap<>();
+                                  for (Document doc : docs) {
+                                    expireTimes.put(
+                                        doc.getString("_id"), doc.get("expire_time", Date.class));
+                                  }
+                                  return buildResult(command, failedIndexes, expireTimes);
+                                });
+                      })
+                  .thenCompose(
+                      result ->
+                          propagateLeaseExpiry(context, successfulRenewals(command, result))
+                              .thenApply(v -> result));
+            })
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.lease;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CompletionStage;
+
+/** Handles the {@link LeaseCommand.Grant} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LeaseCommand.Grant.class)
+public final class GrantCommandHandler
+    extends ReactiveMongoCommandHandler<LeaseCommand.Grant, LeaseCommand.GrantResult> {
+
+  @Override
+  public CompletionStage<LeaseCommand.GrantResult> executeAsync(
+      LeaseCommand.Grant command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () -> {
+              Instant newExpireTime =
+                  Instant.now(Clock.systemUTC()).plusMillis(command.ttl().toMillis());
+              Document update =
+                  new Document("$set", new Document("expire_time", newExpireTime))
+                      .append(
+                          "$setOnInsert",
+                          new Document("create_time", Instant.now(Clock.systemUTC())))
+                      .append("$inc", new Document("version", 1L));
+
+              return Publishers.first(
+                      collection.findOneAndUpdate(
+                          new Document("_id", command.id()),
+                          update,
+                          new FindOneAndUpdateOptions()
+                              .upsert(true)
+                              .returnDocument(ReturnDocument.AFTER)))
+                  .thenApply(
+                      updatedDocument -> {
+                        if (updatedDocument == null) {
+                          return new LeaseCommand.GrantResult(false, command.id(), null);
+                        }
+                        long expireTimeMillis =
+                            updatedDocument.get("expire_time", Date.class).getTime();
+                        return new LeaseCommand.GrantResult(
+                            true,
+                            updatedDocument.getString("_id"),
+                            Instant.ofEpochMilli(expireTimeMillis));
+                      });
+            })
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
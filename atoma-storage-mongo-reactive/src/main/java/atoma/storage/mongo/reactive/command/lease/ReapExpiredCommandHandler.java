@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.lease;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.lease.ReapExpiredCommandHandler.buildExpiredFilter;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Sorts.ascending;
+
+/** Handles the {@link LeaseCommand.ReapExpired} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LeaseCommand.ReapExpired.class)
+public final class ReapExpiredCommandHandler
+    extends ReactiveMongoCommandHandler<LeaseCommand.ReapExpired, LeaseCommand.ReapExpiredResult> {
+
+  @Override
+  public CompletionStage<LeaseCommand.ReapExpiredResult> executeAsync(
+      LeaseCommand.ReapExpired command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () -> {
+              Bson expired = buildExpiredFilter(command);
+              return Publishers.toList(
+                      collection
+                          .find(expired)
+                          .projection(include("_id"))
+                          .sort(ascending("expire_time"))
+                          .limit(command.limit()))
+                  .thenCompose(
+                      docs -> {
+                        if (docs.isEmpty()) {
+                          return CompletableFuture.completedFuture(
+                              new LeaseCommand.ReapExpiredResult(0L));
+                        }
+                        List<Object> ids = docs.stream().map(doc -> doc.get("_id")).toList();
+                        return Publishers.first(collection.deleteMany(and(in("_id", ids), expired)))
+                            .thenApply(
+                                deleteResult ->
+                                    new LeaseCommand.ReapExpiredResult(
+                                        deleteResult.getDeletedCount()));
+                      });
+            })
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.lease;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/** Handles the {@link LeaseCommand.Revoke} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LeaseCommand.Revoke.class)
+public final class RevokeCommandHandler
+    extends ReactiveMongoCommandHandler<LeaseCommand.Revoke, LeaseCommand.RevokeResult> {
+
+  @Override
+  public CompletionStage<LeaseCommand.RevokeResult> executeAsync(
+      LeaseCommand.Revoke command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(collection.deleteOne(eq("_id", command.id())))
+                    .thenApply(
+                        deleteResult ->
+                            new LeaseCommand.RevokeResult(deleteResult.wasAcknowledged())))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.lease;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/** Handles the {@link LeaseCommand.TimeToLive} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LeaseCommand.TimeToLive.class)
+public final class TimeToLiveCommandHandler
+    extends ReactiveMongoCommandHandler<LeaseCommand.TimeToLive, LeaseCommand.TimeToLiveResult> {
+
+  @Override
+  public CompletionStage<LeaseCommand.TimeToLiveResult> executeAsync(
+      LeaseCommand.TimeToLive command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+
+    Document update =
+        new Document("$set", new Document("expire_time", command.nextExpireTime()))
+            .append("$inc", new Document("version", 1L));
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.findOneAndUpdate(
+                            new Document("_id", command.id()),
+                            update,
+                            new FindOneAndUpdateOptions()
+                                .upsert(false)
+                                .returnDocument(ReturnDocument.AFTER)))
+                    .thenCompose(
+                        updatedDocument -> {
+                          if (updatedDocument == null) {
+                            return CompletableFuture.completedFuture(
+                                new LeaseCommand.TimeToLiveResult(false, null));
+                          }
+                          long expireTimeMillis =
+                              updatedDocument.get("expire_time", Date.class).getTime();
+                          return propagateLeaseExpiry(context, List.of(command))
+                              .thenApply(
+                                  v ->
+                                      new LeaseCommand.TimeToLiveResult(
+                                          true, Instant.ofEpochMilli(expireTimeMillis)));
+                        }))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
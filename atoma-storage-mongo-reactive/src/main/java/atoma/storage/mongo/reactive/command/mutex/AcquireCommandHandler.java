@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.mutex;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.CommandFailureException;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.mutex.AcquireCommandHandler.PIPELINE;
+import static atoma.storage.mongo.command.mutex.AcquireCommandHandler.buildResult;
+import static atoma.storage.mongo.command.mutex.AcquireCommandHandler.buildVariables;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Handles the {@link LockCommand.Acquire} command on the reactive-streams driver.
+ *
+ * <p>The acquisition runs the same {@code findOneAndUpdate} pipeline as {@link
+ * atoma.storage.mongo.command.mutex.AcquireCommandHandler}.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LockCommand.Acquire.class)
+public final class AcquireCommandHandler
+    extends ReactiveMongoCommandHandler<LockCommand.Acquire, LockCommand.AcquireResult> {
+
+  @Override
+  public CompletionStage<LockCommand.AcquireResult> executeAsync(
+      LockCommand.Acquire command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.MUTEX_LOCK);
+
+    Date stamp = LeaseExpiry.stampOf(command.leaseExpireTime(), command.leaseRenewal());
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
+    Function<List<String>, CompletableFuture<Document>> acquire =
+        expired ->
+            Publishers.first(
+                collection.findOneAndUpdate(
+                    eq("_id", context.getResourceId()),
+                    PIPELINE.stages(),
+                    new FindOneAndUpdateOptions()
+                        .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                        .returnDocument(ReturnDocument.AFTER)
+                        .upsert(true)
+                        .let(
+                            buildVariables(
+                                command.holderId(), command.leaseId(), stamp, expired))));
+
+    // Once, rather than on every retry of the command.
+    return renewLease(context, command.leaseRenewal())
+        .thenCompose(
+            renewed ->
+                this.newCommandExecutor(context)
+                    .retryOnException(CommandFailureException.class)
+                    .retryOnCode(WRITE_CONFLICT)
+                    .retryOnCode(DUPLICATE_KEY)
+                    .withDeadline(deadline)
+                    .execute(
+                        () ->
+                            acquire
+                                .apply(List.of())
+                                .thenCompose(
+                                    lockDoc ->
+                                        takeOverIfExpired(
+                                            context, command, lockDoc, acquire, deadline))))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+
+  /**
+   * Retries a failed acquisition on a lock whose stamp has passed, taking it over if the lease of
+   * its holder has expired, as the blocking handler does.
+   */
+  private CompletableFuture<LockCommand.AcquireResult> takeOverIfExpired(
+      ReactiveMongoCommandHandlerContext context,
+      LockCommand.Acquire command,
+      Document lockDoc,
+      Function<List<String>, CompletableFuture<Document>> acquire,
+      Deadline deadline) {
+    LockCommand.AcquireResult acquireResult = buildResult(command, lockDoc);
+    if (acquireResult.acquired() || !LeaseExpiry.isTakeoverDue(acquireResult.takeoverTime())) {
+      return CompletableFuture.completedFuture(acquireResult);
+    }
+
+    String holderLease = lockDoc.getString("lease");
+    return liveLeases(context, List.of(holderLease), deadline)
+        .thenCompose(
+            live ->
+                live.containsKey(holderLease)
+                    ? CompletableFuture.completedFuture(
+                        new LockCommand.AcquireResult(
+                            false,
+                            acquireResult.serverLogicalLatestVersion(),
+                            live.get(holderLease)))
+                    : acquire
+                        .apply(List.of(holderLease))
+                        .thenApply(retried -> buildResult(command, retried)));
+  }
+}
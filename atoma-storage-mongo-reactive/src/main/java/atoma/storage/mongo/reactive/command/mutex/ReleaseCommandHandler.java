@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.mutex;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Handles the {@link LockCommand.Release} command on the reactive-streams driver by deleting the
+ * lock document held by the holder.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(LockCommand.Release.class)
+public final class ReleaseCommandHandler
+    extends ReactiveMongoCommandHandler<LockCommand.Release, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      LockCommand.Release command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.MUTEX_LOCK);
+
+    // Once, rather than on every retry of the command.
+    return renewLease(context, command.leaseRenewal())
+        .thenCompose(
+            renewed ->
+                this.newCommandExecutor(context)
+                    .retryOnCode(WRITE_CONFLICT)
+                    .execute(
+                        () ->
+                            Publishers.first(
+                                collection.deleteOne(
+                                    and(
+                                        eq("_id", context.getResourceId()),
+                                        eq("holder", command.holderId()))))
+                            .thenApply(
+                                deleteResult -> {
+                                  if (deleteResult.getDeletedCount() == 1L) return null;
+                                  throw new IllegalOwnershipException(
+                                      "Cannot release lock for resource '"
+                                          + context.getResourceId()
+                                          + "' because it is not held by holder '"
+                                          + command.holderId()
+                                          + "'");
+                                })))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
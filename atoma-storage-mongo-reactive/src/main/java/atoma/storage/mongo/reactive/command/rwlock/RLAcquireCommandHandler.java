@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.rwlock;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.rwlock.RLAcquireCommandHandler.PIPELINE;
+import static atoma.storage.mongo.command.rwlock.RLAcquireCommandHandler.buildResult;
+import static atoma.storage.mongo.command.rwlock.RLAcquireCommandHandler.buildVariables;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Handles the {@link ReadWriteLockCommand.AcquireRead} command on the reactive-streams driver.
+ *
+ * <p>The acquisition runs the same {@code findOneAndUpdate} pipeline as {@link
+ * atoma.storage.mongo.command.rwlock.RLAcquireCommandHandler}.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(ReadWriteLockCommand.AcquireRead.class)
+public final class RLAcquireCommandHandler
+    extends ReactiveMongoCommandHandler<
+        ReadWriteLockCommand.AcquireRead, LockCommand.AcquireResult> {
+
+  @Override
+  public CompletionStage<LockCommand.AcquireResult> executeAsync(
+      ReadWriteLockCommand.AcquireRead command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.RW_LOCK);
+
+    Date stamp = LeaseExpiry.stampOf(command.leaseExpireTime(), null);
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
+    Function<List<String>, CompletableFuture<Document>> acquire =
+        expired ->
+            Publishers.first(
+                collection.findOneAndUpdate(
+                    eq("_id", context.getResourceId()),
+                    PIPELINE.stages(),
+                    new FindOneAndUpdateOptions()
+                        .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                        .upsert(true)
+                        .returnDocument(ReturnDocument.AFTER)
+                        .let(
+                            buildVariables(
+                                command.holderId(), command.leaseId(), stamp, expired))));
+
+    return this.newCommandExecutor(context)
+        .retryOnCode(WRITE_CONFLICT)
+        .retryOnCode(DUPLICATE_KEY)
+        .withDeadline(deadline)
+        .execute(
+            () ->
+                acquire
+                    .apply(List.of())
+                    .thenCompose(
+                        lockDoc -> takeOverIfExpired(context, command, lockDoc, acquire, deadline)))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+
+  /**
+   * Retries a failed acquisition on a lock whose writer stamp has passed, taking the write lock
+   * over if the lease of the writer has expired, as the blocking handler does.
+   */
+  private CompletableFuture<LockCommand.AcquireResult> takeOverIfExpired(
+      ReactiveMongoCommandHandlerContext context,
+      ReadWriteLockCommand.AcquireRead command,
+      Document lockDoc,
+      Function<List<String>, CompletableFuture<Document>> acquire,
+      Deadline deadline) {
+    LockCommand.AcquireResult acquireResult = buildResult(command, lockDoc);
+    if (acquireResult.acquired() || !LeaseExpiry.isTakeoverDue(acquireResult.takeoverTime())) {
+      return CompletableFuture.completedFuture(acquireResult);
+    }
+
+    String writerLease = lockDoc.get("write_lock", Document.class).getString("lease");
+    return liveLeases(context, List.of(writerLease), deadline)
+        .thenCompose(
+            live ->
+                live.containsKey(writerLease)
+                    ? CompletableFuture.completedFuture(
+                        new LockCommand.AcquireResult(
+                            false,
+                            acquireResult.serverLogicalLatestVersion(),
+                            live.get(writerLease)))
+                    : acquire
+                        .apply(List.of(writerLease))
+                        .thenApply(retried -> buildResult(command, retried)));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.rwlock;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.CommandFailureException;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.rwlock.RLReleaseCommandHandler.buildFilter;
+import static atoma.storage.mongo.command.rwlock.RLReleaseCommandHandler.buildUpdate;
+
+/**
+ * Handles the {@link ReadWriteLockCommand.ReleaseRead} command on the reactive-streams driver by
+ * pulling the read lock entry of the holder.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(ReadWriteLockCommand.ReleaseRead.class)
+public final class RLReleaseCommandHandler
+    extends ReactiveMongoCommandHandler<ReadWriteLockCommand.ReleaseRead, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      ReadWriteLockCommand.ReleaseRead command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.RW_LOCK);
+
+    return this.newCommandExecutor(context)
+        .retryOnException(CommandFailureException.class)
+        .retryOnCode(WRITE_CONFLICT)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.findOneAndUpdate(
+                            buildFilter(context.getResourceId(), command),
+                            buildUpdate(command),
+                            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)))
+                    .thenApply(
+                        lockDoc -> {
+                          if (lockDoc != null
+                              && (lockDoc.getList("read_locks", Document.class) == null
+                                  || lockDoc.getList("read_locks", Document.class).stream()
+                                      .noneMatch(
+                                          t ->
+                                              t.getString("lease").equals(command.leaseId())
+                                                  && t.getString("holder")
+                                                      .equals(command.holderId())))) {
+                            return null;
+                          }
+                          throw new IllegalOwnershipException(
+                              "Cannot release read lock for resource '"
+                                  + context.getResourceId()
+                                  + "' because it is not held by holder '"
+                                  + command.holderId()
+                                  + "'");
+                        }))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.rwlock;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.CommandFailureException;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.rwlock.WLReleaseCommandHandler.buildFilter;
+
+/**
+ * Handles the {@link ReadWriteLockCommand.ReleaseWrite} command on the reactive-streams driver by
+ * deleting the lock document whose write lock is held by the holder.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(ReadWriteLockCommand.ReleaseWrite.class)
+public final class WLReleaseCommandHandler
+    extends ReactiveMongoCommandHandler<ReadWriteLockCommand.ReleaseWrite, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      ReadWriteLockCommand.ReleaseWrite command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.RW_LOCK);
+
+    return this.newCommandExecutor(context)
+        .retryOnException(CommandFailureException.class)
+        .retryOnCode(WRITE_CONFLICT)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection.deleteOne(buildFilter(context.getResourceId(), command)))
+                    .thenApply(
+                        deleteResult -> {
+                          if (deleteResult.getDeletedCount() == 1L) return null;
+                          throw new IllegalOwnershipException(
+                              "Cannot release write lock for resource '"
+                                  + context.getResourceId()
+                                  + "' because it is not held by holder '"
+                                  + command.holderId()
+                                  + "'");
+                        }))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
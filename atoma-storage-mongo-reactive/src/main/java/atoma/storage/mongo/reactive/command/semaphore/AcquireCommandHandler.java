@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.semaphore;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static atoma.storage.mongo.command.semaphore.AcquireCommandHandler.buildAggregationPipeline;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Handles the {@link SemaphoreCommand.Acquire} command on the reactive-streams driver.
+ *
+ * <p>Success is decided by the {@code _update_flag} written by the shared pipeline of {@link
+ * atoma.storage.mongo.command.semaphore.AcquireCommandHandler}, not by the version.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(SemaphoreCommand.Acquire.class)
+public final class AcquireCommandHandler
+    extends ReactiveMongoCommandHandler<SemaphoreCommand.Acquire, SemaphoreCommand.AcquireResult> {
+
+  @Override
+  public CompletionStage<SemaphoreCommand.AcquireResult> executeAsync(
+      SemaphoreCommand.Acquire command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
+
+    List<Bson> pipeline = buildAggregationPipeline(command);
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
+    // Once, rather than on every retry of the command.
+    return renewLease(context, command.leaseRenewal())
+        .thenCompose(
+            renewed ->
+                this.newCommandExecutor(context)
+                    .retryOnCode(WRITE_CONFLICT)
+                    .retryOnCode(DUPLICATE_KEY)
+                    .withDeadline(deadline)
+                    .execute(
+                        () ->
+                            Publishers.first(
+                                collection.findOneAndUpdate(
+                                    eq("_id", context.getResourceId()),
+                                    pipeline,
+                                    new FindOneAndUpdateOptions()
+                                        .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                                        .returnDocument(ReturnDocument.AFTER)
+                                        .upsert(true)))
+                            .thenApply(
+                                semaphoreDoc -> {
+                                  if (semaphoreDoc != null) {
+                                    return new SemaphoreCommand.AcquireResult(
+                                        semaphoreDoc.getBoolean("_update_flag", false),
+                                        semaphoreDoc.getLong("version"));
+                                  }
+                                  return new SemaphoreCommand.AcquireResult(false, -1L);
+                                })))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.semaphore;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Projections.computed;
+import static com.mongodb.client.model.Projections.fields;
+import static com.mongodb.client.model.Projections.include;
+
+/** Handles the {@link SemaphoreCommand.GetState} command on the reactive-streams driver. */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(SemaphoreCommand.GetState.class)
+public final class GetStateCommandHandler
+    extends ReactiveMongoCommandHandler<
+        SemaphoreCommand.GetState, SemaphoreCommand.GetStateResult> {
+
+  @Override
+  public CompletionStage<SemaphoreCommand.GetStateResult> executeAsync(
+      SemaphoreCommand.GetState command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
+    final String leaseField = "leases." + command.leaseId();
+
+    return this.newCommandExecutor(context)
+        .execute(
+            () ->
+                Publishers.first(
+                        collection
+                            .find(eq("_id", context.getResourceId()))
+                            .projection(
+                                fields(
+                                    include("available_permits"),
+                                    computed("drain_permits", "$" + leaseField)))
+                            .first())
+                    .thenApply(
+                        semaphoreDoc ->
+                            Optional.ofNullable(semaphoreDoc)
+                                .map(
+                                    sem ->
+                                        new SemaphoreCommand.GetStateResult(
+                                            sem.getInteger("available_permits"),
+                                            sem.getInteger("drain_permits", 0)))
+                                .orElse(
+                                    new SemaphoreCommand.GetStateResult(
+                                        command.initialPermits(), 0))))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.reactive.command.semaphore;
+
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.storage.mongo.reactive.command.Publishers;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandler;
+import atoma.storage.mongo.reactive.command.ReactiveMongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.concurrent.CompletionStage;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+
+/**
+ * Handles the {@link SemaphoreCommand.Release} command on the reactive-streams driver.
+ *
+ * <p>A lease can never release more permits than it holds; such a release completes the stage
+ * with an {@link IllegalStateException}.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({ReactiveMongoCommandHandler.class})
+@HandlesCommand(SemaphoreCommand.Release.class)
+public final class ReleaseCommandHandler
+    extends ReactiveMongoCommandHandler<SemaphoreCommand.Release, Void> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(
+      SemaphoreCommand.Release command, ReactiveMongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
+    final String leaseField = "leases." + command.leaseId();
+
+    // Once, rather than on every retry of the command.
+    return renewLease(context, command.leaseRenewal())
+        .thenCompose(
+            renewed ->
+                this.newCommandExecutor(context)
+                    .retryOnCode(WRITE_CONFLICT)
+                    .execute(
+                        () ->
+                            Publishers.first(
+                                collection.findOneAndUpdate(
+                                    and(
+                                        eq("_id", context.getResourceId()),
+                                        gte(leaseField, command.permits())),
+                                    combine(
+                                        inc("available_permits", command.permits()),
+                                        inc(leaseField, -command.permits())),
+                                    new FindOneAndUpdateOptions()
+                                        .returnDocument(ReturnDocument.AFTER)
+                                        .upsert(false)))
+                            .thenApply(
+                                semaphoreDoc -> {
+                                  if (semaphoreDoc != null) return null;
+                                  throw new IllegalStateException(
+                                      "Failed to release "
+                                          + command.permits()
+                                          + " permits for lease "
+                                          + command.leaseId()
+                                          + ". Either the semaphore does not exist or the lease"
+                                          + " does not hold enough permits.");
+                                })))
+        .exceptionally(
+            e -> {
+              throw translate(e);
+            });
+  }
+}
@@ -20,6 +20,12 @@ dependencies {
     compileOnly(lib.autovalueannotations)
     annotationProcessor(lib.autoservice)
     annotationProcessor(lib.autovalue)
+
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core:3.24.2")
+    testImplementation("org.awaitility:awaitility:4.3.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.withType<JavaCompile>().configureEach {
@@ -27,3 +33,6 @@ tasks.withType<JavaCompile>().configureEach {
     options.errorprone.disableAllChecks = true
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
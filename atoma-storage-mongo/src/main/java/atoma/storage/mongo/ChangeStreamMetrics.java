@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import atoma.storage.mongo.command.MongoErrorCode;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.mongodb.MongoException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the interruptions of the change stream of a store, during which no event is delivered.
+ *
+ * <p>A stall starts when the stream fails, and ends when it is reopened: either resumed after the
+ * last event, or resynchronized when the events since then are no longer in the oplog (see {@link
+ * #isHistoryLost(Throwable)}). A growing {@link #stalledTime()} points at notification gaps.
+ */
+@ThreadSafe
+public final class ChangeStreamMetrics {
+
+  private final LongAdder stalls = new LongAdder();
+  private final LongAdder resumes = new LongAdder();
+  private final LongAdder resyncs = new LongAdder();
+  private final LongAdder stalledNanos = new LongAdder();
+
+  /** Returns whether the failure means the stream cannot be resumed after its last event. */
+  public static boolean isHistoryLost(Throwable failure) {
+    if (!(failure instanceof MongoException dbError)) return false;
+    int code = dbError.getCode();
+    return code == MongoErrorCode.CHANGE_STREAM_HISTORY_LOST.getCode()
+        || code == MongoErrorCode.INVALID_RESUME_TOKEN.getCode()
+        || code == MongoErrorCode.CHANGE_STREAM_FATAL_ERROR.getCode();
+  }
+
+  /** Records the failure of the stream. */
+  public void recordStall() {
+    stalls.increment();
+  }
+
+  /** Records the stream resumed after its last event, the given nanoseconds after its failure. */
+  public void recordResume(long nanos) {
+    resumes.increment();
+    stalledNanos.add(nanos);
+  }
+
+  /** Records the stream resynchronized, the given nanoseconds after its failure. */
+  public void recordResync(long nanos) {
+    resyncs.increment();
+    stalledNanos.add(nanos);
+  }
+
+  /** Returns the number of failures of the stream. */
+  public long stalls() {
+    return stalls.sum();
+  }
+
+  /** Returns the number of times the stream was resumed after its last event. */
+  public long resumes() {
+    return resumes.sum();
+  }
+
+  /** Returns the number of times the subscribed resources were resynchronized. */
+  public long resyncs() {
+    return resyncs.sum();
+  }
+
+  /** Returns the total time between the failures of the stream and its reopening. */
+  public Duration stalledTime() {
+    return Duration.ofNanos(stalledNanos.sum());
+  }
+}
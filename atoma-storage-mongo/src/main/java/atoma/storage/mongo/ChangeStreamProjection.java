@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static com.mongodb.client.model.Aggregates.project;
+import static com.mongodb.client.model.Projections.include;
+
+/**
+ * The {@code $project} stage of the change stream, keeping only the fields of the documents read by
+ * the listeners of each collection.
+ *
+ * <p>The holders of a read lock and the participants of a barrier are reduced to their lease, so
+ * that the events of a busy resource do not carry its whole arrays. The stage is the union of the
+ * fields of the given collections, as a single stage cannot project by namespace.
+ */
+public final class ChangeStreamProjection {
+
+  /** The fields of the documents read by the listeners, by collection. */
+  public static final Map<String, List<String>> FIELDS =
+      Map.of(
+          LEASE, List.of(),
+          MUTEX_LOCK, List.of("version", "lease"),
+          RW_LOCK, List.of("version", "write_lock", "read_locks.lease"),
+          SEMAPHORE, List.of("version", "available_permits"),
+          COUNTDOWN_LATCH, List.of("version", "count"),
+          BARRIER, List.of("version", "generation", "is_broken", "participants.lease"));
+
+  private ChangeStreamProjection() {}
+
+  /**
+   * Builds the stage keeping the fields of the given collections.
+   *
+   * @param collections the watched collections.
+   * @param oldNodes whether the documents before the changes are kept as well.
+   */
+  public static Bson stage(Collection<String> collections, boolean oldNodes) {
+    Set<String> fields = new LinkedHashSet<>();
+    fields.add("_id");
+    collections.forEach(collection -> fields.addAll(FIELDS.getOrDefault(collection, List.of())));
+
+    List<String> paths = new ArrayList<>(3 + fields.size() * 2);
+    paths.add("operationType");
+    paths.add("ns");
+    paths.add("documentKey");
+    fields.forEach(field -> paths.add("fullDocument." + field));
+    if (oldNodes) fields.forEach(field -> paths.add("fullDocumentBeforeChange." + field));
+    return project(include(paths));
+  }
+}
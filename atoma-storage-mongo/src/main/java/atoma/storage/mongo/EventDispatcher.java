@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import com.google.errorprone.annotations.ThreadSafe;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the listeners of the change events on striped threads, so that a slow listener only delays
+ * the events of the resources sharing its stripe.
+ *
+ * <p>The events of a resource are hashed onto the same stripe, each stripe running its events one
+ * at a time in the order of {@link #dispatch(String, Runnable)}: the events of a resource are
+ * delivered in order, the events of different resources in parallel.
+ *
+ * <p>Each stripe queues at most {@code queueCapacity} events. Dispatching to a full stripe waits
+ * for room instead of dropping the event, as a lost event may leave a waiter asleep; the waits are
+ * counted by {@link #overflows()}.
+ */
+@ThreadSafe
+public final class EventDispatcher implements AutoCloseable {
+
+  public static final int DEFAULT_STRIPES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final BlockingQueue<Runnable>[] queues;
+  private final Thread[] workers;
+
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder overflows = new LongAdder();
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+  public EventDispatcher(String threadName) {
+    this(threadName, DEFAULT_STRIPES, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * @param threadName the name prefix of the threads of the stripes.
+   * @param stripes the number of stripes, hence of threads.
+   * @param queueCapacity the number of events a stripe queues at most.
+   */
+  @SuppressWarnings("unchecked")
+  public EventDispatcher(String threadName, int stripes, int queueCapacity) {
+    if (stripes <= 0) throw new IllegalArgumentException("stripes must be positive");
+    if (queueCapacity <= 0) throw new IllegalArgumentException("queueCapacity must be positive");
+    this.queues = new BlockingQueue[stripes];
+    this.workers = new Thread[stripes];
+    for (int i = 0; i < stripes; i++) {
+      BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+      queues[i] = queue;
+      workers[i] = new Thread(() -> runStripe(queue), threadName + "-" + i);
+      workers[i].setDaemon(true);
+      workers[i].start();
+    }
+  }
+
+  /**
+   * Queues the event of a resource on its stripe, waiting for room if the stripe is full. An
+   * interrupt while waiting drops the event and restores the interrupt status.
+   *
+   * @param resourceId the resource of the event, which selects the stripe.
+   * @param task the delivery of the event to the listeners.
+   */
+  public void dispatch(String resourceId, Runnable task) {
+    BlockingQueue<Runnable> queue = queues[stripeOf(resourceId)];
+    if (!queue.offer(task)) {
+      overflows.increment();
+      try {
+        queue.put(task);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    dispatched.increment();
+    int depth = queue.size();
+    if (depth > maxQueueDepth.get()) maxQueueDepth.accumulateAndGet(depth, Math::max);
+  }
+
+  private int stripeOf(String resourceId) {
+    return (resourceId.hashCode() & Integer.MAX_VALUE) % queues.length;
+  }
+
+  private static void runStripe(BlockingQueue<Runnable> queue) {
+    while (!Thread.currentThread().isInterrupted()) {
+      Runnable task;
+      try {
+        task = queue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        // In a real application, add proper logging. The stripe keeps serving other events.
+      }
+    }
+  }
+
+  /** Returns the number of stripes. */
+  public int stripes() {
+    return queues.length;
+  }
+
+  /** Returns the number of events queued on all stripes and not yet delivered. */
+  public int queueDepth() {
+    int depth = 0;
+    for (BlockingQueue<Runnable> queue : queues) depth += queue.size();
+    return depth;
+  }
+
+  /** Returns the number of events queued on the given stripe and not yet delivered. */
+  public int queueDepth(int stripe) {
+    return queues[stripe].size();
+  }
+
+  /** Returns the highest number of events queued on one stripe so far. */
+  public int maxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  /** Returns the number of events dispatched. */
+  public long dispatched() {
+    return dispatched.sum();
+  }
+
+  /** Returns the number of dispatches which waited for room on a full stripe. */
+  public long overflows() {
+    return overflows.sum();
+  }
+
+  /** Stops the threads of the stripes, dropping the events not yet delivered. */
+  @Override
+  public void close() {
+    for (Thread worker : workers) worker.interrupt();
+  }
+}
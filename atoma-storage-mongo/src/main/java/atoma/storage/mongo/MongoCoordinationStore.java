@@ -21,6 +21,7 @@ import atoma.api.IllegalOwnershipException;
 import atoma.api.Resourceful;
 import atoma.api.Result;
 import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Durability;
 import atoma.api.coordination.Resource;
 import atoma.api.coordination.ResourceChangeEvent;
 import atoma.api.coordination.ResourceListener;
@@ -28,84 +29,185 @@ import atoma.api.coordination.Subscription;
 import atoma.api.coordination.command.Command;
 import atoma.api.coordination.command.CommandHandler;
 import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Backoff;
 import atoma.storage.mongo.command.CommandExecutor;
+import atoma.storage.mongo.command.CommandMetrics;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.errorprone.annotations.MustBeClosed;
+import com.mongodb.client.ChangeStreamIterable;
 import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoChangeStreamCursor;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.model.changestream.FullDocument;
 import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import dev.failsafe.CircuitBreaker;
 import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
-import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
 import static atoma.storage.mongo.command.CommandExecutor.READ_CONCERN;
 import static atoma.storage.mongo.command.CommandExecutor.WRITE_CONCERN;
-import static com.mongodb.client.model.Aggregates.match;
 import static com.mongodb.client.model.Filters.in;
-import static java.util.Collections.singletonList;
+import static com.mongodb.client.model.Projections.include;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class MongoCoordinationStore implements CoordinationStore {
 
+  /**
+   * Bounds the wait for changes on the server, hence the delay before the change stream is
+   * reopened for a new subscription.
+   */
+  private static final long MAX_AWAIT_MILLIS = 100;
+
+  /**
+   * The least time between two reopenings of the change stream for new subscriptions, so that a
+   * burst of subscriptions shares one reopening.
+   */
+  private static final long MIN_REOPEN_NANOS = MILLISECONDS.toNanos(200);
+
+  private static final Logger log = LoggerFactory.getLogger(MongoCoordinationStore.class);
+
+  /** The delays between the attempts to reopen a failed change stream. */
+  private static final Backoff RECONNECT_BACKOFF =
+      Backoff.decorrelatedJitter(Duration.ofMillis(100), Duration.ofSeconds(5));
+
+  /** The number of resources read by one query of a resynchronization. */
+  private static final int RESYNC_BATCH_SIZE = 1_000;
+
   private final MongoClient mongoClient;
 
   private final MongoDatabase mongoDatabase;
 
+  // Shared by every command of the store, so failures of the server accumulate and open it.
+  private final CircuitBreaker<Object> circuitBreaker = CommandExecutor.newCircuitBreaker();
+
+  private final Backoff backoff;
+
+  // The durability of the commands executed without one of their own.
+  private final Durability durability;
+
+  private final CommandMetrics commandMetrics = new CommandMetrics();
+
+  private final ChangeStreamMetrics changeStreamMetrics = new ChangeStreamMetrics();
+
   private final Map<Class<? extends Command>, CommandHandler> commandHandlerRegistry =
       new ConcurrentHashMap<>();
   private final Map<String, List<ResourceListener>> listenerRegistry = new ConcurrentHashMap<>();
+  // Listeners of a whole resource type, keyed by collection name.
+  private final Map<String, List<ResourceListener>> typeListenerRegistry =
+      new ConcurrentHashMap<>();
+  private final WatchedResources watchedResources =
+      new WatchedResources(listenerRegistry::keySet, typeListenerRegistry::keySet);
+  // Runs the listeners, in parallel for different resources and in order for one resource.
+  private final EventDispatcher eventDispatcher = new EventDispatcher("atoma-event-dispatcher");
+  // Null if the releases are not batched.
+  private final ReleaseBatcher releaseBatcher;
   private final Thread watcherThread;
 
   @MustBeClosed
   public MongoCoordinationStore(MongoClient mongoClient, String db) {
+    this(mongoClient, db, Backoff.DEFAULT);
+  }
+
+  /**
+   * Creates a store spacing the retries of contended commands by the given backoff.
+   *
+   * @param mongoClient the client of the MongoDB deployment.
+   * @param db the database of the coordination collections.
+   * @param backoff the delays between the retries of a command losing a race on a contended
+   *     document, see {@link Backoff}.
+   */
+  @MustBeClosed
+  public MongoCoordinationStore(MongoClient mongoClient, String db, Backoff backoff) {
+    this(mongoClient, db, backoff, ReleaseBatcher.DEFAULT_WINDOW);
+  }
+
+  /**
+   * Creates a store writing the releases issued concurrently on a collection in batches, see
+   * {@link ReleaseBatcher}.
+   *
+   * @param mongoClient the client of the MongoDB deployment.
+   * @param db the database of the coordination collections.
+   * @param backoff the delays between the retries of a command losing a race on a contended
+   *     document, see {@link Backoff}.
+   * @param releaseBatchWindow the longest wait of a release for the write in flight on its
+   *     collection, or zero to write each release on its own.
+   */
+  @MustBeClosed
+  public MongoCoordinationStore(
+      MongoClient mongoClient, String db, Backoff backoff, Duration releaseBatchWindow) {
+    this(mongoClient, db, backoff, releaseBatchWindow, Durability.STRICT);
+  }
+
+  /**
+   * Creates a store acknowledging the commands with the given durability, unless a primitive
+   * selects its own.
+   *
+   * @param mongoClient the client of the MongoDB deployment.
+   * @param db the database of the coordination collections.
+   * @param backoff the delays between the retries of a command losing a race on a contended
+   *     document, see {@link Backoff}.
+   * @param releaseBatchWindow the longest wait of a release for the write in flight on its
+   *     collection, or zero to write each release on its own.
+   * @param durability the write and read concerns of the commands, see {@link Durability}.
+   */
+  @MustBeClosed
+  public MongoCoordinationStore(
+      MongoClient mongoClient,
+      String db,
+      Backoff backoff,
+      Duration releaseBatchWindow,
+      Durability durability) {
     this.mongoClient = mongoClient;
+    this.backoff = backoff;
+    this.durability = Objects.requireNonNull(durability, "durability");
+    this.releaseBatcher =
+        releaseBatchWindow.isZero()
+            ? null
+            : new ReleaseBatcher(
+                releaseBatchWindow,
+                ReleaseBatcher.DEFAULT_MAX_BATCH_SIZE,
+                resourceId -> newContext(resourceId, durability),
+                this::executeAlone);
     this.mongoDatabase = mongoClient.getDatabase(db);
     this.checkLeaseIndex();
+    this.ensureLeaseReferenceIndexes();
 
     // Discover and register all command handlers
     ServiceLoader.load(CommandHandler.class).forEach(this::registerHandler);
 
-    // Watch the entire database for changes
-    MongoCursor<ChangeStreamDocument<Document>> sharedCursor =
-        mongoClient
-            .getDatabase(db)
-            .watch(
-                singletonList(
-                    match(
-                        in(
-                            "ns.coll",
-                                LEASE,
-                                BARRIER,
-                                COUNTDOWN_LATCH,
-                                SEMAPHORE,
-                                MUTEX_LOCK,
-                                RW_LOCK))))
-            .fullDocument(FullDocument.UPDATE_LOOKUP)
-            .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
-            .cursor();
+    // Watch the subscribed resources only, the pipeline follows the listener registries.
+    MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> sharedCursor =
+        openChangeStream(null);
 
     this.watcherThread =
         new Thread(() -> demultiplexerLoop(sharedCursor), "atoma-event-demultiplexer");
@@ -145,7 +247,9 @@ public class MongoCoordinationStore implements CoordinationStore {
         };
 
     Result<Boolean> result =
-        new CommandExecutor<Boolean>(this.mongoClient).withoutTxn().execute(cmdBlock);
+        new CommandExecutor<Boolean>(this.mongoClient, circuitBreaker)
+            .withoutTxn()
+            .execute(cmdBlock);
 
     try {
       if (result.isSuccess() && !result.getOrThrow()) {
@@ -160,6 +264,32 @@ public class MongoCoordinationStore implements CoordinationStore {
     }
   }
 
+  /**
+   * Creates the indexes on the fields referencing a lease, so that the resources of a dead lease
+   * can be cleaned without scanning whole collections. Creating an existing index is a no-op.
+   */
+  private void ensureLeaseReferenceIndexes() {
+    Function<ClientSession, Void> cmdBlock =
+        session -> {
+          mongoDatabase.getCollection(MUTEX_LOCK).createIndex(Indexes.ascending("lease"));
+          mongoDatabase.getCollection(RW_LOCK).createIndex(Indexes.ascending("read_locks.lease"));
+          mongoDatabase.getCollection(RW_LOCK).createIndex(Indexes.ascending("write_lock.lease"));
+          mongoDatabase.getCollection(SEMAPHORE).createIndex(Indexes.ascending("leases.$**"));
+          mongoDatabase
+              .getCollection(BARRIER)
+              .createIndex(Indexes.ascending("participants.lease"));
+          return null;
+        };
+    try {
+      new CommandExecutor<Void>(this.mongoClient, circuitBreaker)
+          .withoutTxn()
+          .execute(cmdBlock)
+          .getOrThrow();
+    } catch (Throwable e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
   private void registerHandler(CommandHandler handler) {
     HandlesCommand annotation = handler.getClass().getAnnotation(HandlesCommand.class);
     if (annotation != null) {
@@ -167,30 +297,191 @@ public class MongoCoordinationStore implements CoordinationStore {
     }
   }
 
-  private void demultiplexerLoop(MongoCursor<ChangeStreamDocument<Document>> cursor) {
-    while (!Thread.currentThread().isInterrupted()) {
-      try {
-        ChangeStreamDocument<Document> change = cursor.next();
-        BsonDocument documentKey = change.getDocumentKey();
-        if (documentKey == null) continue;
+  /**
+   * Opens the change stream filtered on the resources currently having listeners, and projected
+   * on the fields they read.
+   *
+   * @param resumeToken the token to resume after, or {@code null} to start from now.
+   */
+  private MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> openChangeStream(
+      BsonDocument resumeToken) {
+    List<Bson> pipeline = watchedResources.pipeline();
+    ChangeStreamIterable<RawBsonDocument> changeStream =
+        mongoDatabase
+            .watch(pipeline, RawBsonDocument.class)
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .fullDocumentBeforeChange(
+                watchedResources.watchesOldNodes()
+                    ? FullDocumentBeforeChange.WHEN_AVAILABLE
+                    : FullDocumentBeforeChange.OFF)
+            .maxAwaitTime(MAX_AWAIT_MILLIS, MILLISECONDS);
+    if (resumeToken != null) changeStream = changeStream.resumeAfter(resumeToken);
+    return changeStream.cursor();
+  }
+
+  /**
+   * Reads the change stream and dispatches its events, until the thread is interrupted.
+   *
+   * <p>A failed stream is reopened after its last event. If the events since then are lost, the
+   * stream is reopened from now and the subscribed resources are {@linkplain #resync(List)
+   * resynchronized}.
+   *
+   * <p>The stream is reopened for new subscriptions at most once per {@link #MIN_REOPEN_NANOS}. The
+   * events read until then, including those of a read already waiting on the server, were filtered
+   * with the former stage and may have dropped the changes of the new resources: these are
+   * resynchronized once the new stream is open, so that no change of theirs is missed.
+   */
+  private void demultiplexerLoop(
+      MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> cursor) {
+    BsonDocument resumeToken = cursor.getResumeToken();
+    long openedAt = System.nanoTime();
+    boolean resyncPending = false;
+    long stalledSince = 0L;
+    Duration retryDelay = null;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        try {
+          // Reopen the stream with the current subscriptions, resuming after the last event.
+          if (cursor == null
+              || (watchedResources.isStale()
+                  && System.nanoTime() - openedAt >= MIN_REOPEN_NANOS)) {
+            MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> stale = cursor;
+            cursor = null;
+            if (stale != null) stale.close();
+            cursor = openChangeStream(resumeToken);
+            openedAt = System.nanoTime();
+
+            if (resyncPending) {
+              resync(List.copyOf(listenerRegistry.keySet()));
+              resyncPending = false;
+              changeStreamMetrics.recordResync(System.nanoTime() - stalledSince);
+              stalledSince = 0L;
+            } else {
+              if (stalledSince != 0L) {
+                changeStreamMetrics.recordResume(System.nanoTime() - stalledSince);
+                stalledSince = 0L;
+              }
+              Set<String> addedIds = watchedResources.addedIds();
+              if (!addedIds.isEmpty()) resync(List.copyOf(addedIds));
+            }
+            retryDelay = null;
+          }
+
+          ChangeStreamDocument<RawBsonDocument> change = cursor.tryNext();
+          if (cursor.getResumeToken() != null) resumeToken = cursor.getResumeToken();
+          if (change == null) continue;
+
+          BsonDocument documentKey = change.getDocumentKey();
+          if (documentKey == null) continue;
 
-        String resourceId = documentKey.getString("_id").getValue();
-        List<ResourceListener> interestedListeners = listenerRegistry.get(resourceId);
+          String resourceId = documentKey.getString("_id").getValue();
+          List<ResourceListener> interestedListeners = listenerRegistry.get(resourceId);
+          List<ResourceListener> typeListeners =
+              change.getNamespace() == null
+                  ? null
+                  : typeListenerRegistry.get(change.getNamespace().getCollectionName());
 
-        if (interestedListeners == null || interestedListeners.isEmpty()) continue;
+          if ((interestedListeners == null || interestedListeners.isEmpty())
+              && (typeListeners == null || typeListeners.isEmpty())) continue;
 
-        ResourceChangeEvent event = buildChangeEventFrom(change, resourceId);
-        if (event == null) continue;
+          eventDispatcher.dispatch(
+              resourceId, () -> deliver(change, resourceId, interestedListeners, typeListeners));
+        } catch (RuntimeException e) {
+          // The stream is resumed after the last event, whatever failed.
+          if (cursor != null) cursor.close();
+          cursor = null;
+          if (stalledSince == 0L) {
+            stalledSince = System.nanoTime();
+            changeStreamMetrics.recordStall();
+          }
+          if (ChangeStreamMetrics.isHistoryLost(e)) {
+            resumeToken = null;
+            resyncPending = true;
+          }
+
+          retryDelay = RECONNECT_BACKOFF.next(retryDelay);
+          log.warn(
+              "Change stream failed, reopening it in {} ms{}.",
+              retryDelay.toMillis(),
+              resyncPending ? " and resynchronizing the subscribed resources" : "",
+              e);
+          try {
+            Thread.sleep(retryDelay.toMillis());
+          } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    } finally {
+      if (cursor != null) cursor.close();
+    }
+  }
 
-        interestedListeners.forEach(listener -> listener.onEvent(event));
-      } catch (Exception e) {
-        // In a real application, add proper logging and error handling/recovery.
+  /**
+   * Reads the current state of the given subscribed resources, and delivers it as an event so that
+   * the waiting primitives re-evaluate it: an update of the resources found, a deletion of the
+   * others.
+   *
+   * <p>Only the listeners of a single resource are notified. The listeners of a whole collection
+   * cannot learn the deletions they missed.
+   */
+  private void resync(List<String> ids) {
+    Set<String> found = new HashSet<>();
+    for (int from = 0; from < ids.size(); from += RESYNC_BATCH_SIZE) {
+      List<String> batch = ids.subList(from, Math.min(ids.size(), from + RESYNC_BATCH_SIZE));
+      for (String collection : WatchedResources.COLLECTIONS) {
+        for (RawBsonDocument document :
+            mongoDatabase
+                .getCollection(collection, RawBsonDocument.class)
+                .withReadConcern(READ_CONCERN)
+                .find(in("_id", batch))
+                .projection(include(ChangeStreamProjection.FIELDS.get(collection)))) {
+          String resourceId = document.getString("_id").getValue();
+          found.add(resourceId);
+          resyncEvent(
+              new ResourceChangeEvent(
+                  ResourceChangeEvent.EventType.UPDATED,
+                  resourceId,
+                  new RawBsonResource(document),
+                  null));
+        }
       }
     }
+    for (String resourceId : ids) {
+      if (found.contains(resourceId)) continue;
+      resyncEvent(
+          new ResourceChangeEvent(ResourceChangeEvent.EventType.DELETED, resourceId, null, null));
+    }
+  }
+
+  private void resyncEvent(ResourceChangeEvent event) {
+    eventDispatcher.dispatch(
+        event.getResourceKey(),
+        () -> {
+          List<ResourceListener> listeners = listenerRegistry.get(event.getResourceKey());
+          if (listeners != null) listeners.forEach(listener -> listener.onEvent(event));
+        });
+  }
+
+  /** Delivers a change to its listeners, on the stripe of its resource. */
+  private void deliver(
+      ChangeStreamDocument<RawBsonDocument> change,
+      String resourceId,
+      List<ResourceListener> interestedListeners,
+      List<ResourceListener> typeListeners) {
+    ResourceChangeEvent event = buildChangeEventFrom(change, resourceId);
+    if (event == null) return;
+
+    if (interestedListeners != null) {
+      interestedListeners.forEach(listener -> listener.onEvent(event));
+    }
+    if (typeListeners != null) {
+      typeListeners.forEach(listener -> listener.onEvent(event));
+    }
   }
 
   private ResourceChangeEvent buildChangeEventFrom(
-      ChangeStreamDocument<Document> change, String resourceId) {
+      ChangeStreamDocument<RawBsonDocument> change, String resourceId) {
     var eventType =
         switch (Objects.requireNonNull(change.getOperationType())) {
           case DELETE -> ResourceChangeEvent.EventType.DELETED;
@@ -203,10 +494,10 @@ public class MongoCoordinationStore implements CoordinationStore {
 
     Resource oldNode =
         Optional.ofNullable(change.getFullDocumentBeforeChange())
-            .map(BsonResource::new)
+            .map(RawBsonResource::new)
             .orElse(null);
     Resource newNode =
-        Optional.ofNullable(change.getFullDocument()).map(BsonResource::new).orElse(null);
+        Optional.ofNullable(change.getFullDocument()).map(RawBsonResource::new).orElse(null);
 
     return new ResourceChangeEvent(eventType, resourceId, newNode, oldNode);
   }
@@ -221,33 +512,110 @@ public class MongoCoordinationStore implements CoordinationStore {
   public Subscription subscribe(
       Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
     listenerRegistry.computeIfAbsent(resourceId, k -> new CopyOnWriteArrayList<>()).add(listener);
+    if (listener.requiresOldNode()) watchedResources.oldNodesRequired();
+    watchedResources.subscribed(resourceId);
     return new MongoSubscription(
         resourceId,
-        () ->
-            listenerRegistry.computeIfPresent(
-                resourceId,
-                (k, v) -> {
-                  v.remove(listener);
-                  return v.isEmpty() ? null : v;
-                }));
+        () -> {
+          if (listener.requiresOldNode()) watchedResources.oldNodesReleased();
+          List<ResourceListener> remaining =
+              listenerRegistry.computeIfPresent(
+                  resourceId,
+                  (k, v) -> {
+                    v.remove(listener);
+                    return v.isEmpty() ? null : v;
+                  });
+          if (remaining == null) watchedResources.unsubscribed();
+        });
+  }
+
+  @Override
+  public Subscription subscribeAll(
+      Class<? extends Resourceful> resourceType, ResourceListener listener) {
+    String collection = AtomaCollectionNamespace.of(resourceType);
+    typeListenerRegistry
+        .computeIfAbsent(collection, k -> new CopyOnWriteArrayList<>())
+        .add(listener);
+    if (listener.requiresOldNode()) watchedResources.oldNodesRequired();
+    watchedResources.subscribedAll(collection);
+    return new MongoSubscription(
+        collection,
+        () -> {
+          if (listener.requiresOldNode()) watchedResources.oldNodesReleased();
+          typeListenerRegistry.computeIfPresent(
+              collection,
+              (k, v) -> {
+                v.remove(listener);
+                return v.isEmpty() ? null : v;
+              });
+        });
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <R> R execute(String resourceId, Command<R> command) {
+    return execute(resourceId, command, durability);
+  }
+
+  @Override
+  public <R> R execute(String resourceId, Command<R> command, Durability durability) {
+    if (durability == null) durability = this.durability;
+    // A batch is written with the durability of the store.
+    if (releaseBatcher != null
+        && durability == this.durability
+        && ReleaseBatcher.isBatched(command)) {
+      return releaseBatcher.execute(resourceId, command);
+    }
+    return executeAlone(resourceId, command, durability);
+  }
+
+  private <R> R executeAlone(String resourceId, Command<R> command) {
+    return executeAlone(resourceId, command, durability);
+  }
+
+  private <R> R executeAlone(String resourceId, Command<R> command, Durability durability) {
     CommandHandler<Command<R>, R> handler = commandHandlerRegistry.get(command.getClass());
     if (handler == null) {
       throw new AtomaStateException(
           "No command handler found for command: " + command.getClass().getName());
     }
-    // In a real implementation, the context would be more sophisticated.
-    MongoCommandHandlerContext context =
-        new MongoCommandHandlerContext(mongoClient, mongoDatabase, resourceId);
-    return handler.execute(command, context);
+    return handler.execute(command, newContext(resourceId, durability));
+  }
+
+  private MongoCommandHandlerContext newContext(String resourceId, Durability durability) {
+    return new MongoCommandHandlerContext(
+        mongoClient,
+        mongoDatabase,
+        resourceId,
+        circuitBreaker,
+        backoff,
+        commandMetrics,
+        durability);
+  }
+
+  /** Returns the retry and conflict counters of the commands of this store. */
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  /** Returns the stall, resume and resync counters of the change stream of this store. */
+  public ChangeStreamMetrics getChangeStreamMetrics() {
+    return changeStreamMetrics;
+  }
+
+  /** Returns the dispatcher of the change events, for its queue depth metrics. */
+  public EventDispatcher getEventDispatcher() {
+    return eventDispatcher;
+  }
+
+  /** Returns the batcher of the releases, for its metrics, or null if they are not batched. */
+  public ReleaseBatcher getReleaseBatcher() {
+    return releaseBatcher;
   }
 
   @Override
   public void close() {
     this.watcherThread.interrupt();
+    this.eventDispatcher.close();
   }
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class MongoSubscription implements Subscription {
   private final String resourceKey;
-  private final AtomicBoolean subscribed = new AtomicBoolean(false);
+  private final AtomicBoolean subscribed = new AtomicBoolean(true);
   private final Runnable unsubscribeAction;
 
   public MongoSubscription(String resourceKey, Runnable unsubscribeAction) {
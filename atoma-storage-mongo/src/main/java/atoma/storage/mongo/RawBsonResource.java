@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import atoma.api.coordination.Resource;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A {@link Resource} reading the fields of a document in its encoded form.
+ *
+ * <p>The document of a change event is kept as the bytes received from the server. A field is only
+ * parsed when a listener reads it, with {@link #get(String)} or {@link #getVersion()}; the whole
+ * document is only decoded by {@link #getData()}. The values read have the Java types of a decoded
+ * {@link Document}.
+ */
+public final class RawBsonResource implements Resource {
+
+  private static final Codec<Document> DOCUMENT_CODEC =
+      MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+  private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+  private final RawBsonDocument bson;
+
+  private Map<String, Object> data;
+
+  public RawBsonResource(RawBsonDocument bson) {
+    this.bson = bson;
+  }
+
+  @Override
+  public long getVersion() {
+    return this.bson.getNumber("version").longValue();
+  }
+
+  @Override
+  public String getId() {
+    return this.bson.getString("_id").getValue();
+  }
+
+  @Override
+  public Map<String, Object> getData() {
+    // Only read by the thread delivering the event, at worst decoded twice.
+    if (data == null) data = this.bson.decode(DOCUMENT_CODEC);
+    return data;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T get(String key) {
+    return (T) toJava(this.bson.get(key));
+  }
+
+  @Override
+  public <T> T get(String key, T defaultValue) {
+    T r;
+    if ((r = get(key)) != null) return r;
+    return defaultValue;
+  }
+
+  private static Object toJava(BsonValue value) {
+    if (value == null) return null;
+    return switch (value.getBsonType()) {
+      case NULL -> null;
+      case INT32 -> value.asInt32().getValue();
+      case INT64 -> value.asInt64().getValue();
+      case DOUBLE -> value.asDouble().getValue();
+      case BOOLEAN -> value.asBoolean().getValue();
+      case STRING -> value.asString().getValue();
+      case DATE_TIME -> new Date(value.asDateTime().getValue());
+      // Documents and arrays are decoded as the codec of the driver does.
+      default ->
+          DOCUMENT_CODEC
+              .decode(new BsonDocumentReader(new BsonDocument("v", value)), DECODER_CONTEXT)
+              .get("v");
+    };
+  }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.storage.mongo.command.CommandExecutor;
+import atoma.storage.mongo.command.MongoCommandHandler;
+import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.mutex.ReleaseCommandHandler;
+import atoma.storage.mongo.command.rwlock.RLReleaseCommandHandler;
+import atoma.storage.mongo.command.rwlock.WLReleaseCommandHandler;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+
+/**
+ * Coalesces the release commands issued concurrently on the resources of one collection into one
+ * {@code bulkWrite}, so that they share a single majority-acknowledged write.
+ *
+ * <p>A release finding no write of its collection in flight is written at once, so an idle store
+ * adds no latency. The releases issued while a write is in flight wait for it, at most for the
+ * batching window, and are then written together by the first of them; a batch reaching the
+ * maximum size is written at once by the release filling it.
+ *
+ * <p>A batch runs in a transaction, so that its bulk write is only committed if every release of
+ * the batch applied, e.g. a mutex held by its releasing holder; each caller then completes
+ * normally. Otherwise the transaction is aborted and the releases of the batch are executed one by
+ * one, so that each caller gets its own outcome, such as an {@link
+ * atoma.api.IllegalOwnershipException}. The lease renewals piggybacked on the releases are applied
+ * with one bulk write before the batch.
+ */
+@ThreadSafe
+public final class ReleaseBatcher {
+
+  /** The default longest wait of a release for the write in flight on its collection. */
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(1);
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+  private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+  /** Executes a command on its own, as if it were not batched. */
+  @FunctionalInterface
+  public interface CommandRunner {
+    <R> R execute(String resourceId, Command<R> command);
+  }
+
+  private final Duration window;
+  private final int maxBatchSize;
+  private final Function<String, MongoCommandHandlerContext> contexts;
+  private final CommandRunner runner;
+
+  private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder batchedReleases = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+
+  /**
+   * @param window the longest wait of a release for the write in flight on its collection.
+   * @param maxBatchSize the number of releases of a batch written without waiting.
+   * @param contexts the context of the commands of the store, by resource.
+   * @param runner the execution of a release on its own.
+   */
+  public ReleaseBatcher(
+      Duration window,
+      int maxBatchSize,
+      Function<String, MongoCommandHandlerContext> contexts,
+      CommandRunner runner) {
+    if (window.isNegative()) throw new IllegalArgumentException("window must not be negative");
+    if (maxBatchSize <= 0) throw new IllegalArgumentException("maxBatchSize must be positive");
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+    this.contexts = contexts;
+    this.runner = runner;
+  }
+
+  /** Returns whether the command is a release batched by this class. */
+  public static boolean isBatched(Command<?> command) {
+    return command instanceof LockCommand.Release
+        || command instanceof ReadWriteLockCommand.ReleaseRead
+        || command instanceof ReadWriteLockCommand.ReleaseWrite
+        || command instanceof SemaphoreCommand.Release;
+  }
+
+  /**
+   * Executes a release within a batch of the releases of its collection, and waits for its
+   * outcome.
+   *
+   * @throws IllegalArgumentException if the command is not {@linkplain #isBatched batched}.
+   */
+  public <R> R execute(String resourceId, Command<R> command) {
+    Release release = Release.of(resourceId, command);
+    Group group = groups.computeIfAbsent(release.collection(), k -> new Group());
+    List<Release> batch = group.join(release);
+    if (batch != null) {
+      try {
+        write(release.collection(), batch);
+      } finally {
+        group.written();
+      }
+    }
+    return release.await();
+  }
+
+  private void write(String collection, List<Release> batch) {
+    batches.increment();
+    if (batch.size() == 1) {
+      runAlone(batch.get(0));
+      return;
+    }
+    batchedReleases.add(batch.size());
+    MongoCommandHandlerContext context = contexts.apply(collection);
+
+    List<WriteModel<Document>> models = new ArrayList<>(batch.size());
+    List<LeaseCommand.TimeToLive> renewals = new ArrayList<>();
+    int deletes = 0;
+    for (Release release : batch) {
+      models.add(release.model());
+      if (release.model() instanceof DeleteOneModel) deletes++;
+      if (release.renewal() != null) renewals.add(release.renewal());
+    }
+    int expectedDeletes = deletes;
+    int expectedUpdates = batch.size() - deletes;
+
+    try {
+      MongoCommandHandler.renewLeases(context.getMongoDatabase(), renewals);
+      new CommandExecutor<Void>(context.getClient(), context.getCircuitBreaker())
+          .withBackoff(context.getBackoff())
+          .recordingTo(context.getCommandMetrics(), collection)
+          .withDurability(context.getDurability())
+          .withTxn()
+          .execute(
+              session -> {
+                BulkWriteResult result =
+                    MongoCommandHandler.getCollection(
+                            context.getMongoDatabase(), collection, context.getDurability())
+                        .bulkWrite(session, models, UNORDERED);
+                // Aborts the transaction: the releases are attributed one by one.
+                if (result.getDeletedCount() != expectedDeletes
+                    || result.getMatchedCount() != expectedUpdates) {
+                  throw new PartialBatchException();
+                }
+                return null;
+              })
+          .getOrThrow();
+    } catch (PartialBatchException e) {
+      fallbacks.increment();
+      batch.forEach(this::runAlone);
+      return;
+    } catch (Throwable e) {
+      AtomaStateException failure =
+          e instanceof AtomaStateException ase ? ase : new AtomaStateException(e);
+      batch.forEach(release -> release.result().completeExceptionally(failure));
+      return;
+    }
+    batch.forEach(release -> release.result().complete(null));
+  }
+
+  private void runAlone(Release release) {
+    try {
+      release.result().complete(runner.execute(release.resourceId(), release.command()));
+    } catch (RuntimeException e) {
+      release.result().completeExceptionally(e);
+    }
+  }
+
+  /** Returns the number of writes, of a batch or of a release alone. */
+  public long batches() {
+    return batches.sum();
+  }
+
+  /** Returns the number of releases written in a batch of two releases or more. */
+  public long batchedReleases() {
+    return batchedReleases.sum();
+  }
+
+  /** Returns the number of batches aborted and executed one release at a time. */
+  public long fallbacks() {
+    return fallbacks.sum();
+  }
+
+  /** The releases of a collection waiting to be written. */
+  private final class Group {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+
+    // Guarded by lock.
+    private List<Release> open = new ArrayList<>();
+    private int inFlight;
+
+    /**
+     * Adds a release to the open batch, and returns the batch if the caller must write it: when
+     * it fills the batch, or when it opened the batch and no other write is in flight, at the
+     * latest after the window.
+     */
+    List<Release> join(Release release) {
+      boolean interrupted = false;
+      lock.lock();
+      try {
+        List<Release> batch = open;
+        batch.add(release);
+        if (batch.size() < maxBatchSize) {
+          if (batch.size() > 1) return null;
+          long nanos = window.toNanos();
+          while (batch == open && inFlight > 0 && nanos > 0) {
+            try {
+              nanos = written.awaitNanos(nanos);
+            } catch (InterruptedException e) {
+              // Written at once, the interrupt is kept for the caller.
+              interrupted = true;
+              break;
+            }
+          }
+          // Taken over by the release that filled it.
+          if (batch != open) return null;
+        }
+        open = new ArrayList<>();
+        inFlight++;
+        return batch;
+      } finally {
+        lock.unlock();
+        if (interrupted) Thread.currentThread().interrupt();
+      }
+    }
+
+    void written() {
+      lock.lock();
+      try {
+        inFlight--;
+        written.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** A release waiting in a batch, with its write and its outcome. */
+  private record Release(
+      String resourceId,
+      Command<?> command,
+      String collection,
+      WriteModel<Document> model,
+      LeaseCommand.TimeToLive renewal,
+      CompletableFuture<Object> result) {
+
+    static Release of(String resourceId, Command<?> command) {
+      Objects.requireNonNull(resourceId, "resourceId");
+      CompletableFuture<Object> result = new CompletableFuture<>();
+      if (command instanceof LockCommand.Release release) {
+        return new Release(
+            resourceId,
+            command,
+            MUTEX_LOCK,
+            new DeleteOneModel<>(ReleaseCommandHandler.buildFilter(resourceId, release)),
+            release.leaseRenewal(),
+            result);
+      }
+      if (command instanceof ReadWriteLockCommand.ReleaseRead release) {
+        return new Release(
+            resourceId,
+            command,
+            RW_LOCK,
+            new UpdateOneModel<>(
+                RLReleaseCommandHandler.buildFilter(resourceId, release),
+                RLReleaseCommandHandler.buildUpdate(release)),
+            null,
+            result);
+      }
+      if (command instanceof ReadWriteLockCommand.ReleaseWrite release) {
+        return new Release(
+            resourceId,
+            command,
+            RW_LOCK,
+            new DeleteOneModel<>(WLReleaseCommandHandler.buildFilter(resourceId, release)),
+            null,
+            result);
+      }
+      if (command instanceof SemaphoreCommand.Release release) {
+        return new Release(
+            resourceId,
+            command,
+            SEMAPHORE,
+            new UpdateOneModel<>(
+                atoma.storage.mongo.command.semaphore.ReleaseCommandHandler.buildFilter(
+                    resourceId, release),
+                atoma.storage.mongo.command.semaphore.ReleaseCommandHandler.buildUpdate(release)),
+            release.leaseRenewal(),
+            result);
+      }
+      throw new IllegalArgumentException("Not a batched release: " + command.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R await() {
+      try {
+        return (R) result.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) throw cause;
+        throw new AtomaStateException(e.getCause());
+      }
+    }
+  }
+
+  /** Thrown within the transaction of a batch in which a release did not apply. */
+  private static final class PartialBatchException extends RuntimeException {
+    PartialBatchException() {
+      super(null, null, false, false);
+    }
+  }
+}
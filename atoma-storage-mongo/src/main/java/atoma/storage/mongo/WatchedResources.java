@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo;
+
+import atoma.api.coordination.ResourceListener;
+import com.google.errorprone.annotations.ThreadSafe;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.COUNTDOWN_LATCH;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.or;
+
+/**
+ * The resources a store listens to, reflected in the {@code $match} stage of its change stream so
+ * that the server only sends the changes of those resources.
+ *
+ * <p>The stage matches the changes of the subscribed ids, and every change of the collections
+ * subscribed as a whole. The store reopens its change stream with a new stage, resuming after the
+ * last event, when {@link #isStale()} returns {@code true}:
+ *
+ * <ul>
+ *   <li>as soon as a resource is subscribed outside of the current stage, as its changes would be
+ *       missed otherwise, the store batching the subscriptions of a burst into one reopening. The
+ *       changes read up to the reopening were filtered with the former stage, so the store reads
+ *       the {@linkplain #addedIds() added ids} once the new stream is open;
+ *   <li>only once enough resources have been unsubscribed, as their changes are merely dropped by
+ *       the store in the meantime.
+ * </ul>
+ *
+ * <p>Beyond {@link #MAX_FILTERED_IDS} subscribed ids, the stage matches the whole collections to
+ * keep the command small.
+ *
+ * <p>The pipeline ends with the {@link ChangeStreamProjection}. The documents before the changes
+ * are only requested while a listener {@linkplain ResourceListener#requiresOldNode() requires
+ * them}, see {@link #watchesOldNodes()}.
+ */
+@ThreadSafe
+public final class WatchedResources {
+
+  public static final List<String> COLLECTIONS =
+      List.of(LEASE, BARRIER, COUNTDOWN_LATCH, SEMAPHORE, MUTEX_LOCK, RW_LOCK);
+
+  public static final int MAX_FILTERED_IDS = 10_000;
+
+  /** Unsubscribed ids tolerated in the stage, beyond half of the ids of the stage. */
+  private static final int MIN_STALE_IDS = 64;
+
+  private final Supplier<Set<String>> subscribedIds;
+  private final Supplier<Set<String>> subscribedCollections;
+
+  private volatile Set<String> watchedIds = Set.of();
+  private volatile Set<String> addedIds = Set.of();
+  private volatile Set<String> watchedCollections = Set.of();
+  private volatile boolean wholeCollections;
+  private volatile boolean watchedOldNodes;
+  private volatile boolean stale = true;
+  private final AtomicInteger unsubscribedIds = new AtomicInteger();
+  private final AtomicInteger oldNodeListeners = new AtomicInteger();
+
+  /**
+   * @param subscribedIds the ids having listeners.
+   * @param subscribedCollections the collections having listeners of all their resources.
+   */
+  public WatchedResources(
+      Supplier<Set<String>> subscribedIds, Supplier<Set<String>> subscribedCollections) {
+    this.subscribedIds = subscribedIds;
+    this.subscribedCollections = subscribedCollections;
+  }
+
+  /** Records the subscription of a resource, returning whether the stage is now stale. */
+  public boolean subscribed(String resourceId) {
+    if (!wholeCollections && !watchedIds.contains(resourceId)) stale = true;
+    return stale;
+  }
+
+  /** Records the subscription of a whole collection, returning whether the stage is now stale. */
+  public boolean subscribedAll(String collection) {
+    if (!watchedCollections.contains(collection)) stale = true;
+    return stale;
+  }
+
+  /** Records that a resource has no listener anymore. */
+  public void unsubscribed() {
+    if (unsubscribedIds.incrementAndGet() > Math.max(MIN_STALE_IDS, watchedIds.size() / 2)) {
+      stale = true;
+    }
+  }
+
+  /**
+   * Records the subscription of a listener requiring the old nodes, returning whether the stage is
+   * now stale.
+   */
+  public boolean oldNodesRequired() {
+    if (oldNodeListeners.incrementAndGet() == 1) stale = true;
+    return stale;
+  }
+
+  /** Records that a listener requiring the old nodes has been unsubscribed. */
+  public void oldNodesReleased() {
+    oldNodeListeners.decrementAndGet();
+  }
+
+  /** Returns whether the last built pipeline keeps the documents before the changes. */
+  public boolean watchesOldNodes() {
+    return watchedOldNodes;
+  }
+
+  /**
+   * Returns the ids matched by the last built pipeline and not by the one before it. Their changes
+   * may have been filtered out of the events read up to the reopening, so the store reads their
+   * state once the new stream is open.
+   */
+  public Set<String> addedIds() {
+    return addedIds;
+  }
+
+  /** Returns whether the change stream must be reopened with a new stage. */
+  public boolean isStale() {
+    return stale;
+  }
+
+  /**
+   * Builds the pipeline of the change stream from the current subscriptions. A subscription made
+   * while building it marks it as stale again.
+   */
+  public List<Bson> pipeline() {
+    stale = false;
+    unsubscribedIds.set(0);
+    Set<String> ids = Set.copyOf(subscribedIds.get());
+    Set<String> collections = Set.copyOf(subscribedCollections.get());
+    Set<String> previousIds = wholeCollections ? null : watchedIds;
+    watchedCollections = collections;
+    wholeCollections = ids.size() > MAX_FILTERED_IDS;
+    watchedIds = wholeCollections ? Set.of() : ids;
+    addedIds =
+        previousIds == null
+            ? Set.of()
+            : ids.stream()
+                .filter(id -> !previousIds.contains(id))
+                .collect(Collectors.toUnmodifiableSet());
+    boolean oldNodes = oldNodeListeners.get() > 0;
+    watchedOldNodes = oldNodes;
+
+    Bson projection = ChangeStreamProjection.stage(COLLECTIONS, oldNodes);
+    if (wholeCollections) return List.of(match(in("ns.coll", COLLECTIONS)), projection);
+    List<Bson> filters = new ArrayList<>(2);
+    if (!collections.isEmpty()) filters.add(in("ns.coll", collections));
+    filters.add(and(in("ns.coll", COLLECTIONS), in("documentKey._id", ids)));
+    return List.of(match(filters.size() == 1 ? filters.get(0) : or(filters)), projection);
+  }
+}
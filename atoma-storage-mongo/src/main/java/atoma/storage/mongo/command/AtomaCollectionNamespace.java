@@ -16,6 +16,14 @@
 
 package atoma.storage.mongo.command;
 
+import atoma.api.Lease;
+import atoma.api.Resourceful;
+import atoma.api.lock.Lock;
+import atoma.api.lock.ReadWriteLock;
+import atoma.api.synchronizer.CountDownLatch;
+import atoma.api.synchronizer.CyclicBarrier;
+import atoma.api.synchronizer.Semaphore;
+
 public interface AtomaCollectionNamespace {
 
   String COUNTDOWN_LATCH = "atoma_countdown_latches";
@@ -24,4 +32,21 @@ public interface AtomaCollectionNamespace {
   String SEMAPHORE = "atoma_semaphores";
   String BARRIER = "atoma_cyclic_barriers";
   String LEASE = "atoma_leases";
-}
\ No newline at end of file
+  /** The term of the cleaner of dead resources, kept apart from the leases it cleans after. */
+  String CLEANER = "atoma_cleaner";
+
+  /**
+   * Returns the collection storing the resources of the given type.
+   *
+   * @throws IllegalArgumentException if the type is not stored by Atoma.
+   */
+  static String of(Class<? extends Resourceful> resourceType) {
+    if (Lease.class.isAssignableFrom(resourceType)) return LEASE;
+    if (Lock.class.isAssignableFrom(resourceType)) return MUTEX_LOCK;
+    if (ReadWriteLock.class.isAssignableFrom(resourceType)) return RW_LOCK;
+    if (Semaphore.class.isAssignableFrom(resourceType)) return SEMAPHORE;
+    if (CyclicBarrier.class.isAssignableFrom(resourceType)) return BARRIER;
+    if (CountDownLatch.class.isAssignableFrom(resourceType)) return COUNTDOWN_LATCH;
+    throw new IllegalArgumentException("Unsupported resource type: " + resourceType.getName());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The delay between the retries of a command losing a race on a contended document, such as a
+ * write conflict on a hot lock or a duplicate key on a concurrent upsert.
+ *
+ * <p>The delays follow an exponential backoff with decorrelated jitter: each delay is drawn
+ * uniformly between the base delay and three times the previous delay, and capped. Retrying
+ * clients spread out instead of hitting the primary in lockstep, while a lone conflict is retried
+ * after a short delay. The executor further caps each delay by the remaining timeout of the
+ * command.
+ */
+public final class Backoff {
+
+  /** Retries immediately. */
+  public static final Backoff NONE = new Backoff(0L, 0L);
+
+  /** The backoff of the stores unless configured otherwise. */
+  public static final Backoff DEFAULT =
+      decorrelatedJitter(Duration.ofMillis(5), Duration.ofMillis(500));
+
+  private final long baseNanos;
+  private final long capNanos;
+
+  private Backoff(long baseNanos, long capNanos) {
+    this.baseNanos = baseNanos;
+    this.capNanos = capNanos;
+  }
+
+  /**
+   * Creates an exponential backoff with decorrelated jitter.
+   *
+   * @param base the delay before the first retry, and the lower bound of every delay.
+   * @param cap the upper bound of every delay.
+   */
+  public static Backoff decorrelatedJitter(Duration base, Duration cap) {
+    if (base.isNegative() || base.isZero()) {
+      throw new IllegalArgumentException("The base delay must be positive: " + base);
+    }
+    if (cap.compareTo(base) < 0) {
+      throw new IllegalArgumentException(
+          "The cap " + cap + " must not be less than the base delay " + base);
+    }
+    return new Backoff(base.toNanos(), cap.toNanos());
+  }
+
+  public boolean isNone() {
+    return capNanos == 0L;
+  }
+
+  /**
+   * Returns the delay before the next retry.
+   *
+   * @param previous the delay before the previous retry, or {@code null} before the first retry.
+   */
+  public Duration next(Duration previous) {
+    if (isNone()) return Duration.ZERO;
+    if (previous == null) return Duration.ofNanos(baseNanos);
+    long upper = Math.min(capNanos, Math.max(baseNanos, previous.toNanos()) * 3L);
+    if (upper <= baseNanos) return Duration.ofNanos(baseNanos);
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(baseNanos, upper + 1L));
+  }
+
+  @Override
+  public String toString() {
+    return isNone()
+        ? "Backoff{none}"
+        : "Backoff{base="
+            + Duration.ofNanos(baseNanos)
+            + ", cap="
+            + Duration.ofNanos(capNanos)
+            + "}";
+  }
+}
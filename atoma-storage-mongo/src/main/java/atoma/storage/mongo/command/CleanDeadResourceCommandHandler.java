@@ -24,11 +24,11 @@ import atoma.api.coordination.command.HandlesCommand;
 import com.google.auto.service.AutoService;
 import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
@@ -75,8 +75,9 @@ import static java.util.Collections.singletonList;
  * Handles the server-side logic for cleaning up dead resources.
  *
  * <p>A dead resource is a Lock, ReadWriteLock, or Semaphore that references a {@link
- * atoma.api.Lease} that no longer exists. This handler uses aggregation pipelines to efficiently
- * find and remove these stale resources and references from the database.
+ * atoma.api.Lease} that no longer exists. When the command names a lease, only the resources of
+ * that lease are cleaned through indexed queries. Otherwise this handler runs a full sweep, using
+ * aggregation pipelines to find and remove all stale resources and references from the database.
  *
  * @see atoma.api.Leasable
  * @see atoma.api.lock.Lock
@@ -93,10 +94,13 @@ public class CleanDeadResourceCommandHandler
 
   @Override
   public Void execute(CleanDeadResourceCommand.Clean command, MongoCommandHandlerContext context) {
-    final MongoClient client = context.getClient();
 
     final Function<ClientSession, Void> cmdBlock =
         session -> {
+          if (command.leaseId() != null) {
+            cleanLease(context, command.leaseId());
+            return null;
+          }
           cleanMutexLocks(context, command);
           cleanReadWriteLocks(context, command);
           cleanSemaphores(context, command);
@@ -105,7 +109,7 @@ public class CleanDeadResourceCommandHandler
           return null;
         };
 
-    final CommandExecutor<Void> executor = newCommandExecutor(client).withoutTxn();
+    final CommandExecutor<Void> executor = newCommandExecutor(context).withoutTxn();
     final Result<Void> result = executor.execute(cmdBlock);
 
     try {
@@ -116,6 +120,94 @@ public class CleanDeadResourceCommandHandler
     return null;
   }
 
+  /**
+   * Cleans the resources referencing one dead lease.
+   *
+   * <p>Every step is an indexed query on the field referencing the lease, so the cost scales with
+   * the resources of that lease rather than with the size of the collections. Count-down-latches
+   * are not bound to a lease and are left to the full sweep.
+   *
+   * @param context the command handler context
+   * @param leaseId the id of the dead lease
+   */
+  private void cleanLease(MongoCommandHandlerContext context, String leaseId) {
+    DeleteResult mutexResult = getCollection(context, MUTEX_LOCK).deleteMany(eq("lease", leaseId));
+    if (mutexResult.getDeletedCount() > 0) {
+      log.info(
+          "Deleted {} mutex locks of dead lease {}", mutexResult.getDeletedCount(), leaseId);
+    }
+
+    final MongoCollection<Document> rwLocks = getCollection(context, RW_LOCK);
+    final List<Object> rwLockIds =
+        rwLocks
+            .find(or(eq("read_locks.lease", leaseId), eq("write_lock.lease", leaseId)))
+            .projection(include("_id"))
+            .map(doc -> doc.get("_id"))
+            .into(new ArrayList<>());
+    if (!rwLockIds.isEmpty()) {
+      rwLocks.updateMany(
+          eq("read_locks.lease", leaseId),
+          combine(pull("read_locks", eq("lease", leaseId)), inc("version", 1L)));
+      rwLocks.updateMany(
+          eq("write_lock.lease", leaseId), combine(unset("write_lock"), inc("version", 1L)));
+      DeleteResult deleteResult =
+          rwLocks.deleteMany(
+              and(
+                  in("_id", rwLockIds),
+                  or(eq("write_lock", null), exists("write_lock", false)),
+                  or(
+                      eq("read_locks", null),
+                      exists("read_locks", false),
+                      eq("read_locks", new ArrayList<>()))));
+      log.info(
+          "Cleaned dead lease {} from {} read-write locks, deleted {} empty ones",
+          leaseId,
+          rwLockIds.size(),
+          deleteResult.getDeletedCount());
+    }
+
+    final MongoCollection<Document> semaphores = getCollection(context, SEMAPHORE);
+    final String leaseField = "leases." + leaseId;
+    final List<UpdateOneModel<Document>> semaphoreUpdates =
+        semaphores
+            .find(exists(leaseField))
+            .projection(include(leaseField))
+            .into(new ArrayList<>())
+            .stream()
+            .map(
+                sem -> {
+                  final Number permits = (Number) sem.get("leases", Document.class).get(leaseId);
+                  // Guarded by the held permits: the update is skipped if they changed meanwhile.
+                  return new UpdateOneModel<Document>(
+                      and(eq("_id", sem.get("_id")), eq(leaseField, permits)),
+                      combine(
+                          inc("available_permits", permits.intValue()),
+                          inc("version", 1L),
+                          unset(leaseField)));
+                })
+            .toList();
+    if (!semaphoreUpdates.isEmpty()) {
+      BulkWriteResult bulkWriteResult = semaphores.bulkWrite(semaphoreUpdates);
+      log.info(
+          "Cleaned dead lease {} from semaphores, modified count: {}",
+          leaseId,
+          bulkWriteResult.getModifiedCount());
+    }
+
+    final UpdateResult barrierResult =
+        getCollection(context, BARRIER)
+            .updateMany(
+                eq("participants.lease", leaseId),
+                combine(
+                    pull("participants", eq("lease", leaseId)),
+                    set("is_broken", true),
+                    inc("version", 1L)));
+    if (barrierResult.getModifiedCount() > 0) {
+      log.info(
+          "Cleaned dead lease {} from {} barriers", leaseId, barrierResult.getModifiedCount());
+    }
+  }
+
   /**
    * Finds and deletes all mutex locks that reference a non-existent lease.
    *
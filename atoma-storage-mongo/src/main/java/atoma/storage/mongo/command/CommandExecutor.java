@@ -19,16 +19,19 @@ package atoma.storage.mongo.command;
 import atoma.api.AtomaStateException;
 import atoma.api.OperationTimeoutException;
 import atoma.api.Result;
+import atoma.api.coordination.Durability;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.mongodb.ClientSessionOptions;
 import com.mongodb.MongoConfigurationException;
 import com.mongodb.MongoConnectionPoolClearedException;
 import com.mongodb.MongoCursorNotFoundException;
 import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
 import com.mongodb.MongoIncompatibleDriverException;
 import com.mongodb.MongoInternalException;
 import com.mongodb.MongoSecurityException;
 import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
 import com.mongodb.ReadConcern;
 import com.mongodb.ReadConcernLevel;
 import com.mongodb.TransactionOptions;
@@ -49,11 +52,35 @@ import dev.failsafe.function.CheckedSupplier;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
+ * Runs a command block under the Failsafe policies of the command.
+ *
+ * <p>An executor is created for each execution of a command, but most of its policies are not: the
+ * retry policies of transient errors are immutable and shared by every executor, and the {@link
+ * CircuitBreaker} is shared by every command of a store (see {@link #newCircuitBreaker()}). The
+ * breaker is the innermost policy, so it records each attempt and, once open, fails every attempt
+ * fast instead of letting callers wait on socket or server selection timeouts during an outage.
+ *
+ * <p>The indefinite retries of a command losing a race on a contended document ({@link
+ * #retryOnCode}, {@link #retryOnException(Class)}), and of the transient conflicts of the storage
+ * engine retried for every command ({@link #CONFLICT_CONDITIONS}), are spaced by the {@link
+ * Backoff} of the store, capped by the remaining timeout of the command, and counted in its {@link
+ * CommandMetrics}.
+ *
+ * <p>The timeout of a command is also enforced by the server: the command block bounds each of its
+ * operations by the {@code maxTimeMS} of the {@link Deadline} of the command, so an operation
+ * outliving its caller is aborted instead of holding a pooled connection. An operation aborted
+ * that way is not retried and fails the command with an {@link OperationTimeoutException}.
+ *
  * @see FailsafeException
  * @see TimeoutExceededException
  * @param <R>
@@ -69,6 +96,40 @@ public class CommandExecutor<R> {
   public static final TransactionOptions TRANSACTION_OPTIONS =
       TransactionOptions.builder().writeConcern(WRITE_CONCERN).readConcern(READ_CONCERN).build();
 
+  private static final Map<Durability, TransactionOptions> DURABLE_TRANSACTION_OPTIONS =
+      new EnumMap<>(Durability.class);
+
+  static {
+    for (Durability durability : Durability.values()) {
+      DURABLE_TRANSACTION_OPTIONS.put(
+          durability,
+          TransactionOptions.builder()
+              .writeConcern(writeConcern(durability))
+              .readConcern(readConcern(durability))
+              .build());
+    }
+  }
+
+  /** Returns the write concern acknowledging the commands of the given durability. */
+  public static WriteConcern writeConcern(Durability durability) {
+    return switch (durability) {
+      case STRICT -> WRITE_CONCERN;
+      case FAST -> WriteConcern.W1.withJournal(true);
+      case RELAXED -> WriteConcern.W1.withJournal(false);
+    };
+  }
+
+  /** Returns the read concern of the commands of the given durability. */
+  public static ReadConcern readConcern(Durability durability) {
+    return durability == Durability.STRICT ? READ_CONCERN : ReadConcern.LOCAL;
+  }
+
+  /** Consecutive failures of the server opening the circuit breaker. */
+  public static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+
+  /** How long the circuit breaker stays open before letting a trial command through. */
+  public static final Duration CIRCUIT_BREAKER_DELAY = Duration.ofSeconds(5);
+
   private static final ClientSessionOptions CLIENT_SESSION_OPTIONS =
       ClientSessionOptions.builder()
           // causally consistent client sessions can only guarantee causal consistency for:
@@ -83,60 +144,171 @@ public class CommandExecutor<R> {
           .defaultTransactionOptions(TRANSACTION_OPTIONS)
           .build();
 
+  public static final RetryPolicy<Object> TRANSACTION_RETRY_POLICY =
+      RetryPolicy.builder()
+          .handleIf(
+              (CheckedPredicate<MongoException>)
+                  dbError ->
+                      dbError.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+                          || dbError.hasErrorLabel(
+                              MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL))
+          .build();
+
+  private static final Map<MongoErrorCode, CheckedPredicate<Throwable>> CODE_CONDITIONS =
+      new ConcurrentHashMap<>();
+
+  /** The transient conflicts of the storage engine, retried by every command. */
+  public static final List<CheckedPredicate<Throwable>> CONFLICT_CONDITIONS =
+      List.of(
+          conditionOnCode(MongoErrorCode.LOCK_TIMEOUT),
+          conditionOnCode(MongoErrorCode.LOCK_BUSY),
+          conditionOnCode(MongoErrorCode.WRITE_CONFLICT));
+
+  private static final Map<Class<? extends Throwable>, CheckedPredicate<Throwable>>
+      EXCEPTION_CONDITIONS = new ConcurrentHashMap<>();
+
   private final MongoClient client;
-  private final List<Policy<Object>> policies = new ArrayList<>(4);
-  private final List<RetryPolicyBuilder<Object>> retryPolicyBuilderList = new ArrayList<>(4);
+  private final CircuitBreaker<Object> circuitBreaker;
+  private final List<Policy<Object>> retryPolicies = new ArrayList<>(2);
+  private final List<CheckedPredicate<Throwable>> contentionConditions = new ArrayList<>(2);
+
+  private Duration timeoutDuration;
+  private Timeout<Object> timeout;
+
+  private Backoff backoff = Backoff.NONE;
+  private CommandMetrics metrics;
+  private String resourceId;
 
   private boolean txn = false;
 
+  private TransactionOptions transactionOptions = TRANSACTION_OPTIONS;
+
   private boolean causallyConsistent = false;
 
-  public CommandExecutor(MongoClient client) {
-    this.client = client;
-    this.policies.add(
-        RetryPolicy.builder()
-            .handleIf(
-                (CheckedPredicate<MongoException>)
-                    dbError -> {
-                      boolean b =
-                          dbError.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
-                              || dbError.hasErrorLabel(
-                                  MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
-
-                      return b;
-                    })
-            .build());
-    this.policies.add(
-        RetryPolicy.builder()
-            .handleIf(
-                (CheckedPredicate<MongoException>)
-                    dbError -> {
-                      {
-                        int code = dbError.getCode();
-                        return code == MongoErrorCode.LOCK_TIMEOUT.getCode()
-                            || code == MongoErrorCode.LOCK_BUSY.getCode()
-                            || code == MongoErrorCode.WRITE_CONFLICT.getCode();
-                      }
-                    })
-            .build());
+  /**
+   * Creates the circuit breaker shared by the commands of a store. It opens on failures reaching
+   * or coming from the server, never on the outcome of a command such as a duplicate key.
+   */
+  public static CircuitBreaker<Object> newCircuitBreaker() {
+    return CircuitBreaker.builder()
+        .handle(
+            List.of(
+                MongoConfigurationException.class,
+                MongoSecurityException.class,
+                MongoSocketException.class,
+                MongoTimeoutException.class,
+                MongoConnectionPoolClearedException.class,
+                MongoCursorNotFoundException.class,
+                MongoInternalException.class,
+                MongoIncompatibleDriverException.class))
+        .withFailureThreshold(CIRCUIT_BREAKER_FAILURE_THRESHOLD)
+        .withDelay(CIRCUIT_BREAKER_DELAY)
+        .build();
+  }
 
-    this.policies.add(
-        CircuitBreaker.builder()
-            .handle(
-                List.of(
-                    MongoConfigurationException.class,
-                    MongoSecurityException.class,
-                    MongoSocketException.class,
-                    MongoConnectionPoolClearedException.class,
-                    MongoCursorNotFoundException.class,
-                    MongoInternalException.class,
-                    MongoIncompatibleDriverException.class))
-            .build());
+  /** Returns the condition matching the given error code. */
+  public static CheckedPredicate<Throwable> conditionOnCode(MongoErrorCode code) {
+    return CODE_CONDITIONS.computeIfAbsent(
+        code,
+        c ->
+            throwable ->
+                throwable instanceof MongoException dbError && dbError.getCode() == c.getCode());
+  }
+
+  /** Returns the condition matching exactly the given exception type. */
+  public static CheckedPredicate<Throwable> conditionOnException(
+      Class<? extends Throwable> interestedException) {
+    return EXCEPTION_CONDITIONS.computeIfAbsent(
+        interestedException, type -> throwable -> throwable.getClass().equals(type));
+  }
+
+  /**
+   * Creates the policy retrying indefinitely a command losing a race on a contended document. The
+   * policy is specific to one execution, as the decorrelated jitter of the backoff depends on the
+   * previous delay.
+   *
+   * @param conditions the failures to retry, besides the {@link #CONFLICT_CONDITIONS}.
+   * @param backoff the delays between the retries.
+   * @param timeout the timeout of the command capping the delays, or {@code null}.
+   * @param metrics the metrics recording the retries, or {@code null}.
+   * @param resourceId the resource of the command.
+   */
+  public static RetryPolicy<Object> newContentionRetryPolicy(
+      List<CheckedPredicate<Throwable>> conditions,
+      Backoff backoff,
+      Duration timeout,
+      CommandMetrics metrics,
+      String resourceId) {
+    RetryPolicyBuilder<Object> builder = RetryPolicy.builder().withMaxRetries(-1);
+    CONFLICT_CONDITIONS.forEach(builder::handleIf);
+    conditions.forEach(builder::handleIf);
+    // The server aborted an attempt at the deadline of the command, which no retry can meet.
+    builder.abortOn(conditionOnCode(MongoErrorCode.MAX_TIME_MS_EXPIRED));
+    if (!backoff.isNone()) {
+      AtomicReference<Duration> previousDelay = new AtomicReference<>();
+      builder.withDelayFn(
+          context -> {
+            Duration delay = backoff.next(previousDelay.get());
+            previousDelay.set(delay);
+            if (timeout == null) return delay;
+            Duration remaining = timeout.minus(context.getElapsedTime());
+            if (remaining.isNegative()) return Duration.ZERO;
+            return delay.compareTo(remaining) > 0 ? remaining : delay;
+          });
+    }
+    if (metrics != null) {
+      builder.onRetry(event -> metrics.recordRetry(resourceId, event.getLastException()));
+    }
+    return builder.build();
+  }
+
+  /** Translates the failure of a command rejected by an open circuit breaker. */
+  public static AtomaStateException circuitBreakerOpen(CircuitBreakerOpenException e) {
+    AtomaStateException translated =
+        new AtomaStateException("MongoDB is unavailable, commands fail fast until it recovers");
+    translated.initCause(e);
+    return translated;
+  }
+
+  public CommandExecutor(MongoClient client, CircuitBreaker<Object> circuitBreaker) {
+    this.client = client;
+    this.circuitBreaker = circuitBreaker;
   }
 
   public CommandExecutor<R> withTimeout(Duration timeout) {
     if (timeout.isNegative()) return this;
-    this.policies.add(Timeout.of(timeout));
+    return withDeadline(Deadline.after(timeout.toNanos(), TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Times the command out at the given deadline, which the command block passes to the server as
+   * the {@code maxTimeMS} of its operations.
+   */
+  public CommandExecutor<R> withDeadline(Deadline deadline) {
+    if (!deadline.isBounded()) return this;
+    // Failsafe rejects a zero timeout, a deadline already passed times out at once.
+    Duration remaining = deadline.remaining();
+    this.timeoutDuration = remaining.isZero() ? Duration.ofNanos(1L) : remaining;
+    this.timeout = Timeout.of(timeoutDuration);
+    return this;
+  }
+
+  /** Spaces the retries of the contended command by the given backoff. */
+  public CommandExecutor<R> withBackoff(Backoff backoff) {
+    this.backoff = backoff;
+    return this;
+  }
+
+  /** Records the retries of the command on the given resource in the given metrics. */
+  public CommandExecutor<R> recordingTo(CommandMetrics metrics, String resourceId) {
+    this.metrics = metrics;
+    this.resourceId = resourceId;
+    return this;
+  }
+
+  /** Commits the transaction of the command with the concerns of the given durability. */
+  public CommandExecutor<R> withDurability(Durability durability) {
+    this.transactionOptions = DURABLE_TRANSACTION_OPTIONS.get(durability);
     return this;
   }
 
@@ -161,61 +333,53 @@ public class CommandExecutor<R> {
   }
 
   public CommandExecutor<R> retryOnCode(MongoErrorCode code) {
-    this.retryPolicyBuilderList.add(
-        RetryPolicy.builder()
-            .withMaxRetries(-1)
-            .handleIf(
-                throwable -> {
-                  boolean b =
-                      throwable instanceof MongoException dbError
-                          && dbError.getCode() == code.getCode();
-
-                  return b;
-                }));
+    this.contentionConditions.add(conditionOnCode(code));
     return this;
   }
 
   @Deprecated
   public CommandExecutor<R> retryOnResult(Predicate<R> resultPredicate) {
-    this.retryPolicyBuilderList.add(
+    this.retryPolicies.add(
         RetryPolicy.builder()
             .handleResultIf(
                 o -> {
                   R result = (R) o;
                   return resultPredicate.test(result);
                 })
-            .abortOn(Exception.class));
+            .abortOn(Exception.class)
+            .build());
     return this;
   }
 
   public CommandExecutor<R> retryOnException(Predicate<Throwable> exceptionPredicate) {
-    this.retryPolicyBuilderList.add(RetryPolicy.builder().handleIf(exceptionPredicate::test));
+    this.retryPolicies.add(RetryPolicy.builder().handleIf(exceptionPredicate::test).build());
     return this;
   }
 
   public final CommandExecutor<R> retryOnException(Class<? extends Throwable> interestedException) {
-    this.retryPolicyBuilderList.add(
-        RetryPolicy.builder()
-            .withMaxRetries(-1)
-            .handleIf(e -> e.getClass().equals(interestedException)));
+    this.contentionConditions.add(conditionOnException(interestedException));
     return this;
   }
 
   @CheckReturnValue
   public Result<R> execute(Function<ClientSession, R> command) {
-
-    for (RetryPolicyBuilder<Object> policyBuilder : this.retryPolicyBuilderList) {
-      RetryPolicy<Object> policy =
-          policyBuilder.onFailedAttempt(event -> {}).onFailure(event -> {}).build();
-      this.policies.add(policy);
-    }
+    // Outermost first: retries of transient errors, the timeout bounding the retries of the
+    // command, then the circuit breaker recording every single attempt.
+    List<Policy<Object>> policies = new ArrayList<>(6 + retryPolicies.size());
+    policies.add(TRANSACTION_RETRY_POLICY);
+    if (timeout != null) policies.add(timeout);
+    policies.add(
+        newContentionRetryPolicy(
+            contentionConditions, backoff, timeoutDuration, metrics, resourceId));
+    policies.addAll(retryPolicies);
+    if (circuitBreaker != null) policies.add(circuitBreaker);
 
     CheckedSupplier<R> block =
         () -> {
           if (txn || causallyConsistent) {
             try (ClientSession session = client.startSession(CLIENT_SESSION_OPTIONS)) {
               return txn
-                  ? session.withTransaction(() -> command.apply(session), TRANSACTION_OPTIONS)
+                  ? session.withTransaction(() -> command.apply(session), transactionOptions)
                   : command.apply(session);
             }
           }
@@ -227,9 +391,11 @@ public class CommandExecutor<R> {
       if (e instanceof TimeoutExceededException timeout) {
         return new Result.Failure<>(new OperationTimeoutException(timeout));
       } else if (e instanceof CircuitBreakerOpenException circuitBreak) {
-        return new Result.Failure<>(new AtomaStateException(circuitBreak.getCause()));
+        return new Result.Failure<>(circuitBreakerOpen(circuitBreak));
       }
       return new Result.Failure<>(e);
+    } catch (MongoExecutionTimeoutException e) {
+      return new Result.Failure<>(new OperationTimeoutException(e));
     } catch (Throwable e) {
       return new Result.Failure<>(e);
     }
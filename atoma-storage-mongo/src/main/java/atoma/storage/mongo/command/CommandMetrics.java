@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.mongodb.MongoException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the retries of the commands of a store, and the conflicts among them per resource.
+ *
+ * <p>A conflict is a retried attempt that lost a race on the document of a resource (see {@link
+ * #isConflict(Throwable)}). The counters per resource point at the hot locks and semaphores of an
+ * application. They are kept for at most {@link #MAX_TRACKED_RESOURCES} resources; the conflicts
+ * of any further resource are only counted in the total.
+ */
+@ThreadSafe
+public final class CommandMetrics {
+
+  public static final int MAX_TRACKED_RESOURCES = 10_000;
+
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder conflicts = new LongAdder();
+  private final Map<String, LongAdder> conflictsByResource = new ConcurrentHashMap<>();
+
+  /** Returns whether the failure is a lost race on a contended document. */
+  public static boolean isConflict(Throwable failure) {
+    if (!(failure instanceof MongoException dbError)) return false;
+    int code = dbError.getCode();
+    return code == MongoErrorCode.WRITE_CONFLICT.getCode()
+        || code == MongoErrorCode.DUPLICATE_KEY.getCode()
+        || code == MongoErrorCode.LOCK_BUSY.getCode()
+        || code == MongoErrorCode.LOCK_TIMEOUT.getCode();
+  }
+
+  /** Records the retry of a command on the given resource after the given failure. */
+  public void recordRetry(String resourceId, Throwable failure) {
+    retries.increment();
+    if (!isConflict(failure)) return;
+    conflicts.increment();
+    if (resourceId == null) return;
+    LongAdder counter = conflictsByResource.get(resourceId);
+    if (counter == null && conflictsByResource.size() < MAX_TRACKED_RESOURCES) {
+      counter = conflictsByResource.computeIfAbsent(resourceId, k -> new LongAdder());
+    }
+    if (counter != null) counter.increment();
+  }
+
+  /** Returns the number of retried attempts of all commands. */
+  public long retries() {
+    return retries.sum();
+  }
+
+  /** Returns the number of conflicts of all commands. */
+  public long conflicts() {
+    return conflicts.sum();
+  }
+
+  /** Returns the number of conflicts of the commands on the given resource. */
+  public long conflicts(String resourceId) {
+    LongAdder counter = conflictsByResource.get(resourceId);
+    return counter == null ? 0L : counter.sum();
+  }
+}
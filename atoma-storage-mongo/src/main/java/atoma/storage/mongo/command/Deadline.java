@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time a timed command must complete by, passed to the server as the {@code
+ * maxTimeMS} of each of its operations.
+ *
+ * <p>The client-side timeout of a command only stops the caller from waiting: without a server
+ * bound, an operation abandoned by a timed-out caller keeps running on the server and holds its
+ * pooled connection until it completes. Bounding each operation by the time left before the
+ * deadline lets the server abort it, failing with {@link MongoErrorCode#MAX_TIME_MS_EXPIRED}, and
+ * the {@link CommandExecutor} stops retrying the command once the deadline has passed.
+ */
+public final class Deadline {
+
+  /** The deadline of the commands waiting indefinitely. */
+  public static final Deadline NONE = new Deadline(0L, false);
+
+  private final long deadlineNanos;
+  private final boolean bounded;
+
+  private Deadline(long deadlineNanos, boolean bounded) {
+    this.deadlineNanos = deadlineNanos;
+    this.bounded = bounded;
+  }
+
+  /**
+   * Returns the deadline of a command with the given timeout, starting now.
+   *
+   * @param timeout the timeout of the command, or a negative value to wait indefinitely.
+   */
+  public static Deadline after(long timeout, TimeUnit unit) {
+    if (timeout < 0L) return NONE;
+    return new Deadline(System.nanoTime() + unit.toNanos(timeout), true);
+  }
+
+  public boolean isBounded() {
+    return bounded;
+  }
+
+  /** Returns the time left before the deadline, never negative, or {@code null} if unbounded. */
+  public Duration remaining() {
+    if (!bounded) return null;
+    return Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime()));
+  }
+
+  /**
+   * Returns the {@code maxTimeMS} of an operation started now: the milliseconds left before the
+   * deadline, rounded up and at least 1 as 0 would not bound the operation, or 0 if unbounded.
+   */
+  public long maxTimeMillis() {
+    if (!bounded) return 0L;
+    long remainingNanos = deadlineNanos - System.nanoTime();
+    return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(remainingNanos + 999_999L));
+  }
+}
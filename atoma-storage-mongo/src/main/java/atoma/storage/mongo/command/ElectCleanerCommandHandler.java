@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.CleanDeadResourceCommand;
+import atoma.api.coordination.command.CommandHandler;
+import atoma.api.coordination.command.HandlesCommand;
+import com.google.auto.service.AutoService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.CLEANER;
+import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.or;
+
+/**
+ * Handles the {@link CleanDeadResourceCommand.ElectCleaner} command.
+ *
+ * <p>The cleaner is a single well-known document of a collection of its own holding the id of the
+ * elected client and the end of its term. It is kept out of the lease collection so that the
+ * listeners, the reaper and the cleanup of dead resources never take it for a lease; an expired
+ * term is simply taken over by the next election. The election is one {@code findOneAndUpdate}
+ * matching the document only if the candidate holds it or if its term has expired; otherwise the
+ * upsert hits the unique {@code _id} and the candidate loses without any write.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({CommandHandler.class})
+@HandlesCommand(CleanDeadResourceCommand.ElectCleaner.class)
+public class ElectCleanerCommandHandler
+    extends MongoCommandHandler<
+        CleanDeadResourceCommand.ElectCleaner, CleanDeadResourceCommand.ElectCleanerResult> {
+
+  /** The id of the cleaner document in the cleaner collection. */
+  public static final String CLEANER_ID = "atoma-cleaner";
+
+  public static Bson buildFilter(CleanDeadResourceCommand.ElectCleaner command) {
+    Bson held = eq("holder", command.candidateId());
+    // Resigning never takes over an expired term of another client.
+    if (command.term().isZero()) return and(eq("_id", CLEANER_ID), held);
+    return and(
+        eq("_id", CLEANER_ID),
+        or(held, expr(new Document("$lt", List.of("$expire_time", "$$NOW")))));
+  }
+
+  /** The election pipeline, reading the {@code $$candidate} and {@code $$term} variables. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  public static Bson buildVariables(CleanDeadResourceCommand.ElectCleaner command) {
+    return PrecompiledPipeline.variables()
+        .bind("candidate", command.candidateId())
+        .bind("term", command.term().toMillis());
+  }
+
+  public static List<Bson> buildAggregationPipeline() {
+    return List.of(
+        new Document(
+            "$set",
+            new Document("holder", "$$candidate")
+                .append("expire_time", new Document("$add", List.of("$$NOW", "$$term")))
+                .append(
+                    "version",
+                    new Document(
+                        "$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)))));
+  }
+
+  public static boolean isDuplicateKey(Throwable e) {
+    return (e instanceof MongoWriteException we && we.getCode() == DUPLICATE_KEY.getCode())
+        || (e instanceof MongoCommandException ce && ce.getCode() == DUPLICATE_KEY.getCode());
+  }
+
+  @Override
+  protected CleanDeadResourceCommand.ElectCleanerResult execute(
+      CleanDeadResourceCommand.ElectCleaner command, MongoCommandHandlerContext context) {
+    MongoCollection<Document> collection = getCollection(context, CLEANER);
+
+    Function<ClientSession, CleanDeadResourceCommand.ElectCleanerResult> cmdBlock =
+        session -> {
+          try {
+            Document cleanerDoc =
+                collection.findOneAndUpdate(
+                    buildFilter(command),
+                    PIPELINE.stages(),
+                    new FindOneAndUpdateOptions()
+                        .upsert(!command.term().isZero())
+                        .returnDocument(ReturnDocument.AFTER)
+                        .let(buildVariables(command)));
+            return new CleanDeadResourceCommand.ElectCleanerResult(
+                cleanerDoc != null
+                    && !command.term().isZero()
+                    && command.candidateId().equals(cleanerDoc.getString("holder")));
+          } catch (RuntimeException e) {
+            // Another client holds an ongoing term.
+            if (isDuplicateKey(e)) return new CleanDeadResourceCommand.ElectCleanerResult(false);
+            throw e;
+          }
+        };
+
+    try {
+      return this.newCommandExecutor(context)
+          .withoutTxn()
+          .execute(cmdBlock)
+          .getOrThrow();
+    } catch (Throwable e) {
+      throw new AtomaStateException(e);
+    }
+  }
+}
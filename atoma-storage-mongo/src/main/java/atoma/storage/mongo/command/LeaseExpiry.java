@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import atoma.api.coordination.command.LeaseCommand;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.max;
+
+/**
+ * Lets an acquire take over the lock of an expired lease in its own {@code findOneAndUpdate},
+ * instead of waiting for the lease to be reaped and the lock to be cleaned.
+ *
+ * <p>Lock documents are stamped with the expiration time of the lease of their holder. The stamp
+ * is written at acquisition and pushed forward with {@code $max} by the renewals sent by the lease
+ * renewer, so a late renewal never moves it backwards; renewals piggybacked on commands leave it
+ * alone. The stamp is only a hint: an acquire blocked by a lock whose stamp has passed looks the
+ * lease up ({@link MongoCommandHandler#liveLeases}), and retries with the leases found expired or
+ * gone bound to {@code $$expired}. Only the locks of those leases are taken over ({@link
+ * #isExpired}). Lease expiration times come from the clock of the lease holder while the lookup
+ * compares them with {@code $$NOW}, the clock of the server; the {@link #TAKEOVER_GRACE} absorbs
+ * the skew. A lock without stamp is never taken over.
+ */
+public final class LeaseExpiry {
+  private LeaseExpiry() {}
+
+  /** The field of the stamp, in a mutex document and in the entries of a read-write lock. */
+  public static final String LEASE_EXPIRE_TIME = "lease_expire_time";
+
+  /** The delay after the expiration of a stamp before its lock can be taken over. */
+  public static final Duration TAKEOVER_GRACE = Duration.ofSeconds(1);
+
+  /** The variable of the acquisition pipelines listing the leases found expired. */
+  public static final String EXPIRED = "expired";
+
+  /**
+   * Builds an aggregation expression that is true when the lease at the given path is one of the
+   * leases found expired, listed by the {@code $$expired} variable.
+   *
+   * @param leasePath the path of the lease, e.g. {@code $lease}.
+   */
+  public static Document isExpired(String leasePath) {
+    return new Document("$in", List.of(leasePath, "$$" + EXPIRED));
+  }
+
+  /**
+   * Builds an aggregation expression that is true when a lease document has not expired yet by
+   * the clock of the server, grace included.
+   */
+  public static Document isLive() {
+    return new Document(
+        "$gte",
+        List.of(new Document("$add", List.of("$expire_time", TAKEOVER_GRACE.toMillis())), "$$NOW"));
+  }
+
+  /**
+   * Returns whether an acquisition failed on a lock whose stamp has passed by the clock of the
+   * requester, so that the lease of its holder is worth looking up.
+   */
+  public static boolean isTakeoverDue(Instant takeoverTime) {
+    return takeoverTime != null && !takeoverTime.isAfter(Instant.now());
+  }
+
+  /**
+   * Returns the stamp of an acquisition: the later of the lease expiration time known by the
+   * requester and of the renewal piggybacked on its command.
+   *
+   * @return the stamp, or {@code null} if neither is known.
+   */
+  public static Date stampOf(Instant leaseExpireTime, LeaseCommand.TimeToLive renewal) {
+    Instant stamp = leaseExpireTime;
+    if (renewal != null && (stamp == null || renewal.nextExpireTime().isAfter(stamp))) {
+      stamp = renewal.nextExpireTime();
+    }
+    return stamp == null ? null : Date.from(stamp);
+  }
+
+  /**
+   * Returns the instant from which a lock carrying the given stamp can be taken over.
+   *
+   * @return the takeover time, or {@code null} for a lock without stamp.
+   */
+  public static Instant takeoverTime(Date stamp) {
+    return stamp == null ? null : stamp.toInstant().plus(TAKEOVER_GRACE);
+  }
+
+  /** Builds the updates pushing the stamps of the mutexes held by the renewed leases. */
+  public static List<UpdateManyModel<Document>> buildMutexRenewalModels(
+      Collection<LeaseCommand.TimeToLive> renewals) {
+    return renewals.stream()
+        .map(
+            renewal ->
+                new UpdateManyModel<Document>(
+                    eq("lease", renewal.id()), max(LEASE_EXPIRE_TIME, renewal.nextExpireTime())))
+        .toList();
+  }
+
+  /** Builds the updates pushing the stamps of the read-write locks held by the renewed leases. */
+  public static List<UpdateManyModel<Document>> buildRwLockRenewalModels(
+      Collection<LeaseCommand.TimeToLive> renewals) {
+    List<UpdateManyModel<Document>> models = new ArrayList<>(renewals.size() * 2);
+    for (LeaseCommand.TimeToLive renewal : renewals) {
+      models.add(
+          new UpdateManyModel<>(
+              eq("write_lock.lease", renewal.id()),
+              max("write_lock." + LEASE_EXPIRE_TIME, renewal.nextExpireTime())));
+      models.add(
+          new UpdateManyModel<>(
+              eq("read_locks.lease", renewal.id()),
+              max("read_locks.$[r]." + LEASE_EXPIRE_TIME, renewal.nextExpireTime()),
+              new UpdateOptions().arrayFilters(List.of(eq("r.lease", renewal.id())))));
+    }
+    return models;
+  }
+}
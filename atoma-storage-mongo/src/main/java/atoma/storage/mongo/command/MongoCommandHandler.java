@@ -16,33 +16,186 @@
 
 package atoma.storage.mongo.command;
 
+import atoma.api.AtomaStateException;
+import atoma.api.Versioned;
+import atoma.api.coordination.Durability;
 import atoma.api.coordination.command.Command;
 import atoma.api.coordination.command.CommandHandler;
 import atoma.api.coordination.command.CommandHandlerContext;
+import atoma.api.coordination.command.LeaseCommand;
+import com.mongodb.MongoException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static atoma.storage.mongo.command.CommandExecutor.READ_CONCERN;
-import static atoma.storage.mongo.command.CommandExecutor.WRITE_CONCERN;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.LEASE;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.MUTEX_LOCK;
+import static atoma.storage.mongo.command.AtomaCollectionNamespace.RW_LOCK;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public abstract class MongoCommandHandler<C extends Command<R>, R> implements CommandHandler<C, R> {
-  private static final ConcurrentHashMap<String, MongoCollection<Document>>
+  private static final ConcurrentHashMap<CollectionKey, MongoCollection<Document>>
       COLLECTION_CONCURRENT_HASH_MAP = new ConcurrentHashMap<>();
 
+  private record CollectionKey(String name, Durability durability) {}
+
   protected MongoCollection<Document> getCollection(
       MongoCommandHandlerContext context, String name) {
+    return getCollection(context.getMongoDatabase(), name, context.getDurability());
+  }
+
+  /**
+   * Returns the collection of the given name for a state query. A query bounded by a maximum
+   * staleness reads the nearest secondary lagging at most that bound behind the primary, with a
+   * local read concern, and the primary only if no such secondary is available; other queries read
+   * the primary as the context specifies.
+   *
+   * @param maxStaleness the maximum staleness of the query, or {@code null} to read the primary.
+   * @throws IllegalArgumentException if the staleness is below {@link
+   *     Versioned#MIN_MAX_STALENESS}, the smallest {@code maxStalenessSeconds} MongoDB accepts.
+   */
+  protected MongoCollection<Document> getCollection(
+      MongoCommandHandlerContext context, String name, Duration maxStaleness) {
+    return getCollection(context.getMongoDatabase(), name, context.getDurability(), maxStaleness);
+  }
 
+  /**
+   * Returns the collection of the given name for a state query, with the given durability when it
+   * reads the primary.
+   *
+   * @see #getCollection(MongoCommandHandlerContext, String, Duration)
+   */
+  public static MongoCollection<Document> getCollection(
+      MongoDatabase database, String name, Durability durability, Duration maxStaleness) {
+    MongoCollection<Document> collection = getCollection(database, name, durability);
+    if (maxStaleness == null) return collection;
+    Versioned.requireMaxStaleness(maxStaleness);
+    ReadPreference readPreference =
+        ReadPreference.secondaryPreferred(maxStaleness.toMillis(), MILLISECONDS);
+    return collection.withReadPreference(readPreference).withReadConcern(ReadConcern.LOCAL);
+  }
+
+  /** Returns the collection of the given name, read and written with the majority. */
+  public static MongoCollection<Document> getCollection(MongoDatabase database, String name) {
+    return getCollection(database, name, Durability.STRICT);
+  }
+
+  /** Returns the collection of the given name, read and written with the given durability. */
+  public static MongoCollection<Document> getCollection(
+      MongoDatabase database, String name, Durability durability) {
     return COLLECTION_CONCURRENT_HASH_MAP.computeIfAbsent(
-        name,
+        new CollectionKey(name, durability),
         _k ->
-            context
-                .getMongoDatabase()
+            database
                 .getCollection(name)
-                .withReadConcern(READ_CONCERN)
-                .withWriteConcern(WRITE_CONCERN));
+                .withReadConcern(CommandExecutor.readConcern(durability))
+                .withWriteConcern(CommandExecutor.writeConcern(durability)));
+  }
+
+  /**
+   * Builds the update extending a lease by a piggybacked renewal. {@code $max} makes a late or
+   * retried renewal harmless: it can never move the expire time backwards.
+   */
+  public static Bson buildLeaseRenewalUpdate(LeaseCommand.TimeToLive renewal) {
+    return combine(max("expire_time", renewal.nextExpireTime()), inc("version", 1L));
+  }
+
+  /**
+   * Performs the lease renewal piggybacked on a command, if any. It runs once before the command
+   * and its retries, so a command that completes normally implies its renewal was acknowledged. A
+   * lease that no longer exists is left alone and reaped as usual.
+   *
+   * @throws AtomaStateException if the renewal fails, the command is then not executed.
+   */
+  protected void renewLease(
+      MongoCommandHandlerContext context, LeaseCommand.TimeToLive renewal) {
+    if (renewal == null) return;
+    try {
+      getCollection(context, LEASE)
+          .updateOne(eq("_id", renewal.id()), buildLeaseRenewalUpdate(renewal));
+    } catch (MongoException e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
+  /**
+   * Pushes the renewed expiration time of leases to the stamps of the locks they hold, see {@link
+   * LeaseExpiry}. It must only be called for renewals applied to an existing lease, by the lease
+   * renewer: piggybacked renewals leave the stamps alone.
+   */
+  protected void propagateLeaseExpiry(
+      MongoCommandHandlerContext context, Collection<LeaseCommand.TimeToLive> renewals) {
+    propagateLeaseExpiry(context.getMongoDatabase(), renewals);
+  }
+
+  private static void propagateLeaseExpiry(
+      MongoDatabase database, Collection<LeaseCommand.TimeToLive> renewals) {
+    if (renewals.isEmpty()) return;
+    BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+    getCollection(database, MUTEX_LOCK)
+        .bulkWrite(LeaseExpiry.buildMutexRenewalModels(renewals), unordered);
+    getCollection(database, RW_LOCK)
+        .bulkWrite(LeaseExpiry.buildRwLockRenewalModels(renewals), unordered);
+  }
+
+  /**
+   * Performs the lease renewals piggybacked on a batch of commands with one bulk write. A lease may
+   * be renewed more than once.
+   */
+  public static void renewLeases(MongoDatabase database, List<LeaseCommand.TimeToLive> renewals) {
+    if (renewals.isEmpty()) return;
+    List<UpdateOneModel<Document>> updates =
+        renewals.stream()
+            .map(
+                renewal ->
+                    new UpdateOneModel<Document>(
+                        eq("_id", renewal.id()), buildLeaseRenewalUpdate(renewal)))
+            .toList();
+    getCollection(database, LEASE).bulkWrite(updates, new BulkWriteOptions().ordered(false));
+  }
+
+  /**
+   * Looks the given leases up and returns, for each one still alive by the clock of the server,
+   * the instant from which the locks it holds can be taken over. The others have expired, grace
+   * included, or no longer exist, see {@link LeaseExpiry}.
+   *
+   * @param deadline the deadline of the command looking the leases up.
+   */
+  protected Map<String, Instant> liveLeases(
+      MongoCommandHandlerContext context, Collection<String> leaseIds, Deadline deadline) {
+    Map<String, Instant> live = new HashMap<>();
+    getCollection(context, LEASE)
+        .find(and(in("_id", leaseIds), expr(LeaseExpiry.isLive())))
+        .projection(include("expire_time"))
+        .maxTime(deadline.maxTimeMillis(), MILLISECONDS)
+        .forEach(
+            lease ->
+                live.put(
+                    lease.getString("_id"),
+                    LeaseExpiry.takeoverTime(lease.getDate("expire_time"))));
+    return live;
   }
 
   @Override
@@ -52,7 +205,10 @@ public abstract class MongoCommandHandler<C extends Command<R>, R> implements Co
 
   protected abstract R execute(C command, MongoCommandHandlerContext context);
 
-  public CommandExecutor<R> newCommandExecutor(MongoClient client) {
-    return new CommandExecutor<>(client);
+  public CommandExecutor<R> newCommandExecutor(MongoCommandHandlerContext context) {
+    return new CommandExecutor<R>(context.getClient(), context.getCircuitBreaker())
+        .withBackoff(context.getBackoff())
+        .recordingTo(context.getCommandMetrics(), context.getResourceId())
+        .withDurability(context.getDurability());
   }
 }
\ No newline at end of file
@@ -16,10 +16,12 @@
 
 package atoma.storage.mongo.command;
 
+import atoma.api.coordination.Durability;
 import atoma.api.coordination.Resource;
 import atoma.api.coordination.command.CommandHandlerContext;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoDatabase;
+import dev.failsafe.CircuitBreaker;
 
 import java.util.Optional;
 
@@ -27,12 +29,43 @@ public class MongoCommandHandlerContext implements CommandHandlerContext {
   private final MongoClient client;
   private final String resourceId;
   private final MongoDatabase mongoDatabase;
+  private final CircuitBreaker<Object> circuitBreaker;
+  private final Backoff backoff;
+  private final CommandMetrics commandMetrics;
+  private final Durability durability;
 
   public MongoCommandHandlerContext(
-      MongoClient client, MongoDatabase mongoDatabase, String resourceId) {
+      MongoClient client,
+      MongoDatabase mongoDatabase,
+      String resourceId,
+      CircuitBreaker<Object> circuitBreaker,
+      Backoff backoff,
+      CommandMetrics commandMetrics) {
+    this(
+        client,
+        mongoDatabase,
+        resourceId,
+        circuitBreaker,
+        backoff,
+        commandMetrics,
+        Durability.STRICT);
+  }
+
+  public MongoCommandHandlerContext(
+      MongoClient client,
+      MongoDatabase mongoDatabase,
+      String resourceId,
+      CircuitBreaker<Object> circuitBreaker,
+      Backoff backoff,
+      CommandMetrics commandMetrics,
+      Durability durability) {
     this.client = client;
     this.mongoDatabase = mongoDatabase;
     this.resourceId = resourceId;
+    this.circuitBreaker = circuitBreaker;
+    this.backoff = backoff;
+    this.commandMetrics = commandMetrics;
+    this.durability = durability;
   }
 
   @Override
@@ -53,4 +86,24 @@ public class MongoCommandHandlerContext implements CommandHandlerContext {
   public MongoDatabase getMongoDatabase() {
     return mongoDatabase;
   }
+
+  /** Returns the circuit breaker shared by the commands of the store. */
+  public CircuitBreaker<Object> getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /** Returns the backoff between the retries of contended commands. */
+  public Backoff getBackoff() {
+    return backoff;
+  }
+
+  /** Returns the metrics of the commands of the store. */
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  /** Returns the durability with which the command is acknowledged. */
+  public Durability getDurability() {
+    return durability;
+  }
 }
\ No newline at end of file
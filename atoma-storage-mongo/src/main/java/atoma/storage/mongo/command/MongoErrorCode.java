@@ -30,14 +30,18 @@ public enum MongoErrorCode {
   INVALID_BSON(22, "InvalidBSON"),
   LOCK_TIMEOUT(22, "LockTimeout"),
   LOCK_BUSY(46, "LockBusy"),
+  MAX_TIME_MS_EXPIRED(50, "MaxTimeMSExpired"),
   NETWORK_TIMEOUT(89, "NetworkTimeout"),
   LOCK_FAILED(107, "LockFailed"),
   WRITE_CONFLICT(112, "WriteConflict"),
   COMMAND_NOT_SUPPORTED(115, "CommandNotSupported"),
   NETWORK_INTERFACE_EXCEEDED_TIME_LIMIT(202, "NetworkInterfaceExceededTimeLimit"),
   NO_SUCH_TRANSACTION(251, "NoSuchTransaction"),
+  INVALID_RESUME_TOKEN(260, "InvalidResumeToken"),
   EXCEEDED_TIME_LIMIT(262, "ExceededTimeLimit"),
   TOO_MANY_FILES_OPEN(264, "TooManyFilesOpen"),
+  CHANGE_STREAM_FATAL_ERROR(280, "ChangeStreamFatalError"),
+  CHANGE_STREAM_HISTORY_LOST(286, "ChangeStreamHistoryLost"),
   TRANSACTION_EXCEEDED_LIFETIME_LIMIT_SECONDS(290, "TransactionExceededLifetimeLimitSeconds"),
   DUPLICATE_KEY(11000, "DuplicateKey"),
 
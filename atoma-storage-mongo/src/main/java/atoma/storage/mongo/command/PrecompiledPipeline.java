@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+
+/**
+ * An update pipeline built and encoded to BSON once, then reused by every execution of a command.
+ *
+ * <p>The stages never embed the parameters of a command: they reference them as {@code $$name}
+ * variables, bound per execution through the {@code let} option of the operation (see {@link
+ * #variables()}). The stages are kept as {@link RawBsonDocument}s, so sending them is a copy of
+ * their bytes instead of a walk over a tree of {@link Document}s.
+ */
+public final class PrecompiledPipeline {
+  private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+  private static final BsonDocumentCodec BSON_DOCUMENT_CODEC = new BsonDocumentCodec();
+
+  private final List<Bson> stages;
+
+  private PrecompiledPipeline(List<Bson> stages) {
+    this.stages = stages;
+  }
+
+  /**
+   * Encodes the given stages.
+   *
+   * @param stages the stages, referencing the parameters of the command as variables.
+   */
+  public static PrecompiledPipeline compile(List<? extends Bson> stages) {
+    return new PrecompiledPipeline(
+        stages.stream()
+            .<Bson>map(
+                stage ->
+                    new RawBsonDocument(
+                        stage.toBsonDocument(BsonDocument.class, CODEC_REGISTRY),
+                        BSON_DOCUMENT_CODEC))
+            .toList());
+  }
+
+  /** Returns the encoded stages. */
+  public List<Bson> stages() {
+    return stages;
+  }
+
+  /** Starts the variables of one execution, to pass as the {@code let} option. */
+  public static Variables variables() {
+    return new Variables();
+  }
+
+  /**
+   * The variables of one execution of a pipeline. Values are bound as literals: {@code let}
+   * evaluates its values as expressions, and a parameter starting with {@code $} must not be read
+   * as a field path.
+   */
+  public static final class Variables implements Bson {
+    private final Document variables = new Document();
+
+    private Variables() {}
+
+    /** Binds {@code $$name} to the given value, which may be {@code null}. */
+    public Variables bind(String name, Object value) {
+      variables.append(name, new Document("$literal", value));
+      return this;
+    }
+
+    @Override
+    public <TDocument> BsonDocument toBsonDocument(
+        Class<TDocument> documentClass, CodecRegistry codecRegistry) {
+      return variables.toBsonDocument(documentClass, codecRegistry);
+    }
+  }
+}
@@ -22,11 +22,12 @@ import atoma.api.Result;
 import atoma.api.coordination.command.CommandHandler;
 import atoma.api.coordination.command.CyclicBarrierCommand;
 import atoma.api.coordination.command.HandlesCommand;
+import atoma.storage.mongo.command.Deadline;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -34,8 +35,8 @@ import dev.failsafe.TimeoutExceededException;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.BARRIER;
@@ -101,6 +102,55 @@ import static java.util.Collections.emptyList;
 public class AwaitCommandHandler
     extends MongoCommandHandler<CyclicBarrierCommand.Await, CyclicBarrierCommand.AwaitResult> {
 
+  /** The await pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /** Builds the {@code $$parties}, {@code $$generation} and {@code $$participant} variables. */
+  public static Bson buildVariables(CyclicBarrierCommand.Await command) {
+    return PrecompiledPipeline.variables()
+        .bind("parties", command.parties())
+        .bind("generation", command.generation())
+        .bind(
+            "participant",
+            new Document("participant", command.participantId())
+                .append("lease", command.leaseId()));
+  }
+
+  /**
+   * Builds the result of an await from the barrier document after the operation.
+   *
+   * @throws AtomaStateException if the barrier is missing or awaited with other parties.
+   */
+  public static CyclicBarrierCommand.AwaitResult buildResult(
+      CyclicBarrierCommand.Await command, Document barrierDoc) {
+    if (barrierDoc == null) {
+      throw new AtomaStateException("Failed to find or create barrier document.");
+    }
+
+    if (barrierDoc.getBoolean("_inconsistent_parties", false)) {
+      throw new AtomaStateException(
+          String.format(
+              "Failed to waiting on document. Parties was %d. expected %d",
+              barrierDoc.getInteger("parties"), command.parties()));
+    }
+    List<Document> participants = barrierDoc.getList("participants", Document.class);
+    var waited =
+        participants.stream()
+                .anyMatch(
+                    t ->
+                        t.getString("participant").equals(command.participantId())
+                            && t.getString("lease").equals(command.leaseId()))
+            && barrierDoc.getLong("generation") == command.generation()
+            && !barrierDoc.getBoolean("_passed", false);
+
+    return new CyclicBarrierCommand.AwaitResult(
+        barrierDoc.getBoolean("_passed", false),
+        barrierDoc.getBoolean("is_broken", false),
+        waited,
+        barrierDoc.getLong("generation"));
+  }
+
   /**
    *
    *
@@ -146,10 +196,12 @@ public class AwaitCommandHandler
    * }
    * }</pre>
    *
-   * @param command the command for await
+   * <p>The parameters of the command are read from the {@code $$parties}, {@code $$generation} and
+   * {@code $$participant} variables.
+   *
    * @return single replace-root pipeline state
    */
-  private List<Bson> buildAggregationPipeline(CyclicBarrierCommand.Await command) {
+  private static List<Bson> buildAggregationPipeline() {
     return List.of(
         replaceRoot(
             new Document(
@@ -163,7 +215,7 @@ public class AwaitCommandHandler
                         "$cond",
                         List.of(
                             // if ( input parties != parties )
-                            new Document("$ne", List.of(command.parties(), "$parties")),
+                            new Document("$ne", List.of("$$parties", "$parties")),
 
                             // inconsistent parties
                             new Document(
@@ -192,7 +244,7 @@ public class AwaitCommandHandler
                                             // if ( generation == command.generation )
                                             new Document(
                                                 "$eq",
-                                                List.of("$generation", command.generation())),
+                                                List.of("$generation", "$$generation")),
 
                                             // generation equals
                                             new Document(
@@ -242,14 +294,7 @@ public class AwaitCommandHandler
                                                                         List.of(
                                                                             "$participants",
                                                                             List.of(
-                                                                                new Document(
-                                                                                        "participant",
-                                                                                        command
-                                                                                            .participantId())
-                                                                                    .append(
-                                                                                        "lease",
-                                                                                        command
-                                                                                            .leaseId())))))
+                                                                                "$$participant"))))
                                                                 .append(
                                                                     "version",
                                                                     new Document(
@@ -273,52 +318,32 @@ public class AwaitCommandHandler
   @Override
   public CyclicBarrierCommand.AwaitResult execute(
       CyclicBarrierCommand.Await command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, BARRIER);
 
-    List<Bson> pipeline = buildAggregationPipeline(command);
+    Bson variables = buildVariables(command);
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
 
     Function<ClientSession, CyclicBarrierCommand.AwaitResult> cmdBlock =
         session -> {
           Document barrierDoc =
               collection.findOneAndUpdate(
                   eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
-
-          if (barrierDoc == null) {
-            throw new AtomaStateException("Failed to find or create barrier document.");
-          }
-
-          if (barrierDoc.getBoolean("_inconsistent_parties", false)) {
-            throw new AtomaStateException(
-                String.format(
-                    "Failed to waiting on document. Parties was %d. expected %d",
-                    barrierDoc.getInteger("parties"), command.parties()));
-          }
-          List<Document> participants = barrierDoc.getList("participants", Document.class);
-          var waited =
-              participants.stream()
-                      .anyMatch(
-                          t ->
-                              t.getString("participant").equals(command.participantId())
-                                  && t.getString("lease").equals(command.leaseId()))
-                  && barrierDoc.getLong("generation") == command.generation()
-                  && !barrierDoc.getBoolean("_passed", false);
-
-          return new CyclicBarrierCommand.AwaitResult(
-              barrierDoc.getBoolean("_passed", false),
-              barrierDoc.getBoolean("is_broken", false),
-              waited,
-              barrierDoc.getLong("generation"));
+                  PIPELINE.stages(),
+                  new FindOneAndUpdateOptions()
+                      .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                      .upsert(true)
+                      .returnDocument(ReturnDocument.AFTER)
+                      .let(variables));
+          return buildResult(command, barrierDoc);
         };
 
     Result<CyclicBarrierCommand.AwaitResult> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
-            .withTimeout(Duration.of(command.timeout(), command.timeUnit().toChronoUnit()))
+            .withDeadline(deadline)
             .execute(cmdBlock);
     try {
       return result.getOrThrow();
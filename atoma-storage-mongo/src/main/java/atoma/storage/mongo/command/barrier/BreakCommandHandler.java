@@ -26,9 +26,9 @@ import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.google.errorprone.annotations.Keep;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import java.util.function.Function;
 
@@ -63,22 +63,29 @@ import static java.util.Collections.emptyList;
 @AutoService({CommandHandler.class})
 @HandlesCommand(CyclicBarrierCommand.Break.class)
 public class BreakCommandHandler extends MongoCommandHandler<CyclicBarrierCommand.Break, Void> {
+
+  /** Matches the barrier if it is still at the generation to break. */
+  public static Bson buildFilter(String resourceId, CyclicBarrierCommand.Break command) {
+    return and(eq("_id", resourceId), eq("generation", command.generation()));
+  }
+
+  /** Breaks the barrier, releasing its participants. */
+  public static Bson buildUpdate() {
+    return combine(set("is_broken", true), set("participants", emptyList()), inc("version", 1L));
+  }
+
   @Override
   protected Void execute(CyclicBarrierCommand.Break command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, BARRIER);
 
     Function<ClientSession, Void> cmdBlock =
         session -> {
-          collection.updateOne(
-              and(eq("_id", context.getResourceId()), eq("generation", command.generation())),
-              combine(
-                  set("is_broken", true), set("participants", emptyList()), inc("version", 1L)));
+          collection.updateOne(buildFilter(context.getResourceId(), command), buildUpdate());
           return null;
         };
 
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
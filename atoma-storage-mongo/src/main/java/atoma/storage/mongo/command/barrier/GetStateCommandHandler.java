@@ -26,11 +26,11 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import java.util.function.Function;
 
@@ -64,6 +64,16 @@ public class GetStateCommandHandler
     extends MongoCommandHandler<
         CyclicBarrierCommand.GetState, CyclicBarrierCommand.GetStateResult> {
 
+  /** Creates the barrier with the parties of the command if it does not exist yet. */
+  public static Bson buildUpdate(CyclicBarrierCommand.GetState command) {
+    return combine(
+        setOnInsert("parties", command.parties()),
+        setOnInsert("generation", 1L),
+        setOnInsert("is_broken", false),
+        setOnInsert("participants", emptyList()),
+        setOnInsert("version", 1L));
+  }
+
   /**
    * Executes the command to fetch the current state of the barrier.
    *
@@ -75,7 +85,7 @@ public class GetStateCommandHandler
   @Override
   public CyclicBarrierCommand.GetStateResult execute(
       CyclicBarrierCommand.GetState command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
+    if (command.maxStaleness() != null) return readStale(command, context);
     MongoCollection<Document> collection = getCollection(context, AtomaCollectionNamespace.BARRIER);
 
     Function<ClientSession, CyclicBarrierCommand.GetStateResult> cmdBlock =
@@ -83,32 +93,64 @@ public class GetStateCommandHandler
           Document doc =
               collection.findOneAndUpdate(
                   eq("_id", context.getResourceId()),
-                  combine(
-                      setOnInsert("parties", command.parties()),
-                      setOnInsert("generation", 1L),
-                      setOnInsert("is_broken", false),
-                      setOnInsert("participants", emptyList()),
-                      setOnInsert("version", 1L)),
+                  buildUpdate(command),
                   new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
 
           if (doc == null) {
             return new CyclicBarrierCommand.GetStateResult(0, 0, false, 0L);
           }
 
-          int parties = doc.getInteger("parties", 0);
-          boolean isBroken = doc.getBoolean("is_broken", false);
-          long generation = doc.getLong("generation");
-          var participants = doc.getList("participants", Document.class);
-          return new CyclicBarrierCommand.GetStateResult(
-              parties, participants == null ? 0 : participants.size(), isBroken, generation);
+          return toResult(doc);
+        };
+
+    Result<CyclicBarrierCommand.GetStateResult> result =
+        this.newCommandExecutor(context).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
+    try {
+      return result.getOrThrow();
+    } catch (Throwable e) {
+      throw new AtomaStateException(e);
+    }
+  }
+
+  /**
+   * Reads the state of the barrier from the nearest secondary within the maximum staleness of the
+   * command. Replicas can not be written, so a barrier that does not exist yet is
+   * not created: it is reported as not broken, with no party waiting and a version of {@code -1}.
+   */
+  private CyclicBarrierCommand.GetStateResult readStale(
+      CyclicBarrierCommand.GetState command, MongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.BARRIER, command.maxStaleness());
+
+    Function<ClientSession, CyclicBarrierCommand.GetStateResult> cmdBlock =
+        session -> {
+          Document doc = collection.find(eq("_id", context.getResourceId())).first();
+          if (doc == null) {
+            return new CyclicBarrierCommand.GetStateResult(command.parties(), 0, false, 1L, -1L);
+          }
+          return toResult(doc);
         };
 
     Result<CyclicBarrierCommand.GetStateResult> result =
-        this.newCommandExecutor(client).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
+        this.newCommandExecutor(context).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
     try {
       return result.getOrThrow();
     } catch (Throwable e) {
       throw new AtomaStateException(e);
     }
   }
+
+  /** Builds the state of the barrier from its document. */
+  public static CyclicBarrierCommand.GetStateResult toResult(Document doc) {
+    int parties = doc.getInteger("parties", 0);
+    boolean isBroken = doc.getBoolean("is_broken", false);
+    long generation = doc.getLong("generation");
+    var participants = doc.getList("participants", Document.class);
+    return new CyclicBarrierCommand.GetStateResult(
+        parties,
+        participants == null ? 0 : participants.size(),
+        isBroken,
+        generation,
+        doc.getLong("version"));
+  }
 }
\ No newline at end of file
@@ -23,9 +23,9 @@ import atoma.api.coordination.command.CyclicBarrierCommand;
 import atoma.api.coordination.command.HandlesCommand;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -70,6 +70,34 @@ import static java.util.Collections.emptyList;
 public class ResetCommandHandler
     extends MongoCommandHandler<CyclicBarrierCommand.Reset, CyclicBarrierCommand.GetStateResult> {
 
+  /** The reset pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /** Builds the {@code $$parties} variable. */
+  public static Bson buildVariables(CyclicBarrierCommand.Reset command) {
+    return PrecompiledPipeline.variables().bind("parties", command.parties());
+  }
+
+  /**
+   * Builds the state of the barrier from its document after the reset.
+   *
+   * @throws AtomaStateException if the barrier is missing.
+   */
+  public static CyclicBarrierCommand.GetStateResult buildResult(
+      CyclicBarrierCommand.Reset command, Document barrierDoc) {
+    if (barrierDoc == null) {
+      throw new AtomaStateException(
+          "Failed to find or reset barrier. Because barrier does not existed in MongoDB Database.");
+    }
+
+    return new CyclicBarrierCommand.GetStateResult(
+        command.parties(),
+        barrierDoc.getList("participants", Document.class).size(),
+        false,
+        barrierDoc.getLong("generation"));
+  }
+
   /**
    *
    *
@@ -95,10 +123,11 @@ public class ResetCommandHandler
    * }
    * }</pre>
    *
-   * @param command reset command
+   * <p>The number of parties is read from the {@code $$parties} variable.
+   *
    * @return The latest value for current state
    */
-  private List<Bson> buildAggregationPipeline(CyclicBarrierCommand.Reset command) {
+  private static List<Bson> buildAggregationPipeline() {
     return List.of(
         replaceRoot(
             new Document(
@@ -118,7 +147,7 @@ public class ResetCommandHandler
                                     "generation",
                                     new Document("$add", Arrays.asList("$generation", 1L)))
                                 .append("is_broken", false)
-                                .append("parties", command.parties())
+                                .append("parties", "$$parties")
                                 .append("participants", emptyList())
                                 .append("version", new Document("$add", List.of("$version", 1L))))),
 
@@ -144,31 +173,23 @@ public class ResetCommandHandler
   @Override
   public CyclicBarrierCommand.GetStateResult execute(
       CyclicBarrierCommand.Reset command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, BARRIER);
-    List<Bson> pipeline = buildAggregationPipeline(command);
+    Bson variables = buildVariables(command);
     Function<ClientSession, CyclicBarrierCommand.GetStateResult> cmdBlock =
         session -> {
           Document barrierDoc =
               collection.findOneAndUpdate(
                   eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
-
-          if (barrierDoc == null) {
-            throw new AtomaStateException(
-                "Failed to find or reset barrier. Because barrier does not existed in MongoDB Database.");
-          }
-
-          return new CyclicBarrierCommand.GetStateResult(
-              command.parties(),
-              barrierDoc.getList("participants", Document.class).size(),
-              false,
-              barrierDoc.getLong("generation"));
+                  PIPELINE.stages(),
+                  new FindOneAndUpdateOptions()
+                      .upsert(true)
+                      .returnDocument(ReturnDocument.AFTER)
+                      .let(variables));
+          return buildResult(command, barrierDoc);
         };
 
     Result<CyclicBarrierCommand.GetStateResult> result =
-        this.newCommandExecutor(client).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
+        this.newCommandExecutor(context).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
     try {
       return result.getOrThrow();
     } catch (Throwable e) {
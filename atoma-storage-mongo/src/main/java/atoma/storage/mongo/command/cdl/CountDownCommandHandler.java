@@ -23,9 +23,9 @@ import atoma.api.coordination.command.CountDownLatchCommand;
 import atoma.api.coordination.command.HandlesCommand;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -65,6 +65,20 @@ import static com.mongodb.client.model.Filters.eq;
 public class CountDownCommandHandler
     extends MongoCommandHandler<CountDownLatchCommand.CountDown, Void> {
 
+  /** The count-down pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /**
+   * Builds the variables of the count-down pipeline.
+   *
+   * @param command The {@link CountDownLatchCommand.CountDown} command.
+   * @return The {@code let} option of the {@code findOneAndUpdate} operation.
+   */
+  public static Bson buildVariables(CountDownLatchCommand.CountDown command) {
+    return PrecompiledPipeline.variables().bind("count", command.count());
+  }
+
   /**
    *
    *
@@ -90,10 +104,12 @@ public class CountDownCommandHandler
    * }
    * }</pre>
    *
-   * @param command The {@link CountDownLatchCommand.CountDown} command.
+   * <p>The initial count of the latch is read from the {@code $$count} variable, see {@link
+   * #buildVariables}.
+   *
    * @return A {@link List} of {@link Bson} stages for the {@code findOneAndUpdate} operation.
    */
-  private List<Bson> buildAggregationPipeline(CountDownLatchCommand.CountDown command) {
+  public static List<Bson> buildAggregationPipeline() {
     return List.of(
         replaceRoot(
             new Document(
@@ -137,7 +153,7 @@ public class CountDownCommandHandler
                         List.of(
                             "$$ROOT",
                             new Document("version", 1L),
-                            new Document("count", command.count() - 1),
+                            new Document("count", new Document("$subtract", List.of("$$count", 1))),
                             new Document("_update_flag", true)))))));
   }
 
@@ -151,18 +167,20 @@ public class CountDownCommandHandler
    */
   @Override
   public Void execute(CountDownLatchCommand.CountDown command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
 
-    List<Bson> pipeline = buildAggregationPipeline(command);
+    Bson variables = buildVariables(command);
 
     Function<ClientSession, Void> cmdBlock =
         session -> {
           Document countDownLatchDoc =
               collection.findOneAndUpdate(
                   eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+                  PIPELINE.stages(),
+                  new FindOneAndUpdateOptions()
+                      .upsert(true)
+                      .returnDocument(ReturnDocument.AFTER)
+                      .let(variables));
 
           if (countDownLatchDoc == null) {
             throw new IllegalStateException(
@@ -171,7 +189,7 @@ public class CountDownCommandHandler
           return null;
         };
 
-    Result<Void> result = this.newCommandExecutor(client).withoutTxn().execute(cmdBlock);
+    Result<Void> result = this.newCommandExecutor(context).withoutTxn().execute(cmdBlock);
     try {
       return result.getOrThrow();
     } catch (Throwable e) {
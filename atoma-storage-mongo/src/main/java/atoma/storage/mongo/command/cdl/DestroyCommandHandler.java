@@ -25,7 +25,6 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
 
@@ -67,7 +66,6 @@ public class DestroyCommandHandler
    */
   @Override
   public Void execute(CountDownLatchCommand.Destroy command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
 
     Function<ClientSession, Void> cmdBlock =
@@ -76,7 +74,7 @@ public class DestroyCommandHandler
           return null;
         };
 
-    Result<Void> result = this.newCommandExecutor(client).withoutTxn().execute(cmdBlock);
+    Result<Void> result = this.newCommandExecutor(context).withoutTxn().execute(cmdBlock);
     try {
       return result.getOrThrow();
     } catch (Throwable e) {
@@ -25,7 +25,6 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
 
@@ -60,7 +59,8 @@ public class GetCountCommandHandler
         CountDownLatchCommand.GetCount, CountDownLatchCommand.GetCountResult> {
 
   /**
-   * Executes the command to fetch the current count.
+   * Executes the command to fetch the current count. A command bounded by a maximum staleness is
+   * served by the nearest secondary within that bound.
    *
    * @param command The {@link CountDownLatchCommand.GetCount} command.
    * @param context The context for command execution.
@@ -70,8 +70,8 @@ public class GetCountCommandHandler
   @Override
   public CountDownLatchCommand.GetCountResult execute(
       CountDownLatchCommand.GetCount command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
-    MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
+    MongoCollection<Document> collection =
+        getCollection(context, COUNTDOWN_LATCH, command.maxStaleness());
 
     Function<ClientSession, CountDownLatchCommand.GetCountResult> cmdBlock =
         session -> {
@@ -85,7 +85,7 @@ public class GetCountCommandHandler
           }
         };
     Result<CountDownLatchCommand.GetCountResult> result =
-        this.newCommandExecutor(client).withoutCausallyConsistent().withoutTxn().execute(cmdBlock);
+        this.newCommandExecutor(context).withoutCausallyConsistent().withoutTxn().execute(cmdBlock);
     try {
       return result.getOrThrow();
     } catch (Throwable e) {
@@ -25,7 +25,6 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.UpdateOptions;
 import org.bson.Document;
@@ -73,7 +72,6 @@ public class InitializeCommandHandler
   @Override
   public Void execute(
       CountDownLatchCommand.Initialize command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, COUNTDOWN_LATCH);
 
     Function<ClientSession, Void> cmdBlock =
@@ -86,7 +84,7 @@ public class InitializeCommandHandler
         };
 
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command.lease;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.CommandHandler;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.MongoCommandHandler;
+import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.set;
+
+/**
+ * Handles the {@link LeaseCommand.BatchTimeToLive} command.
+ *
+ * <p>All renewals are sent as one unordered {@code bulkWrite}, so a client holding many leases
+ * pays for a single majority write per tick. A renewal fails on its own when its lease document no
+ * longer exists or when its write is reported as a write error; the other renewals are unaffected.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService(CommandHandler.class)
+@HandlesCommand(LeaseCommand.BatchTimeToLive.class)
+public class BatchTimeToLiveCommandHandler
+    extends MongoCommandHandler<
+        LeaseCommand.BatchTimeToLive, LeaseCommand.BatchTimeToLiveResult> {
+
+  /** Builds one update per renewal, in the order of the renewals of the batch. */
+  public static List<UpdateOneModel<Document>> buildUpdateModels(
+      LeaseCommand.BatchTimeToLive command) {
+    return command.renewals().stream()
+        .map(
+            renewal ->
+                new UpdateOneModel<Document>(
+                    eq("_id", renewal.id()),
+                    combine(set("expire_time", renewal.nextExpireTime()), inc("version", 1L))))
+        .toList();
+  }
+
+  /**
+   * Maps the outcome of the bulk write back to every lease of the batch.
+   *
+   * @param command the batch command
+   * @param failedIndexes the indexes of the renewals reported as write errors
+   * @param expireTimes the expire time of the leases that still exist, or {@code null} if every
+   *     renewal without a write error matched its lease document
+   */
+  public static LeaseCommand.BatchTimeToLiveResult buildResult(
+      LeaseCommand.BatchTimeToLive command,
+      Set<Integer> failedIndexes,
+      Map<String, Date> expireTimes) {
+    Map<String, LeaseCommand.TimeToLiveResult> results = new LinkedHashMap<>();
+    List<LeaseCommand.TimeToLive> renewals = command.renewals();
+    for (int i = 0; i < renewals.size(); i++) {
+      LeaseCommand.TimeToLive renewal = renewals.get(i);
+      LeaseCommand.TimeToLiveResult result;
+      if (failedIndexes.contains(i)) {
+        result = new LeaseCommand.TimeToLiveResult(false, null);
+      } else if (expireTimes == null) {
+        // BSON dates only have millisecond precision.
+        result =
+            new LeaseCommand.TimeToLiveResult(
+                true, renewal.nextExpireTime().truncatedTo(ChronoUnit.MILLIS));
+      } else {
+        Date expireTime = expireTimes.get(renewal.id());
+        result =
+            expireTime == null
+                ? new LeaseCommand.TimeToLiveResult(false, null)
+                : new LeaseCommand.TimeToLiveResult(true, expireTime.toInstant());
+      }
+      results.put(renewal.id(), result);
+    }
+    return new LeaseCommand.BatchTimeToLiveResult(results);
+  }
+
+  /** Returns the renewals of the batch that were applied to an existing lease. */
+  public static List<LeaseCommand.TimeToLive> successfulRenewals(
+      LeaseCommand.BatchTimeToLive command, LeaseCommand.BatchTimeToLiveResult result) {
+    return command.renewals().stream()
+        .filter(renewal -> result.results().get(renewal.id()).success())
+        .toList();
+  }
+
+  private LeaseCommand.BatchTimeToLiveResult propagated(
+      MongoCommandHandlerContext context,
+      LeaseCommand.BatchTimeToLiveResult result,
+      LeaseCommand.BatchTimeToLive command) {
+    propagateLeaseExpiry(context, successfulRenewals(command, result));
+    return result;
+  }
+
+  @Override
+  protected LeaseCommand.BatchTimeToLiveResult execute(
+      LeaseCommand.BatchTimeToLive command, MongoCommandHandlerContext context) {
+    if (command.renewals().isEmpty()) return new LeaseCommand.BatchTimeToLiveResult(Map.of());
+
+    MongoCollection<Document> collection = getCollection(context, AtomaCollectionNamespace.LEASE);
+    List<UpdateOneModel<Document>> updates = buildUpdateModels(command);
+
+    Function<ClientSession, LeaseCommand.BatchTimeToLiveResult> cmdBlock =
+        (session) -> {
+          Set<Integer> failedIndexes = new HashSet<>();
+          int matchedCount;
+          try {
+            matchedCount =
+                collection
+                    .bulkWrite(updates, new BulkWriteOptions().ordered(false))
+                    .getMatchedCount();
+          } catch (MongoBulkWriteException e) {
+            e.getWriteErrors().stream().map(BulkWriteError::getIndex).forEach(failedIndexes::add);
+            matchedCount = e.getWriteResult().getMatchedCount();
+          }
+
+          if (matchedCount == updates.size() - failedIndexes.size()) {
+            return propagated(context, buildResult(command, failedIndexes, null), command);
+          }
+
+          // Some leases are gone, find out which ones.
+          List<String> ids =
+              command.renewals().stream().map(LeaseCommand.TimeToLive::id).toList();
+          Map<String, Date> expireTimes = new HashMap<>();
+          for (Document doc :
+              collection
+                  .find(in("_id", ids))
+                  .projection(include("expire_time"))
+                  .into(new ArrayList<>())) {
+            expireTimes.put(doc.getString("_id"), doc.get("expire_time", Date.class));
+          }
+          return propagated(context, buildResult(command, failedIndexes, expireTimes), command);
+        };
+
+    try {
+      return this.newCommandExecutor(context)
+          .withoutTxn()
+          .execute(cmdBlock)
+          .getOrThrow();
+    } catch (Throwable e) {
+      throw new AtomaStateException(e);
+    }
+  }
+}
@@ -83,7 +83,7 @@ public class GrantCommandHandler
         };
 
     try {
-      return this.newCommandExecutor(context.getClient())
+      return this.newCommandExecutor(context)
           .withoutTxn()
           .execute(cmdBlock)
           .getOrThrow();
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 XueFeng Ma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package atoma.storage.mongo.command.lease;
+
+import atoma.api.AtomaStateException;
+import atoma.api.coordination.command.CommandHandler;
+import atoma.api.coordination.command.HandlesCommand;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.MongoCommandHandler;
+import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import com.google.auto.service.AutoService;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Sorts.ascending;
+
+/**
+ * Handles the {@link LeaseCommand.ReapExpired} command.
+ *
+ * <p>The TTL monitor of MongoDB only wakes up every 60 seconds, so a lease reaped by the {@code
+ * expire_time} TTL index alone keeps its resources for up to a minute after its expiration. This
+ * handler walks the same index for leases past the cutoff and deletes them right away. The
+ * deletion filter repeats the cutoff, so a lease renewed between the two operations survives.
+ */
+@SuppressWarnings("rawtypes")
+@AutoService({CommandHandler.class})
+@HandlesCommand(LeaseCommand.ReapExpired.class)
+public class ReapExpiredCommandHandler
+    extends MongoCommandHandler<LeaseCommand.ReapExpired, LeaseCommand.ReapExpiredResult> {
+
+  /**
+   * Builds the filter of the leases to reap. The cutoff is computed from {@code $$NOW}, the clock
+   * of the server, like the expiration by the TTL index: a client with a skewed clock neither
+   * reaps live leases nor keeps expired ones. {@code $$NOW} is constant within an operation, so
+   * the comparison still uses the {@code expire_time} index.
+   *
+   * @param command The command.
+   * @return A filter on the {@code expire_time} index.
+   */
+  public static Bson buildExpiredFilter(LeaseCommand.ReapExpired command) {
+    return expr(
+        new Document(
+            "$lt",
+            List.of(
+                "$expire_time",
+                new Document("$subtract", List.of("$$NOW", command.grace().toMillis())))));
+  }
+
+  @Override
+  protected LeaseCommand.ReapExpiredResult execute(
+      LeaseCommand.ReapExpired command, MongoCommandHandlerContext context) {
+    MongoCollection<Document> collection =
+        getCollection(context, AtomaCollectionNamespace.LEASE);
+
+    Function<ClientSession, LeaseCommand.ReapExpiredResult> cmdBlock =
+        session -> {
+          Bson expired = buildExpiredFilter(command);
+          List<Object> ids = new ArrayList<>();
+          collection
+              .find(expired)
+              .projection(include("_id"))
+              .sort(ascending("expire_time"))
+              .limit(command.limit())
+              .forEach(doc -> ids.add(doc.get("_id")));
+          if (ids.isEmpty()) return new LeaseCommand.ReapExpiredResult(0L);
+
+          long reaped = collection.deleteMany(and(in("_id", ids), expired)).getDeletedCount();
+          return new LeaseCommand.ReapExpiredResult(reaped);
+        };
+
+    try {
+      return this.newCommandExecutor(context)
+          .withoutTxn()
+          .execute(cmdBlock)
+          .getOrThrow();
+    } catch (Throwable e) {
+      throw new AtomaStateException(e);
+    }
+  }
+}
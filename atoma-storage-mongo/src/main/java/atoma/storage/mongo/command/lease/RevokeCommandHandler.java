@@ -54,7 +54,7 @@ public class RevokeCommandHandler
         };
 
     try {
-      return this.newCommandExecutor(context.getClient()).withoutTxn().execute(cmdBlock).getOrThrow();
+      return this.newCommandExecutor(context).withoutTxn().execute(cmdBlock).getOrThrow();
     } catch (Throwable e) {
       throw new AtomaStateException(e);
     }
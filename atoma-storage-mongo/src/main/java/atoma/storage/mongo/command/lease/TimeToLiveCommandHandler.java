@@ -32,6 +32,7 @@ import org.bson.Document;
 
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 
 @SuppressWarnings("rawtypes")
@@ -63,6 +64,7 @@ public class TimeToLiveCommandHandler
           Document updatedDocument = collection.findOneAndUpdate(query, update, options);
 
           if (updatedDocument != null) {
+            propagateLeaseExpiry(context, List.of(command));
             long expireTimeMillis = updatedDocument.get("expire_time", Date.class).getTime();
             return new LeaseCommand.TimeToLiveResult(true, Instant.ofEpochMilli(expireTimeMillis));
           } else {
@@ -74,7 +76,7 @@ public class TimeToLiveCommandHandler
         };
 
     try {
-      return this.newCommandExecutor(context.getClient())
+      return this.newCommandExecutor(context)
           .withoutTxn()
           .execute(cmdBlock)
           .getOrThrow();
@@ -24,11 +24,13 @@ import atoma.api.coordination.command.HandlesCommand;
 import atoma.api.coordination.command.LockCommand;
 import atoma.storage.mongo.command.AtomaCollectionNamespace;
 import atoma.storage.mongo.command.CommandFailureException;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -37,11 +39,16 @@ import org.bson.BsonNull;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static atoma.storage.mongo.command.LeaseExpiry.LEASE_EXPIRE_TIME;
 import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
 import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
 import static com.mongodb.client.model.Aggregates.replaceRoot;
@@ -64,6 +71,10 @@ import static com.mongodb.client.model.Filters.eq;
  *   <li><b>If the lock already exists:</b> The {@code $setOnInsert} operator has no effect. The
  *       existing {@code holder} and {@code lease} fields are unchanged. The acquisition attempt
  *       will fail because the current requester is not the original holder that was set on insert.
+ *   <li><b>If the lease of the holder has expired:</b> The lock document carries the expiration
+ *       time of the holder's lease. Once it has passed, grace included, the requester looks the
+ *       lease up and, if it has expired indeed, takes the lock over with a second operation, see
+ *       {@link LeaseExpiry}.
  * </ol>
  *
  * <p>On every acquisition attempt, a {@code version} number in the document is incremented. This
@@ -78,6 +89,7 @@ import static com.mongodb.client.model.Filters.eq;
  *   "_id": "<resource-id>",
  *   "holder": "<holder-id>",
  *   "lease": "<lease-id>",
+ *   "lease_expire_time": <date>,
  *   "version": <long>
  * }
  * }</pre>
@@ -86,6 +98,7 @@ import static com.mongodb.client.model.Filters.eq;
  *   <li>{@code _id}: The unique identifier for the locked resource.
  *   <li>{@code holder}: A unique identifier for the thread or process that holds the lock.
  *   <li>{@code lease}: The lease ID associated with the lock, used for expiration.
+ *   <li>{@code lease_expire_time}: The expiration time of the lease, absent if unknown.
  *   <li>{@code version}: A numeric fencing token that is incremented on each acquisition attempt.
  * </ul>
  */
@@ -95,7 +108,57 @@ import static com.mongodb.client.model.Filters.eq;
 public final class AcquireCommandHandler
     extends MongoCommandHandler<LockCommand.Acquire, LockCommand.AcquireResult> {
 
-  private List<Bson> buildAggregationPipeline(String holder, String lease) {
+  /** Builds the result of an acquisition from the lock document after the operation. */
+  public static LockCommand.AcquireResult buildResult(
+      LockCommand.Acquire command, Document lockDoc) {
+    // Acquisition success.
+    if (lockDoc != null
+        && lockDoc.getString("holder").equals(command.holderId())
+        && lockDoc.getString("lease").equals(command.leaseId()))
+      return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
+
+    // Acquisition failed.
+    if (lockDoc != null) {
+      return new LockCommand.AcquireResult(
+          false,
+          lockDoc.getLong("version"),
+          LeaseExpiry.takeoverTime(lockDoc.getDate(LEASE_EXPIRE_TIME)));
+    }
+
+    // The lock does not exist. But acquisition failed. In this scenario. It's an
+    // unexpected error that external logic to retry.
+    return new LockCommand.AcquireResult(false, -1L);
+  }
+
+  /** The acquisition pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /**
+   * Builds the variables of the acquisition pipeline.
+   *
+   * @param holder the holder-id of the requester.
+   * @param lease the lease-id of the requester.
+   * @param stamp the expiration time of the lease of the requester, or {@code null} if unknown.
+   * @param expired the leases found expired, whose lock can be taken over.
+   * @return The {@code let} option of the {@code findOneAndUpdate} operation.
+   */
+  public static Bson buildVariables(
+      String holder, String lease, Date stamp, Collection<String> expired) {
+    return PrecompiledPipeline.variables()
+        .bind("holder", holder)
+        .bind("lease", lease)
+        .bind("stamp", stamp)
+        .bind(LeaseExpiry.EXPIRED, expired);
+  }
+
+  /**
+   * Builds the acquisition pipeline, reading the parameters of the requester from the {@code
+   * $$holder}, {@code $$lease}, {@code $$stamp} and {@code $$expired} variables.
+   *
+   * @return A {@link List} of {@link Bson} stages for the {@code findOneAndUpdate} operation.
+   */
+  private static List<Bson> buildAggregationPipeline() {
     return List.of(
         replaceRoot(
             new Document(
@@ -118,13 +181,18 @@ public final class AcquireCommandHandler
                             new Document(
                                 "$and",
                                 Arrays.asList(
-                                    new Document("$eq", Arrays.asList("$holder", holder)),
-                                    new Document("$eq", Arrays.asList("$lease", lease)))))),
+                                    new Document("$eq", Arrays.asList("$holder", "$$holder")),
+                                    new Document("$eq", Arrays.asList("$lease", "$$lease")))),
+                            // The lease of the holder has expired.
+                            LeaseExpiry.isExpired("$lease"))),
 
                     // ========= then =========
                     new Document()
-                        .append("lease", lease)
-                        .append("holder", holder)
+                        .append("lease", "$$lease")
+                        .append("holder", "$$holder")
+                        .append(
+                            LEASE_EXPIRE_TIME,
+                            new Document("$ifNull", Arrays.asList("$$stamp", "$$REMOVE")))
                         .append(
                             "version",
                             new Document(
@@ -149,45 +217,55 @@ public final class AcquireCommandHandler
   @Override
   public LockCommand.AcquireResult execute(
       LockCommand.Acquire command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.MUTEX_LOCK);
 
-    List<Bson> pipeline = buildAggregationPipeline(command.holderId(), command.leaseId());
+    Date stamp = LeaseExpiry.stampOf(command.leaseExpireTime(), command.leaseRenewal());
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
+    // Once, rather than on every retry of the command.
+    renewLease(context, command.leaseRenewal());
 
     Function<ClientSession, LockCommand.AcquireResult> cmdBlock =
         session -> {
-          // Which will return an old document if the lock is already held by other thread.
-          Document lockDoc =
-              collection.findOneAndUpdate(
-                  eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).upsert(true));
-
-          // Acquisition success.
-          if (lockDoc != null
-              && lockDoc.getString("holder").equals(command.holderId())
-              && lockDoc.getString("lease").equals(command.leaseId()))
-            return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
-
-          // Acquisition failed.
-          if (lockDoc != null) {
-            return new LockCommand.AcquireResult(false, lockDoc.getLong("version"));
+          Function<List<String>, Document> acquire =
+              expired ->
+                  collection.findOneAndUpdate(
+                      eq("_id", context.getResourceId()),
+                      PIPELINE.stages(),
+                      new FindOneAndUpdateOptions()
+                          .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                          .returnDocument(ReturnDocument.AFTER)
+                          .upsert(true)
+                          .let(
+                              buildVariables(
+                                  command.holderId(), command.leaseId(), stamp, expired)));
+          Document lockDoc = acquire.apply(List.of());
+          LockCommand.AcquireResult acquireResult = buildResult(command, lockDoc);
+          if (acquireResult.acquired()
+              || !LeaseExpiry.isTakeoverDue(acquireResult.takeoverTime())) {
+            return acquireResult;
           }
 
-          // The lock does not exist. But acquisition failed. In this scenario. It's an
-          // unexpected error that external logic to retry.
-          return new LockCommand.AcquireResult(false, -1L);
+          // The stamp of the holder has passed, its lease may have been renewed since.
+          String holderLease = lockDoc.getString("lease");
+          Map<String, Instant> live = liveLeases(context, List.of(holderLease), deadline);
+          if (live.containsKey(holderLease)) {
+            return new LockCommand.AcquireResult(
+                false, acquireResult.serverLogicalLatestVersion(), live.get(holderLease));
+          }
+          return buildResult(command, acquire.apply(List.of(holderLease)));
         };
 
     Result<LockCommand.AcquireResult> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnException(CommandFailureException.class)
             .retryOnCode(WRITE_CONFLICT)
             .retryOnCode(DUPLICATE_KEY)
-            .withTimeout(Duration.of(command.timeout(), command.timeUnit().toChronoUnit()))
+            .withDeadline(deadline)
             .execute(cmdBlock);
 
     try {
@@ -27,7 +27,6 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
@@ -68,16 +67,24 @@ import static com.mongodb.client.model.Filters.*;
 @AutoService({CommandHandler.class})
 @HandlesCommand(LockCommand.Release.class)
 public class ReleaseCommandHandler extends MongoCommandHandler<LockCommand.Release, Void> {
+
+  /** Matches the lock if it is held by the releasing holder. */
+  public static Bson buildFilter(String resourceId, LockCommand.Release command) {
+    return and(eq("_id", resourceId), eq("holder", command.holderId()));
+  }
+
   @Override
   public Void execute(LockCommand.Release command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.MUTEX_LOCK);
 
+    // Once, rather than on every retry of the command.
+    renewLease(context, command.leaseRenewal());
+
     Function<ClientSession, Void> cmdBlock =
         session -> {
-          Bson filter = and(eq("_id", context.getResourceId()), eq("holder", command.holderId()));
-          DeleteResult deleteResult = collection.deleteOne(filter);
+          DeleteResult deleteResult =
+              collection.deleteOne(buildFilter(context.getResourceId(), command));
 
           if (deleteResult.getDeletedCount() == 1L) return null;
 
@@ -89,7 +96,7 @@ public class ReleaseCommandHandler extends MongoCommandHandler<LockCommand.Relea
                   + "'");
         };
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
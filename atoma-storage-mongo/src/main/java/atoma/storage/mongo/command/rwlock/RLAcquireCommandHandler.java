@@ -24,11 +24,13 @@ import atoma.api.coordination.command.HandlesCommand;
 import atoma.api.coordination.command.LockCommand;
 import atoma.api.coordination.command.ReadWriteLockCommand;
 import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -37,15 +39,21 @@ import org.bson.BsonNull;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static atoma.storage.mongo.command.LeaseExpiry.LEASE_EXPIRE_TIME;
 import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
 import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
 import static com.mongodb.client.model.Aggregates.replaceRoot;
 import static com.mongodb.client.model.Filters.eq;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 /**
@@ -58,14 +66,16 @@ import static java.util.Collections.singletonList;
  *
  * <h3>Acquisition Logic</h3>
  *
- * <p>The operation succeeds if the lock document has no {@code write_lock} field. On successful
- * acquisition, the handler atomically adds a sub-document with the caller's {@code holder} and
- * {@code lease} identifiers to the {@code read_locks} array.
+ * <p>The operation succeeds if the lock document has no {@code write_lock} field, or if the lease
+ * of the write lock holder has expired, in which case the write lock is taken over (see {@link
+ * LeaseExpiry}). On successful acquisition, the handler atomically adds a sub-document with the
+ * caller's {@code holder} and {@code lease} identifiers and the expiration time of its lease to the
+ * {@code read_locks} array, dropping the read locks of expired leases on the way.
  *
- * <p>The update uses a {@code $setUnion} operation, which makes the acquisition idempotent: if the
- * caller already holds a read lock, the {@code read_locks} array remains unchanged. This provides a
- * form of re-entrancy without a counter. A top-level {@code version} field is also incremented on
- * each attempt.
+ * <p>The update replaces any previous entry of the caller, which makes the acquisition idempotent:
+ * if the caller already holds a read lock, it still holds a single entry. This provides a form of
+ * re-entrancy without a counter. A top-level {@code version} field is also incremented on each
+ * attempt.
  *
  * <h3>MongoDB Document Schema</h3>
  *
@@ -77,8 +87,8 @@ import static java.util.Collections.singletonList;
  *   "version": <long>,
  *   "write_lock": { ... }, // Exists only if a write lock is held
  *   "read_locks": [
- *     { "holder": "<holder-id-1>", "lease": "<lease-id-1>" },
- *     { "holder": "<holder-id-2>", "lease": "<lease-id-2>" },
+ *     { "holder": "<holder-id-1>", "lease": "<lease-id-1>", "lease_expire_time": <date> },
+ *     { "holder": "<holder-id-2>", "lease": "<lease-id-2>", "lease_expire_time": <date> },
  *     ...
  *   ]
  * }
@@ -90,26 +100,54 @@ import static java.util.Collections.singletonList;
 public class RLAcquireCommandHandler
     extends MongoCommandHandler<ReadWriteLockCommand.AcquireRead, LockCommand.AcquireResult> {
 
+  /** The acquisition pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /**
+   * Builds the variables of the acquisition pipeline.
+   *
+   * @param holder the holder-id of the requester.
+   * @param lease the lease-id of the requester.
+   * @param stamp the expiration time of the lease of the requester, or {@code null} if unknown.
+   * @param expired the leases found expired, whose locks can be taken over.
+   * @return The {@code let} option of the {@code findOneAndUpdate} operation.
+   */
+  public static Bson buildVariables(
+      String holder, String lease, Date stamp, Collection<String> expired) {
+    var owner = new Document("holder", holder).append("lease", lease);
+    if (stamp != null) owner.append(LEASE_EXPIRE_TIME, stamp);
+    return PrecompiledPipeline.variables()
+        .bind("owner", owner)
+        .bind(LeaseExpiry.EXPIRED, expired);
+  }
+
   /**
    * Builds the MongoDB aggregation pipeline for atomically acquiring a read lock.
    *
    * <p>The pipeline performs a conditional update. It checks if a write lock is held (i.e., if the
-   * {@code write_lock} field is present and non-null).
+   * {@code write_lock} field is present and non-null) by a lease that has not expired.
    *
    * <ul>
-   *   <li><b>If no write lock exists:</b> It adds the specified {@code owner} to the {@code
-   *       read_locks} array using {@code $setUnion} for idempotency and increments the {@code
-   *       version}. If the document or fields are new, they are created.
+   *   <li><b>If no write lock exists:</b> It replaces the entry of the specified {@code owner} in
+   *       the {@code read_locks} array, drops the entries of expired leases and increments the
+   *       {@code version}. If the document or fields are new, they are created.
    *   <li><b>If a write lock exists:</b> The pipeline returns the document unmodified, causing the
    *       subsequent check to fail, thus preventing read lock acquisition.
    * </ul>
    *
-   * @param owner A BSON {@link Document} representing the caller, containing {@code holder} and
-   *     {@code lease} identifiers.
+   * <p>The caller is read from the {@code $$owner} variable, a document containing its {@code
+   * holder} and {@code lease} identifiers, and the expiration time of its lease if known.
+   *
    * @return A {@link List} of {@link Bson} stages for the {@code findOneAndUpdate} operation.
    */
-  private List<Bson> buildAggregationPipeline(Document owner) {
-    List<Document> ownerDocArray = singletonList(owner);
+  private static List<Bson> buildAggregationPipeline() {
+    Document isSameOwner =
+        new Document(
+            "$and",
+            Arrays.asList(
+                new Document("$eq", Arrays.asList("$$this.holder", "$$owner.holder")),
+                new Document("$eq", Arrays.asList("$$this.lease", "$$owner.lease"))));
     return List.of(
         replaceRoot(
             new Document(
@@ -117,41 +155,64 @@ public class RLAcquireCommandHandler
                 Arrays.asList(
                     // ===== if =====
                     new Document(
-                        "$and",
+                        "$or",
                         Arrays.asList(
                             new Document(
-                                "$or",
+                                "$and",
                                 Arrays.asList(
                                     new Document(
-                                        "$eq",
+                                        "$or",
                                         Arrays.asList(
-                                            new Document("$type", "$write_lock.holder"),
-                                            "missing")),
-                                    new Document(
-                                        "$eq",
-                                        Arrays.asList("$write_lock.holder", BsonNull.VALUE)))),
-                            new Document(
-                                "$or",
-                                Arrays.asList(
+                                            new Document(
+                                                "$eq",
+                                                Arrays.asList(
+                                                    new Document("$type", "$write_lock.holder"),
+                                                    "missing")),
+                                            new Document(
+                                                "$eq",
+                                                Arrays.asList(
+                                                    "$write_lock.holder", BsonNull.VALUE)))),
                                     new Document(
-                                        "$eq",
+                                        "$or",
                                         Arrays.asList(
-                                            new Document("$type", "$write_lock.lease"), "missing")),
-                                    new Document(
-                                        "$eq",
-                                        Arrays.asList("$write_lock.lease", BsonNull.VALUE)))))),
+                                            new Document(
+                                                "$eq",
+                                                Arrays.asList(
+                                                    new Document("$type", "$write_lock.lease"),
+                                                    "missing")),
+                                            new Document(
+                                                "$eq",
+                                                Arrays.asList(
+                                                    "$write_lock.lease", BsonNull.VALUE)))))),
+                            // ---- the lease of the write lock holder has expired ----
+                            LeaseExpiry.isExpired("$write_lock.lease"))),
 
                     // ===== then =====
                     new Document()
                         .append(
                             "read_locks",
                             new Document(
-                                "$cond",
+                                "$concatArrays",
                                 Arrays.asList(
-                                    new Document("$isArray", "$read_locks"),
                                     new Document(
-                                        "$setUnion", Arrays.asList("$read_locks", ownerDocArray)),
-                                    ownerDocArray)))
+                                        "$filter",
+                                        new Document(
+                                                "input",
+                                                new Document(
+                                                    "$ifNull",
+                                                    Arrays.asList("$read_locks", emptyList())))
+                                            .append(
+                                                "cond",
+                                                new Document(
+                                                    "$not",
+                                                    singletonList(
+                                                        new Document(
+                                                            "$or",
+                                                            Arrays.asList(
+                                                                isSameOwner,
+                                                                LeaseExpiry.isExpired(
+                                                                    "$$this.lease"))))))),
+                                    singletonList("$$owner"))))
                         .append(
                             "version",
                             new Document(
@@ -199,53 +260,54 @@ public class RLAcquireCommandHandler
   @Override
   public LockCommand.AcquireResult execute(
       ReadWriteLockCommand.AcquireRead command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.RW_LOCK);
 
-    var owner = new Document("holder", command.holderId()).append("lease", command.leaseId());
-    List<Bson> pipeline = this.buildAggregationPipeline(owner);
+    Date stamp = LeaseExpiry.stampOf(command.leaseExpireTime(), null);
+
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
 
     Function<ClientSession, LockCommand.AcquireResult> cmdBlock =
         session -> {
 
           // 1. Attempt lock acquisition
           // Return a duplicate-key exception because of does not match the condition.
-
-          Document lockDoc =
-              collection.findOneAndUpdate(
-                  eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
-
-          // Acquisition success.
-          if (lockDoc != null
-              && lockDoc.getList("read_locks", Document.class) != null
-              && lockDoc.getList("read_locks", Document.class).stream()
-                  .anyMatch(
-                      t ->
-                          t.getString("lease").equals(command.leaseId())
-                              && t.getString("holder").equals(command.holderId()))) {
-            return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
+          Function<List<String>, Document> acquire =
+              expired ->
+                  collection.findOneAndUpdate(
+                      eq("_id", context.getResourceId()),
+                      PIPELINE.stages(),
+                      new FindOneAndUpdateOptions()
+                          .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                          .upsert(true)
+                          .returnDocument(ReturnDocument.AFTER)
+                          .let(
+                              buildVariables(
+                                  command.holderId(), command.leaseId(), stamp, expired)));
+          Document lockDoc = acquire.apply(List.of());
+          LockCommand.AcquireResult acquireResult = buildResult(command, lockDoc);
+          if (acquireResult.acquired()
+              || !LeaseExpiry.isTakeoverDue(acquireResult.takeoverTime())) {
+            return acquireResult;
           }
 
-          // Acquisition failed.
-          if (lockDoc != null) {
-            return new LockCommand.AcquireResult(false, lockDoc.getLong("version"));
+          // The stamp of the writer has passed, its lease may have been renewed since.
+          String writerLease = lockDoc.get("write_lock", Document.class).getString("lease");
+          Map<String, Instant> live = liveLeases(context, List.of(writerLease), deadline);
+          if (live.containsKey(writerLease)) {
+            return new LockCommand.AcquireResult(
+                false, acquireResult.serverLogicalLatestVersion(), live.get(writerLease));
           }
-
-          // The lock does not exist,But the acquisition failed, In this scenario. It's an
-          // unexpected error that external logic to retry.
-          return new LockCommand.AcquireResult(false, -1L);
+          return buildResult(command, acquire.apply(List.of(writerLease)));
         };
 
     Result<LockCommand.AcquireResult> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
             .retryOnCode(DUPLICATE_KEY)
-            .withTimeout(Duration.of(command.timeout(), command.timeUnit().toChronoUnit()))
+            .withDeadline(deadline)
             .execute(cmdBlock);
 
     try {
@@ -258,4 +320,35 @@ public class RLAcquireCommandHandler
       throw new AtomaStateException(e);
     }
   }
-}
\ No newline at end of file
+
+  /** Builds the result of an acquisition from the lock document after the operation. */
+  public static LockCommand.AcquireResult buildResult(
+      ReadWriteLockCommand.AcquireRead command, Document lockDoc) {
+    // Acquisition success.
+    if (lockDoc != null
+        && lockDoc.getList("read_locks", Document.class) != null
+        && lockDoc.getList("read_locks", Document.class).stream()
+            .anyMatch(
+                t ->
+                    t.getString("lease").equals(command.leaseId())
+                        && t.getString("holder").equals(command.holderId()))) {
+      return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
+    }
+
+    // Acquisition failed.
+    if (lockDoc != null) {
+      // Blocked by the write lock only.
+      Document writeLock = lockDoc.get("write_lock", Document.class);
+      return new LockCommand.AcquireResult(
+          false,
+          lockDoc.getLong("version"),
+          writeLock == null
+              ? null
+              : LeaseExpiry.takeoverTime(writeLock.getDate(LEASE_EXPIRE_TIME)));
+    }
+
+    // The lock does not exist,But the acquisition failed, In this scenario. It's an
+    // unexpected error that external logic to retry.
+    return new LockCommand.AcquireResult(false, -1L);
+  }
+}
@@ -28,11 +28,11 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import java.util.function.Function;
 
@@ -71,10 +71,25 @@ import static com.mongodb.client.model.Updates.pull;
 public class RLReleaseCommandHandler
     extends MongoCommandHandler<ReadWriteLockCommand.ReleaseRead, Void> {
 
+  /** Matches the lock if the releasing holder and lease have a read lock entry. */
+  public static Bson buildFilter(String resourceId, ReadWriteLockCommand.ReleaseRead command) {
+    return and(
+        eq("_id", resourceId),
+        elemMatch(
+            "read_locks", and(eq("holder", command.holderId()), eq("lease", command.leaseId()))));
+  }
+
+  /** Pulls the read lock entry of the releasing holder and lease. */
+  public static Bson buildUpdate(ReadWriteLockCommand.ReleaseRead command) {
+    return combine(
+        inc("version", 1),
+        // A condition rather than a document: entries also carry the lease expiry.
+        pull("read_locks", and(eq("holder", command.holderId()), eq("lease", command.leaseId()))));
+  }
+
   @Override
   public Void execute(
       ReadWriteLockCommand.ReleaseRead command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.RW_LOCK);
 
@@ -83,17 +98,8 @@ public class RLReleaseCommandHandler
           // 1. Attempt to release
           Document lockDoc =
               collection.findOneAndUpdate(
-                  and(
-                      eq("_id", context.getResourceId()),
-                      elemMatch(
-                          "read_locks",
-                          and(eq("holder", command.holderId()), eq("lease", command.leaseId())))),
-                  combine(
-                      inc("version", 1),
-                      pull(
-                          "read_locks",
-                          new Document("holder", command.holderId())
-                              .append("lease", command.leaseId()))),
+                  buildFilter(context.getResourceId(), command),
+                  buildUpdate(command),
                   new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
 
           if (lockDoc != null
@@ -116,7 +122,7 @@ public class RLReleaseCommandHandler
         };
 
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnException(CommandFailureException.class)
@@ -24,11 +24,13 @@ import atoma.api.coordination.command.HandlesCommand;
 import atoma.api.coordination.command.LockCommand;
 import atoma.api.coordination.command.ReadWriteLockCommand;
 import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Deadline;
+import atoma.storage.mongo.command.LeaseExpiry;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
+import atoma.storage.mongo.command.PrecompiledPipeline;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -37,15 +39,23 @@ import org.bson.BsonNull;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
-import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static atoma.storage.mongo.command.LeaseExpiry.LEASE_EXPIRE_TIME;
 import static atoma.storage.mongo.command.MongoErrorCode.DUPLICATE_KEY;
 import static atoma.storage.mongo.command.MongoErrorCode.WRITE_CONFLICT;
 import static com.mongodb.client.model.Aggregates.replaceRoot;
 import static com.mongodb.client.model.Filters.eq;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 /**
  * Handles the {@link ReadWriteLockCommand.AcquireWrite} command to acquire a distributed, exclusive
@@ -66,6 +76,10 @@ import static com.mongodb.client.model.Filters.eq;
  *       or is an empty array).
  * </ol>
  *
+ * <p>Locks held by a lease that has expired do not count: every lock entry carries the expiration
+ * time of its lease, kept up to date by the renewals of the lease, and the write lock takes over
+ * the entries whose expiration time has passed, grace included (see {@link LeaseExpiry}).
+ *
  * <p>If these conditions are met, the operation atomically creates the {@code write_lock}
  * sub-document, setting the holder and lease identifiers. It also increments a top-level {@code
  * version} field, which can be used as a fencing token.
@@ -87,13 +101,14 @@ import static com.mongodb.client.model.Filters.eq;
  *   // This sub-document exists only when a write lock is held. Its presence acts as an exclusive lock.
  *   "write_lock": {
  *     "holder": "<holder-id>",
- *     "lease": "<lease-id>"
+ *     "lease": "<lease-id>",
+ *     "lease_expire_time": <date>
  *   },
  *
  *   // --- Read Lock State ---
  *   // This array exists and is non-empty only when one or more read locks are held.
  *   "read_locks": [
- *     { "holder": "<holder-id>", "lease": "<lease-id>" },
+ *     { "holder": "<holder-id>", "lease": "<lease-id>", "lease_expire_time": <date> },
  *     ...
  *   ]
  * }
@@ -104,7 +119,42 @@ import static com.mongodb.client.model.Filters.eq;
 @HandlesCommand(ReadWriteLockCommand.AcquireWrite.class)
 public class WLAcquireCommandHandler
     extends MongoCommandHandler<ReadWriteLockCommand.AcquireWrite, LockCommand.AcquireResult> {
-  private List<Bson> buildAggregationPipeline(Document owner) {
+
+  /** The acquisition pipeline, shared with other backends using the same schema. */
+  public static final PrecompiledPipeline PIPELINE =
+      PrecompiledPipeline.compile(buildAggregationPipeline());
+
+  /**
+   * Builds the variables of the acquisition pipeline.
+   *
+   * @param holder the holder-id of the requester.
+   * @param lease the lease-id of the requester.
+   * @param stamp the expiration time of the lease of the requester, or {@code null} if unknown.
+   * @param expired the leases found expired, whose locks can be taken over.
+   * @return The {@code let} option of the {@code findOneAndUpdate} operation.
+   */
+  public static Bson buildVariables(
+      String holder, String lease, Date stamp, Collection<String> expired) {
+    var owner = new Document("holder", holder).append("lease", lease);
+    if (stamp != null) owner.append(LEASE_EXPIRE_TIME, stamp);
+    return PrecompiledPipeline.variables()
+        .bind("owner", owner)
+        .bind(LeaseExpiry.EXPIRED, expired);
+  }
+
+  /** The caller is read from the {@code $$owner} variable. */
+  private static List<Bson> buildAggregationPipeline() {
+    // Read locks held by leases that have not expired.
+    Document liveReadLocks =
+        new Document(
+            "$filter",
+            new Document(
+                    "input", new Document("$ifNull", Arrays.asList("$read_locks", emptyList())))
+                .append(
+                    "cond",
+                    new Document(
+                        "$not",
+                        singletonList(LeaseExpiry.isExpired("$$this.lease")))));
     return List.of(
         replaceRoot(
             new Document(
@@ -115,56 +165,50 @@ public class WLAcquireCommandHandler
                         "$and",
                         Arrays.asList(
 
-                            // ---- read_locks missing OR size == 0 ----
+                            // ---- no read lock of a live lease ----
                             new Document(
-                                "$or",
-                                Arrays.asList(
-                                    new Document(
-                                        "$eq",
-                                        Arrays.asList(
-                                            new Document("$type", "$read_locks"), "missing")),
-                                    new Document(
-                                        "$cond",
-                                        Arrays.asList(
-                                            new Document(
-                                                "$eq",
-                                                Arrays.asList(
-                                                    new Document("$size", "$read_locks"), 0)),
-                                            true,
-                                            false)))),
+                                "$eq", Arrays.asList(new Document("$size", liveReadLocks), 0)),
 
-                            // ---- write_lock.holder & lease missing or null ----
+                            // ---- write_lock.holder & lease missing or null, or expired ----
                             new Document(
-                                "$and",
+                                "$or",
                                 Arrays.asList(
                                     new Document(
-                                        "$or",
+                                        "$and",
                                         Arrays.asList(
                                             new Document(
-                                                "$eq",
+                                                "$or",
                                                 Arrays.asList(
-                                                    new Document("$type", "$write_lock.holder"),
-                                                    "missing")),
+                                                    new Document(
+                                                        "$eq",
+                                                        Arrays.asList(
+                                                            new Document(
+                                                                "$type", "$write_lock.holder"),
+                                                            "missing")),
+                                                    new Document(
+                                                        "$eq",
+                                                        Arrays.asList(
+                                                            "$write_lock.holder",
+                                                            BsonNull.VALUE)))),
                                             new Document(
-                                                "$eq",
+                                                "$or",
                                                 Arrays.asList(
-                                                    "$write_lock.holder", BsonNull.VALUE)))),
-                                    new Document(
-                                        "$or",
-                                        Arrays.asList(
-                                            new Document(
-                                                "$eq",
-                                                Arrays.asList(
-                                                    new Document("$type", "$write_lock.lease"),
-                                                    "missing")),
-                                            new Document(
-                                                "$eq",
-                                                Arrays.asList(
-                                                    "$write_lock.lease", BsonNull.VALUE)))))))),
+                                                    new Document(
+                                                        "$eq",
+                                                        Arrays.asList(
+                                                            new Document(
+                                                                "$type", "$write_lock.lease"),
+                                                            "missing")),
+                                                    new Document(
+                                                        "$eq",
+                                                        Arrays.asList(
+                                                            "$write_lock.lease",
+                                                            BsonNull.VALUE)))))),
+                                    LeaseExpiry.isExpired("$write_lock.lease"))))),
 
                     // ================= then =================
                     new Document()
-                        .append("write_lock", owner)
+                        .append("write_lock", "$$owner")
                         .append(
                             "version",
                             new Document(
@@ -186,56 +230,111 @@ public class WLAcquireCommandHandler
                     "$$ROOT"))));
   }
 
+  /** Returns the locks blocking a write lock. */
+  public static List<Document> blockers(Document lockDoc) {
+    List<Document> blockers = new ArrayList<>();
+    Document writeLock = lockDoc.get("write_lock", Document.class);
+    if (writeLock != null) blockers.add(writeLock);
+    List<Document> readLocks = lockDoc.getList("read_locks", Document.class);
+    if (readLocks != null) blockers.addAll(readLocks);
+    return blockers;
+  }
+
+  /**
+   * Returns the instant from which a write lock can take over every lock blocking it, or {@code
+   * null} if one of them carries no lease expiration time.
+   */
+  private static Instant takeoverTime(Document lockDoc) {
+    Instant takeoverTime = null;
+    for (Document blocker : blockers(lockDoc)) {
+      Instant blockerTakeoverTime = LeaseExpiry.takeoverTime(blocker.getDate(LEASE_EXPIRE_TIME));
+      if (blockerTakeoverTime == null) return null;
+      if (takeoverTime == null || blockerTakeoverTime.isAfter(takeoverTime)) {
+        takeoverTime = blockerTakeoverTime;
+      }
+    }
+    return takeoverTime;
+  }
+
+  /** Builds the result of an acquisition from the lock document after the operation. */
+  public static LockCommand.AcquireResult buildResult(
+      ReadWriteLockCommand.AcquireWrite command, Document lockDoc) {
+    // Acquisition success.
+    if (lockDoc != null
+        && lockDoc.containsKey("write_lock")
+        && lockDoc.get("write_lock", Document.class).getString("lease").equals(command.leaseId())
+        && lockDoc
+            .get("write_lock", Document.class)
+            .getString("holder")
+            .equals(command.holderId())) {
+      return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
+    }
+
+    // Acquisition failed.
+    if (lockDoc != null) {
+      return new LockCommand.AcquireResult(
+          false, lockDoc.getLong("version"), takeoverTime(lockDoc));
+    }
+
+    // The lock is not exists. but acquisition failed. In this scenario. It's an
+    // unexpected error that external logic to retry.
+    return new LockCommand.AcquireResult(false, -1L);
+  }
+
   @Override
   public LockCommand.AcquireResult execute(
       ReadWriteLockCommand.AcquireWrite command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.RW_LOCK);
 
-    var owner = new Document("holder", command.holderId()).append("lease", command.leaseId());
-    List<Bson> pipeline = this.buildAggregationPipeline(owner);
+    Date stamp = LeaseExpiry.stampOf(command.leaseExpireTime(), null);
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
     Function<ClientSession, LockCommand.AcquireResult> cmdBlock =
         session -> {
           // 1. Attempt lock acquisition
           // Return a duplicate-key exception because of does not match the condition.
-          Document lockDoc =
-              collection.findOneAndUpdate(
-                  eq("_id", context.getResourceId()),
-                  pipeline,
-                  new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
-
-          // Acquisition success.
-          if (lockDoc != null
-              && lockDoc.containsKey("write_lock")
-              && lockDoc
-                  .get("write_lock", Document.class)
-                  .getString("lease")
-                  .equals(command.leaseId())
-              && lockDoc
-                  .get("write_lock", Document.class)
-                  .getString("holder")
-                  .equals(command.holderId())) {
-            return new LockCommand.AcquireResult(true, lockDoc.getLong("version"));
+          Function<List<String>, Document> acquire =
+              expired ->
+                  collection.findOneAndUpdate(
+                      eq("_id", context.getResourceId()),
+                      PIPELINE.stages(),
+                      new FindOneAndUpdateOptions()
+                          .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                          .upsert(true)
+                          .returnDocument(ReturnDocument.AFTER)
+                          .let(
+                              buildVariables(
+                                  command.holderId(), command.leaseId(), stamp, expired)));
+          Document lockDoc = acquire.apply(List.of());
+          LockCommand.AcquireResult acquireResult = buildResult(command, lockDoc);
+          if (acquireResult.acquired()
+              || !LeaseExpiry.isTakeoverDue(acquireResult.takeoverTime())) {
+            return acquireResult;
           }
 
-          // Acquisition failed.
-          if (lockDoc != null) {
-            return new LockCommand.AcquireResult(false, lockDoc.getLong("version"));
+          // The stamps of the blockers have passed, their leases may have been renewed since.
+          List<String> blockerLeases =
+              blockers(lockDoc).stream().map(blocker -> blocker.getString("lease")).toList();
+          Map<String, Instant> live = liveLeases(context, blockerLeases, deadline);
+          List<String> expired =
+              blockerLeases.stream().filter(lease -> !live.containsKey(lease)).toList();
+          if (expired.isEmpty()) {
+            return new LockCommand.AcquireResult(
+                false,
+                acquireResult.serverLogicalLatestVersion(),
+                live.values().stream().max(Instant::compareTo).orElse(null));
           }
-
-          // The lock is not exists. but acquisition failed. In this scenario. It's an
-          // unexpected error that external logic to retry.
-          return new LockCommand.AcquireResult(false, -1L);
+          return buildResult(command, acquire.apply(expired));
         };
 
     Result<LockCommand.AcquireResult> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
             .retryOnCode(DUPLICATE_KEY)
-            .withTimeout(Duration.of(command.timeout(), command.timeUnit().toChronoUnit()))
+            .withDeadline(deadline)
             .execute(cmdBlock);
 
     try {
@@ -28,7 +28,6 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
@@ -91,21 +90,24 @@ import static com.mongodb.client.model.Filters.*;
 public class WLReleaseCommandHandler
     extends MongoCommandHandler<ReadWriteLockCommand.ReleaseWrite, Void> {
 
+  /** Matches the lock if its write lock is held by the releasing holder and lease. */
+  public static Bson buildFilter(String resourceId, ReadWriteLockCommand.ReleaseWrite command) {
+    return and(
+        eq("_id", resourceId),
+        eq("write_lock.holder", command.holderId()),
+        eq("write_lock.lease", command.leaseId()));
+  }
+
   @Override
   public Void execute(
       ReadWriteLockCommand.ReleaseWrite command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection =
         getCollection(context, AtomaCollectionNamespace.RW_LOCK);
 
     Function<ClientSession, Void> cmdBlock =
         session -> {
-          Bson filter =
-              and(
-                  eq("_id", context.getResourceId()),
-                  eq("write_lock.holder", command.holderId()),
-                  eq("write_lock.lease", command.leaseId()));
-          DeleteResult deleteResult = collection.deleteOne(filter);
+          DeleteResult deleteResult =
+              collection.deleteOne(buildFilter(context.getResourceId(), command));
 
           if (deleteResult.getDeletedCount() == 1L) return null;
 
@@ -118,7 +120,7 @@ public class WLReleaseCommandHandler
         };
 
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnException(CommandFailureException.class)
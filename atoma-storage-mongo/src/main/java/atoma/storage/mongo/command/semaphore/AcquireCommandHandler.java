@@ -22,11 +22,11 @@ import atoma.api.Result;
 import atoma.api.coordination.command.CommandHandler;
 import atoma.api.coordination.command.HandlesCommand;
 import atoma.api.coordination.command.SemaphoreCommand;
+import atoma.storage.mongo.command.Deadline;
 import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
@@ -34,8 +34,8 @@ import dev.failsafe.TimeoutExceededException;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static atoma.storage.mongo.command.AtomaCollectionNamespace.SEMAPHORE;
@@ -139,12 +139,17 @@ public class AcquireCommandHandler
    * }
    * }</pre>
    *
+   * <p>The permits held by the lease are read and written directly under {@code leases.<lease>}.
+   * A field name cannot come from a {@code let} variable, so the pipeline is built for each
+   * command rather than precompiled: finding the entry among the pairs of {@code $objectToArray}
+   * would cost a scan of every lease holding permits.
+   *
    * @see MongoCollection#findOneAndUpdate(Bson, List)
    * @see MongoCollection#updateOne(Bson, Bson)
    * @param command acquire command
    * @return A {@link List} of {@link Bson} stages for the {@code findOneAndUpdate} operation.
    */
-  private List<Bson> buildAggregationPipeline(SemaphoreCommand.Acquire command) {
+  public static List<Bson> buildAggregationPipeline(SemaphoreCommand.Acquire command) {
     int acquirePermits = command.permits();
     int initialPermits = command.initialPermits();
     return List.of(
@@ -254,21 +259,27 @@ public class AcquireCommandHandler
   @Override
   public SemaphoreCommand.AcquireResult execute(
       SemaphoreCommand.Acquire command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
 
     List<Bson> pipeline = buildAggregationPipeline(command);
 
+    Deadline deadline = Deadline.after(command.timeout(), command.timeUnit());
+
+    // Once, rather than on every retry of the command.
+    renewLease(context, command.leaseRenewal());
+
     Function<ClientSession, SemaphoreCommand.AcquireResult> cmdBlock =
         session -> {
-
           // First, try to acquire from an existing semaphore.
           // Condition: available_permits must be sufficient.
           Document semaphoreDoc =
               collection.findOneAndUpdate(
                   eq("_id", context.getResourceId()),
                   pipeline,
-                  new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).upsert(true));
+                  new FindOneAndUpdateOptions()
+                      .maxTime(deadline.maxTimeMillis(), TimeUnit.MILLISECONDS)
+                      .returnDocument(ReturnDocument.AFTER)
+                      .upsert(true));
 
           // The reason for not using the version number as the basis for determining success is
           // that the mongo-filter only sets the _id to be equal to a fixed value.
@@ -286,12 +297,12 @@ public class AcquireCommandHandler
         };
 
     Result<SemaphoreCommand.AcquireResult> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
             .retryOnCode(DUPLICATE_KEY)
-            .withTimeout(Duration.of(command.timeout(), command.timeUnit().toChronoUnit()))
+            .withDeadline(deadline)
             .execute(cmdBlock);
 
     try {
@@ -78,6 +78,9 @@ public class GetStateCommandHandler
    * uninitialized semaphore, using the initial permit count from the command. The operation is
    * executed with retry logic for transient write conflicts.
    *
+   * <p>A command bounded by a maximum staleness is served by the nearest secondary within that
+   * bound, sparing the primary.
+   *
    * @param command The {@link SemaphoreCommand.GetState} command, containing the resource ID and
    *     the lease ID for which to check the state.
    * @param context The context for command execution, providing access to the {@link MongoClient}.
@@ -88,8 +91,8 @@ public class GetStateCommandHandler
   @Override
   protected SemaphoreCommand.GetStateResult execute(
       SemaphoreCommand.GetState command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
-    MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
+    MongoCollection<Document> collection =
+        getCollection(context, SEMAPHORE, command.maxStaleness());
     final String leaseField = "leases." + command.leaseId();
 
     Function<ClientSession, SemaphoreCommand.GetStateResult> cmdBlock =
@@ -99,19 +102,21 @@ public class GetStateCommandHandler
                   .find(eq("_id", context.getResourceId()))
                   .projection(
                       fields(
-                          include("available_permits"),
+                          include("available_permits", "version"),
                           computed("drain_permits", "$" + leaseField)))
                   .first();
           return Optional.ofNullable(semaphoreDoc)
               .map(
                   sem ->
                       new SemaphoreCommand.GetStateResult(
-                          sem.getInteger("available_permits"), sem.getInteger("drain_permits", 0)))
-              .orElse(new SemaphoreCommand.GetStateResult(command.initialPermits(), 0));
+                          sem.getInteger("available_permits"),
+                          sem.getInteger("drain_permits", 0),
+                          sem.getLong("version")))
+              .orElse(new SemaphoreCommand.GetStateResult(command.initialPermits(), 0, -1L));
         };
 
     Result<SemaphoreCommand.GetStateResult> result =
-        this.newCommandExecutor(client).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
+        this.newCommandExecutor(context).withoutTxn().withoutCausallyConsistent().execute(cmdBlock);
 
     try {
       return result.getOrThrow();
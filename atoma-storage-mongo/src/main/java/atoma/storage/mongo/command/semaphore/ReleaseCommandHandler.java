@@ -25,11 +25,11 @@ import atoma.storage.mongo.command.MongoCommandHandler;
 import atoma.storage.mongo.command.MongoCommandHandlerContext;
 import com.google.auto.service.AutoService;
 import com.mongodb.client.ClientSession;
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import java.util.function.Function;
 
@@ -75,6 +75,19 @@ import static com.mongodb.client.model.Updates.inc;
 @HandlesCommand(SemaphoreCommand.Release.class)
 public class ReleaseCommandHandler extends MongoCommandHandler<SemaphoreCommand.Release, Void> {
 
+  /** Matches the semaphore if the releasing lease holds at least the released permits. */
+  public static Bson buildFilter(String resourceId, SemaphoreCommand.Release command) {
+    return and(eq("_id", resourceId), gte("leases." + command.leaseId(), command.permits()));
+  }
+
+  /** Moves the released permits from the lease back to the available permits. */
+  public static Bson buildUpdate(SemaphoreCommand.Release command) {
+    return combine(
+        inc("available_permits", command.permits()),
+        inc("leases." + command.leaseId(), -command.permits()),
+        inc("version", 1L));
+  }
+
   /**
    * Executes the atomic logic to release permits back to the semaphore.
    *
@@ -88,9 +101,10 @@ public class ReleaseCommandHandler extends MongoCommandHandler<SemaphoreCommand.
    */
   @Override
   public Void execute(SemaphoreCommand.Release command, MongoCommandHandlerContext context) {
-    MongoClient client = context.getClient();
     MongoCollection<Document> collection = getCollection(context, SEMAPHORE);
-    final String leaseField = "leases." + command.leaseId();
+
+    // Once, rather than on every retry of the command.
+    renewLease(context, command.leaseRenewal());
 
     Function<ClientSession, Void> cmdBlock =
         session -> {
@@ -98,13 +112,8 @@ public class ReleaseCommandHandler extends MongoCommandHandler<SemaphoreCommand.
           // We add a condition to ensure a lease cannot release more permits than it holds.
           Document semaphoreDoc =
               collection.findOneAndUpdate(
-                  and(
-                      eq("_id", context.getResourceId()),
-                      gte(leaseField, command.permits()) // Ensure we don't go below zero
-                      ),
-                  combine(
-                      inc("available_permits", command.permits()),
-                      inc(leaseField, -command.permits())),
+                  buildFilter(context.getResourceId(), command),
+                  buildUpdate(command),
                   new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).upsert(false));
 
           if (semaphoreDoc != null) {
@@ -122,7 +131,7 @@ public class ReleaseCommandHandler extends MongoCommandHandler<SemaphoreCommand.
         };
 
     Result<Void> result =
-        this.newCommandExecutor(client)
+        this.newCommandExecutor(context)
             .withoutTxn()
             .withoutCausallyConsistent()
             .retryOnCode(WRITE_CONFLICT)
@@ -0,0 +1,48 @@
+package atoma.storage.mongo;
+
+import atoma.storage.mongo.command.MongoErrorCode;
+import com.mongodb.MongoException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/** The counters are only recorded, so no MongoDB instance is needed. */
+public class ChangeStreamMetricsTest {
+
+  @Test
+  @DisplayName("TC-54: 仅当恢复令牌失效时需要重新同步")
+  void testHistoryLostFailures() {
+    Assertions.assertThat(
+            ChangeStreamMetrics.isHistoryLost(
+                new MongoException(
+                    MongoErrorCode.CHANGE_STREAM_HISTORY_LOST.getCode(), "history lost")))
+        .isTrue();
+    Assertions.assertThat(
+            ChangeStreamMetrics.isHistoryLost(
+                new MongoException(MongoErrorCode.INVALID_RESUME_TOKEN.getCode(), "bad token")))
+        .isTrue();
+    Assertions.assertThat(
+            ChangeStreamMetrics.isHistoryLost(
+                new MongoException(MongoErrorCode.HOST_UNREACHABLE.getCode(), "step down")))
+        .isFalse();
+    Assertions.assertThat(ChangeStreamMetrics.isHistoryLost(new IllegalStateException()))
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("TC-55: 记录变更流的中断, 恢复与重新同步")
+  void testStallCounters() {
+    ChangeStreamMetrics metrics = new ChangeStreamMetrics();
+    metrics.recordStall();
+    metrics.recordResume(Duration.ofMillis(300).toNanos());
+    metrics.recordStall();
+    metrics.recordResync(Duration.ofMillis(700).toNanos());
+
+    Assertions.assertThat(metrics.stalls()).isEqualTo(2L);
+    Assertions.assertThat(metrics.resumes()).isEqualTo(1L);
+    Assertions.assertThat(metrics.resyncs()).isEqualTo(1L);
+    Assertions.assertThat(metrics.stalledTime()).isEqualTo(Duration.ofSeconds(1));
+  }
+}
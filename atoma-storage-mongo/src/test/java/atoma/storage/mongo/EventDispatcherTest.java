@@ -0,0 +1,105 @@
+package atoma.storage.mongo;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/** The dispatcher only runs tasks, so no MongoDB instance is needed. */
+public class EventDispatcherTest {
+
+  @Test
+  @DisplayName("TC-51: 同一资源的事件按顺序投递")
+  void testEventsOfOneResourceAreOrdered() throws InterruptedException {
+    try (EventDispatcher dispatcher = new EventDispatcher("test-dispatcher", 4, 16)) {
+      List<Integer> delivered = new CopyOnWriteArrayList<>();
+      CountDownLatch done = new CountDownLatch(1000);
+      for (int i = 0; i < 1000; i++) {
+        int sequence = i;
+        dispatcher.dispatch(
+            "lock-a",
+            () -> {
+              delivered.add(sequence);
+              done.countDown();
+            });
+      }
+
+      Assertions.assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+      Assertions.assertThat(delivered).isSorted().hasSize(1000);
+      Assertions.assertThat(dispatcher.dispatched()).isEqualTo(1000L);
+      Assertions.assertThat(dispatcher.maxQueueDepth()).isLessThanOrEqualTo(16);
+    }
+  }
+
+  @Test
+  @DisplayName("TC-52: 慢监听器不阻塞其他资源的事件")
+  void testSlowListenerDoesNotDelayOtherResources() throws InterruptedException {
+    try (EventDispatcher dispatcher = new EventDispatcher("test-dispatcher", 2, 16)) {
+      String slow = "lock-slow";
+      String fast = findResourceOnOtherStripe(slow);
+      CountDownLatch release = new CountDownLatch(1);
+      CountDownLatch fastDelivered = new CountDownLatch(1);
+
+      dispatcher.dispatch(
+          slow,
+          () -> {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      dispatcher.dispatch(fast, fastDelivered::countDown);
+
+      Assertions.assertThat(fastDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+      release.countDown();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-53: 分片队列满时等待空位而不丢弃事件")
+  void testFullStripeWaitsInsteadOfDropping() throws InterruptedException {
+    try (EventDispatcher dispatcher = new EventDispatcher("test-dispatcher", 1, 2)) {
+      CountDownLatch release = new CountDownLatch(1);
+      CountDownLatch done = new CountDownLatch(5);
+      dispatcher.dispatch(
+          "lock-a",
+          () -> {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            done.countDown();
+          });
+
+      Thread producer =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 4; i++) dispatcher.dispatch("lock-a", done::countDown);
+              });
+      producer.start();
+      Thread.sleep(200);
+      Assertions.assertThat(dispatcher.queueDepth()).isEqualTo(2);
+      Assertions.assertThat(dispatcher.overflows()).isPositive();
+
+      release.countDown();
+      producer.join(5000);
+      Assertions.assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+      Assertions.assertThat(dispatcher.dispatched()).isEqualTo(5L);
+    }
+  }
+
+  /** Returns a resource hashed onto another stripe than the given one, out of two stripes. */
+  private static String findResourceOnOtherStripe(String resourceId) {
+    int stripe = (resourceId.hashCode() & Integer.MAX_VALUE) % 2;
+    for (int i = 0; ; i++) {
+      String candidate = "lock-" + i;
+      if ((candidate.hashCode() & Integer.MAX_VALUE) % 2 != stripe) return candidate;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package atoma.storage.mongo;
+
+import com.mongodb.MongoClientSettings;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/** The documents are encoded locally, so no MongoDB instance is needed. */
+public class RawBsonResourceTest {
+
+  @Test
+  @DisplayName("TC-56: 按需读取的字段与解码后的文档类型一致")
+  void testFieldsReadLikeDecodedDocument() {
+    Document document =
+        new Document("_id", "barrier-a")
+            .append("version", 7L)
+            .append("generation", 3L)
+            .append("available_permits", 2)
+            .append("is_broken", false)
+            .append("participants", List.of(new Document("lease", "lease-1")));
+    RawBsonResource resource =
+        new RawBsonResource(
+            new RawBsonDocument(
+                document, MongoClientSettings.getDefaultCodecRegistry().get(Document.class)));
+
+    Assertions.assertThat(resource.getId()).isEqualTo("barrier-a");
+    Assertions.assertThat(resource.getVersion()).isEqualTo(7L);
+    Assertions.assertThat(resource.<Long>get("generation")).isEqualTo(3L);
+    Assertions.assertThat(resource.<Integer>get("available_permits")).isEqualTo(2);
+    Assertions.assertThat(resource.get("is_broken", true)).isFalse();
+    Assertions.assertThat(resource.<Object>get("write_lock")).isNull();
+
+    List<Map<String, String>> participants = resource.get("participants");
+    Assertions.assertThat(participants).hasSize(1);
+    Assertions.assertThat(participants.get(0).get("lease")).isEqualTo("lease-1");
+    Assertions.assertThat(resource.getData()).isEqualTo(document);
+  }
+}
@@ -0,0 +1,127 @@
+package atoma.storage.mongo;
+
+import com.mongodb.MongoClientSettings;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** The pipeline is only built, so no MongoDB instance is needed. */
+public class WatchedResourcesTest {
+
+  @Test
+  @DisplayName("TC-47: 变更流只匹配已订阅的资源, 新订阅立即触发重建")
+  void testPipelineFollowsSubscriptions() {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    Set<String> collections = ConcurrentHashMap.newKeySet();
+    WatchedResources watched = new WatchedResources(() -> ids, () -> collections);
+
+    ids.add("lock-a");
+    String stage = render(watched.pipeline());
+    Assertions.assertThat(stage).contains("documentKey._id").contains("lock-a");
+    Assertions.assertThat(watched.isStale()).isFalse();
+
+    Assertions.assertThat(watched.subscribed("lock-a")).isFalse();
+    ids.add("lock-b");
+    Assertions.assertThat(watched.subscribed("lock-b")).isTrue();
+    Assertions.assertThat(render(watched.pipeline())).contains("lock-a").contains("lock-b");
+
+    collections.add("lease");
+    Assertions.assertThat(watched.subscribedAll("lease")).isTrue();
+    Assertions.assertThat(render(watched.pipeline())).contains("$or").contains("lease");
+  }
+
+  @Test
+  @DisplayName("TC-48: 取消订阅累积到阈值后才触发重建")
+  void testUnsubscriptionsAreBatched() {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    WatchedResources watched = new WatchedResources(() -> ids, Set::of);
+    for (int i = 0; i < 200; i++) ids.add("lock-" + i);
+    watched.pipeline();
+
+    for (int i = 0; i < 100; i++) {
+      ids.remove("lock-" + i);
+      watched.unsubscribed();
+    }
+    Assertions.assertThat(watched.isStale()).isFalse();
+    ids.remove("lock-100");
+    watched.unsubscribed();
+    Assertions.assertThat(watched.isStale()).isTrue();
+    Assertions.assertThat(render(watched.pipeline())).doesNotContain("\"lock-0\"");
+  }
+
+  @Test
+  @DisplayName("TC-49: 订阅过多时退化为匹配整个集合")
+  void testTooManyIdsMatchWholeCollections() {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    WatchedResources watched = new WatchedResources(() -> ids, Set::of);
+    for (int i = 0; i <= WatchedResources.MAX_FILTERED_IDS; i++) ids.add("lock-" + i);
+
+    String stage = render(watched.pipeline());
+    Assertions.assertThat(stage).doesNotContain("documentKey._id").contains("ns.coll");
+    Assertions.assertThat(watched.subscribed("lock-new")).isFalse();
+  }
+
+  @Test
+  @DisplayName("TC-50: 变更流只投影监听器读取的字段, 仅在需要时请求变更前的文档")
+  void testPipelineProjectsReadFields() {
+    WatchedResources watched = new WatchedResources(() -> Set.of("rwlock-a"), Set::of);
+
+    String stage = render(watched.pipeline());
+    Assertions.assertThat(stage)
+        .contains("fullDocument.version")
+        .contains("fullDocument.read_locks.lease")
+        .doesNotContain("fullDocumentBeforeChange");
+    Assertions.assertThat(watched.watchesOldNodes()).isFalse();
+
+    Assertions.assertThat(watched.oldNodesRequired()).isTrue();
+    Assertions.assertThat(render(watched.pipeline()))
+        .contains("fullDocumentBeforeChange.version");
+    Assertions.assertThat(watched.watchesOldNodes()).isTrue();
+
+    watched.oldNodesReleased();
+    watched.pipeline();
+    Assertions.assertThat(watched.watchesOldNodes()).isFalse();
+  }
+
+  @Test
+  @DisplayName("TC-75: 重建后返回新匹配的资源以便重新同步, 退化为匹配整个集合后不再返回")
+  void testAddedIdsAreReported() {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    WatchedResources watched = new WatchedResources(() -> ids, Set::of);
+    ids.add("lock-a");
+    watched.pipeline();
+    Assertions.assertThat(watched.addedIds()).containsExactly("lock-a");
+
+    ids.add("lock-b");
+    watched.subscribed("lock-b");
+    watched.pipeline();
+    Assertions.assertThat(watched.addedIds()).containsExactly("lock-b");
+
+    ids.remove("lock-a");
+    watched.pipeline();
+    Assertions.assertThat(watched.addedIds()).isEmpty();
+
+    for (int i = 0; i <= WatchedResources.MAX_FILTERED_IDS; i++) ids.add("lock-" + i);
+    watched.pipeline();
+    Assertions.assertThat(watched.addedIds()).hasSize(WatchedResources.MAX_FILTERED_IDS + 1);
+    ids.add("lock-new");
+    watched.pipeline();
+    Assertions.assertThat(watched.addedIds()).isEmpty();
+  }
+
+  private static String render(List<Bson> pipeline) {
+    return pipeline.stream()
+        .map(
+            stage ->
+                stage.toBsonDocument(
+                    BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()))
+        .map(BsonDocument::toJson)
+        .reduce("", String::concat);
+  }
+}
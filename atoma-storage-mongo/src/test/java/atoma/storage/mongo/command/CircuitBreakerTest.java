@@ -0,0 +1,79 @@
+package atoma.storage.mongo.command;
+
+import atoma.api.AtomaStateException;
+import atoma.api.Result;
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketOpenException;
+import com.mongodb.ServerAddress;
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.CircuitBreakerOpenException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+
+/** The commands run without a session, so no MongoDB instance is needed. */
+public class CircuitBreakerTest {
+
+  private static Result<Void> execute(CircuitBreaker<Object> circuitBreaker, Runnable command) {
+    return new CommandExecutor<Void>(null, circuitBreaker)
+        .withoutTxn()
+        .execute(
+            session -> {
+              command.run();
+              return null;
+            });
+  }
+
+  @Test
+  @DisplayName("TC-42: 连续的连接失败使整个存储共享的熔断器打开, 之后的命令快速失败而不再访问服务端")
+  void testOpenCircuitBreakerFailsFast() {
+    CircuitBreaker<Object> circuitBreaker = CommandExecutor.newCircuitBreaker();
+    AtomicInteger attempts = new AtomicInteger();
+    Runnable unreachable =
+        () -> {
+          attempts.incrementAndGet();
+          throw new MongoSocketOpenException("Connection refused", new ServerAddress());
+        };
+
+    // Each command uses its own executor, the failures accumulate in the shared breaker.
+    for (int i = 0; i < CommandExecutor.CIRCUIT_BREAKER_FAILURE_THRESHOLD; i++) {
+      Assertions.assertThatThrownBy(execute(circuitBreaker, unreachable)::getOrThrow)
+          .isInstanceOf(MongoSocketOpenException.class);
+    }
+    Assertions.assertThat(circuitBreaker.isOpen()).isTrue();
+
+    int attemptsWhenOpened = attempts.get();
+    Result<Void> rejected = execute(circuitBreaker, unreachable);
+    Assertions.assertThatThrownBy(rejected::getOrThrow)
+        .isInstanceOf(AtomaStateException.class)
+        .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    Assertions.assertThat(attempts.get()).isEqualTo(attemptsWhenOpened);
+
+    // Once the delay elapsed, a successful trial command closes the breaker.
+    await()
+        .atMost(CommandExecutor.CIRCUIT_BREAKER_DELAY.toSeconds() + 5L, TimeUnit.SECONDS)
+        .until(() -> execute(circuitBreaker, () -> {}).isSuccess());
+    Assertions.assertThat(circuitBreaker.isClosed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("TC-43: 命令自身的错误(如重复键)不会打开熔断器")
+  void testCommandErrorsKeepCircuitBreakerClosed() {
+    CircuitBreaker<Object> circuitBreaker = CommandExecutor.newCircuitBreaker();
+    for (int i = 0; i < CommandExecutor.CIRCUIT_BREAKER_FAILURE_THRESHOLD * 2; i++) {
+      Result<Void> result =
+          execute(
+              circuitBreaker,
+              () -> {
+                throw new MongoException(11000, "E11000 duplicate key error");
+              });
+      Assertions.assertThatThrownBy(result::getOrThrow).isInstanceOf(MongoException.class);
+    }
+    Assertions.assertThat(circuitBreaker.isClosed()).isTrue();
+  }
+}
@@ -0,0 +1,132 @@
+package atoma.storage.mongo.command;
+
+import atoma.api.OperationTimeoutException;
+import atoma.api.Result;
+import com.mongodb.MongoException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** The commands run without a session, so no MongoDB instance is needed. */
+public class ConflictBackoffTest {
+
+  private static final MongoException WRITE_CONFLICT =
+      new MongoException(MongoErrorCode.WRITE_CONFLICT.getCode(), "WriteConflict");
+
+  private static final MongoException LOCK_BUSY =
+      new MongoException(MongoErrorCode.LOCK_BUSY.getCode(), "LockBusy");
+
+  @Test
+  @DisplayName("TC-44: 退避延迟在基础延迟与上限之间, 且不超过前一次延迟的三倍")
+  void testDecorrelatedJitterBounds() {
+    Duration base = Duration.ofMillis(5);
+    Duration cap = Duration.ofMillis(500);
+    Backoff backoff = Backoff.decorrelatedJitter(base, cap);
+
+    Duration previous = null;
+    for (int i = 0; i < 1000; i++) {
+      Duration delay = backoff.next(previous);
+      Assertions.assertThat(delay).isBetween(base, cap);
+      if (previous != null) {
+        Assertions.assertThat(delay).isLessThanOrEqualTo(previous.multipliedBy(3L));
+      }
+      previous = delay;
+    }
+    Assertions.assertThat(Backoff.NONE.next(previous)).isZero();
+  }
+
+  @Test
+  @DisplayName("TC-45: 写冲突的重试按退避间隔进行, 并按资源计入冲突计数")
+  void testConflictRetriesAreSpacedAndCounted() throws Throwable {
+    CommandMetrics metrics = new CommandMetrics();
+    AtomicInteger attempts = new AtomicInteger();
+    Duration base = Duration.ofMillis(20);
+
+    long start = System.nanoTime();
+    Result<Integer> result =
+        new CommandExecutor<Integer>(null, null)
+            .withoutTxn()
+            .withBackoff(Backoff.decorrelatedJitter(base, Duration.ofMillis(100)))
+            .recordingTo(metrics, "hot-lock")
+            .retryOnCode(MongoErrorCode.WRITE_CONFLICT)
+            .execute(
+                session -> {
+                  if (attempts.incrementAndGet() <= 3) throw WRITE_CONFLICT;
+                  return attempts.get();
+                });
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThat(result.getOrThrow()).isEqualTo(4);
+    Assertions.assertThat(elapsed).isGreaterThanOrEqualTo(base.multipliedBy(3L));
+    Assertions.assertThat(metrics.retries()).isEqualTo(3L);
+    Assertions.assertThat(metrics.conflicts()).isEqualTo(3L);
+    Assertions.assertThat(metrics.conflicts("hot-lock")).isEqualTo(3L);
+    Assertions.assertThat(metrics.conflicts("cold-lock")).isZero();
+  }
+
+  @Test
+  @DisplayName("TC-46: 退避延迟不超过命令剩余的超时时间")
+  void testBackoffIsCappedByRemainingTimeout() {
+    Duration timeout = Duration.ofMillis(200);
+    Backoff slow = Backoff.decorrelatedJitter(Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+    long start = System.nanoTime();
+    Result<Void> result =
+        new CommandExecutor<Void>(null, null)
+            .withoutTxn()
+            .withTimeout(timeout)
+            .withBackoff(slow)
+            .retryOnCode(MongoErrorCode.WRITE_CONFLICT)
+            .execute(
+                session -> {
+                  throw WRITE_CONFLICT;
+                });
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThatThrownBy(result::getOrThrow)
+        .isInstanceOf(OperationTimeoutException.class);
+    Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+  }
+
+  @Test
+  @DisplayName("TC-76: 未声明重试的命令遇到存储引擎的瞬时冲突时按退避间隔重试, 且不超过命令的超时时间")
+  void testTransientConflictsAreBackedOff() throws Throwable {
+    AtomicInteger attempts = new AtomicInteger();
+    Duration base = Duration.ofMillis(20);
+
+    long start = System.nanoTime();
+    Result<Integer> result =
+        new CommandExecutor<Integer>(null, null)
+            .withoutTxn()
+            .withBackoff(Backoff.decorrelatedJitter(base, Duration.ofMillis(100)))
+            .execute(
+                session -> {
+                  if (attempts.incrementAndGet() <= 3) throw LOCK_BUSY;
+                  return attempts.get();
+                });
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThat(result.getOrThrow()).isEqualTo(4);
+    Assertions.assertThat(elapsed).isGreaterThanOrEqualTo(base.multipliedBy(3L));
+
+    Backoff slow = Backoff.decorrelatedJitter(Duration.ofSeconds(5), Duration.ofSeconds(10));
+    start = System.nanoTime();
+    Result<Void> timedOut =
+        new CommandExecutor<Void>(null, null)
+            .withoutTxn()
+            .withTimeout(Duration.ofMillis(200))
+            .withBackoff(slow)
+            .execute(
+                session -> {
+                  throw WRITE_CONFLICT;
+                });
+    elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThatThrownBy(timedOut::getOrThrow)
+        .isInstanceOf(OperationTimeoutException.class);
+    Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+  }
+}
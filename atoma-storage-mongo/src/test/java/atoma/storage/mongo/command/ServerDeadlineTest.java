@@ -0,0 +1,57 @@
+package atoma.storage.mongo.command;
+
+import atoma.api.OperationTimeoutException;
+import atoma.api.Result;
+import com.mongodb.MongoExecutionTimeoutException;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** The commands run without a session, so no MongoDB instance is needed. */
+public class ServerDeadlineTest {
+
+  @Test
+  @DisplayName("TC-66: 命令的剩余超时作为maxTimeMS传给服务端, 无超时的命令不设上限")
+  void testDeadlineBoundsMaxTime() throws Exception {
+    Assertions.assertThat(Deadline.after(-1L, TimeUnit.MILLISECONDS)).isSameAs(Deadline.NONE);
+    Assertions.assertThat(Deadline.NONE.maxTimeMillis()).isZero();
+    Assertions.assertThat(Deadline.NONE.remaining()).isNull();
+
+    Deadline deadline = Deadline.after(5L, TimeUnit.SECONDS);
+    Assertions.assertThat(deadline.maxTimeMillis()).isBetween(4_000L, 5_000L);
+
+    // Past the deadline the operation is still bounded, 0 would mean no limit to the server.
+    Deadline expired = Deadline.after(1L, TimeUnit.MILLISECONDS);
+    Thread.sleep(10L);
+    Assertions.assertThat(expired.maxTimeMillis()).isEqualTo(1L);
+    Assertions.assertThat(expired.remaining()).isZero();
+  }
+
+  @Test
+  @DisplayName("TC-67: 服务端因maxTimeMS中止的操作不再重试, 命令以超时失败")
+  void testServerTimeoutIsNotRetried() {
+    AtomicInteger attempts = new AtomicInteger();
+    Result<Void> result =
+        new CommandExecutor<Void>(null, null)
+            .withoutTxn()
+            .withDeadline(Deadline.after(5L, TimeUnit.SECONDS))
+            .retryOnCode(MongoErrorCode.WRITE_CONFLICT)
+            .execute(
+                session -> {
+                  attempts.incrementAndGet();
+                  throw new MongoExecutionTimeoutException(
+                      MongoErrorCode.MAX_TIME_MS_EXPIRED.getCode(),
+                      "operation exceeded time limit",
+                      new BsonDocument());
+                });
+
+    Assertions.assertThatThrownBy(result::getOrThrow)
+        .isInstanceOf(OperationTimeoutException.class)
+        .hasCauseInstanceOf(MongoExecutionTimeoutException.class);
+    Assertions.assertThat(attempts).hasValue(1);
+  }
+}
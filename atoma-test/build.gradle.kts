@@ -11,12 +11,16 @@ dependencies {
     api(project(":atoma-api"))
     api(project(":atoma-core"))
     api(project(":atoma-storage-mongo"))
+    testImplementation(project(":atoma-storage-mongo-reactive"))
+    testImplementation(project(":atoma-storage-memory"))
     testImplementation(lib.guava)
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("junit:junit:4.13.2")
     testImplementation(lib.systemrule)
     testImplementation(lib.mongodriver)
+    testImplementation(lib.mongodriverreactivestreams)
+    testImplementation(lib.failsafe)
     testImplementation("org.mockito:mockito-core:5.11.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.11.0")
     testImplementation(lib.flapdoodle.embed.mongo)
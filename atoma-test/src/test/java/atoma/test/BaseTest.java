@@ -4,10 +4,14 @@ import atoma.api.coordination.CoordinationStore;
 import atoma.core.AtomaClient;
 import atoma.storage.mongo.MongoCoordinationStore;
 import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.reactive.ReactiveMongoCoordinationStore;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.event.CommandListener;
 import org.bson.Document;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -31,6 +35,7 @@ public abstract class BaseTest {
 
   // Static resources shared across all test classes
   protected static volatile MongoClient mongoClient;
+  private static final String connectionString;
   @Deprecated protected static volatile CoordinationStore coordinationStore;
   @Deprecated protected static volatile AtomaClient atomaClient;
 
@@ -47,7 +52,7 @@ public abstract class BaseTest {
                   cmd.getLabels().put("project", "atoma-test");
                 });
     mongoDBContainer.start();
-    String connectionString = mongoDBContainer.getConnectionString();
+    connectionString = mongoDBContainer.getConnectionString();
     mongoClient = MongoClients.create(connectionString);
     coordinationStore = new MongoCoordinationStore(mongoClient, "atoma_test");
     atomaClient = new AtomaClient(coordinationStore);
@@ -63,6 +68,20 @@ public abstract class BaseTest {
     return new MongoCoordinationStore(mongoClient, "atoma_test");
   }
 
+  /** Returns a new client of the test container, reporting its commands to the listener. */
+  public MongoClient newMongoClient(CommandListener commandListener) {
+    return MongoClients.create(
+        MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(connectionString))
+            .addCommandListener(commandListener)
+            .build());
+  }
+
+  public ReactiveMongoCoordinationStore newReactiveMongoCoordinationStore() {
+    return new ReactiveMongoCoordinationStore(
+        com.mongodb.reactivestreams.client.MongoClients.create(connectionString), "atoma_test");
+  }
+
   public void crashAtomaClient(
       CoordinationStore coordinationStore, ScheduledExecutorService executorService)
       throws Exception {
@@ -0,0 +1,86 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncLockTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-31: 异步获取锁, 少量线程承载大量等待者, 所有者令牌释放")
+  void testAsyncLockWithOwnerToken() throws Exception {
+    String resourceId = "test-resource-tc31";
+    int waiters = 200;
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(executor, store);
+
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    Lock lock = lease.getLock(resourceId);
+
+    AtomicInteger inCriticalSection = new AtomicInteger(0);
+    AtomicInteger violations = new AtomicInteger(0);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < waiters; i++) {
+      futures.add(
+          lock.lockAsync(60L, TimeUnit.SECONDS)
+              .thenCompose(
+                  ownerToken -> {
+                    if (inCriticalSection.incrementAndGet() != 1) violations.incrementAndGet();
+                    inCriticalSection.decrementAndGet();
+                    return lock.unlockAsync(ownerToken);
+                  }));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(90L, TimeUnit.SECONDS);
+    Assertions.assertThat(violations.get()).isZero();
+
+    lease.revoke();
+    client.close();
+  }
+
+  @Test
+  @DisplayName("TC-32: 异步获取锁超时后以 TimeoutException 结束")
+  void testAsyncLockTimeout() throws Exception {
+    String resourceId = "test-resource-tc32";
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(executor, store);
+
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    Lock lock = lease.getLock(resourceId);
+
+    String ownerToken = lock.lockAsync().get(10L, TimeUnit.SECONDS);
+
+    CompletableFuture<String> pending = lock.lockAsync(500L, TimeUnit.MILLISECONDS);
+    Assertions.assertThatThrownBy(() -> pending.get(10L, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+
+    lock.unlockAsync(ownerToken).get(10L, TimeUnit.SECONDS);
+
+    // The lock must be available again after the timed out waiter gave up.
+    String nextOwnerToken = lock.lockAsync(10L, TimeUnit.SECONDS).get(15L, TimeUnit.SECONDS);
+    lock.unlockAsync(nextOwnerToken).get(10L, TimeUnit.SECONDS);
+
+    lease.revoke();
+    client.close();
+  }
+}
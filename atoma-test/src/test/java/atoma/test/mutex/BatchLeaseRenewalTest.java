@@ -0,0 +1,60 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.test.BaseTest;
+import com.mongodb.client.MongoCollection;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.mongodb.client.model.Filters.eq;
+
+public class BatchLeaseRenewalTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-34: 批量续约, 大量租约在多个 TTL 周期后仍然有效, 单个租约失效不影响其他租约")
+  void testBatchRenewalKeepsAllLeasesAlive() throws Exception {
+    int leaseCount = 100;
+    Duration ttl = Duration.ofSeconds(2L);
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(executor, store);
+
+    List<Lease> leases = new ArrayList<>();
+    for (int i = 0; i < leaseCount; i++) {
+      leases.add(client.grantLease(ttl));
+    }
+
+    MongoCollection<Document> collection =
+        mongoClient.getDatabase("atoma_test").getCollection(AtomaCollectionNamespace.LEASE);
+
+    // Removing one lease behind the client's back must not fail the renewal of the others.
+    Lease lost = leases.remove(0);
+    collection.deleteOne(eq("_id", lost.getResourceId()));
+
+    Thread.sleep(ttl.multipliedBy(3L).toMillis());
+
+    for (Lease lease : leases) {
+      Document doc = collection.find(eq("_id", lease.getResourceId())).first();
+      Assertions.assertThat(doc).isNotNull();
+      Assertions.assertThat(doc.get("expire_time", Date.class)).isAfter(new Date());
+      Assertions.assertThat(lease.isRevoked()).isFalse();
+    }
+
+    for (Lease lease : leases) {
+      lease.revoke();
+    }
+    client.close();
+  }
+}
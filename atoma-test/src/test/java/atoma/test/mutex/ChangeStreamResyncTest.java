@@ -0,0 +1,51 @@
+package atoma.test.mutex;
+
+import atoma.api.coordination.ResourceChangeEvent;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.lock.Lock;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+
+public class ChangeStreamResyncTest extends BaseTest {
+
+  // Dropped by the test, apart from the database shared by the other tests.
+  private static final String DATABASE = "atoma_test_resync";
+
+  @Test
+  @DisplayName("TC-71: 变更流的恢复历史丢失后重新打开并重新同步, 唤醒阻塞的等待者")
+  void testWaiterIsWokenByResync() throws Exception {
+    String resourceId = "test-resource-tc71";
+    MongoCoordinationStore store = new MongoCoordinationStore(mongoClient, DATABASE);
+
+    CopyOnWriteArrayList<ResourceChangeEvent.EventType> events = new CopyOnWriteArrayList<>();
+    try (Subscription subscription =
+        store.subscribe(Lock.class, resourceId, event -> events.add(event.getType()))) {
+      store.execute(
+          resourceId, new LockCommand.Acquire("holder-1", "lease-1", 5L, TimeUnit.SECONDS));
+      // The change stream is open once it delivers the acquisition.
+      await().atMost(Duration.ofSeconds(10)).until(() -> !events.isEmpty());
+
+      // Dropping the database invalidates the change stream, which cannot be resumed after it;
+      // the deletion of the lock is only learnt by resynchronizing.
+      mongoClient.getDatabase(DATABASE).drop();
+
+      await()
+          .atMost(Duration.ofSeconds(10))
+          .until(() -> events.contains(ResourceChangeEvent.EventType.DELETED));
+      Assertions.assertThat(store.getChangeStreamMetrics().resyncs()).isGreaterThanOrEqualTo(1L);
+    } finally {
+      store.close();
+      mongoClient.getDatabase(DATABASE).drop();
+    }
+  }
+}
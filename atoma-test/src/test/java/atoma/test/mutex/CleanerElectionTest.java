@@ -0,0 +1,44 @@
+package atoma.test.mutex;
+
+import atoma.core.AtomaClient;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+
+public class CleanerElectionTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-37: 整个集群同一时刻只有一个客户端负责清理, 清理者退出后由其它客户端接管")
+  void testSingleCleanerWithTakeover() throws Exception {
+    ScheduledExecutorService executor1 = newScheduledExecutorService();
+    ScheduledExecutorService executor2 = newScheduledExecutorService();
+    AtomaClient client1 = new AtomaClient(executor1, newMongoCoordinationStore());
+    AtomaClient client2 = new AtomaClient(executor2, newMongoCoordinationStore());
+
+    // A crashed cleaner of an earlier test may still hold the term.
+    await()
+        .atMost(20L, TimeUnit.SECONDS)
+        .until(() -> client1.isCleaner() || client2.isCleaner());
+
+    // Several election rounds later, still a single cleaner.
+    TimeUnit.SECONDS.sleep(5L);
+    Assertions.assertThat(client1.isCleaner() ^ client2.isCleaner()).isTrue();
+
+    AtomaClient cleaner = client1.isCleaner() ? client1 : client2;
+    AtomaClient follower = cleaner == client1 ? client2 : client1;
+    cleaner.close();
+
+    // The resignation lets the follower take over at its next election round.
+    await().atMost(10L, TimeUnit.SECONDS).until(follower::isCleaner);
+
+    follower.close();
+    executor1.shutdownNow();
+    executor2.shutdownNow();
+  }
+}
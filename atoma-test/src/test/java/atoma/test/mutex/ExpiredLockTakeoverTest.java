@@ -0,0 +1,173 @@
+package atoma.test.mutex;
+
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.coordination.command.ReadWriteLockCommand;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.LeaseExpiry;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+
+public class ExpiredLockTakeoverTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-39: 持有者租约已过期时, 竞争者在同一次 findOneAndUpdate 中直接接管互斥锁")
+  void testMutexTakeoverOfExpiredLease() throws Exception {
+    String resourceId = "test-resource-tc39";
+    MongoCoordinationStore store = newMongoCoordinationStore();
+
+    Instant expired = Instant.now().minusSeconds(10L);
+    LockCommand.AcquireResult first =
+        store.execute(
+            resourceId,
+            new LockCommand.Acquire("holder-1", "lease-1", 5L, TimeUnit.SECONDS, null, expired));
+    Assertions.assertThat(first.acquired()).isTrue();
+
+    Instant live = Instant.now().plusSeconds(30L);
+    LockCommand.AcquireResult second =
+        store.execute(
+            resourceId,
+            new LockCommand.Acquire("holder-2", "lease-2", 5L, TimeUnit.SECONDS, null, live));
+    Assertions.assertThat(second.acquired()).isTrue();
+    Assertions.assertThat(second.serverLogicalLatestVersion())
+        .isGreaterThan(first.serverLogicalLatestVersion());
+
+    // The new holder is alive: no takeover, but the contender learns when it may retry.
+    LockCommand.AcquireResult third =
+        store.execute(
+            resourceId,
+            new LockCommand.Acquire("holder-3", "lease-3", 5L, TimeUnit.SECONDS, null, live));
+    Assertions.assertThat(third.acquired()).isFalse();
+    Assertions.assertThat(third.takeoverTime()).isAfter(live.truncatedTo(ChronoUnit.MILLIS));
+
+    store.execute(resourceId, new LockCommand.Release("holder-2"));
+    store.close();
+  }
+
+  @Test
+  @DisplayName("TC-40: 写锁持有者租约已过期时, 读锁直接接管; 过期的读锁不阻塞写锁")
+  void testReadWriteTakeoverOfExpiredLease() throws Exception {
+    String resourceId = "test-resource-tc40";
+    MongoCoordinationStore store = newMongoCoordinationStore();
+
+    Instant expired = Instant.now().minusSeconds(10L);
+    Instant live = Instant.now().plusSeconds(30L);
+    Assertions.assertThat(
+            store
+                .execute(
+                    resourceId,
+                    new ReadWriteLockCommand.AcquireWrite(
+                        "writer-1", "lease-1", 5L, TimeUnit.SECONDS, expired))
+                .acquired())
+        .isTrue();
+    Assertions.assertThat(
+            store
+                .execute(
+                    resourceId,
+                    new ReadWriteLockCommand.AcquireRead(
+                        "reader-1", "lease-2", 5L, TimeUnit.SECONDS, expired))
+                .acquired())
+        .isTrue();
+    Assertions.assertThat(
+            store
+                .execute(
+                    resourceId,
+                    new ReadWriteLockCommand.AcquireWrite(
+                        "writer-2", "lease-3", 5L, TimeUnit.SECONDS, live))
+                .acquired())
+        .isTrue();
+
+    Document lockDoc =
+        mongoClient
+            .getDatabase("atoma_test")
+            .getCollection(AtomaCollectionNamespace.RW_LOCK)
+            .find(eq("_id", resourceId))
+            .first();
+    Assertions.assertThat(lockDoc).isNotNull();
+    Assertions.assertThat(lockDoc.get("write_lock", Document.class).getString("holder"))
+        .isEqualTo("writer-2");
+    Assertions.assertThat(lockDoc.get("read_locks")).isNull();
+
+    store.execute(resourceId, new ReadWriteLockCommand.ReleaseWrite("writer-2", "lease-3"));
+    store.close();
+  }
+
+  @Test
+  @DisplayName("TC-41: 租约续期时同步推进其持有锁上的过期时间")
+  void testRenewalPushesLockStamp() throws Exception {
+    String resourceId = "test-resource-tc41";
+    String leaseId = UUID.randomUUID().toString();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+
+    LeaseCommand.GrantResult grant =
+        store.execute(leaseId, new LeaseCommand.Grant(leaseId, Duration.ofSeconds(10L)));
+    store.execute(
+        resourceId,
+        new LockCommand.Acquire(
+            "holder-1", leaseId, 5L, TimeUnit.SECONDS, null, grant.nextExpireTime()));
+
+    Instant renewed = grant.nextExpireTime().plusSeconds(10L).truncatedTo(ChronoUnit.MILLIS);
+    store.execute(leaseId, new LeaseCommand.TimeToLive(leaseId, renewed));
+
+    Document lockDoc =
+        mongoClient
+            .getDatabase("atoma_test")
+            .getCollection(AtomaCollectionNamespace.MUTEX_LOCK)
+            .find(eq("_id", resourceId))
+            .first();
+    Assertions.assertThat(lockDoc).isNotNull();
+    Assertions.assertThat(lockDoc.get("lease_expire_time", Date.class).toInstant())
+        .isEqualTo(renewed);
+
+    store.execute(resourceId, new LockCommand.Release("holder-1"));
+    store.execute(leaseId, new LeaseCommand.Revoke(leaseId));
+    store.close();
+  }
+
+  @Test
+  @DisplayName("TC-70: 锁上过期时间已过但租约仍存活时, 不接管且返回租约的接管时间")
+  void testStaleStampOfLiveLeaseIsNotTakenOver() throws Exception {
+    String resourceId = "test-resource-tc70";
+    String leaseId = UUID.randomUUID().toString();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+
+    LeaseCommand.GrantResult grant =
+        store.execute(leaseId, new LeaseCommand.Grant(leaseId, Duration.ofSeconds(30L)));
+    // A stamp left behind by a renewal that was not propagated.
+    Instant stale = Instant.now().minusSeconds(10L);
+    Assertions.assertThat(
+            store
+                .execute(
+                    resourceId,
+                    new LockCommand.Acquire("holder-1", leaseId, 5L, TimeUnit.SECONDS, null, stale))
+                .acquired())
+        .isTrue();
+
+    LockCommand.AcquireResult blocked =
+        store.execute(
+            resourceId,
+            new LockCommand.Acquire(
+                "holder-2", "lease-2", 5L, TimeUnit.SECONDS, null, Instant.now().plusSeconds(30L)));
+    Assertions.assertThat(blocked.acquired()).isFalse();
+    Assertions.assertThat(blocked.takeoverTime())
+        .isEqualTo(
+            grant.nextExpireTime().truncatedTo(ChronoUnit.MILLIS).plus(LeaseExpiry.TAKEOVER_GRACE));
+
+    store.execute(resourceId, new LockCommand.Release("holder-1"));
+    store.execute(leaseId, new LeaseCommand.Revoke(leaseId));
+    store.close();
+  }
+}
@@ -0,0 +1,65 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.test.BaseTest;
+import com.mongodb.client.MongoCollection;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.awaitility.Awaitility.await;
+
+public class LeaseDeletionCleanupTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-36: 租约被删除后, 其它客户端由删除事件驱动立即清理该租约持有的锁")
+  void testLeaseDeletionTriggersTargetedCleanup() throws Exception {
+    String resourceId = "test-resource-tc36";
+
+    // Only the elected cleaner reacts to lease deletions; a crashed cleaner of an earlier test
+    // may still hold the term.
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    MongoCoordinationStore store = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(executor, store);
+    await().atMost(20L, TimeUnit.SECONDS).until(client::isCleaner);
+
+    ScheduledExecutorService crashedExecutor = newScheduledExecutorService();
+    MongoCoordinationStore crashedStore = newMongoCoordinationStore();
+    AtomaClient crashedClient = new AtomaClient(crashedExecutor, crashedStore);
+    Lease crashedLease = crashedClient.grantLease(Duration.ofSeconds(30L));
+    Lock crashedLock = crashedLease.getLock(resourceId);
+    crashedLock.lock();
+
+    // Simulate the crash: the client stops and its lease is reaped.
+    crashAtomaClient(crashedStore, crashedExecutor);
+    MongoCollection<Document> leases =
+        mongoClient.getDatabase("atoma_test").getCollection(AtomaCollectionNamespace.LEASE);
+    leases.deleteOne(eq("_id", crashedLease.getResourceId()));
+
+    // Much sooner than the full sweep.
+    MongoCollection<Document> locks =
+        mongoClient.getDatabase("atoma_test").getCollection(AtomaCollectionNamespace.MUTEX_LOCK);
+    await()
+        .atMost(5L, TimeUnit.SECONDS)
+        .untilAsserted(
+            () -> Assertions.assertThat(locks.find(eq("_id", resourceId)).first()).isNull());
+
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    Lock lock = lease.getLock(resourceId);
+    lock.lock(5L, TimeUnit.SECONDS);
+    lock.unlock();
+
+    lease.revoke();
+    client.close();
+  }
+}
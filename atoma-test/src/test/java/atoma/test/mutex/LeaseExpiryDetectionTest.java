@@ -0,0 +1,50 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+
+public class LeaseExpiryDetectionTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-38: 客户端崩溃后, 锁在租约 TTL 加宽限期内被释放, 无需等待 MongoDB 的 TTL 监视器")
+  void testExpiredLeaseReapedWithinGrace() throws Exception {
+    String resourceId = "test-resource-tc38";
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    AtomaClient client =
+        new AtomaClient(executor, newMongoCoordinationStore(), null, Duration.ofSeconds(1L));
+    // A crashed cleaner of an earlier test may still hold the term.
+    await().atMost(20L, TimeUnit.SECONDS).until(client::isCleaner);
+
+    ScheduledExecutorService crashedExecutor = newScheduledExecutorService();
+    MongoCoordinationStore crashedStore = newMongoCoordinationStore();
+    AtomaClient crashedClient = new AtomaClient(crashedExecutor, crashedStore);
+    Lease crashedLease = crashedClient.grantLease(Duration.ofSeconds(3L));
+    crashedLease.getLock(resourceId).lock();
+    crashAtomaClient(crashedStore, crashedExecutor);
+
+    // TTL + grace + one detection round, far below the 60s period of the TTL monitor.
+    long start = System.nanoTime();
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    Lock lock = lease.getLock(resourceId);
+    lock.lock(15L, TimeUnit.SECONDS);
+    Assertions.assertThat(System.nanoTime() - start)
+        .isLessThan(TimeUnit.SECONDS.toNanos(10L));
+
+    lock.unlock();
+    lease.revoke();
+    client.close();
+  }
+}
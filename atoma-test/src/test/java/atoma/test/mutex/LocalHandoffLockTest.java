@@ -0,0 +1,99 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LocalHandoffLockTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-30: 本地移交模式下同进程线程互斥, 且其他客户端在公平预算内获得锁")
+  void testLocalHandoffMutualExclusion() throws Exception {
+    String resourceId = "test-resource-tc30";
+    int localThreads = 16;
+    int iterations = 20;
+
+    ScheduledExecutorService executorA = newScheduledExecutorService();
+    MongoCoordinationStore storeA = newMongoCoordinationStore();
+    AtomaClient clientA = new AtomaClient(executorA, storeA);
+
+    ScheduledExecutorService executorB = newScheduledExecutorService();
+    MongoCoordinationStore storeB = newMongoCoordinationStore();
+    AtomaClient clientB = new AtomaClient(executorB, storeB);
+
+    Lease leaseA = clientA.grantLease(Duration.ofSeconds(30L));
+    Lock lockA = leaseA.getLock(resourceId, LockOptions.localHandoff(8, Duration.ofMillis(200)));
+
+    Assertions.assertThatThrownBy(() -> leaseA.getLock(resourceId, LockOptions.DEFAULT))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    AtomicInteger inCriticalSection = new AtomicInteger(0);
+    AtomicInteger violations = new AtomicInteger(0);
+    AtomicInteger counter = new AtomicInteger(0);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch completionLatch = new CountDownLatch(localThreads);
+
+    for (int i = 0; i < localThreads; ++i) {
+      new Thread(
+              () -> {
+                try {
+                  startLatch.await();
+                  for (int j = 0; j < iterations; j++) {
+                    lockA.lock();
+                    try {
+                      if (inCriticalSection.incrementAndGet() != 1) violations.incrementAndGet();
+                      counter.incrementAndGet();
+                      inCriticalSection.decrementAndGet();
+                    } finally {
+                      lockA.unlock();
+                    }
+                  }
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                } finally {
+                  completionLatch.countDown();
+                }
+              })
+          .start();
+    }
+
+    startLatch.countDown();
+
+    // Another client must still be able to acquire the lock while client A is busy.
+    Lease leaseB = clientB.grantLease(Duration.ofSeconds(30L));
+    Lock lockB = leaseB.getLock(resourceId);
+    lockB.lock(10L, TimeUnit.SECONDS);
+    try {
+      if (inCriticalSection.incrementAndGet() != 1) violations.incrementAndGet();
+      inCriticalSection.decrementAndGet();
+    } finally {
+      lockB.unlock();
+    }
+
+    boolean completed = completionLatch.await(60L, TimeUnit.SECONDS);
+    Assertions.assertThat(completed).isTrue();
+    Assertions.assertThat(violations.get()).isZero();
+    Assertions.assertThat(counter.get()).isEqualTo(localThreads * iterations);
+
+    // The remote lock must be released once no local waiter remains.
+    lockB.lock(5L, TimeUnit.SECONDS);
+    lockB.unlock();
+
+    leaseA.revoke();
+    leaseB.revoke();
+    clientA.close();
+    clientB.close();
+  }
+}
@@ -0,0 +1,85 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.Resourceful;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LeaseCommand;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PiggybackLeaseRenewalTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-35: 繁忙的锁通过加锁/解锁命令捎带续约, 几乎不再发送独立心跳")
+  void testBusyLockPiggybacksRenewal() throws Exception {
+    String resourceId = "test-resource-tc35";
+    Duration ttl = Duration.ofSeconds(2L);
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    CountingCoordinationStore store = new CountingCoordinationStore(newMongoCoordinationStore());
+    AtomaClient client = new AtomaClient(executor, store);
+
+    Lease lease = client.grantLease(ttl);
+    Lock lock = lease.getLock(resourceId);
+
+    long deadline = System.nanoTime() + ttl.multipliedBy(4L).toNanos();
+    while (System.nanoTime() < deadline) {
+      lock.lock(5L, TimeUnit.SECONDS);
+      lock.unlock();
+      Thread.sleep(50L);
+    }
+
+    // Only the renewal right after the grant is sent as a dedicated heartbeat.
+    Assertions.assertThat(store.heartbeats.get()).isLessThanOrEqualTo(2);
+    Assertions.assertThat(lease.isRevoked()).isFalse();
+
+    lease.revoke();
+    client.close();
+  }
+
+  static final class CountingCoordinationStore implements CoordinationStore {
+    final AtomicInteger heartbeats = new AtomicInteger();
+    private final MongoCoordinationStore delegate;
+
+    CountingCoordinationStore(MongoCoordinationStore delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<Resource> get(String resourceId) {
+      return delegate.get(resourceId);
+    }
+
+    @Override
+    public Subscription subscribe(
+        Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+      return delegate.subscribe(resourceType, resourceId, listener);
+    }
+
+    @Override
+    public <R> R execute(String resourceId, Command<R> command) {
+      if (command instanceof LeaseCommand.BatchTimeToLive) heartbeats.incrementAndGet();
+      return delegate.execute(resourceId, command);
+    }
+
+    @Override
+    public void close() throws Exception {
+      delegate.close();
+    }
+  }
+}
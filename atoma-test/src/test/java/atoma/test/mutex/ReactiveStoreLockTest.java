@@ -0,0 +1,55 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.reactive.ReactiveMongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReactiveStoreLockTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-33: 基于 reactive-streams 驱动的存储, 异步获取与释放锁互斥")
+  void testAsyncLockOnReactiveStore() throws Exception {
+    String resourceId = "test-resource-tc33";
+    int waiters = 100;
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    ReactiveMongoCoordinationStore store = newReactiveMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(executor, store);
+
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    Lock lock = lease.getLock(resourceId);
+
+    AtomicInteger inCriticalSection = new AtomicInteger(0);
+    AtomicInteger violations = new AtomicInteger(0);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < waiters; i++) {
+      futures.add(
+          lock.lockAsync(60L, TimeUnit.SECONDS)
+              .thenCompose(
+                  ownerToken -> {
+                    if (inCriticalSection.incrementAndGet() != 1) violations.incrementAndGet();
+                    inCriticalSection.decrementAndGet();
+                    return lock.unlockAsync(ownerToken);
+                  }));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(90L, TimeUnit.SECONDS);
+    Assertions.assertThat(violations.get()).isZero();
+
+    lease.revoke();
+    client.close();
+  }
+}
@@ -0,0 +1,73 @@
+package atoma.test.mutex;
+
+import atoma.api.Lease;
+import atoma.api.lock.Lock;
+import atoma.api.lock.ReadWriteLock;
+import atoma.api.synchronizer.CyclicBarrier;
+import atoma.core.AtomaClient;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ReactiveStoreSynchronizerTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-72: 基于 reactive-streams 驱动的存储, 读锁阻塞写锁, 释放后写锁获取成功")
+  void testReadWriteLockOnReactiveStore() throws Exception {
+    String resourceId = "test-resource-tc72";
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    AtomaClient client = new AtomaClient(executor, newReactiveMongoCoordinationStore());
+    Lease lease = client.grantLease(Duration.ofSeconds(30L));
+    ReadWriteLock readWriteLock = lease.getReadWriteLock(resourceId);
+    Lock readLock = readWriteLock.readLock();
+    Lock writeLock = readWriteLock.writeLock();
+
+    readLock.lock();
+    Lock otherWriteLock =
+        client.grantLease(Duration.ofSeconds(30L)).getReadWriteLock(resourceId).writeLock();
+    Assertions.assertThatThrownBy(() -> otherWriteLock.lock(1L, TimeUnit.SECONDS))
+        .isInstanceOf(TimeoutException.class);
+    readLock.unlock();
+
+    writeLock.lock(5L, TimeUnit.SECONDS);
+    writeLock.unlock();
+
+    lease.revoke();
+    client.close();
+  }
+
+  @Test
+  @DisplayName("TC-73: 基于 reactive-streams 驱动的存储, 所有参与者到达后栅栏放行")
+  void testCyclicBarrierOnReactiveStore() throws Exception {
+    String resourceId = "test-resource-tc73";
+    int parties = 3;
+
+    ScheduledExecutorService executor = newScheduledExecutorService();
+    AtomaClient client = new AtomaClient(executor, newReactiveMongoCoordinationStore());
+    List<Lease> leases = new ArrayList<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < parties; i++) {
+      Lease lease = client.grantLease(Duration.ofSeconds(30L));
+      leases.add(lease);
+      CyclicBarrier barrier = lease.getCyclicBarrier(resourceId, parties);
+      futures.add(barrier.awaitAsync(30L, TimeUnit.SECONDS));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30L, TimeUnit.SECONDS);
+    Assertions.assertThat(leases.get(0).getCyclicBarrier(resourceId, parties).isBroken())
+        .isFalse();
+
+    leases.forEach(Lease::revoke);
+    client.close();
+  }
+}
@@ -0,0 +1,108 @@
+package atoma.test.mutex;
+
+import atoma.api.IllegalOwnershipException;
+import atoma.api.coordination.command.LockCommand;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.ReleaseBatcher;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Backoff;
+import atoma.test.BaseTest;
+import com.mongodb.client.MongoCollection;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.regex;
+
+public class ReleaseBatchingTest extends BaseTest {
+
+  private final MongoCollection<Document> locks =
+      mongoClient.getDatabase("atoma_test").getCollection(AtomaCollectionNamespace.MUTEX_LOCK);
+
+  @Test
+  @DisplayName("TC-63: 并发释放的互斥锁合并为批量写入, 全部释放成功")
+  void testConcurrentReleasesAreBatched() throws Exception {
+    int lockCount = 64;
+    try (MongoCoordinationStore store =
+        new MongoCoordinationStore(
+            mongoClient, "atoma_test", Backoff.DEFAULT, Duration.ofMillis(20))) {
+      for (int i = 0; i < lockCount; i++) {
+        store.execute(
+            "tc63-lock-" + i,
+            new LockCommand.Acquire("holder-" + i, "lease-" + i, 5L, TimeUnit.SECONDS));
+      }
+
+      List<Future<Void>> releases =
+          releaseConcurrently(store, "tc63-lock-", lockCount, i -> "holder-" + i);
+      for (Future<Void> release : releases) release.get(10L, TimeUnit.SECONDS);
+
+      Assertions.assertThat(locks.countDocuments(regex("_id", "^tc63-lock-"))).isZero();
+      ReleaseBatcher batcher = store.getReleaseBatcher();
+      Assertions.assertThat(batcher.batches()).isLessThan(lockCount);
+      Assertions.assertThat(batcher.batchedReleases()).isPositive();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-64: 批量释放中的非法释放只使自身失败, 其他释放成功")
+  void testIllegalReleaseFailsOnlyItsCaller() throws Exception {
+    int lockCount = 16;
+    try (MongoCoordinationStore store =
+        new MongoCoordinationStore(
+            mongoClient, "atoma_test", Backoff.DEFAULT, Duration.ofMillis(20))) {
+      for (int i = 0; i < lockCount; i++) {
+        store.execute(
+            "tc64-lock-" + i,
+            new LockCommand.Acquire("holder-" + i, "lease-" + i, 5L, TimeUnit.SECONDS));
+      }
+
+      // The release of the first lock is issued by a holder not owning it.
+      List<Future<Void>> releases =
+          releaseConcurrently(
+              store, "tc64-lock-", lockCount, i -> i == 0 ? "intruder" : "holder-" + i);
+
+      Assertions.assertThatThrownBy(() -> releases.get(0).get(10L, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(IllegalOwnershipException.class);
+      for (Future<Void> release : releases.subList(1, lockCount)) {
+        release.get(10L, TimeUnit.SECONDS);
+      }
+      Document lock = locks.find(eq("_id", "tc64-lock-0")).first();
+      Assertions.assertThat(lock).isNotNull();
+      Assertions.assertThat(lock.getString("holder")).isEqualTo("holder-0");
+      Assertions.assertThat(locks.countDocuments(regex("_id", "^tc64-lock-"))).isEqualTo(1L);
+
+      store.execute("tc64-lock-0", new LockCommand.Release("holder-0"));
+    }
+  }
+
+  private static List<Future<Void>> releaseConcurrently(
+      MongoCoordinationStore store, String prefix, int lockCount, IntFunction<String> holders) {
+    ExecutorService executor = Executors.newFixedThreadPool(lockCount);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> releases = new ArrayList<>(lockCount);
+    for (int i = 0; i < lockCount; i++) {
+      int index = i;
+      releases.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return store.execute(prefix + index, new LockCommand.Release(holders.apply(index)));
+              }));
+    }
+    start.countDown();
+    executor.shutdown();
+    return releases;
+  }
+}
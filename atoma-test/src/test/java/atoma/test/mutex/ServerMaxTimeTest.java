@@ -0,0 +1,80 @@
+package atoma.test.mutex;
+
+import atoma.api.coordination.command.LockCommand;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.test.BaseTest;
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.in;
+
+public class ServerMaxTimeTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-74: 限时获取锁的 findAndModify 携带 maxTimeMS, 无限等待时不携带")
+  void testMaxTimeReachesServer() {
+    String timedId = "test-resource-tc74-timed";
+    String untimedId = "test-resource-tc74-untimed";
+    RecordingListener listener = new RecordingListener();
+
+    try (MongoClient client = newMongoClient(listener)) {
+      MongoCoordinationStore store = new MongoCoordinationStore(client, "atoma_test");
+      try {
+        store.execute(
+            timedId, new LockCommand.Acquire("holder-1", "lease-1", 5L, TimeUnit.SECONDS));
+        store.execute(
+            untimedId, new LockCommand.Acquire("holder-1", "lease-1", -1L, TimeUnit.SECONDS));
+      } finally {
+        store.close();
+      }
+    } finally {
+      mongoClient
+          .getDatabase("atoma_test")
+          .getCollection(AtomaCollectionNamespace.MUTEX_LOCK)
+          .deleteMany(in("_id", List.of(timedId, untimedId)));
+    }
+
+    BsonDocument timed = listener.findAndModify(timedId);
+    Assertions.assertThat(timed.containsKey("maxTimeMS")).isTrue();
+    Assertions.assertThat(timed.getNumber("maxTimeMS").longValue()).isBetween(1L, 5_000L);
+
+    BsonDocument untimed = listener.findAndModify(untimedId);
+    Assertions.assertThat(untimed.containsKey("maxTimeMS")).isFalse();
+  }
+
+  /** Records the {@code findAndModify} commands sent on the mutex lock collection. */
+  private static final class RecordingListener implements CommandListener {
+    private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+      if (event.getCommandName().equals("findAndModify")
+          && event
+              .getCommand()
+              .getString("findAndModify")
+              .getValue()
+              .equals(AtomaCollectionNamespace.MUTEX_LOCK)) {
+        commands.add(event.getCommand().clone());
+      }
+    }
+
+    BsonDocument findAndModify(String resourceId) {
+      return commands.stream()
+          .filter(
+              command ->
+                  command.getDocument("query").getString("_id").getValue().equals(resourceId))
+          .findFirst()
+          .orElseThrow();
+    }
+  }
+}
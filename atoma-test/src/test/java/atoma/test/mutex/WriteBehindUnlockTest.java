@@ -0,0 +1,182 @@
+package atoma.test.mutex;
+
+import atoma.api.AtomaStateException;
+import atoma.api.IllegalOwnershipException;
+import atoma.api.Lease;
+import atoma.api.Resourceful;
+import atoma.api.coordination.CoordinationStore;
+import atoma.api.coordination.Resource;
+import atoma.api.coordination.ResourceListener;
+import atoma.api.coordination.Subscription;
+import atoma.api.coordination.command.Command;
+import atoma.api.coordination.command.LockCommand;
+import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
+import atoma.core.AtomaClient;
+import atoma.storage.memory.MemoryCoordinationStore;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.test.BaseTest;
+import com.mongodb.client.MongoCollection;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mongodb.client.model.Filters.eq;
+
+public class WriteBehindUnlockTest extends BaseTest {
+
+  @Test
+  @DisplayName("TC-65: 异步释放模式下同租约重新加锁排在释放之后, 撤销租约时发送全部待释放")
+  void testWriteBehindUnlockIsOrderedAndDrained() throws Exception {
+    String resourceId = "test-resource-tc65";
+    MongoCollection<Document> locks =
+        mongoClient.getDatabase("atoma_test").getCollection(AtomaCollectionNamespace.MUTEX_LOCK);
+
+    ScheduledExecutorService executorA = newScheduledExecutorService();
+    MongoCoordinationStore storeA = newMongoCoordinationStore();
+    AtomaClient clientA = new AtomaClient(executorA, storeA);
+
+    ScheduledExecutorService executorB = newScheduledExecutorService();
+    MongoCoordinationStore storeB = newMongoCoordinationStore();
+    AtomaClient clientB = new AtomaClient(executorB, storeB);
+
+    Lease leaseA = clientA.grantLease(Duration.ofSeconds(30L));
+    Lock lockA = leaseA.getLock(resourceId, LockOptions.DEFAULT.withWriteBehindUnlock());
+
+    // The same thread re-acquires right after each unlock: a release overtaking the following
+    // acquisition would leave the lock free while it is held.
+    for (int i = 0; i < 20; i++) {
+      lockA.lock();
+      Assertions.assertThat(locks.find(eq("_id", resourceId)).first()).isNotNull();
+      lockA.unlock();
+    }
+
+    lockA.lock();
+    lockA.unlock();
+    leaseA.revoke();
+    Assertions.assertThat(leaseA.pendingReleases()).isZero();
+
+    // Drained before the lease was revoked, so the lock is free for another client.
+    Lease leaseB = clientB.grantLease(Duration.ofSeconds(30L));
+    Lock lockB = leaseB.getLock(resourceId);
+    lockB.lock(5L, TimeUnit.SECONDS);
+    lockB.unlock();
+
+    leaseB.revoke();
+    clientA.close();
+    clientB.close();
+    storeA.close();
+    storeB.close();
+  }
+
+  @Test
+  @DisplayName("TC-68: 异步释放失败时保留在队首并退避重试, 直到成功")
+  void testFailedWriteBehindReleaseIsRetried() throws Exception {
+    String resourceId = "test-resource-tc68";
+    try (MemoryCoordinationStore memory = new MemoryCoordinationStore()) {
+      FailingReleaseStore store = new FailingReleaseStore(memory);
+      store.failures.set(3);
+      AtomaClient client = new AtomaClient(newScheduledExecutorService(), store);
+
+      Lease leaseA = client.grantLease(Duration.ofSeconds(30L));
+      Lock lockA = leaseA.getLock(resourceId, LockOptions.DEFAULT.withWriteBehindUnlock());
+      lockA.lock();
+      lockA.unlock();
+
+      // The lock is freed once a retry of the release succeeds.
+      Lease leaseB = client.grantLease(Duration.ofSeconds(30L));
+      Lock lockB = leaseB.getLock(resourceId);
+      lockB.lock(5L, TimeUnit.SECONDS);
+      Assertions.assertThat(store.failures.get()).isNegative();
+      Assertions.assertThat(leaseA.pendingReleases()).isZero();
+      lockB.unlock();
+
+      leaseA.revoke();
+      leaseB.revoke();
+      client.close();
+    }
+  }
+
+  @Test
+  @DisplayName("TC-69: 撤销租约时放弃仍失败的异步释放, 被拒绝的释放在下次加锁时抛出")
+  void testDroppedWriteBehindReleaseIsReported() throws Exception {
+    String resourceId = "test-resource-tc69";
+    try (MemoryCoordinationStore memory = new MemoryCoordinationStore()) {
+      FailingReleaseStore store = new FailingReleaseStore(memory);
+      AtomaClient client = new AtomaClient(newScheduledExecutorService(), store);
+
+      // A release failing until the lease is revoked does not block the revocation.
+      Lease leaseA = client.grantLease(Duration.ofSeconds(30L));
+      Lock lockA = leaseA.getLock(resourceId, LockOptions.DEFAULT.withWriteBehindUnlock());
+      store.failures.set(Integer.MAX_VALUE);
+      lockA.lock();
+      lockA.unlock();
+      leaseA.revoke();
+      Assertions.assertThat(leaseA.pendingReleases()).isZero();
+
+      // A release the store rejects is not retried, the next acquisition reports it.
+      store.failures.set(0);
+      Lease leaseB = client.grantLease(Duration.ofSeconds(30L));
+      Lock lockB = leaseB.getLock(resourceId, LockOptions.DEFAULT.withWriteBehindUnlock());
+      lockB.lock(5L, TimeUnit.SECONDS);
+      store.rejectReleases = true;
+      // Reported by the unlock if the release is already rejected, by the next lock otherwise.
+      Assertions.assertThatThrownBy(
+              () -> {
+                lockB.unlock();
+                lockB.lock(5L, TimeUnit.SECONDS);
+              })
+          .isInstanceOf(AtomaStateException.class);
+
+      leaseB.revoke();
+      client.close();
+    }
+  }
+
+  /** Fails the given number of lock releases before passing them on. */
+  private static final class FailingReleaseStore implements CoordinationStore {
+
+    private final CoordinationStore delegate;
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile boolean rejectReleases;
+
+    private FailingReleaseStore(CoordinationStore delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<Resource> get(String resourceId) {
+      return delegate.get(resourceId);
+    }
+
+    @Override
+    public Subscription subscribe(
+        Class<? extends Resourceful> resourceType, String resourceId, ResourceListener listener) {
+      return delegate.subscribe(resourceType, resourceId, listener);
+    }
+
+    @Override
+    public <R> R execute(String resourceId, Command<R> command) {
+      if (command instanceof LockCommand.Release) {
+        if (rejectReleases) throw new IllegalOwnershipException("Simulated release rejection");
+        if (failures.getAndDecrement() > 0) {
+          throw new AtomaStateException("Simulated release failure");
+        }
+      }
+      return delegate.execute(resourceId, command);
+    }
+
+    @Override
+    public void close() {}
+  }
+}
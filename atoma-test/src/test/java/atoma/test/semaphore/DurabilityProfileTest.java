@@ -0,0 +1,111 @@
+package atoma.test.semaphore;
+
+import atoma.api.Lease;
+import atoma.api.coordination.Durability;
+import atoma.api.lock.Lock;
+import atoma.api.lock.LockOptions;
+import atoma.api.synchronizer.Semaphore;
+import atoma.api.synchronizer.SemaphoreOptions;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.ReleaseBatcher;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.Backoff;
+import atoma.storage.mongo.command.MongoCommandHandler;
+import atoma.test.BaseTest;
+import com.mongodb.ReadConcern;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class DurabilityProfileTest extends BaseTest {
+
+  @DisplayName("TEST-SEM-DUR-001: 各持久性级别对应的写关注和读关注")
+  @Test
+  public void testProfilesMapToConcerns() {
+    MongoDatabase database = mongoClient.getDatabase("atoma_test");
+
+    MongoCollection<Document> strict =
+        MongoCommandHandler.getCollection(
+            database, AtomaCollectionNamespace.SEMAPHORE, Durability.STRICT);
+    Assertions.assertThat(strict.getWriteConcern())
+        .isEqualTo(new WriteConcern("majority").withJournal(true));
+    Assertions.assertThat(strict.getReadConcern()).isEqualTo(ReadConcern.MAJORITY);
+
+    MongoCollection<Document> fast =
+        MongoCommandHandler.getCollection(
+            database, AtomaCollectionNamespace.SEMAPHORE, Durability.FAST);
+    Assertions.assertThat(fast.getWriteConcern()).isEqualTo(WriteConcern.W1.withJournal(true));
+    Assertions.assertThat(fast.getReadConcern()).isEqualTo(ReadConcern.LOCAL);
+
+    MongoCollection<Document> relaxed =
+        MongoCommandHandler.getCollection(
+            database, AtomaCollectionNamespace.SEMAPHORE, Durability.RELAXED);
+    Assertions.assertThat(relaxed.getWriteConcern())
+        .isEqualTo(WriteConcern.W1.withJournal(false));
+    Assertions.assertThat(relaxed.getReadConcern()).isEqualTo(ReadConcern.LOCAL);
+  }
+
+  @DisplayName("TEST-SEM-DUR-002: 按原语和按存储选择的持久性级别下许可与锁语义不变")
+  @Test
+  public void testPrimitivesWorkWithEveryProfile() throws Exception {
+    ScheduledExecutorService scheduledExecutorService = newScheduledExecutorService();
+    // Relaxed by default, the semaphore asks for a stricter profile of its own.
+    MongoCoordinationStore mongoCoordinationStore =
+        new MongoCoordinationStore(
+            mongoClient,
+            "atoma_test",
+            Backoff.DEFAULT,
+            ReleaseBatcher.DEFAULT_WINDOW,
+            Durability.RELAXED);
+    AtomaClient client = new AtomaClient(scheduledExecutorService, mongoCoordinationStore);
+
+    try {
+      Lease lease = client.grantLease(Duration.ofSeconds(30));
+      Semaphore fast =
+          lease.getSemaphore(
+              "TEST-SEM-DUR-002-fast",
+              3,
+              SemaphoreOptions.DEFAULT.withDurability(Durability.FAST));
+      Semaphore strict =
+          lease.getSemaphore(
+              "TEST-SEM-DUR-002-strict",
+              3,
+              SemaphoreOptions.DEFAULT.withDurability(Durability.STRICT));
+
+      Assertions.assertThatThrownBy(
+              () -> lease.getSemaphore("TEST-SEM-DUR-002-fast", 3, SemaphoreOptions.DEFAULT))
+          .isInstanceOf(IllegalArgumentException.class);
+
+      for (Semaphore semaphore : new Semaphore[] {fast, strict}) {
+        semaphore.acquire(3);
+        Assertions.assertThat(semaphore.availablePermits()).isZero();
+        Assertions.assertThatThrownBy(() -> semaphore.acquire(1, 100L, TimeUnit.MILLISECONDS))
+            .isInstanceOf(TimeoutException.class);
+        semaphore.release(3);
+        Assertions.assertThat(semaphore.availablePermits()).isEqualTo(3);
+      }
+
+      Lock lock =
+          lease.getLock(
+              "TEST-SEM-DUR-002-lock", LockOptions.DEFAULT.withDurability(Durability.FAST));
+      lock.lock();
+      lock.unlock();
+
+      lease.revoke();
+    } finally {
+      client.close();
+      scheduledExecutorService.shutdownNow();
+      mongoCoordinationStore.close();
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package atoma.test.semaphore;
+
+import atoma.api.Lease;
+import atoma.api.synchronizer.Semaphore;
+import atoma.api.synchronizer.SemaphoreOptions;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.test.BaseTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class PermitPoolTest extends BaseTest {
+
+  @DisplayName("TEST-SEM-POOL-001: 许可池模式下批量预留许可, 本地获取不访问存储")
+  @Test
+  public void testPermitPoolReservesChunk() throws Exception {
+    MongoCoordinationStore mongoCoordinationStore = newMongoCoordinationStore();
+    ScheduledExecutorService scheduledExecutorService = newScheduledExecutorService();
+    AtomaClient client = new AtomaClient(scheduledExecutorService, mongoCoordinationStore);
+
+    try {
+      Lease lease = client.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphore =
+          lease.getSemaphore(
+              "TEST-SEM-POOL-001",
+              10,
+              SemaphoreOptions.permitPool(4, SemaphoreOptions.ReturnPolicy.LAZY));
+
+      Assertions.assertThatThrownBy(
+              () -> lease.getSemaphore("TEST-SEM-POOL-001", 10, SemaphoreOptions.DEFAULT))
+          .isInstanceOf(IllegalArgumentException.class);
+
+      // 第一次获取预留 4 个许可, 后续 3 次从本地池获取
+      for (int i = 0; i < 4; i++) {
+        semaphore.acquire(1);
+      }
+      Assertions.assertThat(semaphore.availablePermits()).isEqualTo(6);
+
+      // LAZY 模式下释放的许可保留在本地池中, 不计入存储中的可用许可
+      semaphore.release(4);
+      Assertions.assertThat(semaphore.availablePermits()).isEqualTo(6);
+
+      // 释放超过本租约持有的许可被拒绝
+      Assertions.assertThatThrownBy(() -> semaphore.release(1))
+          .isInstanceOf(IllegalStateException.class);
+
+      // 关闭后池中许可归还给存储
+      semaphore.close();
+      lease.revoke();
+    } finally {
+      client.close();
+      scheduledExecutorService.shutdownNow();
+      mongoCoordinationStore.close();
+    }
+  }
+
+  @DisplayName("TEST-SEM-POOL-002: IMMEDIATE 模式下释放时归还池中许可, 唤醒其他客户端")
+  @Test
+  public void testPooledPermitsReturnedOnRelease() throws Exception {
+    MongoCoordinationStore storeA = newMongoCoordinationStore();
+    ScheduledExecutorService executorA = newScheduledExecutorService();
+    AtomaClient clientA = new AtomaClient(executorA, storeA);
+
+    MongoCoordinationStore storeB = newMongoCoordinationStore();
+    ScheduledExecutorService executorB = newScheduledExecutorService();
+    AtomaClient clientB = new AtomaClient(executorB, storeB);
+
+    try {
+      Lease leaseA = clientA.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphoreA =
+          leaseA.getSemaphore(
+              "TEST-SEM-POOL-002",
+              4,
+              SemaphoreOptions.permitPool(4, SemaphoreOptions.ReturnPolicy.IMMEDIATE));
+
+      // 客户端 A 预留全部 4 个许可, 存储中剩余 0 个
+      semaphoreA.acquire(1);
+
+      Lease leaseB = clientB.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphoreB = leaseB.getSemaphore("TEST-SEM-POOL-002", 4);
+      CompletableFuture<Void> acquiredB = semaphoreB.acquireAsync(3, 10L, TimeUnit.SECONDS);
+      Assertions.assertThat(acquiredB).isNotDone();
+
+      // A 释放后本地无等待者, 池中许可全部归还
+      semaphoreA.release(1);
+      acquiredB.get(10L, TimeUnit.SECONDS);
+      semaphoreB.release(3);
+
+      semaphoreA.close();
+      semaphoreB.close();
+      leaseA.revoke();
+      leaseB.revoke();
+    } finally {
+      clientA.close();
+      clientB.close();
+      executorA.shutdownNow();
+      executorB.shutdownNow();
+      storeA.close();
+      storeB.close();
+    }
+  }
+
+  @DisplayName("TEST-SEM-POOL-003: LAZY 模式下池中许可闲置超过上限后归还, 其他客户端不被一直饿死")
+  @Test
+  public void testIdlePooledPermitsReturned() throws Exception {
+    MongoCoordinationStore storeA = newMongoCoordinationStore();
+    ScheduledExecutorService executorA = newScheduledExecutorService();
+    AtomaClient clientA = new AtomaClient(executorA, storeA);
+
+    MongoCoordinationStore storeB = newMongoCoordinationStore();
+    ScheduledExecutorService executorB = newScheduledExecutorService();
+    AtomaClient clientB = new AtomaClient(executorB, storeB);
+
+    try {
+      Lease leaseA = clientA.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphoreA =
+          leaseA.getSemaphore(
+              "TEST-SEM-POOL-003",
+              4,
+              SemaphoreOptions.permitPool(4, SemaphoreOptions.ReturnPolicy.LAZY)
+                  .withMaxIdleTime(Duration.ofMillis(500)));
+
+      // 客户端 A 预留全部 4 个许可, 释放后仍保留在本地池中
+      semaphoreA.acquire(1);
+      semaphoreA.release(1);
+      Assertions.assertThat(semaphoreA.availablePermits()).isZero();
+
+      // A 不再使用许可, 闲置超过上限后归还, B 获取成功
+      Lease leaseB = clientB.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphoreB = leaseB.getSemaphore("TEST-SEM-POOL-003", 4);
+      semaphoreB.acquireAsync(3, 10L, TimeUnit.SECONDS).get(10L, TimeUnit.SECONDS);
+      semaphoreB.release(3);
+
+      semaphoreA.close();
+      semaphoreB.close();
+      leaseA.revoke();
+      leaseB.revoke();
+    } finally {
+      clientA.close();
+      clientB.close();
+      executorA.shutdownNow();
+      executorB.shutdownNow();
+      storeA.close();
+      storeB.close();
+    }
+  }
+}
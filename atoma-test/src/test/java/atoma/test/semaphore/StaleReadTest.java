@@ -0,0 +1,117 @@
+package atoma.test.semaphore;
+
+import atoma.api.Lease;
+import atoma.api.Versioned;
+import atoma.api.coordination.Durability;
+import atoma.api.synchronizer.CountDownLatch;
+import atoma.api.synchronizer.CyclicBarrier;
+import atoma.api.synchronizer.Semaphore;
+import atoma.core.AtomaClient;
+import atoma.storage.mongo.MongoCoordinationStore;
+import atoma.storage.mongo.command.AtomaCollectionNamespace;
+import atoma.storage.mongo.command.MongoCommandHandler;
+import atoma.test.BaseTest;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public class StaleReadTest extends BaseTest {
+
+  private static final Duration MAX_STALENESS = Versioned.MIN_MAX_STALENESS;
+
+  @DisplayName("TEST-SEM-STALE-001: 有界陈旧读返回状态值及其版本, 版本随修改递增")
+  @Test
+  public void testStaleReadsReturnValueAndVersion() throws Exception {
+    ScheduledExecutorService scheduledExecutorService = newScheduledExecutorService();
+    MongoCoordinationStore mongoCoordinationStore = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(scheduledExecutorService, mongoCoordinationStore);
+
+    try {
+      Lease lease = client.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphore = lease.getSemaphore("TEST-SEM-STALE-001", 3);
+
+      // Not created until its first acquisition.
+      Versioned<Integer> initial = semaphore.availablePermits(MAX_STALENESS);
+      Assertions.assertThat(initial.value()).isEqualTo(3);
+      Assertions.assertThat(initial.version()).isEqualTo(-1L);
+
+      // The test replica set has no secondary, the reads fall back to its primary.
+      semaphore.acquire(2);
+      Versioned<Integer> acquired = semaphore.availablePermits(MAX_STALENESS);
+      Assertions.assertThat(acquired.value()).isEqualTo(1);
+      Assertions.assertThat(semaphore.drainPermits(MAX_STALENESS).value()).isEqualTo(2);
+
+      semaphore.release(2);
+      Versioned<Integer> released = semaphore.availablePermits(MAX_STALENESS);
+      Assertions.assertThat(released.value()).isEqualTo(3);
+      Assertions.assertThat(released.version()).isGreaterThan(acquired.version());
+
+      CountDownLatch latch = client.getCountDownLatch("TEST-SEM-STALE-001-latch", 2);
+      latch.countDown();
+      Assertions.assertThat(latch.getCount(MAX_STALENESS).value()).isEqualTo(1);
+
+      CyclicBarrier barrier = lease.getCyclicBarrier("TEST-SEM-STALE-001-barrier", 2);
+      Assertions.assertThat(barrier.isBroken(MAX_STALENESS).value()).isFalse();
+      Assertions.assertThat(barrier.getNumberWaiting(MAX_STALENESS).value()).isZero();
+
+      lease.revoke();
+    } finally {
+      client.close();
+      scheduledExecutorService.shutdownNow();
+      mongoCoordinationStore.close();
+    }
+  }
+
+  @DisplayName("TEST-SEM-STALE-002: 陈旧上界低于MongoDB允许的最小值时拒绝读取")
+  @Test
+  public void testStalenessBelowMinimumIsRejected() throws Exception {
+    ScheduledExecutorService scheduledExecutorService = newScheduledExecutorService();
+    MongoCoordinationStore mongoCoordinationStore = newMongoCoordinationStore();
+    AtomaClient client = new AtomaClient(scheduledExecutorService, mongoCoordinationStore);
+
+    try {
+      Lease lease = client.grantLease(Duration.ofSeconds(30));
+      Semaphore semaphore = lease.getSemaphore("TEST-SEM-STALE-002", 3);
+
+      Assertions.assertThatThrownBy(() -> semaphore.availablePermits(Duration.ofSeconds(10)))
+          .isInstanceOf(IllegalArgumentException.class);
+      Assertions.assertThatThrownBy(() -> semaphore.drainPermits(Duration.ZERO))
+          .isInstanceOf(IllegalArgumentException.class);
+
+      lease.revoke();
+    } finally {
+      client.close();
+      scheduledExecutorService.shutdownNow();
+      mongoCoordinationStore.close();
+    }
+  }
+
+  @DisplayName("TEST-SEM-STALE-003: 有界陈旧读使用次节点优先的读偏好和本地读关注, 否则读主节点")
+  @Test
+  public void testStaleReadsUseSecondaryPreferredAndLocalConcern() {
+    MongoDatabase database = mongoClient.getDatabase("atoma_test");
+
+    MongoCollection<Document> stale =
+        MongoCommandHandler.getCollection(
+            database, AtomaCollectionNamespace.SEMAPHORE, Durability.STRICT, MAX_STALENESS);
+    Assertions.assertThat(stale.getReadPreference())
+        .isEqualTo(ReadPreference.secondaryPreferred(MAX_STALENESS.toMillis(), MILLISECONDS));
+    Assertions.assertThat(stale.getReadConcern()).isEqualTo(ReadConcern.LOCAL);
+
+    MongoCollection<Document> fresh =
+        MongoCommandHandler.getCollection(
+            database, AtomaCollectionNamespace.SEMAPHORE, Durability.STRICT, null);
+    Assertions.assertThat(fresh.getReadPreference()).isEqualTo(ReadPreference.primary());
+    Assertions.assertThat(fresh.getReadConcern()).isEqualTo(ReadConcern.MAJORITY);
+  }
+}
@@ -8,7 +8,7 @@ plugins {
 }
 
 val publishableModules = listOf(
-    "atoma-api", "atoma-core", "atoma-storage-mongo"
+    "atoma-api", "atoma-core", "atoma-storage-mongo", "atoma-storage-mongo-reactive"
 )
 
 allprojects {
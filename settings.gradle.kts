@@ -9,6 +9,8 @@ dependencyResolutionManagement {
 }
 include("atoma-api")
 include("atoma-storage-mongo")
+include("atoma-storage-mongo-reactive")
+include("atoma-storage-memory")
 include("atoma-core")
 include("atoma-benchmark")
 include("atoma-test")